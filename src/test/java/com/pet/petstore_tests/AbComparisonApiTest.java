@@ -0,0 +1,78 @@
+package com.pet.petstore_tests;
+
+import com.pet.petstore_tests.load.AbComparison;
+import com.pet.petstore_tests.load.PetstoreWorkload;
+import io.restassured.response.Response;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static io.restassured.RestAssured.given;
+
+public class AbComparisonApiTest extends LoadApiTest {
+
+    //Параметры сценария (system properties):
+    //petstore.ab.baseUriA        — текущий стенд (по умолчанию petstore.baseUri)
+    //petstore.ab.baseUriB        — стенд-кандидат; без него сценарий пропускается
+    //petstore.ab.iterations      — количество итераций сценариев Pet/Store/User на каждый стенд
+    //petstore.ab.alpha           — уровень значимости (после поправки Холма)
+    //petstore.ab.minEffectPct    — минимальная разница медиан в процентах, считающаяся регрессией
+    //petstore.ab.failOnRegression — падать, если найдена значимая регрессия
+
+    private static final int ITERATIONS = intProperty("petstore.ab.iterations", 30);
+    private static final double ALPHA = Double.parseDouble(System.getProperty("petstore.ab.alpha", "0.05"));
+    private static final double MIN_EFFECT_PCT = Double.parseDouble(System.getProperty("petstore.ab.minEffectPct", "5"));
+    private static final boolean FAIL_ON_REGRESSION = Boolean.getBoolean("petstore.ab.failOnRegression");
+
+    @Test
+    @DisplayName("Сравнение задержек двух стендов Petstore на одинаковой нагрузке")
+    void compareTargets() {
+        String baseUriA = System.getProperty("petstore.ab.baseUriA",
+                System.getProperty("petstore.baseUri", "https://petstore.swagger.io/v2"));
+        String baseUriB = System.getProperty("petstore.ab.baseUriB");
+        Assumptions.assumeTrue(baseUriB != null, "Не задан petstore.ab.baseUriB — сравнивать не с чем");
+
+        PetstoreWorkload workload = new PetstoreWorkload(ThreadLocalRandom.current().nextLong());
+        AbComparison comparison = new AbComparison();
+
+        for (int i = 0; i < ITERATIONS; i++) {
+            List<PetstoreWorkload.Operation> operations = workload.iteration(i);
+            //Порядок ABBA по итерациям компенсирует дрейф сети и прогрев между стендами.
+            boolean aFirst = i % 2 == 0;
+            for (PetstoreWorkload.Operation operation : operations) {
+                if (aFirst) {
+                    execute(comparison, AbComparison.Side.A, baseUriA, operation);
+                    execute(comparison, AbComparison.Side.B, baseUriB, operation);
+                } else {
+                    execute(comparison, AbComparison.Side.B, baseUriB, operation);
+                    execute(comparison, AbComparison.Side.A, baseUriA, operation);
+                }
+            }
+        }
+
+        List<AbComparison.EndpointResult> results = comparison.compare(ALPHA, MIN_EFFECT_PCT, 2000, 42);
+        System.out.println("A = " + baseUriA + ", B = " + baseUriB);
+        System.out.println(AbComparison.formatTable(results));
+
+        if (FAIL_ON_REGRESSION) {
+            List<String> regressions = results.stream()
+                    .filter(r -> r.verdict() == AbComparison.Verdict.REGRESSION)
+                    .map(AbComparison.EndpointResult::endpoint)
+                    .toList();
+            Assertions.assertTrue(regressions.isEmpty(), "Значимые регрессии на стенде B: " + regressions);
+        }
+    }
+
+    private static void execute(AbComparison comparison, AbComparison.Side side, String baseUri,
+                                PetstoreWorkload.Operation operation) {
+        //Фильтры конвейера (хеджирование, ограничитель частоты) исказили бы сравнение — запросы идут напрямую.
+        long start = System.nanoTime();
+        Response response = operation.call().apply(given().noFilters().baseUri(baseUri));
+        response.asByteArray();
+        comparison.record(side, operation.endpoint(), System.nanoTime() - start);
+    }
+}
@@ -1,25 +1,52 @@
 package com.pet.petstore_tests;
 
+import com.pet.petstore_tests.alloc.AllocationProfiler;
+import com.pet.petstore_tests.baseline.BaselineExtension;
+import com.pet.petstore_tests.pipeline.PipelineExtension;
+import com.pet.petstore_tests.pipeline.RequestPipeline;
 import io.restassured.RestAssured;
 import io.restassured.builder.RequestSpecBuilder;
+import io.restassured.config.ObjectMapperConfig;
+import io.restassured.config.RestAssuredConfig;
 import io.restassured.filter.log.LogDetail;
 import io.restassured.specification.RequestSpecification;
+import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.extension.ExtendWith;
 
+@ExtendWith({PipelineExtension.class, BaselineExtension.class})
 public class BaseApiTest {
     protected static RequestSpecification requestSpec;
 
     @BeforeAll
     static void setup() {
+        requestSpec = specBuilder()
+                .log(LogDetail.ALL)
+                .build();
+
+        RestAssured.requestSpecification = requestSpec;
+    }
+
+    protected static RequestSpecBuilder specBuilder() {
         String baseUri = System.getProperty("petstore.baseUri",
                 "https://petstore.swagger.io/v2");
 
-        requestSpec = new RequestSpecBuilder()
+        RequestSpecBuilder builder = new RequestSpecBuilder()
                 .setBaseUri(baseUri)
                 .setContentType("application/json")
-                .log(LogDetail.ALL)
-                .build();
+                .addFilters(RequestPipeline.get().filters());
+        //Сериализация и разбор тел идут через маппер профилировщика, чтобы разделить их аллокации.
+        RequestPipeline.get().stage(AllocationProfiler.class).ifPresent(profiler ->
+                builder.setConfig(RestAssuredConfig.config().objectMapperConfig(
+                        ObjectMapperConfig.objectMapperConfig().defaultObjectMapper(profiler.objectMapper()))));
+        return builder;
+    }
 
-        RestAssured.requestSpecification = requestSpec;
+    @AfterAll
+    static void reportPipeline() {
+        String report = RequestPipeline.get().report();
+        if (!report.isEmpty()) {
+            System.out.println(report);
+        }
     }
 }
@@ -0,0 +1,181 @@
+package com.pet.petstore_tests;
+
+import com.pet.petstore_tests.assertion.JsonMatcher;
+import com.pet.petstore_tests.load.ContentionScenario;
+import com.pet.petstore_tests.load.MutationTarget;
+import com.pet.petstore_tests.model.Pet;
+import com.pet.petstore_tests.model.PetStatus;
+import com.pet.petstore_tests.model.User;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static io.restassured.RestAssured.given;
+
+public class ContentionApiTest extends LoadApiTest {
+
+    //Параметры сценария (system properties):
+    //petstore.contention.writers          — число конкурентных писателей
+    //petstore.contention.hotSets          — размеры горячего набора id через запятую (уровни конкуренции)
+    //petstore.contention.writesPerWriter  — количество записей на писателя
+    //petstore.contention.failOnAnomalies  — падать при обнаружении stale read / lost update
+
+    private static final int WRITERS = intProperty("petstore.contention.writers", 16);
+    private static final int[] HOT_SETS = intListProperty("petstore.contention.hotSets", "1,4,16");
+    private static final int WRITES_PER_WRITER = intProperty("petstore.contention.writesPerWriter", 20);
+    private static final boolean FAIL_ON_ANOMALIES = Boolean.getBoolean("petstore.contention.failOnAnomalies");
+
+    @Test
+    @DisplayName("Конкурентное обновление питомцев через form (POST /pet/{petId})")
+    void concurrentPetUpdates() throws Exception {
+        runSweep(new PetNameTarget(ThreadLocalRandom.current().nextInt(1_000_000, 9_000_000)));
+    }
+
+    @Test
+    @DisplayName("Конкурентное обновление пользователей (PUT /user/{username})")
+    void concurrentUserUpdates() throws Exception {
+        runSweep(new UserFirstNameTarget("contention-" + ThreadLocalRandom.current().nextInt(1_000_000)));
+    }
+
+    private void runSweep(MutationTarget target) throws Exception {
+        List<ContentionScenario.Result> results = new ArrayList<>();
+        for (int hotSet : HOT_SETS) {
+            results.add(new ContentionScenario(target, WRITERS, hotSet, WRITES_PER_WRITER).run());
+        }
+        System.out.println(ContentionScenario.formatTable(results));
+
+        for (ContentionScenario.Result result : results) {
+            Assertions.assertTrue(result.writes() > 0,
+                    "Ни одна запись не подтверждена при hotSet=" + result.hotSetSize());
+            if (FAIL_ON_ANOMALIES) {
+                Assertions.assertEquals(0, result.consistency().lostUpdates(), "lost updates");
+                Assertions.assertEquals(0, result.consistency().staleReads(), "stale reads");
+            }
+        }
+    }
+
+    private static final class PetNameTarget implements MutationTarget {
+        private final int baseId;
+
+        PetNameTarget(int baseId) {
+            this.baseId = baseId;
+        }
+
+        @Override
+        public String name() {
+            return "pet";
+        }
+
+        @Override
+        public void prepare(int key) {
+            Pet pet = new Pet();
+            pet.setId(baseId + key);
+            pet.setName("contention-" + pet.getId());
+            pet.setPhotoUrls(List.of());
+            pet.setStatus(PetStatus.AVAILABLE);
+
+            given()
+                    .body(pet)
+                    .when()
+                    .post("/pet")
+                    .then()
+                    .statusCode(200);
+        }
+
+        @Override
+        public boolean write(int key, String value) {
+            return given()
+                    .contentType("application/x-www-form-urlencoded")
+                    .pathParam("petId", baseId + key)
+                    .formParam("name", value)
+                    .when()
+                    .post("/pet/{petId}")
+                    .statusCode() == 200;
+        }
+
+        @Override
+        public String read(int key) {
+            byte[] body = given()
+                    .pathParam("petId", baseId + key)
+                    .when()
+                    .get("/pet/{petId}")
+                    .then()
+                    .statusCode(200)
+                    .extract()
+                    .asByteArray();
+            return (String) JsonMatcher.read(body, "name");
+        }
+
+        @Override
+        public void cleanup(int key) {
+            given()
+                    .pathParam("petId", baseId + key)
+                    .when()
+                    .delete("/pet/{petId}");
+        }
+    }
+
+    private static final class UserFirstNameTarget implements MutationTarget {
+        private final String prefix;
+
+        UserFirstNameTarget(String prefix) {
+            this.prefix = prefix;
+        }
+
+        @Override
+        public String name() {
+            return "user";
+        }
+
+        @Override
+        public void prepare(int key) {
+            write(key, "initial");
+        }
+
+        @Override
+        public boolean write(int key, String value) {
+            User user = User.builder()
+                    .id(key + 1)
+                    .username(prefix + "-" + key)
+                    .firstName(value)
+                    .lastName("Contention")
+                    .email(prefix + "-" + key + "@example.com")
+                    .password("pass")
+                    .phone("+000000000")
+                    .userStatus(1)
+                    .build();
+
+            return given()
+                    .pathParam("username", user.getUsername())
+                    .body(user)
+                    .when()
+                    .put("/user/{username}")
+                    .statusCode() == 200;
+        }
+
+        @Override
+        public String read(int key) {
+            byte[] body = given()
+                    .pathParam("username", prefix + "-" + key)
+                    .when()
+                    .get("/user/{username}")
+                    .then()
+                    .statusCode(200)
+                    .extract()
+                    .asByteArray();
+            return (String) JsonMatcher.read(body, "firstName");
+        }
+
+        @Override
+        public void cleanup(int key) {
+            given()
+                    .pathParam("username", prefix + "-" + key)
+                    .when()
+                    .delete("/user/{username}");
+        }
+    }
+}
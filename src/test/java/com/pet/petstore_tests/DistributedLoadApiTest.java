@@ -0,0 +1,61 @@
+package com.pet.petstore_tests;
+
+import com.pet.petstore_tests.distributed.LoadCoordinator;
+import com.pet.petstore_tests.distributed.LoadWorker;
+import com.pet.petstore_tests.distributed.WorkerReport;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+public class DistributedLoadApiTest extends LoadApiTest {
+
+    //Параметры сценария (system properties):
+    //petstore.distributed.workers      — сколько воркеров ждёт координатор
+    //petstore.distributed.localWorkers — сколько из них запустить отдельными JVM на этой машине
+    //                                    (остальные подключаются сами: LoadWorker <host> <port>)
+    //petstore.distributed.port         — порт координатора (0 — любой свободный)
+    //petstore.distributed.scenario     — pet, store, user или all
+    //petstore.distributed.iterations   — итераций сценария на все воркеры вместе
+    //petstore.distributed.threads      — потоков в каждом воркере
+    //petstore.distributed.timeoutSec   — предел на весь прогон
+
+    private static final int WORKERS = intProperty("petstore.distributed.workers", 2);
+    private static final int LOCAL_WORKERS = intProperty("petstore.distributed.localWorkers", WORKERS);
+    private static final int PORT = intProperty("petstore.distributed.port", 0);
+    private static final String SCENARIO = System.getProperty("petstore.distributed.scenario", "all");
+    private static final int ITERATIONS = intProperty("petstore.distributed.iterations", 40);
+    private static final int THREADS = intProperty("petstore.distributed.threads", 4);
+    private static final int TIMEOUT_SEC = intProperty("petstore.distributed.timeoutSec", 600);
+
+    @Test
+    @DisplayName("Распределённая нагрузка: координатор и воркеры в отдельных JVM")
+    void distributedLoad() throws Exception {
+        String baseUri = System.getProperty("petstore.baseUri", "https://petstore.swagger.io/v2");
+        List<Process> processes = new ArrayList<>();
+        try (LoadCoordinator coordinator = new LoadCoordinator(PORT)) {
+            System.out.println("Координатор слушает порт " + coordinator.port() + ", ждёт воркеров: " + WORKERS);
+            for (int i = 0; i < LOCAL_WORKERS; i++) {
+                processes.add(LoadWorker.fork("127.0.0.1", coordinator.port(), "local-" + i));
+            }
+
+            LoadCoordinator.Result result = coordinator.run(
+                    new LoadCoordinator.Plan(SCENARIO, baseUri, ITERATIONS, THREADS, ThreadLocalRandom.current().nextLong()),
+                    WORKERS, Duration.ofSeconds(TIMEOUT_SEC));
+
+            for (WorkerReport worker : result.workers()) {
+                System.out.printf("%s: %d запросов за %.1f с%n", worker.worker(), worker.requests(),
+                        worker.elapsedNanos() / 1e9);
+            }
+            System.out.println(result.combined().formatTable());
+
+            Assertions.assertTrue(result.combined().requests() > 0, "Воркеры не выполнили ни одного запроса");
+        } finally {
+            processes.forEach(Process::destroyForcibly);
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package com.pet.petstore_tests;
+
+import com.pet.petstore_tests.load.LatencyHistogram;
+import com.pet.petstore_tests.proxy.FaultProxy;
+import com.pet.petstore_tests.proxy.Toxic;
+import io.restassured.response.Response;
+import io.restassured.specification.RequestSpecification;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.LongAdder;
+
+import static io.restassured.RestAssured.given;
+
+public class FaultProfileApiTest extends LoadApiTest {
+
+    //Параметры сценария (system properties):
+    //petstore.faults.requests — количество запросов на профиль
+    //petstore.faults.threads  — число конкурентных клиентов
+
+    private static final int REQUESTS = intProperty("petstore.faults.requests", 50);
+    private static final int THREADS = intProperty("petstore.faults.threads", 4);
+
+    private static FaultProxy proxy;
+    private static String proxiedBaseUri;
+    private static String hostHeader;
+    private static boolean https;
+
+    private record Profile(String name, List<Toxic> downstream, List<Toxic> upstream) {
+    }
+
+    private record Result(String profile, long ok, long errors, double seconds, LatencyHistogram latency) {
+    }
+
+    @BeforeAll
+    static void startProxy() throws Exception {
+        URI target = URI.create(System.getProperty("petstore.baseUri", "https://petstore.swagger.io/v2"));
+        https = "https".equals(target.getScheme());
+        int port = target.getPort() != -1 ? target.getPort() : https ? 443 : 80;
+
+        //Прокси работает на уровне TCP: для HTTPS-цели TLS проходит насквозь,
+        //поэтому проверка сертификата для 127.0.0.1 отключается.
+        proxy = FaultProxy.start(target.getHost(), port);
+        proxiedBaseUri = target.getScheme() + "://127.0.0.1:" + proxy.port() + target.getPath();
+        hostHeader = target.getPort() != -1 ? target.getHost() + ":" + target.getPort() : target.getHost();
+    }
+
+    @AfterAll
+    static void stopProxy() {
+        if (proxy != null) {
+            proxy.close();
+        }
+    }
+
+    @Test
+    @DisplayName("Задержки и пропускная способность клиента под профилями деградации сети")
+    void latencyAndThroughputUnderFaultProfiles() throws Exception {
+        List<Profile> profiles = List.of(
+                new Profile("baseline", List.of(), List.of()),
+                new Profile("latency 100±50ms", List.of(new Toxic.Latency(100, 50)), List.of()),
+                new Profile("bandwidth 16KB/s", List.of(new Toxic.Bandwidth(16_000)), List.of()),
+                new Profile("truncated 512B", List.of(new Toxic.LimitData(512)), List.of()),
+                new Profile("reset after 1KB", List.of(new Toxic.ResetPeer(1024)), List.of()));
+
+        //Прогон без замеров: прогрев RestAssured и JIT не должен попадать в baseline.
+        run("warm-up");
+
+        List<Result> results = new ArrayList<>();
+        for (Profile profile : profiles) {
+            proxy.clearToxics();
+            profile.downstream().forEach(t -> proxy.addToxic(FaultProxy.Direction.DOWNSTREAM, t));
+            profile.upstream().forEach(t -> proxy.addToxic(FaultProxy.Direction.UPSTREAM, t));
+            results.add(run(profile.name()));
+        }
+        proxy.clearToxics();
+
+        System.out.printf("%-20s %6s %7s %9s %9s %9s %9s%n", "profile", "ok", "errors", "req/s", "p50ms", "p99ms", "maxms");
+        for (Result r : results) {
+            System.out.printf("%-20s %6d %7d %9.1f %9.1f %9.1f %9.1f%n", r.profile(), r.ok(), r.errors(),
+                    r.ok() / r.seconds(), r.latency().percentileMillis(50), r.latency().percentileMillis(99),
+                    r.latency().maxNanos() / 1e6);
+        }
+        System.out.println(proxy.stats());
+
+        Assertions.assertTrue(results.get(0).ok() > 0, "Через прокси без искажений не прошёл ни один запрос");
+    }
+
+    private Result run(String profile) throws Exception {
+        LatencyHistogram latency = new LatencyHistogram();
+        LongAdder ok = new LongAdder();
+        LongAdder errors = new LongAdder();
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        long start = System.nanoTime();
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < REQUESTS; i++) {
+                int n = i;
+                futures.add(pool.submit(() -> {
+                    long requestStart = System.nanoTime();
+                    try {
+                        //Фильтры конвейера (breaker, дедлайны) не применяются: меряется сам клиент.
+                        RequestSpecification request = given().noFilters()
+                                .baseUri(proxiedBaseUri)
+                                .header("Host", hostHeader);
+                        if (https) {
+                            request.relaxedHTTPSValidation();
+                        }
+                        Response response = n % 2 == 0
+                                ? request.get("/store/inventory")
+                                : request.queryParam("status", "sold").get("/pet/findByStatus");
+                        //Тело читается целиком, иначе обрезанный или медленный ответ останется незамеченным.
+                        response.asByteArray();
+                        if (response.statusCode() == 200) {
+                            ok.increment();
+                        } else {
+                            errors.increment();
+                        }
+                    } catch (Exception e) {
+                        errors.increment();
+                    }
+                    latency.recordNanos(System.nanoTime() - requestStart);
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        return new Result(profile, ok.sum(), errors.sum(), (System.nanoTime() - start) / 1e9, latency);
+    }
+}
@@ -0,0 +1,76 @@
+package com.pet.petstore_tests;
+
+import com.pet.petstore_tests.cleanup.ResourceRegistry;
+import com.pet.petstore_tests.fuzz.CaseGenerator;
+import com.pet.petstore_tests.fuzz.FuzzRunner;
+import com.pet.petstore_tests.pipeline.RequestPipeline;
+import io.restassured.filter.Filter;
+import io.restassured.http.ContentType;
+import io.restassured.response.Response;
+import io.restassured.specification.RequestSpecification;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+import static io.restassured.RestAssured.given;
+
+public class FuzzApiTest extends LoadApiTest {
+
+    //Параметры сценария (system properties):
+    //petstore.fuzz.cases          — количество случаев
+    //petstore.fuzz.threads        — число конкурентных клиентов
+    //petstore.fuzz.rate           — ограничение запросов/с (0 — без ограничения)
+    //petstore.fuzz.seed           — seed генератора (по умолчанию случайный, печатается в отчёте)
+    //petstore.fuzz.maxStringLength — верхняя граница длинных строк
+    //petstore.fuzz.failOn5xx      — падать, если сервер ответил 5xx хотя бы на один случай
+
+    private static final int CASES = intProperty("petstore.fuzz.cases", 20_000);
+    private static final int THREADS = intProperty("petstore.fuzz.threads", 32);
+    private static final int RATE = intProperty("petstore.fuzz.rate", 0);
+    private static final long SEED = Long.getLong("petstore.fuzz.seed", ThreadLocalRandom.current().nextLong());
+    private static final int MAX_STRING_LENGTH = intProperty("petstore.fuzz.maxStringLength", 65_536);
+    private static final boolean FAIL_ON_5XX = Boolean.getBoolean("petstore.fuzz.failOn5xx");
+
+    private final String baseUri = System.getProperty("petstore.baseUri", "https://petstore.swagger.io/v2");
+
+    @Test
+    @DisplayName("Параллельный фаззинг некорректными телами Pet/Order/User и параметрами пути")
+    void fuzzNegativeInputs() throws Exception {
+        CaseGenerator generator = new CaseGenerator(CaseGenerator.petstoreOperations(), SEED, MAX_STRING_LENGTH);
+        FuzzRunner runner = new FuzzRunner(generator, new FuzzRunner.Settings(CASES, THREADS, RATE));
+        Filter owned = RequestPipeline.get().stage(ResourceRegistry.class)
+                .map(registry -> registry.owning(CaseGenerator::isOwned))
+                .orElse(null);
+
+        FuzzRunner.Result result = runner.run(fuzzCase -> {
+            //Breaker и дедлайны не применяются: 5xx здесь — ожидаемый результат, а не повод останавливать прогон.
+            //Уборка учитывает только сущности фаззинга (зарезервированные id, префикс fuzz-): то, что сервер
+            //мог перезаписать по чужому ключу, не удаляется.
+            RequestSpecification request = given().noFilters().baseUri(baseUri).contentType(ContentType.JSON);
+            if (owned != null) {
+                request.filter(owned);
+            }
+            if (fuzzCase.pathValue() != null) {
+                request.pathParam(fuzzCase.operation().pathParam(), fuzzCase.pathValue());
+            }
+            if (fuzzCase.body() != null) {
+                request.body(fuzzCase.body());
+            }
+            Response response = request.request(fuzzCase.operation().method(), fuzzCase.operation().path());
+            return new FuzzRunner.Reply(response.statusCode(), response.contentType(), response.asByteArray());
+        });
+        System.out.println(FuzzRunner.formatTable(result));
+
+        Assertions.assertTrue(result.count(FuzzRunner.CLIENT_ERROR) < result.cases(),
+                "Ни один случай не получил ответа сервера");
+        if (FAIL_ON_5XX) {
+            long serverErrors = result.behaviours().stream()
+                    .filter(b -> b.signature().status() >= 500)
+                    .mapToLong(FuzzRunner.Behaviour::count)
+                    .sum();
+            Assertions.assertEquals(0, serverErrors, "Ответы 5xx на некорректный ввод (seed=" + SEED + ")");
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.pet.petstore_tests;
+
+import io.restassured.RestAssured;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+
+/**
+ * База для нагрузочных сценариев. Запускаются только профилем load: mvn test -Pload
+ */
+@Tag("load")
+public abstract class LoadApiTest extends BaseApiTest {
+
+    @BeforeAll
+    static void quietSetup() {
+        //Под нагрузкой логирование каждого запроса (LogDetail.ALL) само становится узким местом,
+        //поэтому нагрузочные сценарии используют ту же спецификацию, но без логирования.
+        requestSpec = specBuilder().build();
+        RestAssured.requestSpecification = requestSpec;
+    }
+
+    protected static int intProperty(String name, int defaultValue) {
+        return Integer.parseInt(System.getProperty(name, String.valueOf(defaultValue)));
+    }
+
+    protected static int[] intListProperty(String name, String defaultValue) {
+        String[] parts = System.getProperty(name, defaultValue).split(",");
+        int[] values = new int[parts.length];
+        for (int i = 0; i < parts.length; i++) {
+            values[i] = Integer.parseInt(parts[i].trim());
+        }
+        return values;
+    }
+}
@@ -0,0 +1,49 @@
+package com.pet.petstore_tests;
+
+import com.pet.petstore_tests.replay.LogReplayer;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static io.restassured.RestAssured.given;
+
+public class LogReplayApiTest extends LoadApiTest {
+
+    //Параметры сценария (system properties):
+    //petstore.replay.log     — путь к access-логу (common/combined); без него сценарий пропускается
+    //petstore.replay.speed   — ускорение времени: 1 — как в логе, 10 — в десять раз быстрее
+    //petstore.replay.threads — максимум одновременных запросов
+    //petstore.replay.limit   — сколько строк лога проиграть
+
+    private static final double SPEED = Double.parseDouble(System.getProperty("petstore.replay.speed", "1"));
+    private static final int THREADS = intProperty("petstore.replay.threads", 32);
+    private static final long LIMIT = Long.parseLong(System.getProperty("petstore.replay.limit", String.valueOf(Long.MAX_VALUE)));
+
+    @Test
+    @DisplayName("Проигрывание access-лога против стенда с исходными интервалами")
+    void replayAccessLog() throws Exception {
+        String log = System.getProperty("petstore.replay.log");
+        Assumptions.assumeTrue(log != null, "Не задан petstore.replay.log — проигрывать нечего");
+        Path path = Path.of(log);
+        Assertions.assertTrue(Files.isRegularFile(path), "Нет файла " + path);
+
+        String baseUri = System.getProperty("petstore.baseUri", "https://petstore.swagger.io/v2");
+        //Первый запрос холодной JVM занимает секунды и сдвинул бы всё расписание.
+        try {
+            given().noFilters().baseUri(baseUri).get("/store/inventory").asByteArray();
+        } catch (Exception ignored) {
+            //Недоступность стенда проявится в самом проигрывании.
+        }
+
+        LogReplayer.Report report = new LogReplayer(new LogReplayer.Settings(baseUri, SPEED, THREADS, LIMIT))
+                .replay(path);
+
+        System.out.println("Лог " + path + " → " + baseUri + " (speed=" + SPEED + ")");
+        System.out.println(report.formatTable());
+        Assertions.assertTrue(report.replayed() > 0, "В логе нет запросов к /pet, /store или /user");
+    }
+}
@@ -0,0 +1,139 @@
+package com.pet.petstore_tests;
+
+import com.pet.petstore_tests.cleanup.ResourceRegistry;
+import com.pet.petstore_tests.load.LoginStorm;
+import com.pet.petstore_tests.model.ApiResponse;
+import com.pet.petstore_tests.model.User;
+import com.pet.petstore_tests.pipeline.RequestPipeline;
+import io.restassured.filter.Filter;
+import io.restassured.http.ContentType;
+import io.restassured.response.Response;
+import io.restassured.specification.RequestSpecification;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static io.restassured.RestAssured.given;
+
+public class LoginStormApiTest extends LoadApiTest {
+
+    //Параметры сценария (system properties):
+    //petstore.loginstorm.users         — размер популяции пользователей
+    //petstore.loginstorm.batch         — пользователей в одном POST /user/createWithArray
+    //petstore.loginstorm.shapes        — формы всплеска через запятую: spike, waves:<волн>:<пауза мс>, ramp:<мс>
+    //petstore.loginstorm.cycles        — циклов логин/запросы/логаут на пользователя
+    //petstore.loginstorm.calls         — авторизованных запросов в одной сессии
+    //petstore.loginstorm.logoutEvery   — логаут после каждого N-го цикла (0 — без логаута)
+    //petstore.loginstorm.sessionTtlMs  — сколько кешированный токен считается живым
+    //petstore.loginstorm.threads       — число конкурентных клиентов
+
+    private static final int USERS = intProperty("petstore.loginstorm.users", 1000);
+    private static final int BATCH = intProperty("petstore.loginstorm.batch", 100);
+    private static final String SHAPES = System.getProperty("petstore.loginstorm.shapes", "spike,waves:4:500,ramp:5000");
+    private static final int CYCLES = intProperty("petstore.loginstorm.cycles", 3);
+    private static final int CALLS = intProperty("petstore.loginstorm.calls", 2);
+    private static final int LOGOUT_EVERY = intProperty("petstore.loginstorm.logoutEvery", 2);
+    private static final int SESSION_TTL_MS = intProperty("petstore.loginstorm.sessionTtlMs", 3_600_000);
+    private static final int THREADS = intProperty("petstore.loginstorm.threads", 64);
+
+    private static final String BASE_URI = System.getProperty("petstore.baseUri", "https://petstore.swagger.io/v2");
+
+    private static final List<LoginStorm.Credentials> population = new ArrayList<>();
+
+    @BeforeAll
+    static void createPopulation() {
+        String prefix = "storm-" + ThreadLocalRandom.current().nextInt(1_000_000);
+        //Без фильтров конвейера: ошибки создания не должны размыкать общий breaker. Из конвейера остаётся только
+        //учёт сущностей — созданных пользователей после прогона удалит стадия уборки (cleanup.ResourceRegistry).
+        Optional<Filter> registry = RequestPipeline.get().stage(ResourceRegistry.class)
+                .map(stage -> stage.owning(resource -> resource.id().startsWith(prefix + "-")));
+        List<User> batch = new ArrayList<>();
+        for (int i = 0; i < USERS; i++) {
+            User user = User.builder()
+                    .id(i + 1)
+                    .username(prefix + "-" + i)
+                    .firstName("Storm")
+                    .lastName("User" + i)
+                    .email(prefix + "-" + i + "@example.com")
+                    .password("pass-" + i)
+                    .phone("+000000000")
+                    .userStatus(1)
+                    .build();
+            batch.add(user);
+            population.add(new LoginStorm.Credentials(user.getUsername(), user.getPassword()));
+            if (batch.size() == BATCH || i == USERS - 1) {
+                RequestSpecification request = given().noFilters().baseUri(BASE_URI).contentType(ContentType.JSON);
+                registry.ifPresent(request::filter);
+                request
+                        .body(batch)
+                        .when()
+                        .post("/user/createWithArray")
+                        .then()
+                        .statusCode(200);
+                batch = new ArrayList<>();
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Шторм логинов: конкурентные циклы login/logout с переиспользованием сессий")
+    void loginStorm() throws Exception {
+        LoginStorm storm = new LoginStorm(new PetstoreSessions(), population,
+                new LoginStorm.Settings(CYCLES, CALLS, LOGOUT_EVERY, SESSION_TTL_MS, THREADS));
+
+        List<LoginStorm.Result> results = new ArrayList<>();
+        for (String shape : SHAPES.split(",")) {
+            results.add(storm.run(LoginStorm.BurstShape.parse(shape)));
+        }
+        System.out.println(LoginStorm.formatTable(results));
+
+        for (LoginStorm.Result result : results) {
+            Assertions.assertTrue(result.login().count() > result.loginErrors(),
+                    "Ни один логин не удался для " + result.shape());
+        }
+    }
+
+    /**
+     * Petstore не проверяет пароль и не требует токен, поэтому токен передаётся в api_key,
+     * как это делал бы реальный клиент, а успех запроса определяется только статусом.
+     * Запросы идут без фильтров конвейера, как в остальных нагрузочных сценариях: ответы 5xx под штормом —
+     * измеряемый результат, а не повод размыкать breaker для этого и следующих тестов.
+     */
+    private static final class PetstoreSessions implements LoginStorm.SessionClient {
+
+        @Override
+        public String login(String username, String password) {
+            Response response = given().noFilters().baseUri(BASE_URI)
+                    .queryParam("username", username)
+                    .queryParam("password", password)
+                    .when()
+                    .get("/user/login");
+            return response.statusCode() == 200 ? response.as(ApiResponse.class).getMessage() : null;
+        }
+
+        @Override
+        public boolean authenticated(String username, String token) {
+            return given().noFilters().baseUri(BASE_URI)
+                    .header("api_key", token)
+                    .pathParam("username", username)
+                    .when()
+                    .get("/user/{username}")
+                    .statusCode() == 200;
+        }
+
+        @Override
+        public boolean logout(String token) {
+            return given().noFilters().baseUri(BASE_URI)
+                    .header("api_key", token)
+                    .when()
+                    .get("/user/logout")
+                    .statusCode() == 200;
+        }
+    }
+}
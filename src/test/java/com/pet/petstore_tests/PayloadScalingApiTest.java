@@ -0,0 +1,157 @@
+package com.pet.petstore_tests;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pet.petstore_tests.alloc.AllocationProfiler;
+import com.pet.petstore_tests.load.ScalingSweep;
+import com.pet.petstore_tests.load.Statistics;
+import com.pet.petstore_tests.model.Category;
+import com.pet.petstore_tests.model.Pet;
+import com.pet.petstore_tests.model.PetStatus;
+import com.pet.petstore_tests.model.Tag;
+import io.restassured.response.Response;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.IntFunction;
+
+import static io.restassured.RestAssured.given;
+
+public class PayloadScalingApiTest extends LoadApiTest {
+
+    //Параметры сценария (system properties):
+    //petstore.scaling.sizes      — число элементов tags и photoUrls в точках развёртки
+    //petstore.scaling.nameSizes  — длины name в символах
+    //petstore.scaling.repeats    — замеров на точку (берётся медиана), плюс один прогревочный
+    //petstore.scaling.threshold  — эластичность, начиная с которой рост считается нелинейным
+
+    private static final int[] SIZES = intListProperty("petstore.scaling.sizes", "1,4,16,64,256,1024,4096");
+    private static final int[] NAME_SIZES = intListProperty("petstore.scaling.nameSizes", "16,128,1024,8192,65536");
+    private static final int REPEATS = intProperty("petstore.scaling.repeats", 5);
+    private static final double THRESHOLD = Double.parseDouble(System.getProperty("petstore.scaling.threshold", "1.25"));
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final String baseUri = System.getProperty("petstore.baseUri", "https://petstore.swagger.io/v2");
+    private final int petId = ThreadLocalRandom.current().nextInt(1_000_000, 9_999_999);
+
+    @Test
+    @DisplayName("Масштабирование сериализации и обработки Pet по размеру tags, photoUrls и name")
+    void payloadScaling() throws Exception {
+        ScalingSweep sweep = new ScalingSweep();
+        try {
+            measure(sweep, "tags", SIZES, n -> pet(n, 1, 16));
+            measure(sweep, "photoUrls", SIZES, n -> pet(1, n, 16));
+            measure(sweep, "name", NAME_SIZES, n -> pet(1, 1, n));
+        } finally {
+            //Все точки пишут одного питомца (POST /pet — upsert), удаляется он один раз.
+            given().noFilters().baseUri(baseUri).delete("/pet/{petId}", petId);
+        }
+
+        System.out.println(sweep.formatTable(THRESHOLD));
+        for (ScalingSweep.Metric metric : List.of(ScalingSweep.Metric.SERIALIZE, ScalingSweep.Metric.POST,
+                ScalingSweep.Metric.GET, ScalingSweep.Metric.CLIENT_ALLOC)) {
+            System.out.println(metric + " нелинеен начиная с: " + sweep.firstNonlinear(metric, THRESHOLD));
+        }
+
+        Assertions.assertEquals(200, sweep.points().get(0).status(), "Наименьший питомец не создан");
+    }
+
+    private void measure(ScalingSweep sweep, String dimension, int[] sizes, IntFunction<Pet> factory) throws Exception {
+        for (int size : sizes) {
+            Pet pet = factory.apply(size);
+            Map<ScalingSweep.Metric, List<Double>> samples = new EnumMap<>(ScalingSweep.Metric.class);
+            int status = 0;
+            //Первый замер прогревочный: JIT и буферы клиента под новый размер.
+            for (int i = 0; i <= REPEATS; i++) {
+                long allocStart = AllocationProfiler.currentThreadAllocatedBytes();
+                long start = System.nanoTime();
+                byte[] body = MAPPER.writeValueAsBytes(pet);
+                long serializeNanos = System.nanoTime() - start;
+                long serializeAlloc = AllocationProfiler.currentThreadAllocatedBytes() - allocStart;
+
+                //Фильтры конвейера (учёт сущностей, breaker) не применяются: меряется сам клиент.
+                //Тело уже сериализовано, так что время POST — только запрос и ответ.
+                start = System.nanoTime();
+                Response post = given().noFilters().baseUri(baseUri).contentType("application/json")
+                        .body(body).post("/pet");
+                post.asByteArray();
+                long postNanos = System.nanoTime() - start;
+
+                start = System.nanoTime();
+                Response get = given().noFilters().baseUri(baseUri).get("/pet/{petId}", petId);
+                byte[] response = get.asByteArray();
+                long getNanos = System.nanoTime() - start;
+
+                //Аллокации клиента меряются отдельным вызовом с телом-объектом,
+                //чтобы в них вошла и собственная сериализация RestAssured; в тайминги он не входит.
+                allocStart = AllocationProfiler.currentThreadAllocatedBytes();
+                given().noFilters().baseUri(baseUri).contentType("application/json")
+                        .body(pet).post("/pet").asByteArray();
+                given().noFilters().baseUri(baseUri).get("/pet/{petId}", petId).asByteArray();
+                long clientAlloc = AllocationProfiler.currentThreadAllocatedBytes() - allocStart;
+
+                status = post.statusCode();
+                if (i == 0) {
+                    continue;
+                }
+                add(samples, ScalingSweep.Metric.SERIALIZE, serializeNanos);
+                add(samples, ScalingSweep.Metric.REQUEST_BYTES, body.length);
+                add(samples, ScalingSweep.Metric.POST, postNanos);
+                add(samples, ScalingSweep.Metric.GET, getNanos);
+                add(samples, ScalingSweep.Metric.RESPONSE_BYTES, response.length);
+                //Без счётчика аллокаций потока колонки аллокаций остаются пустыми, а не нулевыми.
+                if (AllocationProfiler.isSupported()) {
+                    add(samples, ScalingSweep.Metric.SERIALIZE_ALLOC, serializeAlloc);
+                    add(samples, ScalingSweep.Metric.CLIENT_ALLOC, clientAlloc);
+                }
+            }
+            Map<ScalingSweep.Metric, Double> medians = new EnumMap<>(ScalingSweep.Metric.class);
+            samples.forEach((metric, values) -> medians.put(metric, median(values)));
+            sweep.add(dimension, size, status, medians);
+        }
+    }
+
+    private static void add(Map<ScalingSweep.Metric, List<Double>> samples, ScalingSweep.Metric metric, double value) {
+        samples.computeIfAbsent(metric, m -> new ArrayList<>()).add(value);
+    }
+
+    private static double median(List<Double> values) {
+        return Statistics.median(values.stream().mapToLong(Double::longValue).toArray());
+    }
+
+    private Pet pet(int tags, int photoUrls, int nameLength) {
+        Pet pet = new Pet();
+        pet.setId(petId);
+
+        Category category = new Category();
+        category.setId(1);
+        category.setName("dogs");
+        pet.setCategory(category);
+
+        pet.setName("doggie-" + "x".repeat(Math.max(0, nameLength - 7)));
+
+        List<String> urls = new ArrayList<>(photoUrls);
+        for (int i = 0; i < photoUrls; i++) {
+            urls.add("https://example.com/photo" + i + ".jpg");
+        }
+        pet.setPhotoUrls(urls);
+
+        List<Tag> tagList = new ArrayList<>(tags);
+        for (int i = 0; i < tags; i++) {
+            Tag tag = new Tag();
+            tag.setId(i);
+            tag.setName("tag" + i);
+            tagList.add(tag);
+        }
+        pet.setTags(tagList);
+
+        pet.setStatus(PetStatus.AVAILABLE);
+        return pet;
+    }
+}
@@ -1,5 +1,8 @@
 package com.pet.petstore_tests;
 
+import com.pet.petstore_tests.graph.DependencyGraph;
+import com.pet.petstore_tests.graph.DependsOn;
+import com.pet.petstore_tests.graph.TestGraph;
 import com.pet.petstore_tests.model.Category;
 import com.pet.petstore_tests.model.Pet;
 import com.pet.petstore_tests.model.PetStatus;
@@ -11,12 +14,12 @@ import java.io.File;
 import java.util.List;
 import java.util.concurrent.ThreadLocalRandom;
 
+import static com.pet.petstore_tests.assertion.JsonMatcher.json;
 import static io.restassured.RestAssured.given;
 import static org.hamcrest.Matchers.*;
 
-@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@DependencyGraph
 public class PetApiTest extends BaseApiTest {
-    private static Integer petId;
 
     private Pet buildRandomPet() {
         Pet pet = new Pet();
@@ -40,23 +43,24 @@ public class PetApiTest extends BaseApiTest {
     }
 
     @Test
-    @Order(1)
     @DisplayName("Создание питомца (POST /pet)")
-    void createPet_success() {
+    void createPet_success(TestGraph graph) {
         Pet newPet = buildRandomPet();
 
-        petId = Math.toIntExact(given()
+        int petId = Math.toIntExact(given()
                 .body(newPet)
                 .when()
                 .post("/pet")
                 .then()
                 .statusCode(200)
                 .contentType(ContentType.JSON)
-                .body("id", equalTo(newPet.getId()))
-                .body("name", equalTo(newPet.getName()))
-                .body("status", equalTo(PetStatus.AVAILABLE.name()))
+                .body(json()
+                        .path("id", equalTo(newPet.getId()))
+                        .path("name", equalTo(newPet.getName()))
+                        .path("status", equalTo(PetStatus.AVAILABLE.name())))
                 .extract()
                 .jsonPath().getInt("id"));
+        graph.put("petId", petId);
     }
 
     @Test
@@ -78,10 +82,10 @@ public class PetApiTest extends BaseApiTest {
     }
 
     @Test
-    @Order(2)
+    @DependsOn("createPet_success")
     @DisplayName("Получение питомца по id (GET /pet/{petId})")
-    void getPetById_success() {
-        Assertions.assertNotNull(petId);
+    void getPetById_success(TestGraph graph) {
+        int petId = graph.get("petId", Integer.class);
 
         given()
                 .pathParam("petId", petId)
@@ -90,8 +94,9 @@ public class PetApiTest extends BaseApiTest {
                 .then()
                 .statusCode(200)
                 .contentType(ContentType.JSON)
-                .body("id", equalTo(petId))
-                .body("name", startsWith("doggie-"));
+                .body(json()
+                        .path("id", equalTo(petId))
+                        .path("name", startsWith("doggie-")));
     }
 
     @Test
@@ -123,7 +128,6 @@ public class PetApiTest extends BaseApiTest {
     }
 
     @Test
-    @Order(3)
     @DisplayName("Поиск по статусу (GET /pet/findByStatus?status=available&status=sold)")
     void findByStatus_multipleStatuses() {
         given()
@@ -133,8 +137,9 @@ public class PetApiTest extends BaseApiTest {
                 .then()
                 .statusCode(200)
                 .contentType(ContentType.JSON)
-                .body("$", not(empty()))
-                .body("status", everyItem(oneOf("available", "sold")));
+                .body(json()
+                        .path("$", not(empty()))
+                        .path("status", everyItem(oneOf("available", "sold"))));
     }
 
     @Test
@@ -152,14 +157,15 @@ public class PetApiTest extends BaseApiTest {
                 .get("/pet/findByStatus")
                 .then()
                 .statusCode(200)
-                .body("$", empty());
+                .body(json()
+                        .path("$", empty()));
     }
 
     @Test
-    @Order(4)
+    @DependsOn("getPetById_success")
     @DisplayName("Обновление через form (POST /pet/{petId}?name=&status=)")
-    void updatePetViaFormData() {
-        Assertions.assertNotNull(petId);
+    void updatePetViaFormData(TestGraph graph) {
+        int petId = graph.get("petId", Integer.class);
 
         String newName = "doggieUpdated-" + petId;
         String newStatus = "sold";
@@ -180,20 +186,21 @@ public class PetApiTest extends BaseApiTest {
                 .get("/pet/{petId}")
                 .then()
                 .statusCode(200)
-                .body("name", equalTo(newName))
-                .body("status", equalTo(newStatus));
+                .body(json()
+                        .path("name", equalTo(newName))
+                        .path("status", equalTo(newStatus)));
     }
 
     @Test
-    @Order(5)
+    @DependsOn("updatePetViaFormData")
     @DisplayName("Обновление через form (POST /pet/{petId}) — сервис принимает любой статус")
-    void updatePetViaFormData_invalid_status_is_accepted() {
+    void updatePetViaFormData_invalid_status_is_accepted(TestGraph graph) {
 
         //Согласно здравому смыслу, некорректное значение поля status могло бы приводить к ошибке валидации (400).
         //Однако сервис Petstore принимает любое строковое значение и возвращает 200 OK.
         //В тесте зафиксировано реальное поведение сервиса.
 
-        Assertions.assertNotNull(petId);
+        int petId = graph.get("petId", Integer.class);
 
         String newName = "doggieUpdated-" + petId;
 
@@ -234,15 +241,16 @@ public class PetApiTest extends BaseApiTest {
                 .post("/pet/{petId}/uploadImage")
                 .then()
                 .statusCode(200)
-                .body("message", containsString(additionalMetadata))
-                .body("message", containsString(file.getName()));
+                .body(json()
+                        .path("message", containsString(additionalMetadata))
+                        .path("message", containsString(file.getName())));
     }
 
     @Test
-    @Order(6)
+    @DependsOn("updatePetViaFormData_invalid_status_is_accepted")
     @DisplayName("Удаление питомца (DELETE /pet/{petId}) - успешное удаление")
-    void deletePet_success() {
-        Assertions.assertNotNull(petId);
+    void deletePet_success(TestGraph graph) {
+        int petId = graph.get("petId", Integer.class);
 
         given()
                 .pathParam("petId", petId)
@@ -1,41 +1,46 @@
 package com.pet.petstore_tests;
 
+import com.pet.petstore_tests.body.BodyTemplate;
+import com.pet.petstore_tests.graph.DependencyGraph;
+import com.pet.petstore_tests.graph.DependsOn;
+import com.pet.petstore_tests.graph.TestGraph;
 import io.restassured.http.ContentType;
 import org.junit.jupiter.api.*;
 
 import java.time.OffsetDateTime;
 import java.util.concurrent.ThreadLocalRandom;
 
+import static com.pet.petstore_tests.assertion.JsonMatcher.json;
 import static io.restassured.RestAssured.given;
 import static org.hamcrest.Matchers.*;
 
-@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@DependencyGraph
 public class StoreApiTest extends BaseApiTest {
 
-    static Integer orderId;
-    static Integer petId;
-
-    @BeforeAll
-    static void setUp() {
-        orderId = ThreadLocalRandom.current().nextInt(1_000_000, 9_999_999);
-        petId = ThreadLocalRandom.current().nextInt(1, 9_999_999);
-    }
+    //Тело заказа сериализуется один раз, на запрос подставляются только слоты.
+    static final BodyTemplate ORDER = BodyTemplate.fromJson("""
+            {
+              "id": 0,
+              "petId": 0,
+              "quantity": 2,
+              "shipDate": "2024-01-01T00:00:00.000Z",
+              "status": "placed",
+              "complete": true
+            }
+            """, "id", "petId", "quantity", "shipDate");
 
     @Test
-    @Order(1)
     @DisplayName("Создание заказа (POST /store/order)")
-    void placeOrder_Success() {
-
-        String orderBody = """
-                {
-                  "id": %d,
-                  "petId": %d,
-                  "quantity": 2,
-                  "shipDate": "%s",
-                  "status": "placed",
-                  "complete": true
-                }
-                """.formatted(orderId, petId, OffsetDateTime.now().toString());
+    void placeOrder_Success(TestGraph graph) {
+
+        int orderId = ThreadLocalRandom.current().nextInt(1_000_000, 9_999_999);
+        int petId = ThreadLocalRandom.current().nextInt(1, 9_999_999);
+
+        byte[] orderBody = ORDER.newBody()
+                .set("id", orderId)
+                .set("petId", petId)
+                .set("shipDate", OffsetDateTime.now().toString())
+                .toBytes();
 
         given()
                 .body(orderBody)
@@ -44,11 +49,13 @@ public class StoreApiTest extends BaseApiTest {
                 .then()
                 .statusCode(200)
                 .contentType(ContentType.JSON)
-                .body("id", equalTo(orderId))
-                .body("petId", equalTo(petId))
-                .body("status", equalTo("placed"))
-                .body("complete", equalTo(true));
+                .body(json()
+                        .path("id", equalTo(orderId))
+                        .path("petId", equalTo(petId))
+                        .path("status", equalTo("placed"))
+                        .path("complete", equalTo(true)));
 
+        graph.put("orderId", orderId);
     }
 
     @Test
@@ -59,17 +66,14 @@ public class StoreApiTest extends BaseApiTest {
         // сервис Petstore возвращает 500 Internal Server Error,
         //что указывает на отсутствие корректной валидации входных данных и падение сервера.
         //В тесте зафиксировано фактическое поведение сервиса.
+        //Свой id: заказ из placeOrder_Success этот тест не трогает, порядок между ними не важен.
 
-        String orderBody = """
-                {
-                  "id": %d,
-                  "petId": %d,
-                  "quantity": "some string",
-                  "shipDate": "%s",
-                  "status": "placed",
-                  "complete": true
-                }
-                """.formatted(orderId, petId, OffsetDateTime.now().toString());
+        byte[] orderBody = ORDER.newBody()
+                .set("id", ThreadLocalRandom.current().nextInt(1_000_000, 9_999_999))
+                .set("petId", ThreadLocalRandom.current().nextInt(1, 9_999_999))
+                .set("quantity", "some string")
+                .set("shipDate", OffsetDateTime.now().toString())
+                .toBytes();
 
         given()
                 .body(orderBody)
@@ -81,9 +85,10 @@ public class StoreApiTest extends BaseApiTest {
     }
 
     @Test
-    @Order(2)
+    @DependsOn("placeOrder_Success")
     @DisplayName("Получение заказа (POST /store/order)")
-    void getOrderById_Success() {
+    void getOrderById_Success(TestGraph graph) {
+        int orderId = graph.get("orderId", Integer.class);
 
         given()
                 .pathParam("orderId", orderId)
@@ -91,7 +96,8 @@ public class StoreApiTest extends BaseApiTest {
                 .get("/store/order/{orderId}")
                 .then()
                 .statusCode(200)
-                .body("id", equalTo(orderId));
+                .body(json()
+                        .path("id", equalTo(orderId)));
     }
 
 
@@ -138,14 +144,16 @@ public class StoreApiTest extends BaseApiTest {
                 .then()
                 .statusCode(200)
                 .contentType(ContentType.JSON)
-                .body("$", aMapWithSize(greaterThan(0)))
-                .body("available", notNullValue());
+                .body(json()
+                        .path("$", aMapWithSize(greaterThan(0)))
+                        .path("available", notNullValue()));
     }
 
     @Test
-    @Order(3)
+    @DependsOn("getOrderById_Success")
     @DisplayName("Удаление заказа (DELETE /store/order/{orderId})")
-    void deleteOrder() {
+    void deleteOrder(TestGraph graph) {
+        int orderId = graph.get("orderId", Integer.class);
 
         given()
                 .pathParam("orderId", orderId)
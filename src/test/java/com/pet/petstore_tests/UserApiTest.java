@@ -1,5 +1,7 @@
 package com.pet.petstore_tests;
 
+import com.pet.petstore_tests.graph.DependencyGraph;
+import com.pet.petstore_tests.graph.DependsOn;
 import com.pet.petstore_tests.model.User;
 import io.restassured.http.ContentType;
 import org.junit.jupiter.api.*;
@@ -7,10 +9,11 @@ import org.junit.jupiter.api.*;
 import java.util.List;
 import java.util.Map;
 
+import static com.pet.petstore_tests.assertion.JsonMatcher.json;
 import static io.restassured.RestAssured.given;
 import static org.hamcrest.Matchers.*;
 
-@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@DependencyGraph
 public class UserApiTest extends BaseApiTest {
 
     private static User userOne = new User();
@@ -74,7 +77,6 @@ public class UserApiTest extends BaseApiTest {
     }
 
     @Test
-    @Order(1)
     @DisplayName("Создание пользователей массивом (POST /user/createWithArray)")
     void createUsersWithArray() {
         var user1 = Map.of(
@@ -109,7 +111,7 @@ public class UserApiTest extends BaseApiTest {
     }
 
     @Test
-    @Order(2)
+    @DependsOn("createUsersWithArray")
     @DisplayName("Получение пользователя по username (GET /user/{username})")
     void getUserByUsername() {
 
@@ -120,8 +122,9 @@ public class UserApiTest extends BaseApiTest {
                 .then()
                 .statusCode(200)
                 .contentType(ContentType.JSON)
-                .body("username", equalTo(userOne.getUsername()))
-                .body("email", equalTo("user1@example.com"));
+                .body(json()
+                        .path("username", equalTo(userOne.getUsername()))
+                        .path("email", equalTo("user1@example.com")));
 
     }
 
@@ -159,7 +162,7 @@ public class UserApiTest extends BaseApiTest {
     }
 
     @Test
-    @Order(3)
+    @DependsOn("getUserByUsername")
     @DisplayName("Обновление пользователя (PUT /user/{username})")
     void updateUser_success() {
 
@@ -202,14 +205,18 @@ public class UserApiTest extends BaseApiTest {
                 .get("/user/{username}")
                 .then()
                 .statusCode(200)
-                .body("id", equalTo(userOne.getId()))
-                .body("username", equalTo(userOne.getUsername()))
-                .body("firstName", equalTo(updatedFirstName))
-                .body("lastName", equalTo(updatedLastName))
-                .body("email", equalTo(updatedEmail));
+                .body(json()
+                        .path("id", equalTo(userOne.getId()))
+                        .path("username", equalTo(userOne.getUsername()))
+                        .path("firstName", equalTo(updatedFirstName))
+                        .path("lastName", equalTo(updatedLastName))
+                        .path("email", equalTo(updatedEmail)));
     }
 
     @Test
+    //PUT работает как upsert с id пользователя UserOne — запускается после его цепочки
+    //и после проверки, что not_found ещё не создан.
+    @DependsOn({"getUserByUsername_notFound", "deleteUser_success"})
     @DisplayName("Обновление пользователя c несуществующим username - User not found")
     void updateUser_notFound() {
 
@@ -259,13 +266,15 @@ public class UserApiTest extends BaseApiTest {
                 .get("/user/{username}")
                 .then()
                 .statusCode(200)
-                .body("username", equalTo(notFoundUsername))
-                .body("firstName", equalTo(updatedFirstName))
-                .body("lastName", equalTo(updatedLastName))
-                .body("email", equalTo(updatedEmail));
+                .body(json()
+                        .path("username", equalTo(notFoundUsername))
+                        .path("firstName", equalTo(updatedFirstName))
+                        .path("lastName", equalTo(updatedLastName))
+                        .path("email", equalTo(updatedEmail)));
     }
 
     @Test
+    @DependsOn({"getUserByUsername_invalidUsername", "deleteUser_invalidUsername", "deleteUser_success"})
     @DisplayName("Обновление пользователя c невалидным username - Invalid user supplied")
     void updateUser_invalidUsername() {
 
@@ -315,13 +324,14 @@ public class UserApiTest extends BaseApiTest {
                 .get("/user/{username}")
                 .then()
                 .statusCode(200)
-                .body("firstName", equalTo(updatedFirstName))
-                .body("lastName", equalTo(updatedLastName))
-                .body("email", equalTo(updatedEmail));
+                .body(json()
+                        .path("firstName", equalTo(updatedFirstName))
+                        .path("lastName", equalTo(updatedLastName))
+                        .path("email", equalTo(updatedEmail)));
     }
 
     @Test
-    @Order(4)
+    @DependsOn("updateUser_success")
     @DisplayName("Удаление существующего пользователя - 200 OK")
     void deleteUser_success() {
 
@@ -375,7 +385,7 @@ public class UserApiTest extends BaseApiTest {
     }
 
     @Test
-    @Order(5)
+    @DependsOn("createUsersWithArray")
     @DisplayName("Логин пользователя с query-параметрами (GET /user/login?username=&password=)")
     void loginUser() {
         given()
@@ -385,7 +395,8 @@ public class UserApiTest extends BaseApiTest {
                 .get("/user/login")
                 .then()
                 .statusCode(200)
-                .body("message", containsString("logged in user session"));
+                .body(json()
+                        .path("message", containsString("logged in user session")));
     }
 
     @Test
@@ -407,8 +418,9 @@ public class UserApiTest extends BaseApiTest {
                 .get("/user/login")
                 .then()
                 .statusCode(200)
-                .body("code", equalTo(200))
-                .body("message", containsString("logged in user session"));
+                .body(json()
+                        .path("code", equalTo(200))
+                        .path("message", containsString("logged in user session")));
     }
 
     @Test
@@ -421,9 +433,10 @@ public class UserApiTest extends BaseApiTest {
                 .then()
                 .statusCode(200)
                 .contentType(ContentType.JSON)
-                .body("code", equalTo(200))
-                .body("type", notNullValue())
-                .body("message", notNullValue());
+                .body(json()
+                        .path("code", equalTo(200))
+                        .path("type", notNullValue())
+                        .path("message", notNullValue()));
     }
 
     @Test
@@ -468,9 +481,10 @@ public class UserApiTest extends BaseApiTest {
                 .then()
                 .statusCode(200)
                 .contentType(ContentType.JSON)
-                .body("code", equalTo(200))
-                .body("type", notNullValue())
-                .body("message", notNullValue());
+                .body(json()
+                        .path("code", equalTo(200))
+                        .path("type", notNullValue())
+                        .path("message", notNullValue()));
     }
 
     @Test
@@ -506,8 +520,9 @@ public class UserApiTest extends BaseApiTest {
                 .then()
                 .statusCode(200)
                 .contentType(ContentType.JSON)
-                .body("code", equalTo(200))
-                .body("type", notNullValue())
-                .body("message", equalTo(String.valueOf(userFive.getId())));
+                .body(json()
+                        .path("code", equalTo(200))
+                        .path("type", notNullValue())
+                        .path("message", equalTo(String.valueOf(userFive.getId()))));
     }
 }
@@ -0,0 +1,241 @@
+package com.pet.petstore_tests.alloc;
+
+import com.pet.petstore_tests.load.LatencyHistogram;
+import com.pet.petstore_tests.pipeline.PipelineStage;
+import io.restassured.config.ObjectMapperConfig;
+import io.restassured.filter.FilterContext;
+import io.restassured.internal.mapping.Jackson2Mapper;
+import io.restassured.mapper.ObjectMapper;
+import io.restassured.mapper.ObjectMapperDeserializationContext;
+import io.restassured.mapper.ObjectMapperSerializationContext;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Байты, выделенные клиентом на запрос, по шаблону эндпоинта и фазе. Счётчик — аллокации текущего потока
+ * ({@code com.sun.management.ThreadMXBean}), поэтому учитывается только работа потока теста:
+ * <ul>
+ *     <li>SERIALIZE — сериализация тела через {@link #objectMapper()} (RestAssured делает её в {@code body(...)});</li>
+ *     <li>SEND — цепочка фильтров после этой стадии: логирование, остальные стадии, HTTP-клиент, чтение ответа;</li>
+ *     <li>PARSE — десериализация ответа через {@link #objectMapper()} ({@code as(...)}, {@code extract().as(...)});</li>
+ *     <li>ASSERT — всё остальное в потоке после ответа до следующего запроса или конца теста:
+ *     проверки {@code then()}, JsonPath, код теста.</li>
+ * </ul>
+ * Стадии, которые выполняют запрос в своём пуле ({@code HedgingFilter} отправляет так GET, пока есть бюджет хеджей),
+ * передают аллокации пула через {@link #addOffloaded(long)}, и они входят в SEND. Не учитываются копии запросов,
+ * отправленные хеджированием, и основной запрос, если выиграла копия.
+ */
+public final class AllocationProfiler implements PipelineStage {
+
+    public enum Phase { SERIALIZE, SEND, PARSE, ASSERT }
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    //Аллокации, сделанные стадиями ниже в чужом потоке от имени текущего запроса.
+    private static final ThreadLocal<long[]> OFFLOADED = ThreadLocal.withInitial(() -> new long[1]);
+
+    public static boolean isSupported() {
+        return THREADS.isThreadAllocatedMemorySupported() && THREADS.isThreadAllocatedMemoryEnabled();
+    }
+
+    /**
+     * Счётчик аллокаций текущего потока; 0, если JVM его не поддерживает.
+     */
+    public static long currentThreadAllocatedBytes() {
+        return isSupported() ? THREADS.getCurrentThreadAllocatedBytes() : 0;
+    }
+
+    /**
+     * Добавляет к фазе SEND текущего запроса байты, выделенные для него в другом потоке.
+     * Вызывается в потоке теста внутри цепочки фильтров.
+     */
+    public static void addOffloaded(long bytes) {
+        OFFLOADED.get()[0] += Math.max(0, bytes);
+    }
+
+    public static final class EndpointStats {
+        private final LatencyHistogram latency = new LatencyHistogram();
+        private final LongAdder requests = new LongAdder();
+        private final LongAdder[] bytes = new LongAdder[Phase.values().length];
+        //ASSERT закрывается только следующим запросом или концом теста, поэтому считается отдельно.
+        private final LongAdder assertOps = new LongAdder();
+
+        EndpointStats() {
+            for (int i = 0; i < bytes.length; i++) {
+                bytes[i] = new LongAdder();
+            }
+        }
+
+        void add(Phase phase, long allocated) {
+            bytes[phase.ordinal()].add(Math.max(0, allocated));
+        }
+
+        public long requests() {
+            return requests.sum();
+        }
+
+        public LatencyHistogram latency() {
+            return latency;
+        }
+
+        public long totalBytes(Phase phase) {
+            return bytes[phase.ordinal()].sum();
+        }
+
+        public double bytesPerOp(Phase phase) {
+            long ops = phase == Phase.ASSERT ? assertOps.sum() : requests.sum();
+            return ops == 0 ? 0 : (double) totalBytes(phase) / ops;
+        }
+
+        public double totalPerOp() {
+            double total = 0;
+            for (Phase phase : Phase.values()) {
+                total += bytesPerOp(phase);
+            }
+            return total;
+        }
+    }
+
+    //Состояние потока между фазами одного запроса.
+    private static final class ThreadState {
+        long pendingSerialize;
+        EndpointStats current;
+        long afterResponse;
+        long parsedAfterResponse;
+    }
+
+    private final Map<String, EndpointStats> endpoints = new ConcurrentHashMap<>();
+    private final ThreadLocal<ThreadState> state = ThreadLocal.withInitial(ThreadState::new);
+    private final ObjectMapper mapper = new CountingMapper(
+            new Jackson2Mapper(ObjectMapperConfig.objectMapperConfig().jackson2ObjectMapperFactory()));
+
+    /**
+     * Маппер, который нужно поставить в конфигурацию спецификации, чтобы разделить SERIALIZE и PARSE.
+     */
+    public ObjectMapper objectMapper() {
+        return mapper;
+    }
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec,
+                           FilterableResponseSpecification responseSpec,
+                           FilterContext ctx) {
+        ThreadState thread = state.get();
+        long before = THREADS.getCurrentThreadAllocatedBytes();
+        closeAfterResponse(thread, before);
+
+        EndpointStats stats = endpoints.computeIfAbsent(
+                requestSpec.getMethod() + " " + requestSpec.getUserDefinedPath(), key -> new EndpointStats());
+        stats.requests.increment();
+        stats.add(Phase.SERIALIZE, thread.pendingSerialize);
+        thread.pendingSerialize = 0;
+
+        long[] offloaded = OFFLOADED.get();
+        offloaded[0] = 0;
+        long start = System.nanoTime();
+        try {
+            return ctx.next(requestSpec, responseSpec);
+        } finally {
+            stats.latency.recordNanos(System.nanoTime() - start);
+            long after = THREADS.getCurrentThreadAllocatedBytes();
+            stats.add(Phase.SEND, after - before + offloaded[0]);
+            thread.current = stats;
+            thread.afterResponse = after;
+            thread.parsedAfterResponse = 0;
+        }
+    }
+
+    /**
+     * Закрывает фазу ASSERT последнего запроса потока. Вызывается в потоке теста после его окончания.
+     */
+    public void endTest() {
+        ThreadState thread = state.get();
+        closeAfterResponse(thread, THREADS.getCurrentThreadAllocatedBytes());
+        thread.pendingSerialize = 0;
+    }
+
+    private static void closeAfterResponse(ThreadState thread, long now) {
+        if (thread.current == null) {
+            return;
+        }
+        //Сериализация следующего запроса и разбор ответа учтены в своих фазах.
+        thread.current.add(Phase.ASSERT,
+                now - thread.afterResponse - thread.parsedAfterResponse - thread.pendingSerialize);
+        thread.current.assertOps.increment();
+        thread.current = null;
+    }
+
+    public Map<String, EndpointStats> endpoints() {
+        return endpoints;
+    }
+
+    private final class CountingMapper implements ObjectMapper {
+        private final ObjectMapper delegate;
+
+        CountingMapper(ObjectMapper delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public Object serialize(ObjectMapperSerializationContext context) {
+            long before = THREADS.getCurrentThreadAllocatedBytes();
+            try {
+                return delegate.serialize(context);
+            } finally {
+                state.get().pendingSerialize += THREADS.getCurrentThreadAllocatedBytes() - before;
+            }
+        }
+
+        @Override
+        public Object deserialize(ObjectMapperDeserializationContext context) {
+            long before = THREADS.getCurrentThreadAllocatedBytes();
+            try {
+                return delegate.deserialize(context);
+            } finally {
+                long allocated = THREADS.getCurrentThreadAllocatedBytes() - before;
+                ThreadState thread = state.get();
+                if (thread.current != null) {
+                    thread.current.add(Phase.PARSE, allocated);
+                    thread.parsedAfterResponse += allocated;
+                }
+            }
+        }
+    }
+
+    public static String formatTable(Map<String, EndpointStats> endpoints) {
+        List<Map.Entry<String, EndpointStats>> rows = new ArrayList<>(endpoints.entrySet());
+        //Сверху — самые «дорогие» по памяти операции.
+        rows.sort(Comparator.comparingDouble((Map.Entry<String, EndpointStats> e) -> e.getValue().totalPerOp())
+                .reversed());
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("%-36s %6s %8s %8s %11s %11s %11s %11s %11s%n",
+                "endpoint", "n", "p50ms", "p99ms", "ser KB/op", "send KB/op", "parse KB/op", "assert KB/op",
+                "total KB/op"));
+        for (Map.Entry<String, EndpointStats> e : rows) {
+            EndpointStats s = e.getValue();
+            sb.append(String.format("%-36s %6d %8.1f %8.1f %11.1f %11.1f %11.1f %11.1f %11.1f%n",
+                    e.getKey(), s.requests(), s.latency().percentileMillis(50), s.latency().percentileMillis(99),
+                    s.bytesPerOp(Phase.SERIALIZE) / 1024, s.bytesPerOp(Phase.SEND) / 1024,
+                    s.bytesPerOp(Phase.PARSE) / 1024, s.bytesPerOp(Phase.ASSERT) / 1024, s.totalPerOp() / 1024));
+        }
+        return sb.toString();
+    }
+
+    @Override
+    public String report() {
+        if (endpoints.isEmpty()) {
+            return "";
+        }
+        return "allocations per request:" + System.lineSeparator() + formatTable(endpoints).stripTrailing();
+    }
+}
@@ -0,0 +1,155 @@
+package com.pet.petstore_tests.alloc;
+
+import com.pet.petstore_tests.model.Pet;
+import com.pet.petstore_tests.model.Tag;
+import com.pet.petstore_tests.pipeline.HedgingFilter;
+import com.sun.net.httpserver.HttpServer;
+import io.restassured.RestAssured;
+import io.restassured.config.ObjectMapperConfig;
+import io.restassured.config.RestAssuredConfig;
+import io.restassured.specification.RequestSpecification;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+public class AllocationProfilerTest {
+
+    private HttpServer server;
+    private AllocationProfiler profiler;
+
+    @BeforeEach
+    void start() throws Exception {
+        assumeTrue(AllocationProfiler.isSupported(), "JVM не считает аллокации потоков");
+        RestAssured.reset();
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.createContext("/pet", exchange -> {
+            //POST возвращает присланное тело, GET — небольшой объект.
+            byte[] body = "POST".equals(exchange.getRequestMethod())
+                    ? exchange.getRequestBody().readAllBytes()
+                    : "{\"id\":1,\"name\":\"rex\",\"photoUrls\":[]}".getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        server.start();
+        profiler = new AllocationProfiler();
+    }
+
+    @AfterEach
+    void stop() {
+        if (server != null) {
+            server.stop(0);
+        }
+    }
+
+    @Test
+    @DisplayName("Аллокации раскладываются по шаблону эндпоинта и фазам запроса")
+    void phasesAreAttributedToEndpointTemplate() {
+        Pet pet = pet(2000);
+        //Прогрев без профилировщика: загрузка классов Groovy/JsonPath на первом вызове весит мегабайты.
+        AllocationProfiler warmUp = profiler;
+        profiler = new AllocationProfiler();
+        roundTrip(pet);
+        profiler = warmUp;
+
+        for (int i = 0; i < 3; i++) {
+            roundTrip(pet);
+        }
+        profiler.endTest();
+
+        AllocationProfiler.EndpointStats post = profiler.endpoints().get("POST /pet");
+        AllocationProfiler.EndpointStats get = profiler.endpoints().get("GET /pet/{petId}");
+        assertNotNull(post, profiler.endpoints().keySet().toString());
+        assertNotNull(get, profiler.endpoints().keySet().toString());
+        assertEquals(3, post.requests());
+        assertEquals(3, get.latency().count());
+
+        //2000 тегов — десятки килобайт JSON: сериализация и разбор тела заметно дороже, чем у GET.
+        assertTrue(post.bytesPerOp(AllocationProfiler.Phase.SERIALIZE) > 20_000,
+                "serialize=" + post.bytesPerOp(AllocationProfiler.Phase.SERIALIZE));
+        assertTrue(post.bytesPerOp(AllocationProfiler.Phase.PARSE) > 20_000,
+                "parse=" + post.bytesPerOp(AllocationProfiler.Phase.PARSE));
+        assertEquals(0, get.totalBytes(AllocationProfiler.Phase.SERIALIZE));
+        assertEquals(0, get.totalBytes(AllocationProfiler.Phase.PARSE));
+        assertTrue(get.bytesPerOp(AllocationProfiler.Phase.SEND) > 0);
+        //Проверка JsonPath в then() — фаза ASSERT.
+        assertTrue(get.bytesPerOp(AllocationProfiler.Phase.ASSERT) > 0);
+
+        String table = AllocationProfiler.formatTable(profiler.endpoints());
+        assertTrue(table.indexOf("POST /pet") < table.indexOf("GET /pet/{petId}"), table);
+    }
+
+    @Test
+    @DisplayName("GET, отправленный хеджированием из пула, учитывается в SEND")
+    void hedgedGet_countsPoolAllocations() {
+        Pet pet = pet(2000);
+        roundTrip(pet);
+        profiler = new AllocationProfiler();
+        for (int i = 0; i < 3; i++) {
+            roundTrip(pet);
+        }
+        double direct = profiler.endpoints().get("GET /pet/{petId}").bytesPerOp(AllocationProfiler.Phase.SEND);
+
+        //Бюджет 100% и долгая задержка: каждый GET уходит в пул, хеджи не отправляются.
+        HedgingFilter hedging = new HedgingFilter(new HedgingFilter.Policy(95, 1.0, 100, 10_000));
+        profiler = new AllocationProfiler();
+        for (int i = 0; i < 3; i++) {
+            spec().filter(hedging).pathParam("petId", 1).get("/pet/{petId}").then().statusCode(200);
+        }
+        double pooled = profiler.endpoints().get("GET /pet/{petId}").bytesPerOp(AllocationProfiler.Phase.SEND);
+
+        assertEquals(0, hedging.hedgedRequests());
+        assertTrue(pooled > direct / 2, "send через пул=" + pooled + " напрямую=" + direct);
+    }
+
+    @Test
+    @DisplayName("Без запросов отчёт пуст")
+    void emptyReport() {
+        profiler.endTest();
+        assertEquals("", profiler.report());
+    }
+
+    private void roundTrip(Pet pet) {
+        Pet echoed = spec().body(pet).post("/pet").then().statusCode(200).extract().as(Pet.class);
+        assertEquals(2000, echoed.getTags().size());
+        spec().pathParam("petId", 1).get("/pet/{petId}").then().statusCode(200).body("name", equalTo("rex"));
+    }
+
+    private RequestSpecification spec() {
+        return RestAssured.given()
+                .baseUri("http://127.0.0.1:" + server.getAddress().getPort())
+                .contentType("application/json")
+                .config(RestAssuredConfig.config().objectMapperConfig(
+                        ObjectMapperConfig.objectMapperConfig().defaultObjectMapper(profiler.objectMapper())))
+                .filter(profiler);
+    }
+
+    private static Pet pet(int tags) {
+        Pet pet = new Pet();
+        pet.setId(1);
+        pet.setName("rex");
+        pet.setPhotoUrls(List.of());
+        List<Tag> list = new ArrayList<>();
+        for (int i = 0; i < tags; i++) {
+            Tag tag = new Tag();
+            tag.setId(i);
+            tag.setName("tag-" + i);
+            list.add(tag);
+        }
+        pet.setTags(list);
+        return pet;
+    }
+}
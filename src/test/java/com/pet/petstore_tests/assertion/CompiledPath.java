@@ -0,0 +1,76 @@
+package com.pet.petstore_tests.assertion;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Путь вида "$", "id", "category.name", "tags[0].name", разобранный один раз в массив шагов:
+ * String — имя поля, Integer — индекс массива. Как и в GPath, имя поля, применённое к массиву,
+ * собирает значения этого поля по всем элементам.
+ */
+public final class CompiledPath {
+
+    private static final ConcurrentHashMap<String, CompiledPath> CACHE = new ConcurrentHashMap<>();
+
+    private final String expression;
+    final Object[] steps;
+
+    private CompiledPath(String expression, Object[] steps) {
+        this.expression = expression;
+        this.steps = steps;
+    }
+
+    public static CompiledPath of(String expression) {
+        return CACHE.computeIfAbsent(expression, CompiledPath::compile);
+    }
+
+    private static CompiledPath compile(String expression) {
+        String path = expression.trim();
+        if (path.equals("$") || path.isEmpty()) {
+            return new CompiledPath(expression, new Object[0]);
+        }
+        if (path.startsWith("$.")) {
+            path = path.substring(2);
+        } else if (path.startsWith("$[")) {
+            path = path.substring(1);
+        }
+
+        List<Object> steps = new ArrayList<>();
+        int i = 0;
+        while (i < path.length()) {
+            char c = path.charAt(i);
+            if (c == '.') {
+                i++;
+            } else if (c == '[') {
+                int close = path.indexOf(']', i);
+                if (close < 0) {
+                    throw new IllegalArgumentException("Незакрытая скобка в пути: " + expression);
+                }
+                try {
+                    steps.add(Integer.parseInt(path.substring(i + 1, close).trim()));
+                } catch (NumberFormatException e) {
+                    throw new IllegalArgumentException("Ожидался индекс массива в пути: " + expression, e);
+                }
+                i = close + 1;
+            } else {
+                int end = i;
+                while (end < path.length() && path.charAt(end) != '.' && path.charAt(end) != '[') {
+                    end++;
+                }
+                steps.add(path.substring(i, end));
+                i = end;
+            }
+        }
+        return new CompiledPath(expression, steps.toArray());
+    }
+
+    public int length() {
+        return steps.length;
+    }
+
+    @Override
+    public String toString() {
+        return expression;
+    }
+}
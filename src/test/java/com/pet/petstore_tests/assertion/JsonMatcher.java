@@ -0,0 +1,113 @@
+package com.pet.petstore_tests.assertion;
+
+import org.hamcrest.Description;
+import org.hamcrest.DiagnosingMatcher;
+import org.hamcrest.Matcher;
+import org.hamcrest.StringDescription;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Проверка тела ответа без GPath: пути компилируются один раз ({@link CompiledPath}),
+ * все проверки ответа вычисляются за один проход по JSON. Встраивается в RestAssured
+ * через {@code .body(Matcher)}, матчеры Hamcrest остаются прежними:
+ * <pre>
+ * .then()
+ * .statusCode(200)
+ * .body(json()
+ *         .path("id", equalTo(petId))
+ *         .path("status", everyItem(oneOf("available", "sold"))));
+ * </pre>
+ * В отличие от {@code .body(path, matcher)} сообщает обо всех несовпадениях сразу.
+ */
+public final class JsonMatcher extends DiagnosingMatcher<Object> {
+
+    private final List<CompiledPath> paths = new ArrayList<>();
+    private final List<Matcher<?>> matchers = new ArrayList<>();
+
+    private JsonMatcher() {
+    }
+
+    public static JsonMatcher json() {
+        return new JsonMatcher();
+    }
+
+    public JsonMatcher path(String path, Matcher<?> matcher) {
+        paths.add(CompiledPath.of(path));
+        matchers.add(matcher);
+        return this;
+    }
+
+    /**
+     * Проверяет тело и бросает {@link AssertionError} со списком всех несовпадений.
+     */
+    public void verify(byte[] body) {
+        StringDescription mismatch = new StringDescription();
+        if (!matches(body, mismatch)) {
+            StringDescription expected = new StringDescription();
+            describeTo(expected);
+            throw new AssertionError("Expected: " + expected + System.lineSeparator() + "     but: " + mismatch);
+        }
+    }
+
+    @Override
+    protected boolean matches(Object body, Description mismatch) {
+        Object[] values;
+        try {
+            values = evaluate(body, paths.toArray(new CompiledPath[0]));
+        } catch (IOException | IllegalArgumentException e) {
+            mismatch.appendText("тело не разобрано как JSON: ").appendText(e.getMessage());
+            return false;
+        }
+
+        boolean matched = true;
+        for (int i = 0; i < values.length; i++) {
+            Matcher<?> matcher = matchers.get(i);
+            if (!matcher.matches(values[i])) {
+                if (!matched) {
+                    mismatch.appendText(";\n          ");
+                }
+                matched = false;
+                mismatch.appendText("\"").appendText(paths.get(i).toString()).appendText("\" ");
+                matcher.describeMismatch(values[i], mismatch);
+            }
+        }
+        return matched;
+    }
+
+    @Override
+    public void describeTo(Description description) {
+        description.appendText("JSON {");
+        for (int i = 0; i < paths.size(); i++) {
+            description.appendText(i == 0 ? " " : ", ")
+                    .appendText("\"").appendText(paths.get(i).toString()).appendText("\": ")
+                    .appendDescriptionOf(matchers.get(i));
+        }
+        description.appendText(" }");
+    }
+
+    static Object[] evaluate(Object body, CompiledPath[] paths) throws IOException {
+        if (body instanceof byte[] bytes) {
+            return JsonStreamEvaluator.evaluate(bytes, paths);
+        }
+        if (body instanceof String text) {
+            return JsonStreamEvaluator.evaluate(text, paths);
+        }
+        throw new IllegalArgumentException("ожидалась строка или byte[], получено " + body);
+    }
+
+    /**
+     * Значение одного пути — замена {@code extract().path(...)} на горячих путях.
+     */
+    public static Object read(byte[] body, String path) {
+        try {
+            return JsonStreamEvaluator.evaluate(body, new CompiledPath[]{CompiledPath.of(path)})[0];
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Тело не разобрано как JSON: "
+                    + new String(body, 0, Math.min(body.length, 200), StandardCharsets.UTF_8), e);
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package com.pet.petstore_tests.assertion;
+
+import com.sun.net.httpserver.HttpServer;
+import io.restassured.RestAssured;
+import io.restassured.path.json.JsonPath;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static com.pet.petstore_tests.assertion.JsonMatcher.json;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class JsonMatcherTest {
+
+    private static final String PET = """
+            {"id":9223372036854775807,"category":{"id":1,"name":"dogs"},"name":"doggie",
+             "photoUrls":["a","b"],"tags":[{"id":1,"name":"t1"},{"id":2}],"status":"available",
+             "weight":12.5,"vaccinated":true,"owner":null}""";
+
+    private static final String PETS = """
+            [{"id":1,"status":"available","tags":[{"name":"x"},null,{"id":7}]},
+             null,
+             {"id":2,"status":"sold","tags":[]},
+             {"id":3,"name":"no status","category":{"id":1}}]""";
+
+    private static final String INVENTORY = "{\"available\":12,\"sold\":3,\"pending\":0}";
+
+    private HttpServer server;
+
+    @BeforeEach
+    void start() throws Exception {
+        RestAssured.reset();
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/pet/findByStatus", exchange -> {
+            byte[] body = PETS.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        server.start();
+    }
+
+    @AfterEach
+    void stop() {
+        server.stop(0);
+    }
+
+    @Test
+    @DisplayName("Значения путей совпадают с GPath по типам и содержимому")
+    void valuesMatchGPath() throws Exception {
+        assertSameAsGPath(PET, "id", "category.name", "category", "photoUrls", "photoUrls[1]", "tags.name",
+                "tags[0].name", "tags[5]", "weight", "vaccinated", "owner", "missing", "missing.deeper", "$");
+        assertSameAsGPath(PETS, "id", "status", "name", "tags.name", "category.name", "category.id", "[1].status", "$");
+        assertSameAsGPath(INVENTORY, "available", "$");
+        assertSameAsGPath("[]", "status", "$");
+    }
+
+    @Test
+    @DisplayName("Все проверки вычисляются за один проход, несовпадения перечисляются вместе")
+    void reportsAllMismatches() {
+        JsonMatcher matcher = json()
+                .path("id", equalTo(9223372036854775807L))
+                .path("name", equalTo("cat"))
+                .path("status", equalTo("sold"))
+                .path("tags.id", contains(1, 2));
+
+        AssertionError error = assertThrows(AssertionError.class,
+                () -> matcher.verify(PET.getBytes(StandardCharsets.UTF_8)));
+
+        assertTrue(error.getMessage().contains("\"name\""), error.getMessage());
+        assertTrue(error.getMessage().contains("\"status\""), error.getMessage());
+        assertFalse(error.getMessage().contains("\"tags.id\" "), error.getMessage());
+    }
+
+    @Test
+    @DisplayName("Некорректный JSON — несовпадение, а не исключение парсера")
+    void malformedJson_isMismatch() {
+        assertFalse(json().path("id", equalTo(1)).matches("{\"id\":"));
+        assertFalse(json().path("id", equalTo(1)).matches("<html>"));
+    }
+
+    @Test
+    @DisplayName("Матчер встраивается в RestAssured через .body(Matcher)")
+    void worksInsideRestAssured() {
+        String baseUri = "http://127.0.0.1:" + server.getAddress().getPort();
+
+        RestAssured.given()
+                .baseUri(baseUri)
+                .get("/pet/findByStatus")
+                .then()
+                .statusCode(200)
+                .body(json()
+                        .path("$", hasSize(4))
+                        .path("id", contains(1, 2, 3))
+                        .path("status", hasItem("sold")));
+
+        AssertionError error = assertThrows(AssertionError.class, () -> RestAssured.given()
+                .baseUri(baseUri)
+                .get("/pet/findByStatus")
+                .then()
+                .body(json().path("status", everyItem(oneOf("available", "sold")))));
+        assertTrue(error.getMessage().contains("\"status\""), error.getMessage());
+    }
+
+    @Test
+    @DisplayName("Путь компилируется один раз и переиспользуется")
+    void compiledPathsAreCached() {
+        assertSame(CompiledPath.of("tags[0].name"), CompiledPath.of("tags[0].name"));
+        assertEquals(3, CompiledPath.of("tags[0].name").length());
+        assertEquals(0, CompiledPath.of("$").length());
+        assertThrows(IllegalArgumentException.class, () -> CompiledPath.of("tags[x]"));
+    }
+
+    private static void assertSameAsGPath(String json, String... paths) throws Exception {
+        CompiledPath[] compiled = new CompiledPath[paths.length];
+        for (int i = 0; i < paths.length; i++) {
+            compiled[i] = CompiledPath.of(paths[i]);
+        }
+        Object[] fromBytes = JsonMatcher.evaluate(json.getBytes(StandardCharsets.UTF_8), compiled);
+        Object[] fromString = JsonMatcher.evaluate(json, compiled);
+        JsonPath gpath = JsonPath.from(json);
+        for (int i = 0; i < paths.length; i++) {
+            Object expected = gpath.get(paths[i]);
+            assertEquals(expected, fromBytes[i], paths[i]);
+            assertEquals(expected, fromString[i], paths[i]);
+            //По одному путь вычисляется потоково, без разбора документа целиком.
+            assertEquals(expected, JsonMatcher.read(json.getBytes(StandardCharsets.UTF_8), paths[i]), paths[i]);
+            if (expected != null && !(expected instanceof List<?>)) {
+                assertEquals(expected.getClass(), fromBytes[i].getClass(), paths[i]);
+            }
+        }
+    }
+}
@@ -0,0 +1,238 @@
+package com.pet.petstore_tests.assertion;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Вычисляет набор {@link CompiledPath} за один проход потокового парсера Jackson.
+ * Поддеревья, которые не нужны ни одному пути, пропускаются без разбора; в Java-объекты
+ * (Map/List/Integer/Float/...) превращаются только значения, на которые указывают пути.
+ * Типы значений совпадают с тем, что возвращает GPath RestAssured, поэтому матчеры Hamcrest
+ * ведут себя так же, как в {@code .body(path, matcher)}.
+ */
+final class JsonStreamEvaluator {
+
+    private static final JsonFactory FACTORY = new JsonFactory();
+
+    private record Cursor(int path, int step, boolean projected) {
+    }
+
+    private final CompiledPath[] paths;
+    private final Object[] results;
+
+    private JsonStreamEvaluator(CompiledPath[] paths) {
+        this.paths = paths;
+        this.results = new Object[paths.length];
+    }
+
+    /**
+     * @return значения путей в том же порядке; отсутствующий путь даёт null, путь через массив — список
+     */
+    static Object[] evaluate(byte[] json, CompiledPath[] paths) throws IOException {
+        try (JsonParser parser = FACTORY.createParser(json)) {
+            return new JsonStreamEvaluator(paths).run(parser);
+        }
+    }
+
+    static Object[] evaluate(String json, CompiledPath[] paths) throws IOException {
+        try (JsonParser parser = FACTORY.createParser(json)) {
+            return new JsonStreamEvaluator(paths).run(parser);
+        }
+    }
+
+    private Object[] run(JsonParser parser) throws IOException {
+        if (parser.nextToken() == null) {
+            return results;
+        }
+        List<Cursor> cursors = new ArrayList<>(paths.length);
+        for (int i = 0; i < paths.length; i++) {
+            cursors.add(new Cursor(i, 0, false));
+        }
+        walk(parser, cursors);
+        return results;
+    }
+
+    private void walk(JsonParser parser, List<Cursor> cursors) throws IOException {
+        JsonToken token = parser.currentToken();
+        boolean materialize = false;
+        for (Cursor cursor : cursors) {
+            Object[] steps = paths[cursor.path()].steps;
+            //Вложенная проекция (массив внутри массива) даёт список списков — проще собрать её в памяти.
+            if (cursor.step() == steps.length
+                    || cursor.projected() && token == JsonToken.START_ARRAY && steps[cursor.step()] instanceof String) {
+                materialize = true;
+                break;
+            }
+        }
+        if (materialize) {
+            //Значение нужно целиком хотя бы одному пути: разбираем его один раз,
+            //остальные пути дочитываем уже по объектам в памяти.
+            Object value = readValue(parser);
+            for (Cursor cursor : cursors) {
+                emit(cursor, navigate(value, paths[cursor.path()].steps, cursor.step()));
+            }
+            return;
+        }
+
+        if (token == JsonToken.START_OBJECT) {
+            walkObject(parser, cursors);
+        } else if (token == JsonToken.START_ARRAY) {
+            walkArray(parser, cursors);
+        }
+    }
+
+    private void walkObject(JsonParser parser, List<Cursor> cursors) throws IOException {
+        boolean[] found = new boolean[cursors.size()];
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String name = parser.currentName();
+            parser.nextToken();
+            List<Cursor> matched = null;
+            for (int i = 0; i < found.length; i++) {
+                Cursor cursor = cursors.get(i);
+                if (name.equals(paths[cursor.path()].steps[cursor.step()])) {
+                    if (matched == null) {
+                        matched = new ArrayList<>(cursors.size());
+                    }
+                    matched.add(new Cursor(cursor.path(), cursor.step() + 1, cursor.projected()));
+                    found[i] = true;
+                }
+            }
+            if (matched == null) {
+                parser.skipChildren();
+            } else {
+                walk(parser, matched);
+            }
+        }
+        //В проекции элемент без последнего поля даёт null, как map.get() в GPath;
+        //без промежуточного поля элемент просто выпадает из результата.
+        for (int i = 0; i < found.length; i++) {
+            Cursor cursor = cursors.get(i);
+            if (!found[i] && cursor.projected() && cursor.step() == paths[cursor.path()].length() - 1) {
+                emit(cursor, null);
+            }
+        }
+    }
+
+    private void walkArray(JsonParser parser, List<Cursor> cursors) throws IOException {
+        //Имя поля, применённое к массиву, собирает значения по всем элементам (как в GPath).
+        List<Cursor> projecting = new ArrayList<>();
+        for (Cursor cursor : cursors) {
+            if (paths[cursor.path()].steps[cursor.step()] instanceof String) {
+                Cursor projected = new Cursor(cursor.path(), cursor.step(), true);
+                projecting.add(projected);
+                if (!cursor.projected()) {
+                    results[cursor.path()] = new ArrayList<>();
+                }
+            }
+        }
+
+        int index = 0;
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            //null-элементы проекция пропускает, как и GPath.
+            boolean isNull = parser.currentToken() == JsonToken.VALUE_NULL;
+            List<Cursor> matched = isNull ? new ArrayList<>() : new ArrayList<>(projecting);
+            for (Cursor cursor : cursors) {
+                if (paths[cursor.path()].steps[cursor.step()] instanceof Integer i && i == index) {
+                    matched.add(new Cursor(cursor.path(), cursor.step() + 1, cursor.projected()));
+                }
+            }
+            if (matched.isEmpty()) {
+                parser.skipChildren();
+            } else {
+                walk(parser, matched);
+            }
+            index++;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void emit(Cursor cursor, Object value) {
+        if (cursor.projected()) {
+            ((List<Object>) results[cursor.path()]).add(value);
+        } else {
+            results[cursor.path()] = value;
+        }
+    }
+
+    static Object navigate(Object value, Object[] steps, int from) {
+        return navigate(value, steps, from, steps.length);
+    }
+
+    private static Object navigate(Object value, Object[] steps, int from, int to) {
+        Object current = value;
+        for (int i = from; i < to && current != null; i++) {
+            Object step = steps[i];
+            if (current instanceof Map<?, ?> map) {
+                current = step instanceof String ? map.get(step) : null;
+            } else if (current instanceof List<?> list) {
+                if (step instanceof Integer index) {
+                    current = index < list.size() ? list.get(index) : null;
+                } else {
+                    //Шаг проекции применяется к каждому элементу, null-элементы пропускаются.
+                    List<Object> collected = new ArrayList<>(list.size());
+                    for (Object element : list) {
+                        if (element != null) {
+                            collected.add(navigate(element, steps, i, i + 1));
+                        }
+                    }
+                    current = collected;
+                }
+            } else {
+                return null;
+            }
+        }
+        return current;
+    }
+
+    private static Object readValue(JsonParser parser) throws IOException {
+        switch (parser.currentToken()) {
+            case START_OBJECT -> {
+                Map<String, Object> map = new LinkedHashMap<>();
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    String name = parser.currentName();
+                    parser.nextToken();
+                    map.put(name, readValue(parser));
+                }
+                return map;
+            }
+            case START_ARRAY -> {
+                List<Object> list = new ArrayList<>();
+                while (parser.nextToken() != JsonToken.END_ARRAY) {
+                    list.add(readValue(parser));
+                }
+                return list;
+            }
+            case VALUE_STRING -> {
+                return parser.getText();
+            }
+            case VALUE_NUMBER_INT -> {
+                return switch (parser.getNumberType()) {
+                    case INT -> parser.getIntValue();
+                    case LONG -> parser.getLongValue();
+                    default -> parser.getBigIntegerValue();
+                };
+            }
+            case VALUE_NUMBER_FLOAT -> {
+                //NumberReturnType.FLOAT_AND_DOUBLE по умолчанию в RestAssured.
+                double d = parser.getDoubleValue();
+                return Math.abs(d) <= Float.MAX_VALUE ? (Object) (float) d : (Object) d;
+            }
+            case VALUE_TRUE -> {
+                return Boolean.TRUE;
+            }
+            case VALUE_FALSE -> {
+                return Boolean.FALSE;
+            }
+            default -> {
+                return null;
+            }
+        }
+    }
+}
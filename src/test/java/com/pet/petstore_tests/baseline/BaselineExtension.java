@@ -0,0 +1,85 @@
+package com.pet.petstore_tests.baseline;
+
+import org.junit.jupiter.api.extension.AfterTestExecutionCallback;
+import org.junit.jupiter.api.extension.BeforeAllCallback;
+import org.junit.jupiter.api.extension.BeforeTestExecutionCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Пишет длительности тестов в {@link RunTimings}, а по завершении всего прогона дописывает сводку
+ * в {@link BaselineStore} и сравнивает её с окном предыдущих прогонов того же стенда.
+ * Режим petstore.baseline.mode: off — ничего не делать, warn — печатать регрессии, fail — ещё и ронять прогон.
+ */
+public class BaselineExtension implements BeforeAllCallback, BeforeTestExecutionCallback, AfterTestExecutionCallback {
+
+    public enum Mode { OFF, WARN, FAIL }
+
+    private static final Mode MODE = Mode.valueOf(System.getProperty("petstore.baseline.mode", "warn").toUpperCase());
+    private static final ExtensionContext.Namespace NAMESPACE = ExtensionContext.Namespace.create(BaselineExtension.class);
+
+    public static boolean isEnabled() {
+        return MODE != Mode.OFF;
+    }
+
+    @Override
+    public void beforeAll(ExtensionContext context) {
+        if (isEnabled()) {
+            //Ресурс в корневом хранилище закрывается один раз — после окончания всех тестов прогона.
+            context.getRoot().getStore(NAMESPACE).getOrComputeIfAbsent(RunCompletion.class,
+                    key -> new RunCompletion(), RunCompletion.class);
+        }
+    }
+
+    @Override
+    public void beforeTestExecution(ExtensionContext context) {
+        context.getStore(NAMESPACE).put("start", System.nanoTime());
+    }
+
+    @Override
+    public void afterTestExecution(ExtensionContext context) {
+        Long start = context.getStore(NAMESPACE).remove("start", Long.class);
+        if (isEnabled() && start != null && context.getExecutionException().isEmpty()) {
+            RunTimings.get().recordTest(context.getRequiredTestClass().getName() + "#"
+                    + context.getRequiredTestMethod().getName(), System.nanoTime() - start);
+        }
+    }
+
+    private static final class RunCompletion implements ExtensionContext.Store.CloseableResource {
+
+        @Override
+        public void close() {
+            RunTimings timings = RunTimings.get();
+            if (timings.isEmpty()) {
+                return;
+            }
+            String target = System.getProperty("petstore.baseUri", "https://petstore.swagger.io/v2");
+            BaselineStore store = new BaselineStore(Path.of(System.getProperty("petstore.baseline.file",
+                    ".perf-baseline/runs.jsonl")));
+            RegressionDetector detector = new RegressionDetector(
+                    Double.parseDouble(System.getProperty("petstore.baseline.tolerance", "0.25")),
+                    Integer.parseInt(System.getProperty("petstore.baseline.minRuns", "3")),
+                    Double.parseDouble(System.getProperty("petstore.baseline.minDeltaMs", "5")));
+
+            RunSummary summary = timings.summarize(target);
+            List<RunSummary> history = store.recent(target,
+                    Integer.parseInt(System.getProperty("petstore.baseline.window", "10")));
+            List<RegressionDetector.Finding> findings = detector.detect(summary, history);
+            store.append(summary);
+
+            if (findings.isEmpty()) {
+                System.out.println("baseline: регрессий нет (прогонов в окне: " + history.size() + ")");
+                return;
+            }
+            StringBuilder report = new StringBuilder("baseline: регрессии относительно "
+                    + history.size() + " предыдущих прогонов:");
+            findings.forEach(f -> report.append(System.lineSeparator()).append("  ").append(f));
+            System.out.println(report);
+            if (MODE == Mode.FAIL) {
+                throw new AssertionError(report.toString());
+            }
+        }
+    }
+}
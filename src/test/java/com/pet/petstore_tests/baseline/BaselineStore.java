@@ -0,0 +1,91 @@
+package com.pet.petstore_tests.baseline;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Журнал сводок прогонов на диске: одна JSON-строка на прогон, файл только дописывается.
+ * Запись идёт под файловой блокировкой, чтобы параллельные форки Surefire не перемешивали строки.
+ */
+public final class BaselineStore {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final Path file;
+
+    public BaselineStore(Path file) {
+        this.file = file;
+    }
+
+    public void append(RunSummary summary) {
+        try {
+            Files.createDirectories(file.toAbsolutePath().getParent());
+            byte[] line = (MAPPER.writeValueAsString(summary) + "\n").getBytes(StandardCharsets.UTF_8);
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+                FileLock lock = channel.lock();
+                try {
+                    ByteBuffer buffer = ByteBuffer.wrap(line);
+                    while (buffer.hasRemaining()) {
+                        channel.write(buffer);
+                    }
+                    channel.force(false);
+                } finally {
+                    lock.release();
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Не удалось дописать сводку в " + file, e);
+        }
+    }
+
+    /**
+     * Последние window прогонов для указанного стенда, от старых к новым.
+     * Повреждённые строки (например, оборванные при падении JVM) пропускаются.
+     */
+    public List<RunSummary> recent(String target, int window) {
+        if (!Files.exists(file)) {
+            return List.of();
+        }
+        Deque<RunSummary> recent = new ArrayDeque<>();
+        try (Stream<String> lines = Files.lines(file, StandardCharsets.UTF_8)) {
+            lines.forEach(line -> {
+                RunSummary summary = parse(line);
+                if (summary != null && target.equals(summary.target())) {
+                    recent.addLast(summary);
+                    if (recent.size() > window) {
+                        recent.removeFirst();
+                    }
+                }
+            });
+        } catch (IOException e) {
+            throw new UncheckedIOException("Не удалось прочитать " + file, e);
+        }
+        return new ArrayList<>(recent);
+    }
+
+    private static RunSummary parse(String line) {
+        if (line.isBlank()) {
+            return null;
+        }
+        try {
+            return MAPPER.readValue(line, RunSummary.class);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.pet.petstore_tests.baseline;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class BaselineStoreTest {
+
+    @TempDir
+    Path dir;
+
+    private static RunSummary run(String id, String target, double p50) {
+        return new RunSummary(id, 0, target, List.of(new RunSummary.Entry("endpoint:GET /pet/{petId}", 10, p50, p50, p50, 0)));
+    }
+
+    @Test
+    @DisplayName("Возвращается окно последних прогонов нужного стенда")
+    void recent_returnsLastRunsOfTarget() {
+        BaselineStore store = new BaselineStore(dir.resolve("baseline/runs.jsonl"));
+        for (int i = 0; i < 5; i++) {
+            store.append(run("a" + i, "A", i));
+            store.append(run("b" + i, "B", i));
+        }
+
+        List<RunSummary> recent = store.recent("A", 3);
+
+        assertEquals(List.of("a2", "a3", "a4"), recent.stream().map(RunSummary::runId).toList());
+        assertEquals(4.0, recent.get(2).entries().get(0).p50Ms());
+    }
+
+    @Test
+    @DisplayName("Оборванная строка после падения JVM не мешает чтению и дозаписи")
+    void truncatedLine_isSkipped() throws Exception {
+        Path file = dir.resolve("runs.jsonl");
+        BaselineStore store = new BaselineStore(file);
+        store.append(run("first", "A", 1));
+        Files.writeString(file, "{\"runId\":\"broken\",\"entr", StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+        Files.writeString(file, "\n", StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+        store.append(run("second", "A", 2));
+
+        assertEquals(List.of("first", "second"), store.recent("A", 10).stream().map(RunSummary::runId).toList());
+    }
+}
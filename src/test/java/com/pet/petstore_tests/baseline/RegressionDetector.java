@@ -0,0 +1,83 @@
+package com.pet.petstore_tests.baseline;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Сравнивает сводку прогона с медианой тех же метрик по окну предыдущих прогонов.
+ */
+public final class RegressionDetector {
+
+    public record Finding(String key, String metric, double current, double baseline) {
+
+        public double changePercent() {
+            return baseline == 0 ? 0 : 100.0 * (current - baseline) / baseline;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s %s: %.1f против базовых %.1f (%+.0f%%)", key, metric, current, baseline,
+                    changePercent());
+        }
+    }
+
+    private static final int MIN_SAMPLES_FOR_P95 = 20;
+
+    private final double tolerance;
+    private final int minRuns;
+    private final double minDeltaMs;
+
+    /**
+     * @param tolerance  допустимое относительное ухудшение, например 0.25 — на 25%
+     * @param minRuns    минимум прогонов в окне, содержащих ключ, чтобы сравнивать
+     * @param minDeltaMs разница в миллисекундах, меньше которой задержки не сравниваются
+     */
+    public RegressionDetector(double tolerance, int minRuns, double minDeltaMs) {
+        this.tolerance = tolerance;
+        this.minRuns = minRuns;
+        this.minDeltaMs = minDeltaMs;
+    }
+
+    public List<Finding> detect(RunSummary current, List<RunSummary> history) {
+        List<Finding> findings = new ArrayList<>();
+        for (RunSummary.Entry entry : current.entries()) {
+            List<RunSummary.Entry> previous = new ArrayList<>();
+            for (RunSummary run : history) {
+                run.entries().stream().filter(e -> e.key().equals(entry.key())).findFirst().ifPresent(previous::add);
+            }
+            if (previous.size() < minRuns) {
+                continue;
+            }
+
+            checkLatency(findings, entry, previous, "p50ms", RunSummary.Entry::p50Ms);
+            if (entry.count() >= MIN_SAMPLES_FOR_P95) {
+                checkLatency(findings, entry, previous, "p95ms", RunSummary.Entry::p95Ms);
+            }
+            if (entry.throughput() > 0) {
+                double baseline = median(previous, RunSummary.Entry::throughput);
+                if (baseline > 0 && entry.throughput() < baseline * (1 - tolerance)) {
+                    findings.add(new Finding(entry.key(), "throughput", entry.throughput(), baseline));
+                }
+            }
+        }
+        return findings;
+    }
+
+    private void checkLatency(List<Finding> findings, RunSummary.Entry entry, List<RunSummary.Entry> previous,
+                              String metric, ToDoubleFunction<RunSummary.Entry> value) {
+        double baseline = median(previous, value);
+        double current = value.applyAsDouble(entry);
+        if (current > baseline * (1 + tolerance) && current - baseline >= minDeltaMs) {
+            findings.add(new Finding(entry.key(), metric, current, baseline));
+        }
+    }
+
+    private static double median(List<RunSummary.Entry> entries, ToDoubleFunction<RunSummary.Entry> value) {
+        double[] values = entries.stream().mapToDouble(value).toArray();
+        Arrays.sort(values);
+        int n = values.length;
+        return n % 2 == 1 ? values[n / 2] : (values[n / 2 - 1] + values[n / 2]) / 2;
+    }
+}
@@ -0,0 +1,68 @@
+package com.pet.petstore_tests.baseline;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RegressionDetectorTest {
+
+    private final RegressionDetector detector = new RegressionDetector(0.25, 3, 5);
+
+    private static RunSummary run(RunSummary.Entry... entries) {
+        return new RunSummary("id", 0, "A", List.of(entries));
+    }
+
+    private static List<RunSummary> history(double p50, double throughput) {
+        List<RunSummary> runs = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            runs.add(run(new RunSummary.Entry("endpoint:GET /pet/{petId}", 50, p50 + i, p50 + i, p50 + i, 0),
+                    new RunSummary.Entry("run:1", 100, 10, 20, 30, throughput)));
+        }
+        return runs;
+    }
+
+    @Test
+    @DisplayName("Задержка выше медианы окна больше допуска — регрессия")
+    void slowerEndpoint_isFlagged() {
+        RunSummary current = run(new RunSummary.Entry("endpoint:GET /pet/{petId}", 50, 200, 200, 200, 0));
+
+        List<RegressionDetector.Finding> findings = detector.detect(current, history(100, 10));
+
+        assertEquals(2, findings.size());
+        assertEquals("p50ms", findings.get(0).metric());
+        assertEquals(102, findings.get(0).baseline(), 1e-9);
+    }
+
+    @Test
+    @DisplayName("Изменения в пределах допуска и малые абсолютные разницы не флагуются")
+    void noiseWithinTolerance_isIgnored() {
+        RunSummary withinTolerance = run(new RunSummary.Entry("endpoint:GET /pet/{petId}", 50, 120, 120, 120, 0));
+        RunSummary tinyAbsolute = run(new RunSummary.Entry("endpoint:GET /pet/{petId}", 50, 4, 4, 4, 0));
+
+        assertTrue(detector.detect(withinTolerance, history(100, 10)).isEmpty());
+        assertTrue(detector.detect(tinyAbsolute, history(1, 10)).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Падение пропускной способности — регрессия")
+    void throughputDrop_isFlagged() {
+        RunSummary current = run(new RunSummary.Entry("run:1", 100, 10, 20, 30, 5));
+
+        List<RegressionDetector.Finding> findings = detector.detect(current, history(100, 10));
+
+        assertEquals(1, findings.size());
+        assertEquals("throughput", findings.get(0).metric());
+    }
+
+    @Test
+    @DisplayName("Без достаточной истории сравнение не выполняется")
+    void shortHistory_isNotCompared() {
+        RunSummary current = run(new RunSummary.Entry("endpoint:GET /pet/{petId}", 50, 500, 500, 500, 0));
+
+        assertTrue(detector.detect(current, history(100, 10).subList(0, 2)).isEmpty());
+    }
+}
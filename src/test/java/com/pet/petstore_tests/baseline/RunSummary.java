@@ -0,0 +1,13 @@
+package com.pet.petstore_tests.baseline;
+
+import java.util.List;
+
+/**
+ * Сжатая сводка одного прогона: по строке на эндпоинт («endpoint:GET /pet/{petId}»),
+ * на тест («test:com.pet.petstore_tests.PetApiTest#createPet_success») и общая строка прогона «run:<хеш набора классов>».
+ */
+public record RunSummary(String runId, long timestamp, String target, List<Entry> entries) {
+
+    public record Entry(String key, long count, double p50Ms, double p95Ms, double p99Ms, double throughput) {
+    }
+}
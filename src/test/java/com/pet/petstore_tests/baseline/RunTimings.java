@@ -0,0 +1,92 @@
+package com.pet.petstore_tests.baseline;
+
+import com.pet.petstore_tests.load.LatencyHistogram;
+import com.pet.petstore_tests.pipeline.PipelineStage;
+import io.restassured.filter.FilterContext;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Задержки запросов по шаблону эндпоинта и длительности тестов за текущий прогон.
+ * Как стадия конвейера стоит сразу после учёта аллокаций и уборки ({@code AllocationProfiler},
+ * {@code ResourceRegistry}) и до остальных стадий: в задержку входят breaker, дедлайны, ограничитель
+ * и хеджирование, но не разбор тела при учёте созданных сущностей.
+ */
+public final class RunTimings implements PipelineStage {
+
+    private static final RunTimings INSTANCE = new RunTimings();
+
+    private final long startNanos = System.nanoTime();
+    private final Map<String, LatencyHistogram> endpoints = new ConcurrentHashMap<>();
+    private final Map<String, LatencyHistogram> tests = new ConcurrentHashMap<>();
+
+    public static RunTimings get() {
+        return INSTANCE;
+    }
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec,
+                           FilterableResponseSpecification responseSpec,
+                           FilterContext ctx) {
+        long start = System.nanoTime();
+        try {
+            return ctx.next(requestSpec, responseSpec);
+        } finally {
+            endpoints.computeIfAbsent(requestSpec.getMethod() + " " + requestSpec.getUserDefinedPath(),
+                    key -> new LatencyHistogram()).recordNanos(System.nanoTime() - start);
+        }
+    }
+
+    public void recordTest(String test, long nanos) {
+        tests.computeIfAbsent(test, key -> new LatencyHistogram()).recordNanos(nanos);
+    }
+
+    public boolean isEmpty() {
+        return endpoints.isEmpty() && tests.isEmpty();
+    }
+
+    public RunSummary summarize(String target) {
+        List<RunSummary.Entry> entries = new ArrayList<>();
+        double wallSeconds = (System.nanoTime() - startNanos) / 1e9;
+        long requests = 0;
+        for (Map.Entry<String, LatencyHistogram> e : new TreeMap<>(endpoints).entrySet()) {
+            requests += e.getValue().count();
+            entries.add(entry("endpoint:" + e.getKey(), e.getValue(), 0));
+        }
+        for (Map.Entry<String, LatencyHistogram> e : new TreeMap<>(tests).entrySet()) {
+            entries.add(entry("test:" + e.getKey(), e.getValue(), 0));
+        }
+        LatencyHistogram all = new LatencyHistogram();
+        endpoints.values().forEach(all::merge);
+        //Пропускная способность прогона сравнима только между прогонами одного и того же набора классов.
+        String suite = Integer.toHexString(tests.keySet().stream()
+                .map(test -> test.substring(0, test.indexOf('#') < 0 ? test.length() : test.indexOf('#')))
+                .collect(Collectors.toCollection(TreeSet::new)).hashCode());
+        entries.add(entry("run:" + suite, all, wallSeconds > 0 ? requests / wallSeconds : 0));
+        return new RunSummary(UUID.randomUUID().toString(), System.currentTimeMillis(), target, entries);
+    }
+
+    private static RunSummary.Entry entry(String key, LatencyHistogram histogram, double throughput) {
+        return new RunSummary.Entry(key, histogram.count(), round(histogram.percentileMillis(50)),
+                round(histogram.percentileMillis(95)), round(histogram.percentileMillis(99)), round(throughput));
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100) / 100.0;
+    }
+
+    @Override
+    public String report() {
+        return "";
+    }
+}
@@ -0,0 +1,231 @@
+package com.pet.petstore_tests.body;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Тело запроса, сериализованное в байты один раз. Значения изменяемых полей верхнего уровня
+ * (id, petId, shipDate, username, ...) хранятся как слоты: на каждый запрос в готовый массив
+ * копируются неизменные куски и дописываются только новые значения слотов — без Jackson и форматирования.
+ * <pre>
+ * static final BodyTemplate ORDER = BodyTemplate.fromJson(orderJson, "id", "petId", "shipDate");
+ * ...
+ * given().body(ORDER.newBody().set("id", orderId).set("petId", petId).toBytes())
+ * </pre>
+ * Шаблон неизменяем и потокобезопасен, {@link Body} — одноразовый и принадлежит одному потоку.
+ */
+public final class BodyTemplate {
+
+    private static final JsonFactory FACTORY = new JsonFactory();
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final byte[] HEX = "0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+
+    private final byte[] json;
+    private final String[] fields;
+    //Границы значения каждого слота в json: [start, end).
+    private final int[] starts;
+    private final int[] ends;
+
+    private BodyTemplate(byte[] json, String[] fields, int[] starts, int[] ends) {
+        this.json = json;
+        this.fields = fields;
+        this.starts = starts;
+        this.ends = ends;
+    }
+
+    public static BodyTemplate fromJson(String json, String... fields) {
+        return fromBytes(json.getBytes(StandardCharsets.UTF_8), fields);
+    }
+
+    /**
+     * Прототип сериализуется тем же Jackson, что и {@code .body(Object)} в RestAssured.
+     */
+    public static BodyTemplate fromObject(Object prototype, String... fields) {
+        try {
+            return fromBytes(MAPPER.writeValueAsBytes(prototype), fields);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Прототип тела не сериализуется: " + prototype, e);
+        }
+    }
+
+    private static BodyTemplate fromBytes(byte[] json, String[] fields) {
+        int[] starts = new int[fields.length];
+        int[] ends = new int[fields.length];
+        Arrays.fill(starts, -1);
+
+        try (JsonParser parser = FACTORY.createParser(json)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IllegalArgumentException("Шаблон тела должен быть JSON-объектом");
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String name = parser.currentName();
+                parser.nextToken();
+                int start = (int) parser.currentTokenLocation().getByteOffset();
+                parser.skipChildren();
+                //Строки Jackson дочитывает лениво: без этого позиция останется сразу за открывающей кавычкой.
+                parser.finishToken();
+                int end = (int) parser.currentLocation().getByteOffset();
+                for (int i = 0; i < fields.length; i++) {
+                    if (fields[i].equals(name)) {
+                        starts[i] = start;
+                        ends[i] = end;
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Шаблон тела не разобран как JSON", e);
+        }
+
+        List<String> missing = new ArrayList<>();
+        for (int i = 0; i < fields.length; i++) {
+            if (starts[i] < 0) {
+                missing.add(fields[i]);
+            }
+        }
+        if (!missing.isEmpty()) {
+            throw new IllegalArgumentException("В шаблоне нет полей верхнего уровня " + missing);
+        }
+
+        //Слоты упорядочиваются по положению в документе, чтобы тело собиралось одним проходом.
+        Integer[] order = new Integer[fields.length];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> Integer.compare(starts[a], starts[b]));
+        String[] sortedFields = new String[fields.length];
+        int[] sortedStarts = new int[fields.length];
+        int[] sortedEnds = new int[fields.length];
+        for (int i = 0; i < order.length; i++) {
+            sortedFields[i] = fields[order[i]];
+            sortedStarts[i] = starts[order[i]];
+            sortedEnds[i] = ends[order[i]];
+        }
+        return new BodyTemplate(json, sortedFields, sortedStarts, sortedEnds);
+    }
+
+    /**
+     * Номер слота — чтобы на горячем пути не искать поле по имени.
+     */
+    public int slot(String field) {
+        for (int i = 0; i < fields.length; i++) {
+            if (fields[i].equals(field)) {
+                return i;
+            }
+        }
+        throw new IllegalArgumentException("Поле " + field + " не объявлено слотом шаблона " + Arrays.toString(fields));
+    }
+
+    public Body newBody() {
+        return new Body();
+    }
+
+    /**
+     * Неизменённые слоты сохраняют значения прототипа.
+     */
+    public final class Body {
+
+        private final long[] numbers = new long[fields.length];
+        private final String[] strings = new String[fields.length];
+        //0 — значение прототипа, 1 — число, 2 — строка.
+        private final byte[] kinds = new byte[fields.length];
+
+        private Body() {
+        }
+
+        public Body set(String field, long value) {
+            return set(slot(field), value);
+        }
+
+        public Body set(String field, String value) {
+            return set(slot(field), value);
+        }
+
+        public Body set(int slot, long value) {
+            numbers[slot] = value;
+            kinds[slot] = 1;
+            return this;
+        }
+
+        public Body set(int slot, String value) {
+            strings[slot] = value;
+            kinds[slot] = value == null ? 0 : (byte) 2;
+            return this;
+        }
+
+        public byte[] toBytes() {
+            byte[][] encoded = new byte[fields.length][];
+            int size = json.length;
+            for (int i = 0; i < fields.length; i++) {
+                if (kinds[i] == 0) {
+                    continue;
+                }
+                encoded[i] = kinds[i] == 1
+                        ? Long.toString(numbers[i]).getBytes(StandardCharsets.US_ASCII)
+                        : quote(strings[i]);
+                size += encoded[i].length - (ends[i] - starts[i]);
+            }
+
+            byte[] out = new byte[size];
+            int from = 0;
+            int to = 0;
+            for (int i = 0; i < fields.length; i++) {
+                if (encoded[i] == null) {
+                    continue;
+                }
+                System.arraycopy(json, from, out, to, starts[i] - from);
+                to += starts[i] - from;
+                System.arraycopy(encoded[i], 0, out, to, encoded[i].length);
+                to += encoded[i].length;
+                from = ends[i];
+            }
+            System.arraycopy(json, from, out, to, json.length - from);
+            return out;
+        }
+
+        @Override
+        public String toString() {
+            return new String(toBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    private static byte[] quote(String value) {
+        byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+        int extra = 0;
+        for (byte b : utf8) {
+            if (b == '"' || b == '\\') {
+                extra += 1;
+            } else if (b >= 0 && b < 0x20) {
+                extra += 5;
+            }
+        }
+        byte[] out = new byte[utf8.length + extra + 2];
+        int p = 0;
+        out[p++] = '"';
+        for (byte b : utf8) {
+            if (b == '"' || b == '\\') {
+                out[p++] = '\\';
+                out[p++] = b;
+            } else if (b >= 0 && b < 0x20) {
+                out[p++] = '\\';
+                out[p++] = 'u';
+                out[p++] = '0';
+                out[p++] = '0';
+                out[p++] = HEX[b >> 4];
+                out[p++] = HEX[b & 0xF];
+            } else {
+                out[p++] = b;
+            }
+        }
+        out[p] = '"';
+        return out;
+    }
+}
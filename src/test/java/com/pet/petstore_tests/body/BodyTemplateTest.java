@@ -0,0 +1,82 @@
+package com.pet.petstore_tests.body;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.pet.petstore_tests.model.User;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BodyTemplateTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private static final String ORDER = """
+            {
+              "id": 0,
+              "petId": 0,
+              "quantity": 2,
+              "shipDate": "2024-01-01T00:00:00.000Z",
+              "status": "placed",
+              "complete": true
+            }
+            """;
+
+    @Test
+    @DisplayName("Слоты заполняются без изменения остального документа")
+    void patchesSlots() throws Exception {
+        BodyTemplate template = BodyTemplate.fromJson(ORDER, "shipDate", "id", "petId");
+
+        byte[] body = template.newBody()
+                .set("id", 1234567L)
+                .set("petId", 42)
+                .set("shipDate", "2026-10-19T12:00:00Z")
+                .toBytes();
+
+        JsonNode expected = MAPPER.readTree(ORDER);
+        ((ObjectNode) expected)
+                .put("id", 1234567)
+                .put("petId", 42)
+                .put("shipDate", "2026-10-19T12:00:00Z");
+        assertEquals(expected, MAPPER.readTree(body));
+    }
+
+    @Test
+    @DisplayName("Незаданные слоты сохраняют значения прототипа")
+    void unsetSlotsKeepPrototype() throws Exception {
+        BodyTemplate template = BodyTemplate.fromJson(ORDER, "id", "shipDate");
+
+        byte[] body = template.newBody().set(template.slot("id"), 7).toBytes();
+
+        JsonNode node = MAPPER.readTree(body);
+        assertEquals(7, node.get("id").asInt());
+        assertEquals("2024-01-01T00:00:00.000Z", node.get("shipDate").asText());
+    }
+
+    @Test
+    @DisplayName("Строки экранируются, прототип-объект сериализуется Jackson")
+    void escapesStringsFromObjectPrototype() throws Exception {
+        User prototype = User.builder().id(1).username("proto").firstName("User").email("proto@example.com")
+                .userStatus(1).build();
+        BodyTemplate template = BodyTemplate.fromObject(prototype, "id", "username");
+
+        String username = "quote\" back\\slash\nкириллица";
+        User user = MAPPER.readValue(template.newBody().set("id", 99).set("username", username).toBytes(), User.class);
+
+        assertEquals(99, user.getId());
+        assertEquals(username, user.getUsername());
+        assertEquals("proto@example.com", user.getEmail());
+    }
+
+    @Test
+    @DisplayName("Поле не из верхнего уровня шаблона — ошибка при создании")
+    void unknownField_rejected() {
+        assertThrows(IllegalArgumentException.class, () -> BodyTemplate.fromJson(ORDER, "username"));
+        assertThrows(IllegalArgumentException.class, () -> BodyTemplate.fromObject(Map.of("a", Map.of("b", 1)), "b"));
+        assertThrows(IllegalArgumentException.class, () -> BodyTemplate.fromJson("[1]", "id"));
+    }
+}
@@ -0,0 +1,341 @@
+package com.pet.petstore_tests.cleanup;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.CRC32;
+
+/**
+ * Журнал созданных сущностей на диске: строка «+» при создании, «-» при удалении, файл только дописывается.
+ * У каждого журнала свой владелец — JVM (форк Surefire), файлы {@code journal-<pid>-<n>.log} в общем каталоге.
+ * Пока владелец жив, он держит блокировку на {@code journal-<pid>-<n>.lock}; журналы, чью блокировку удалось
+ * взять, остались от упавших прогонов и забираются {@link #recover()}. Сущности параллельно работающих форков
+ * так не трогаются.
+ * <p>
+ * Записи копятся в памяти и уходят в ОС пачками по {@link #FLUSH_RECORDS} и при {@link #flush()};
+ * на диск их сбрасывает {@link #sync()}. Падение JVM теряет только незаписанную пачку: потерянное «+» оставит
+ * сущность неубранной, потерянное «-» — приведёт к повторному удалению (404 тоже считается удалением).
+ * Оборванная строка пропускается по контрольной сумме.
+ * Формат строки: {@code +<TAB>PET<TAB>baseUri<TAB>id<TAB>crc32}, baseUri и id в URL-кодировке.
+ */
+public final class CleanupJournal implements Closeable {
+
+    static final int FLUSH_RECORDS = 64;
+    private static final AtomicInteger SEQUENCE = new AtomicInteger();
+
+    private final Path directory;
+    private final String owner;
+    private final Path file;
+    private final StringBuilder buffer = new StringBuilder();
+    private int buffered;
+    private FileChannel channel;
+    private FileChannel lockChannel;
+    private FileLock ownerLock;
+
+    public CleanupJournal(Path directory) {
+        this.directory = directory;
+        this.owner = "journal-" + ProcessHandle.current().pid() + "-" + SEQUENCE.incrementAndGet();
+        this.file = directory.resolve(owner + ".log");
+    }
+
+    public Path file() {
+        return file;
+    }
+
+    public synchronized void added(CreatedResource resource) {
+        buffer.append(line('+', resource));
+        if (++buffered >= FLUSH_RECORDS) {
+            write(false);
+        }
+    }
+
+    public synchronized void removed(Collection<CreatedResource> resources) {
+        resources.forEach(resource -> buffer.append(line('-', resource)));
+        buffered += resources.size();
+        if (buffered >= FLUSH_RECORDS) {
+            write(false);
+        }
+    }
+
+    /**
+     * Отдаёт в ОС накопленные записи.
+     */
+    public synchronized void flush() {
+        if (buffered > 0) {
+            write(false);
+        }
+    }
+
+    /**
+     * Записывает накопленное и сбрасывает журнал на диск: после этого удалённые сущности
+     * не будут удаляться повторно.
+     */
+    public synchronized void sync() {
+        write(true);
+    }
+
+    /**
+     * Забирает журналы владельцев, которых уже нет: их неудалённые сущности переписываются в этот журнал,
+     * после чего чужие файлы удаляются. Журналы живых форков не читаются.
+     *
+     * @return сущности из прошлых прогонов, в порядке создания
+     */
+    public synchronized Set<CreatedResource> recover() {
+        Set<CreatedResource> pending = new LinkedHashSet<>();
+        List<Orphan> orphans = new ArrayList<>();
+        boolean adopted = false;
+        try {
+            open();
+            try (DirectoryStream<Path> logs = Files.newDirectoryStream(directory, "journal-*.log")) {
+                for (Path log : logs) {
+                    String name = log.getFileName().toString();
+                    Orphan orphan = claim(name.substring(0, name.length() - ".log".length()));
+                    if (orphan != null) {
+                        orphans.add(orphan);
+                        pending.addAll(read(log));
+                    }
+                }
+            }
+            if (!orphans.isEmpty()) {
+                //Сначала забранное надёжно записано здесь, потом удаляются чужие файлы:
+                //падение между шагами оставит дубликаты, а не потерю.
+                pending.forEach(resource -> buffer.append(line('+', resource)));
+                write(true);
+            }
+            adopted = true;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Не удалось восстановить журналы из " + directory, e);
+        } finally {
+            for (Orphan orphan : orphans) {
+                orphan.release(adopted);
+            }
+        }
+        return pending;
+    }
+
+    /**
+     * Переписывает журнал, оставляя только неудалённые сущности; пустой журнал удаляется.
+     * Новый файл подменяет старый атомарно, так что падение во время сжатия ничего не теряет.
+     */
+    public synchronized void compact(Collection<CreatedResource> pending) {
+        buffer.setLength(0);
+        buffered = 0;
+        try {
+            lockOwner();
+            if (channel != null) {
+                channel.close();
+                channel = null;
+            }
+            if (pending.isEmpty()) {
+                Files.deleteIfExists(file);
+                return;
+            }
+            Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+            StringBuilder lines = new StringBuilder();
+            pending.forEach(resource -> lines.append(line('+', resource)));
+            try (FileChannel out = FileChannel.open(temp, StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                write(out, lines.toString());
+                out.force(false);
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Не удалось сжать " + file, e);
+        }
+    }
+
+    /**
+     * Сбрасывает накопленное и отпускает журнал: после этого его может забрать следующий прогон.
+     */
+    @Override
+    public synchronized void close() {
+        flush();
+        try {
+            if (channel != null) {
+                channel.close();
+                channel = null;
+            }
+            if (ownerLock != null) {
+                Files.deleteIfExists(directory.resolve(owner + ".lock"));
+                ownerLock.release();
+                lockChannel.close();
+                ownerLock = null;
+                lockChannel = null;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Не удалось закрыть " + file, e);
+        }
+    }
+
+    /**
+     * Сущности, созданные и ещё не удалённые, по одному файлу журнала.
+     */
+    static Set<CreatedResource> read(Path log) {
+        Set<CreatedResource> pending = new LinkedHashSet<>();
+        String[] lines;
+        try {
+            lines = Files.readString(log, StandardCharsets.UTF_8).split("\n", -1);
+        } catch (NoSuchFileException e) {
+            return pending;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Не удалось прочитать " + log, e);
+        }
+        //Последний элемент — хвост после последнего перевода строки: пустой или оборванная запись.
+        for (int i = 0; i < lines.length - 1; i++) {
+            int tab = lines[i].lastIndexOf('\t');
+            if (tab < 0 || !lines[i].substring(tab + 1).equals(crc(lines[i].substring(0, tab)))) {
+                continue;
+            }
+            String[] parts = lines[i].substring(0, tab).split("\t", -1);
+            if (parts.length != 4 || parts[0].length() != 1) {
+                continue;
+            }
+            CreatedResource resource;
+            try {
+                resource = new CreatedResource(CreatedResource.Kind.valueOf(parts[1]),
+                        decode(parts[2]), decode(parts[3]));
+            } catch (IllegalArgumentException e) {
+                continue;
+            }
+            if (parts[0].charAt(0) == '+') {
+                pending.add(resource);
+            } else if (parts[0].charAt(0) == '-') {
+                pending.remove(resource);
+            }
+        }
+        return pending;
+    }
+
+    private void open() throws IOException {
+        lockOwner();
+        if (channel == null) {
+            channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                    StandardOpenOption.READ, StandardOpenOption.WRITE);
+            //Файл с тем же именем мог остаться от процесса с тем же pid: оборванную строку закрываем.
+            if (!endsWithNewline(channel)) {
+                buffer.insert(0, '\n');
+            }
+            channel.position(channel.size());
+        }
+    }
+
+    private void lockOwner() throws IOException {
+        if (ownerLock == null) {
+            Files.createDirectories(directory);
+            lockChannel = FileChannel.open(directory.resolve(owner + ".lock"),
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+            ownerLock = lockChannel.lock();
+        }
+    }
+
+    /**
+     * Берёт блокировку владельца журнала, если он не жив; null — владелец работает (в этой или другой JVM).
+     */
+    private Orphan claim(String other) throws IOException {
+        if (other.equals(owner)) {
+            return null;
+        }
+        FileChannel lock = FileChannel.open(directory.resolve(other + ".lock"),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        FileLock acquired;
+        try {
+            acquired = lock.tryLock();
+        } catch (OverlappingFileLockException e) {
+            acquired = null;
+        }
+        if (acquired == null) {
+            lock.close();
+            return null;
+        }
+        return new Orphan(directory, other, lock);
+    }
+
+    private void write(boolean force) {
+        try {
+            open();
+            write(channel, buffer.toString());
+            if (force) {
+                channel.force(false);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Не удалось дописать " + file, e);
+        } finally {
+            buffer.setLength(0);
+            buffered = 0;
+        }
+    }
+
+    private static boolean endsWithNewline(FileChannel channel) throws IOException {
+        long size = channel.size();
+        if (size == 0) {
+            return true;
+        }
+        ByteBuffer last = ByteBuffer.allocate(1);
+        channel.read(last, size - 1);
+        return last.get(0) == '\n';
+    }
+
+    private static void write(FileChannel channel, String text) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(text.getBytes(StandardCharsets.UTF_8));
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    private static String line(char op, CreatedResource resource) {
+        String record = op + "\t" + resource.kind() + "\t" + encode(resource.baseUri()) + "\t" + encode(resource.id());
+        return record + "\t" + crc(record) + "\n";
+    }
+
+    private static String crc(String record) {
+        CRC32 crc = new CRC32();
+        crc.update(record.getBytes(StandardCharsets.UTF_8));
+        return Long.toHexString(crc.getValue());
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+
+    private static String decode(String value) {
+        return URLDecoder.decode(value, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Журнал упавшего владельца под нашей блокировкой. Забранный журнал удаляется до её снятия,
+     * поэтому другой форк, взявший блокировку следом, его уже не увидит.
+     */
+    private record Orphan(Path directory, String owner, FileChannel lock) {
+
+        void release(boolean adopted) {
+            try {
+                if (adopted) {
+                    Files.deleteIfExists(directory.resolve(owner + ".log"));
+                    Files.deleteIfExists(directory.resolve(owner + ".lock"));
+                }
+                lock.close();
+            } catch (IOException e) {
+                //Не удалённый файл заберёт следующий прогон: сущности в нём уже переписаны сюда.
+            }
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.pet.petstore_tests.cleanup;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CleanupJournalTest {
+
+    private static final String BASE = "http://127.0.0.1:1/v2";
+
+    @TempDir
+    Path dir;
+
+    @Test
+    @DisplayName("Журнал восстанавливает созданные и ещё не удалённые сущности")
+    void recover_replaysAddsAndRemoves() {
+        CleanupJournal journal = new CleanupJournal(dir);
+        CreatedResource pet = new CreatedResource(CreatedResource.Kind.PET, BASE, "1");
+        CreatedResource user = new CreatedResource(CreatedResource.Kind.USER, BASE, "!@#$%^&\tname");
+        CreatedResource order = new CreatedResource(CreatedResource.Kind.ORDER, BASE, "7");
+
+        journal.added(pet);
+        journal.added(user);
+        journal.added(order);
+        journal.removed(List.of(pet));
+        journal.close();
+
+        assertEquals(Set.of(user, order), new CleanupJournal(dir).recover());
+    }
+
+    @Test
+    @DisplayName("Журнал работающего владельца не забирается, отпущенный — забирается один раз")
+    void recover_skipsLiveOwners() {
+        CleanupJournal live = new CleanupJournal(dir);
+        CreatedResource pet = new CreatedResource(CreatedResource.Kind.PET, BASE, "1");
+        live.added(pet);
+        live.flush();
+
+        assertEquals(Set.of(), new CleanupJournal(dir).recover());
+
+        live.close();
+        CleanupJournal next = new CleanupJournal(dir);
+        assertEquals(Set.of(pet), next.recover());
+        assertFalse(Files.exists(live.file()));
+        assertEquals(Set.of(), new CleanupJournal(dir).recover());
+        next.close();
+        assertEquals(Set.of(pet), new CleanupJournal(dir).recover());
+    }
+
+    @Test
+    @DisplayName("Записи о создании и удалении пишутся пачками, sync сбрасывает накопленное")
+    void records_areBufferedUntilBatch() throws Exception {
+        CleanupJournal journal = new CleanupJournal(dir);
+        for (int i = 0; i < CleanupJournal.FLUSH_RECORDS - 1; i++) {
+            journal.added(new CreatedResource(CreatedResource.Kind.PET, BASE, Integer.toString(i)));
+        }
+        assertTrue(CleanupJournal.read(journal.file()).isEmpty());
+
+        journal.added(new CreatedResource(CreatedResource.Kind.PET, BASE, "last"));
+        assertEquals(CleanupJournal.FLUSH_RECORDS, CleanupJournal.read(journal.file()).size());
+
+        CreatedResource order = new CreatedResource(CreatedResource.Kind.ORDER, BASE, "7");
+        journal.added(order);
+        journal.removed(List.of(new CreatedResource(CreatedResource.Kind.PET, BASE, "0")));
+        assertEquals(CleanupJournal.FLUSH_RECORDS, CleanupJournal.read(journal.file()).size());
+        assertFalse(CleanupJournal.read(journal.file()).contains(order));
+
+        journal.sync();
+        Set<CreatedResource> onDisk = CleanupJournal.read(journal.file());
+        assertEquals(CleanupJournal.FLUSH_RECORDS, onDisk.size());
+        assertTrue(onDisk.contains(order));
+        journal.close();
+    }
+
+    @Test
+    @DisplayName("Оборванная при падении строка пропускается и не склеивается со следующей")
+    void recover_skipsTornLine() throws Exception {
+        CleanupJournal crashed = new CleanupJournal(dir);
+        crashed.added(new CreatedResource(CreatedResource.Kind.PET, BASE, "1"));
+        crashed.close();
+        Files.writeString(crashed.file(), "+\tPET\thttp%3A%2F%2F127.0.0.1%3A1%2Fv2\t12\t", StandardCharsets.UTF_8,
+                StandardOpenOption.APPEND);
+
+        assertEquals(Set.of(new CreatedResource(CreatedResource.Kind.PET, BASE, "1")),
+                CleanupJournal.read(crashed.file()));
+
+        crashed.added(new CreatedResource(CreatedResource.Kind.PET, BASE, "2"));
+        crashed.close();
+        assertEquals(Set.of(new CreatedResource(CreatedResource.Kind.PET, BASE, "1"),
+                new CreatedResource(CreatedResource.Kind.PET, BASE, "2")), new CleanupJournal(dir).recover());
+    }
+
+    @Test
+    @DisplayName("Сжатие оставляет только неудалённые сущности, пустой журнал удаляется")
+    void compact_rewritesPending() throws Exception {
+        CleanupJournal journal = new CleanupJournal(dir);
+        CreatedResource pet = new CreatedResource(CreatedResource.Kind.PET, BASE, "1");
+        CreatedResource order = new CreatedResource(CreatedResource.Kind.ORDER, BASE, "2");
+        journal.added(pet);
+        journal.added(order);
+        journal.removed(List.of(pet));
+
+        journal.compact(List.of(order));
+        assertEquals(1, Files.readAllLines(journal.file()).size());
+        assertEquals(Set.of(order), CleanupJournal.read(journal.file()));
+
+        journal.compact(List.of());
+        assertFalse(Files.exists(journal.file()));
+        journal.close();
+    }
+}
@@ -0,0 +1,25 @@
+package com.pet.petstore_tests.cleanup;
+
+/**
+ * Сущность, созданная на стенде в ходе прогона: вид, адрес стенда (baseUri с basePath) и идентификатор
+ * в пути удаления (id питомца или заказа, username пользователя).
+ */
+public record CreatedResource(Kind kind, String baseUri, String id) {
+
+    public enum Kind {
+        //Заказы ссылаются на питомцев, поэтому удаляются первыми.
+        ORDER("/store/order/{id}"),
+        PET("/pet/{id}"),
+        USER("/user/{id}");
+
+        private final String deletePath;
+
+        Kind(String deletePath) {
+            this.deletePath = deletePath;
+        }
+
+        public String deletePath() {
+            return deletePath;
+        }
+    }
+}
@@ -0,0 +1,279 @@
+package com.pet.petstore_tests.cleanup;
+
+import com.pet.petstore_tests.assertion.JsonMatcher;
+import com.pet.petstore_tests.pipeline.PipelineStage;
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+
+import java.net.URI;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static io.restassured.RestAssured.given;
+
+/**
+ * Стадия конвейера, которая запоминает каждого питомца, заказ и пользователя, созданных через спецификацию,
+ * и журналирует их в {@link CleanupJournal} этой JVM. Удаления, сделанные самими тестами, снимают запись.
+ * В конце прогона {@link #cleanup()} удаляет оставшееся параллельно, пачками по batchSize
+ * не более чем в threads потоков; неудачные удаления остаются в журнале до следующего прогона.
+ * Журналы других форков, пока они работают, не читаются и не убираются.
+ */
+public final class ResourceRegistry implements PipelineStage {
+
+    public record Settings(Path directory, int threads, int batchSize) {
+
+        public static Settings fromSystemProperties() {
+            return new Settings(
+                    Path.of(System.getProperty("petstore.cleanup.dir", ".petstore-cleanup")),
+                    Integer.getInteger("petstore.cleanup.threads", 8),
+                    Integer.getInteger("petstore.cleanup.batch", 50));
+        }
+    }
+
+    public record CleanupReport(int deleted, int failed, int resumed, long elapsedMillis) {
+
+        @Override
+        public String toString() {
+            return String.format("cleanup: удалено=%d не удалось=%d (из прошлых прогонов=%d) за %dms",
+                    deleted, failed, resumed, elapsedMillis);
+        }
+    }
+
+    private static final Pattern ENTITY = Pattern.compile("^/(pet|store/order|user)/([^/]+)$");
+    private static final Set<String> USER_ACTIONS = Set.of("login", "logout", "createWithArray", "createWithList");
+
+    private final Settings settings;
+    private final CleanupJournal journal;
+    private final Set<CreatedResource> pending = ConcurrentHashMap.newKeySet();
+    private final int resumed;
+    private final LongAdder recorded = new LongAdder();
+    private final LongAdder deletedByTests = new LongAdder();
+
+    public ResourceRegistry(Settings settings) {
+        this.settings = settings;
+        this.journal = new CleanupJournal(settings.directory());
+        //Сущности прошлого прогона, упавшего до уборки, удаляются вместе с сущностями этого.
+        pending.addAll(journal.recover());
+        this.resumed = pending.size();
+    }
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec,
+                           FilterableResponseSpecification responseSpec,
+                           FilterContext ctx) {
+        return filter(requestSpec, responseSpec, ctx, resource -> true);
+    }
+
+    /**
+     * Фильтр, который запоминает только сущности, удовлетворяющие owned. Для запросов, которые могут
+     * перезаписать чужие данные (upsert по произвольному id): такие сущности не должны удаляться уборкой.
+     */
+    public Filter owning(Predicate<CreatedResource> owned) {
+        return (requestSpec, responseSpec, ctx) -> filter(requestSpec, responseSpec, ctx, owned);
+    }
+
+    private Response filter(FilterableRequestSpecification requestSpec,
+                            FilterableResponseSpecification responseSpec,
+                            FilterContext ctx,
+                            Predicate<CreatedResource> owned) {
+        Response response = ctx.next(requestSpec, responseSpec);
+        try {
+            observe(requestSpec, response, owned);
+        } catch (RuntimeException e) {
+            //Учёт сущностей не должен ронять тест: тело может быть не JSON или путь — не URI.
+        }
+        return response;
+    }
+
+    private void observe(FilterableRequestSpecification requestSpec, Response response,
+                         Predicate<CreatedResource> owned) {
+        int status = response.statusCode();
+        String method = requestSpec.getMethod().toUpperCase();
+        String baseUri = stripSlash(requestSpec.getBaseUri()) + stripSlash(requestSpec.getBasePath());
+        String path = relativePath(requestSpec.getURI(), baseUri);
+
+        if ("DELETE".equals(method) && (status == 200 || status == 404)) {
+            CreatedResource resource = entity(baseUri, path);
+            if (resource != null && pending.remove(resource)) {
+                deletedByTests.increment();
+                journal.removed(List.of(resource));
+            }
+            return;
+        }
+        if (status != 200) {
+            return;
+        }
+        if (("POST".equals(method) || "PUT".equals(method)) && path.equals("/pet")) {
+            record(CreatedResource.Kind.PET, baseUri, JsonMatcher.read(response.asByteArray(), "id"), owned);
+        } else if ("POST".equals(method) && path.equals("/store/order")) {
+            record(CreatedResource.Kind.ORDER, baseUri, JsonMatcher.read(response.asByteArray(), "id"), owned);
+        } else if ("POST".equals(method) && (path.equals("/user")
+                || path.equals("/user/createWithArray") || path.equals("/user/createWithList"))) {
+            record(CreatedResource.Kind.USER, baseUri, JsonMatcher.read(requestBody(requestSpec), "username"), owned);
+        } else if ("PUT".equals(method) && path.startsWith("/user/")) {
+            //PUT /user/{username} работает как upsert и может создать пользователя.
+            record(CreatedResource.Kind.USER, baseUri, JsonMatcher.read(requestBody(requestSpec), "username"), owned);
+        }
+    }
+
+    private void record(CreatedResource.Kind kind, String baseUri, Object ids, Predicate<CreatedResource> owned) {
+        if (ids instanceof Collection<?> list) {
+            list.forEach(id -> record(kind, baseUri, id, owned));
+        } else if (ids != null) {
+            CreatedResource resource = new CreatedResource(kind, baseUri, ids.toString());
+            if (owned.test(resource) && pending.add(resource)) {
+                recorded.increment();
+                journal.added(resource);
+            }
+        }
+    }
+
+    static CreatedResource entity(String baseUri, String path) {
+        Matcher matcher = ENTITY.matcher(path);
+        if (!matcher.matches()) {
+            return null;
+        }
+        //Декодируются только %XX: «+» в пути — часть имени, а не пробел.
+        String id = URLDecoder.decode(matcher.group(2).replace("+", "%2B"), StandardCharsets.UTF_8);
+        return switch (matcher.group(1)) {
+            case "pet" -> new CreatedResource(CreatedResource.Kind.PET, baseUri, id);
+            case "store/order" -> new CreatedResource(CreatedResource.Kind.ORDER, baseUri, id);
+            default -> USER_ACTIONS.contains(id) ? null : new CreatedResource(CreatedResource.Kind.USER, baseUri, id);
+        };
+    }
+
+    private static String relativePath(String uri, String baseUri) {
+        String path = URI.create(uri).getRawPath();
+        String basePath = URI.create(baseUri).getRawPath();
+        return path.startsWith(basePath) ? path.substring(basePath.length()) : path;
+    }
+
+    private static byte[] requestBody(FilterableRequestSpecification requestSpec) {
+        Object body = requestSpec.getBody();
+        if (body instanceof byte[] bytes) {
+            return bytes;
+        }
+        if (body instanceof String text) {
+            return text.getBytes(StandardCharsets.UTF_8);
+        }
+        throw new IllegalArgumentException("тело запроса не сериализовано: " + body);
+    }
+
+    private static String stripSlash(String value) {
+        if (value == null) {
+            return "";
+        }
+        return value.endsWith("/") ? value.substring(0, value.length() - 1) : value;
+    }
+
+    public Set<CreatedResource> pending() {
+        return Set.copyOf(pending);
+    }
+
+    /**
+     * Отдаёт в ОС накопленные записи журнала о созданных и удалённых сущностях; вызывается после каждого теста.
+     */
+    public void flush() {
+        journal.flush();
+    }
+
+    /**
+     * Отпускает журнал без уборки, как при падении JVM: его заберёт следующий реестр.
+     */
+    void abandon() {
+        journal.close();
+    }
+
+    /**
+     * Удаляет все незакрытые сущности и сжимает журнал. Удалённой считается сущность с ответом 200 или 404.
+     */
+    public CleanupReport cleanup() {
+        long start = System.nanoTime();
+        List<CreatedResource> queue = new ArrayList<>(pending);
+        queue.sort(Comparator.comparing(CreatedResource::kind));
+
+        int deleted = 0;
+        ExecutorService pool = Executors.newFixedThreadPool(Math.max(1, settings.threads()), runnable -> {
+            Thread thread = new Thread(runnable, "cleanup");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            for (int from = 0; from < queue.size(); from += settings.batchSize()) {
+                List<CreatedResource> batch = queue.subList(from, Math.min(queue.size(), from + settings.batchSize()));
+                List<Future<Boolean>> futures = new ArrayList<>(batch.size());
+                for (CreatedResource resource : batch) {
+                    futures.add(pool.submit(() -> delete(resource)));
+                }
+                List<CreatedResource> done = new ArrayList<>(batch.size());
+                for (int i = 0; i < batch.size(); i++) {
+                    if (await(futures.get(i))) {
+                        done.add(batch.get(i));
+                    }
+                }
+                //Пачка фиксируется в журнале целиком: после падения повторно удалять её не придётся.
+                journal.removed(done);
+                journal.sync();
+                done.forEach(pending::remove);
+                deleted += done.size();
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        journal.compact(pending);
+        journal.close();
+        return new CleanupReport(deleted, queue.size() - deleted, resumed,
+                (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private static boolean delete(CreatedResource resource) {
+        try {
+            //Без фильтров: уборка не должна попадать в статистику и ограничения конвейера.
+            int status = given().noFilters()
+                    .baseUri(resource.baseUri())
+                    .delete(resource.kind().deletePath(), resource.id())
+                    .statusCode();
+            return status == 200 || status == 404;
+        } catch (RuntimeException e) {
+            return false;
+        }
+    }
+
+    private static boolean await(Future<Boolean> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (ExecutionException e) {
+            return false;
+        }
+    }
+
+    @Override
+    public String report() {
+        if (recorded.sum() == 0 && resumed == 0) {
+            return "";
+        }
+        return String.format("cleanup: создано=%d удалено тестами=%d ожидают уборки=%d",
+                recorded.sum(), deletedByTests.sum(), pending.size());
+    }
+}
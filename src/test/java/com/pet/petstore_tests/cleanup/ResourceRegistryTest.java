@@ -0,0 +1,160 @@
+package com.pet.petstore_tests.cleanup;
+
+import com.sun.net.httpserver.HttpServer;
+import io.restassured.RestAssured;
+import io.restassured.specification.RequestSpecification;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ResourceRegistryTest {
+
+    @TempDir
+    Path dir;
+
+    private HttpServer server;
+    private String baseUri;
+    private final AtomicInteger nextId = new AtomicInteger(100);
+    private final Set<String> deleted = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger concurrentDeletes = new AtomicInteger();
+    private final AtomicInteger maxConcurrentDeletes = new AtomicInteger();
+
+    @BeforeEach
+    void start() throws Exception {
+        RestAssured.reset();
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.createContext("/v2", exchange -> {
+            String path = exchange.getRequestURI().getRawPath().substring("/v2".length());
+            String method = exchange.getRequestMethod();
+            int status = 200;
+            String body = "{}";
+            if (method.equals("POST") && (path.equals("/pet") || path.equals("/store/order"))) {
+                body = "{\"id\":" + nextId.incrementAndGet() + ",\"name\":\"x\"}";
+            } else if (method.equals("DELETE")) {
+                int now = concurrentDeletes.incrementAndGet();
+                maxConcurrentDeletes.accumulateAndGet(now, Math::max);
+                try {
+                    Thread.sleep(20);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                concurrentDeletes.decrementAndGet();
+                status = path.endsWith("/broken") ? 500 : 200;
+                if (status == 200) {
+                    deleted.add(path);
+                }
+            }
+            byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(status, bytes.length);
+            exchange.getResponseBody().write(bytes);
+            exchange.close();
+        });
+        server.start();
+        baseUri = "http://127.0.0.1:" + server.getAddress().getPort() + "/v2";
+    }
+
+    @AfterEach
+    void stop() {
+        server.stop(0);
+    }
+
+    private ResourceRegistry registry(int threads, int batchSize) {
+        return new ResourceRegistry(new ResourceRegistry.Settings(dir, threads, batchSize));
+    }
+
+    private RequestSpecification given(ResourceRegistry registry) {
+        return RestAssured.given().baseUri(baseUri).contentType("application/json").filter(registry);
+    }
+
+    @Test
+    @DisplayName("Созданные питомцы, заказы и пользователи запоминаются, удалённые тестом — снимаются")
+    void records_createdEntities() {
+        ResourceRegistry registry = registry(4, 10);
+
+        given(registry).body("{\"name\":\"x\"}").post("/pet").then().statusCode(200);
+        given(registry).body("{\"petId\":1}").post("/store/order").then().statusCode(200);
+        given(registry).body(List.of(Map.of("username", "u1"), Map.of("username", "u2")))
+                .post("/user/createWithArray").then().statusCode(200);
+        given(registry).body("{\"username\":\"u3\"}").put("/user/{name}", "u3").then().statusCode(200);
+        given(registry).get("/user/login").then().statusCode(200);
+        given(registry).delete("/user/{name}", "u1").then().statusCode(200);
+
+        assertEquals(Set.of(
+                new CreatedResource(CreatedResource.Kind.PET, baseUri, "101"),
+                new CreatedResource(CreatedResource.Kind.ORDER, baseUri, "102"),
+                new CreatedResource(CreatedResource.Kind.USER, baseUri, "u2"),
+                new CreatedResource(CreatedResource.Kind.USER, baseUri, "u3")), registry.pending());
+        assertEquals(new CreatedResource(CreatedResource.Kind.USER, baseUri, "a+b c"),
+                ResourceRegistry.entity(baseUri, "/user/a+b%20c"));
+    }
+
+    @Test
+    @DisplayName("Фильтр с условием принадлежности запоминает только свои сущности")
+    void owning_recordsOnlyOwned() {
+        ResourceRegistry registry = registry(2, 2);
+
+        RestAssured.given().baseUri(baseUri).contentType("application/json")
+                .filter(registry.owning(resource -> resource.id().startsWith("mine-")))
+                .body("[{\"username\":\"mine-1\"},{\"username\":\"someone\"}]")
+                .post("/user/createWithArray").then().statusCode(200);
+
+        assertEquals(Set.of(new CreatedResource(CreatedResource.Kind.USER, baseUri, "mine-1")), registry.pending());
+    }
+
+    @Test
+    @DisplayName("Уборка удаляет всё параллельно, не превышая числа потоков")
+    void cleanup_deletesInParallelBoundedBatches() {
+        ResourceRegistry registry = registry(3, 4);
+        for (int i = 0; i < 10; i++) {
+            given(registry).body("{}").post("/pet").then().statusCode(200);
+        }
+
+        ResourceRegistry.CleanupReport report = registry.cleanup();
+
+        assertEquals(10, report.deleted());
+        assertEquals(0, report.failed());
+        assertEquals(10, deleted.size());
+        assertTrue(maxConcurrentDeletes.get() > 1, "удаления шли последовательно");
+        assertTrue(maxConcurrentDeletes.get() <= 3, "потоков больше лимита: " + maxConcurrentDeletes.get());
+        assertTrue(registry.pending().isEmpty());
+        assertTrue(registry(3, 4).pending().isEmpty(), "журнал не очищен");
+    }
+
+    @Test
+    @DisplayName("После падения следующий прогон дочищает сущности из журнала; неудачные остаются")
+    void cleanup_resumesFromJournal() {
+        ResourceRegistry crashed = registry(2, 2);
+        given(crashed).body("{}").post("/pet").then().statusCode(200);
+        given(crashed).body("{\"username\":\"broken\"}").post("/user").then().statusCode(200);
+        //Уборка не вызвана: прогон «упал».
+        crashed.abandon();
+
+        ResourceRegistry next = registry(2, 2);
+        assertEquals(2, next.pending().size());
+
+        ResourceRegistry.CleanupReport report = next.cleanup();
+
+        assertEquals(1, report.deleted());
+        assertEquals(1, report.failed());
+        assertEquals(2, report.resumed());
+        assertTrue(deleted.contains("/pet/101"));
+        assertEquals(Set.of(new CreatedResource(CreatedResource.Kind.USER, baseUri, "broken")),
+                registry(2, 2).pending());
+    }
+}
@@ -0,0 +1,17 @@
+package com.pet.petstore_tests.distributed;
+
+/**
+ * Часть сценария, которую координатор поручает одному воркеру. Воркер выполняет итерации
+ * {@code workerIndex, workerIndex + workerCount, ...} из {@code iterations} общего
+ * {@link com.pet.petstore_tests.load.PetstoreWorkload} с общим seed — идентификаторы у воркеров не пересекаются.
+ *
+ * @param scenario pet, store, user или all
+ */
+public record Assignment(String scenario,
+                         String baseUri,
+                         int workerIndex,
+                         int workerCount,
+                         int iterations,
+                         int threads,
+                         long seed) {
+}
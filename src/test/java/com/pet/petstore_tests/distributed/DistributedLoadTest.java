@@ -0,0 +1,148 @@
+package com.pet.petstore_tests.distributed;
+
+import com.sun.net.httpserver.HttpServer;
+import io.restassured.RestAssured;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DistributedLoadTest {
+
+    //В сценарии user на итерацию приходится 5 запросов: POST, GET, login, logout, DELETE.
+    private static final int USER_OPERATIONS = 5;
+
+    private HttpServer server;
+    private final AtomicInteger served = new AtomicInteger();
+    private String baseUri;
+
+    @BeforeEach
+    void start() throws Exception {
+        RestAssured.reset();
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.createContext("/", exchange -> {
+            exchange.getRequestBody().readAllBytes();
+            served.incrementAndGet();
+            byte[] body = "{}".getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(exchange.getRequestURI().getPath().endsWith("/logout") ? 500 : 200, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        server.start();
+        baseUri = "http://127.0.0.1:" + server.getAddress().getPort() + "/v2";
+    }
+
+    @AfterEach
+    void stop() {
+        server.stop(0);
+    }
+
+    @Test
+    @DisplayName("Итерации делятся между воркерами без пересечений, отчёты складываются")
+    void workersInThreads_reportsMerged() throws Exception {
+        ExecutorService workers = Executors.newFixedThreadPool(3);
+        try (LoadCoordinator coordinator = new LoadCoordinator(0)) {
+            List<Future<?>> running = new ArrayList<>();
+            for (int i = 0; i < 3; i++) {
+                String name = "w" + i;
+                running.add(workers.submit(() -> {
+                    LoadWorker.run("127.0.0.1", coordinator.port(), name);
+                    return null;
+                }));
+            }
+
+            LoadCoordinator.Result result = coordinator.run(
+                    new LoadCoordinator.Plan("user", baseUri, 10, 2, 42), 3, Duration.ofSeconds(60));
+            for (Future<?> worker : running) {
+                worker.get(10, TimeUnit.SECONDS);
+            }
+
+            assertEquals(3, result.workers().size());
+            //10 итераций на 3 воркера: 4 + 3 + 3.
+            List<Long> perWorker = result.workers().stream().map(WorkerReport::requests).sorted().toList();
+            assertEquals(List.of(3L * USER_OPERATIONS, 3L * USER_OPERATIONS, 4L * USER_OPERATIONS), perWorker);
+
+            WorkerReport combined = result.combined();
+            assertEquals(10L * USER_OPERATIONS, combined.requests());
+            assertEquals(10, combined.endpoints().get("GET /user/logout").failed());
+            assertEquals(10, combined.endpoints().get("POST /user").ok());
+            assertEquals(10, combined.endpoints().get("POST /user").latency().count());
+            assertTrue(combined.endpoints().keySet().stream().allMatch(e -> e.contains("/user")));
+            //Прогрев каждого воркера — ещё по одному запросу.
+            assertEquals(10 * USER_OPERATIONS + 3, served.get());
+            String table = combined.formatTable();
+            assertEquals(combined.endpoints().size() + 2, table.lines().count(), table);
+            assertTrue(table.contains(10L * USER_OPERATIONS + " запросов"), table);
+        } finally {
+            workers.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Воркеры в отдельных JVM на этой машине")
+    void workersInLocalProcesses() throws Exception {
+        List<Process> processes = new ArrayList<>();
+        try (LoadCoordinator coordinator = new LoadCoordinator(0)) {
+            for (int i = 0; i < 2; i++) {
+                processes.add(LoadWorker.fork("127.0.0.1", coordinator.port(), "jvm-" + i));
+            }
+
+            LoadCoordinator.Result result = coordinator.run(
+                    new LoadCoordinator.Plan("user", baseUri, 4, 2, 7), 2, Duration.ofSeconds(120));
+
+            assertEquals(List.of("jvm-0", "jvm-1"),
+                    result.workers().stream().map(WorkerReport::worker).sorted().toList());
+            assertEquals(4L * USER_OPERATIONS, result.combined().requests());
+            for (Process process : processes) {
+                assertTrue(process.waitFor(30, TimeUnit.SECONDS));
+                assertEquals(0, process.exitValue());
+            }
+        } finally {
+            processes.forEach(Process::destroyForcibly);
+        }
+    }
+
+    @Test
+    @DisplayName("Координатор не ждёт воркеров дольше таймаута")
+    void missingWorkers_timeout() throws Exception {
+        try (LoadCoordinator coordinator = new LoadCoordinator(0)) {
+            assertThrows(IOException.class, () -> coordinator.run(
+                    new LoadCoordinator.Plan("all", baseUri, 1, 1, 1), 1, Duration.ofMillis(300)));
+        }
+    }
+
+    @Test
+    @DisplayName("Подключившийся и молчащий клиент не держит координатор дольше таймаута")
+    void silentPeer_timeout() throws Exception {
+        try (LoadCoordinator coordinator = new LoadCoordinator(0)) {
+            //Клиент подключается и ничего не пишет; сокет нужен только открытым на время run.
+            Socket silent = new Socket("127.0.0.1", coordinator.port());
+            try {
+                long start = System.nanoTime();
+                IOException error = assertThrows(IOException.class, () -> coordinator.run(
+                        new LoadCoordinator.Plan("all", baseUri, 1, 1, 1), 1, Duration.ofMillis(300)));
+                assertTrue(error.getMessage().contains("не представился"), error.getMessage());
+                assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(5));
+            } finally {
+                silent.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.pet.petstore_tests.distributed;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Координатор распределённой нагрузки: ждёт подключения заданного числа воркеров, раздаёт им части
+ * сценария, одновременно даёт старт (GO после READY от всех) и складывает их отчёты в один.
+ * Воркеры могут быть на любых хостах, которым доступен порт координатора.
+ */
+public final class LoadCoordinator implements AutoCloseable {
+
+    public record Plan(String scenario, String baseUri, int iterations, int threadsPerWorker, long seed) {
+    }
+
+    public record Result(WorkerReport combined, List<WorkerReport> workers) {
+    }
+
+    private final ServerSocket server;
+
+    public LoadCoordinator(int port) throws IOException {
+        this.server = new ServerSocket(port);
+    }
+
+    public int port() {
+        return server.getLocalPort();
+    }
+
+    public Result run(Plan plan, int workers, Duration timeout) throws IOException {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        List<Connection> connections = new ArrayList<>();
+        try {
+            while (connections.size() < workers) {
+                server.setSoTimeout(remainingMillis(deadline));
+                Socket socket;
+                try {
+                    socket = server.accept();
+                } catch (SocketTimeoutException e) {
+                    throw new IOException("Подключилось " + connections.size() + " воркеров из " + workers
+                            + " за " + timeout.toSeconds() + " с", e);
+                }
+                Connection connection = new Connection(socket);
+                connections.add(connection);
+                //Молчащий клиент (сканер портов, зависший воркер) не должен держать прогон дольше timeout.
+                socket.setSoTimeout(remainingMillis(deadline));
+                try {
+                    Protocol.expect(connection.in, Protocol.HELLO);
+                    connection.name = connection.in.readUTF();
+                } catch (SocketTimeoutException e) {
+                    throw new IOException("Клиент " + socket.getRemoteSocketAddress() + " не представился за "
+                            + timeout.toSeconds() + " с", e);
+                }
+            }
+
+            for (int i = 0; i < workers; i++) {
+                Protocol.writeAssignment(connections.get(i).out, new Assignment(plan.scenario(), plan.baseUri(), i,
+                        workers, plan.iterations(), plan.threadsPerWorker(), plan.seed()));
+            }
+            for (Connection connection : connections) {
+                connection.socket.setSoTimeout(remainingMillis(deadline));
+                Protocol.expect(connection.in, Protocol.READY);
+            }
+            //Старт одновременно с точностью до доставки одного байта по сети.
+            for (Connection connection : connections) {
+                connection.out.writeByte(Protocol.GO);
+                connection.out.flush();
+            }
+
+            List<WorkerReport> reports = new ArrayList<>();
+            for (Connection connection : connections) {
+                connection.socket.setSoTimeout(remainingMillis(deadline));
+                try {
+                    reports.add(Protocol.readReport(connection.in));
+                } catch (SocketTimeoutException e) {
+                    throw new IOException("Воркер " + connection.name + " не прислал отчёт за " + timeout.toSeconds()
+                            + " с", e);
+                }
+            }
+            return new Result(WorkerReport.combine("итого (" + workers + " воркеров)", reports), reports);
+        } finally {
+            for (Connection connection : connections) {
+                connection.socket.close();
+            }
+        }
+    }
+
+    private static int remainingMillis(long deadline) throws SocketTimeoutException {
+        long remaining = (deadline - System.nanoTime()) / 1_000_000;
+        if (remaining <= 0) {
+            throw new SocketTimeoutException("Истекло время распределённого прогона");
+        }
+        return (int) Math.min(Integer.MAX_VALUE, remaining);
+    }
+
+    @Override
+    public void close() throws IOException {
+        server.close();
+    }
+
+    private static final class Connection {
+        final Socket socket;
+        final DataInputStream in;
+        final DataOutputStream out;
+        String name;
+
+        Connection(Socket socket) throws IOException {
+            this.socket = socket;
+            socket.setTcpNoDelay(true);
+            this.in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+            this.out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package com.pet.petstore_tests.distributed;
+
+import com.pet.petstore_tests.load.LatencyHistogram;
+import com.pet.petstore_tests.load.PetstoreWorkload;
+import io.restassured.http.ContentType;
+import io.restassured.response.Response;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.net.Socket;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.LongAdder;
+
+import static io.restassured.RestAssured.given;
+
+/**
+ * Воркер распределённой нагрузки. Подключается к координатору, получает {@link Assignment},
+ * после сигнала GO выполняет свою часть итераций и отправляет {@link WorkerReport}.
+ * <pre>
+ * java -cp &lt;classpath тестов&gt; com.pet.petstore_tests.distributed.LoadWorker &lt;host&gt; &lt;port&gt; [имя]
+ * </pre>
+ */
+public final class LoadWorker {
+
+    private LoadWorker() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 2) {
+            System.err.println("Использование: LoadWorker <host> <port> [имя]");
+            System.exit(2);
+        }
+        String name = args.length > 2 ? args[2] : ManagementFactory.getRuntimeMXBean().getName();
+        run(args[0], Integer.parseInt(args[1]), name);
+    }
+
+    public static void run(String host, int port, String name) throws IOException {
+        try (Socket socket = new Socket(host, port)) {
+            socket.setTcpNoDelay(true);
+            DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+
+            out.writeByte(Protocol.HELLO);
+            out.writeUTF(name);
+            out.flush();
+
+            Assignment assignment = Protocol.readAssignment(in);
+            try {
+                warmUp(assignment.baseUri());
+                out.writeByte(Protocol.READY);
+                out.flush();
+                Protocol.expect(in, Protocol.GO);
+                Protocol.writeReport(out, execute(name, assignment));
+            } catch (Exception e) {
+                Protocol.writeFailure(out, e);
+            }
+        }
+    }
+
+    /**
+     * Запуск воркера в отдельной JVM на этой машине с тем же classpath.
+     */
+    public static Process fork(String host, int port, String name) throws IOException {
+        String java = Path.of(System.getProperty("java.home"), "bin", "java").toString();
+        return new ProcessBuilder(java, "-cp", System.getProperty("java.class.path"),
+                "-Dfile.encoding=UTF-8", LoadWorker.class.getName(), host, String.valueOf(port), name)
+                .redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.INHERIT)
+                .start();
+    }
+
+    static WorkerReport execute(String name, Assignment assignment) throws Exception {
+        PetstoreWorkload workload = new PetstoreWorkload(assignment.seed());
+        Map<String, Counters> endpoints = new ConcurrentHashMap<>();
+
+        ExecutorService pool = Executors.newFixedThreadPool(assignment.threads());
+        long start = System.nanoTime();
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = assignment.workerIndex(); i < assignment.iterations(); i += assignment.workerCount()) {
+                int iteration = i;
+                futures.add(pool.submit(() -> {
+                    for (PetstoreWorkload.Operation operation : workload.iteration(iteration)) {
+                        if (matches(assignment.scenario(), operation.endpoint())) {
+                            call(assignment.baseUri(), operation,
+                                    endpoints.computeIfAbsent(operation.endpoint(), e -> new Counters()));
+                        }
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        long elapsed = System.nanoTime() - start;
+
+        Map<String, WorkerReport.EndpointStats> stats = new TreeMap<>();
+        endpoints.forEach((endpoint, c) -> stats.put(endpoint,
+                new WorkerReport.EndpointStats(c.ok.sum(), c.failed.sum(), c.latency)));
+        return new WorkerReport(name, elapsed, stats);
+    }
+
+    static boolean matches(String scenario, String endpoint) {
+        return "all".equals(scenario) || endpoint.contains("/" + scenario);
+    }
+
+    private static void call(String baseUri, PetstoreWorkload.Operation operation, Counters counters) {
+        long start = System.nanoTime();
+        try {
+            //Фильтры конвейера не применяются: воркер меряет сервис, а не клиентские политики.
+            Response response = operation.call()
+                    .apply(given().noFilters().baseUri(baseUri).contentType(ContentType.JSON));
+            response.asByteArray();
+            if (response.statusCode() < 400) {
+                counters.ok.increment();
+            } else {
+                counters.failed.increment();
+            }
+        } catch (Exception e) {
+            counters.failed.increment();
+        }
+        counters.latency.recordNanos(System.nanoTime() - start);
+    }
+
+    private static void warmUp(String baseUri) {
+        //Загрузка классов RestAssured и первое соединение не должны попадать в синхронный старт.
+        try {
+            given().noFilters().baseUri(baseUri).get("/store/inventory").asByteArray();
+        } catch (Exception ignored) {
+            //Недоступность стенда проявится в самом прогоне.
+        }
+    }
+
+    private static final class Counters {
+        final LongAdder ok = new LongAdder();
+        final LongAdder failed = new LongAdder();
+        final LatencyHistogram latency = new LatencyHistogram();
+    }
+}
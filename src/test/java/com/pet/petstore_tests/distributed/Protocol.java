@@ -0,0 +1,103 @@
+package com.pet.petstore_tests.distributed;
+
+import com.pet.petstore_tests.load.LatencyHistogram;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Обмен координатора и воркера по TCP (DataInput/DataOutput):
+ * <pre>
+ * воркер → HELLO(имя)
+ * координатор → ASSIGN(задание)
+ * воркер → READY              после прогрева
+ * координатор → GO            когда готовы все воркеры
+ * воркер → REPORT(отчёт) | FAILED(сообщение)
+ * </pre>
+ */
+final class Protocol {
+
+    static final byte HELLO = 1;
+    static final byte ASSIGN = 2;
+    static final byte READY = 3;
+    static final byte GO = 4;
+    static final byte REPORT = 5;
+    static final byte FAILED = 6;
+
+    private Protocol() {
+    }
+
+    static void expect(DataInputStream in, byte type) throws IOException {
+        byte actual = in.readByte();
+        if (actual == FAILED) {
+            throw new IOException("Воркер завершился с ошибкой: " + in.readUTF());
+        }
+        if (actual != type) {
+            throw new IOException("Ожидалось сообщение " + type + ", получено " + actual);
+        }
+    }
+
+    static void writeAssignment(DataOutputStream out, Assignment a) throws IOException {
+        out.writeByte(ASSIGN);
+        out.writeUTF(a.scenario());
+        out.writeUTF(a.baseUri());
+        out.writeInt(a.workerIndex());
+        out.writeInt(a.workerCount());
+        out.writeInt(a.iterations());
+        out.writeInt(a.threads());
+        out.writeLong(a.seed());
+        out.flush();
+    }
+
+    static Assignment readAssignment(DataInputStream in) throws IOException {
+        expect(in, ASSIGN);
+        return new Assignment(in.readUTF(), in.readUTF(), in.readInt(), in.readInt(), in.readInt(), in.readInt(),
+                in.readLong());
+    }
+
+    static void writeReport(DataOutputStream out, WorkerReport report) throws IOException {
+        out.writeByte(REPORT);
+        out.writeUTF(report.worker());
+        out.writeLong(report.elapsedNanos());
+        out.writeInt(report.endpoints().size());
+        for (Map.Entry<String, WorkerReport.EndpointStats> e : report.endpoints().entrySet()) {
+            out.writeUTF(e.getKey());
+            out.writeLong(e.getValue().ok());
+            out.writeLong(e.getValue().failed());
+            long[] histogram = e.getValue().latency().toCompactArray();
+            out.writeInt(histogram.length);
+            for (long value : histogram) {
+                out.writeLong(value);
+            }
+        }
+        out.flush();
+    }
+
+    static WorkerReport readReport(DataInputStream in) throws IOException {
+        expect(in, REPORT);
+        String worker = in.readUTF();
+        long elapsed = in.readLong();
+        int size = in.readInt();
+        Map<String, WorkerReport.EndpointStats> endpoints = new LinkedHashMap<>();
+        for (int i = 0; i < size; i++) {
+            String endpoint = in.readUTF();
+            long ok = in.readLong();
+            long failed = in.readLong();
+            long[] histogram = new long[in.readInt()];
+            for (int j = 0; j < histogram.length; j++) {
+                histogram[j] = in.readLong();
+            }
+            endpoints.put(endpoint, new WorkerReport.EndpointStats(ok, failed, LatencyHistogram.fromCompactArray(histogram)));
+        }
+        return new WorkerReport(worker, elapsed, endpoints);
+    }
+
+    static void writeFailure(DataOutputStream out, Throwable error) throws IOException {
+        out.writeByte(FAILED);
+        out.writeUTF(String.valueOf(error));
+        out.flush();
+    }
+}
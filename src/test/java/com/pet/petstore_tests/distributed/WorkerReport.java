@@ -0,0 +1,54 @@
+package com.pet.petstore_tests.distributed;
+
+import com.pet.petstore_tests.load.LatencyHistogram;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Результат воркера: задержки и счётчики по эндпоинтам. Отчёты складываются без потерь —
+ * гистограммы передаются целиком, а не готовыми перцентилями.
+ */
+public record WorkerReport(String worker, long elapsedNanos, Map<String, EndpointStats> endpoints) {
+
+    public record EndpointStats(long ok, long failed, LatencyHistogram latency) {
+
+        EndpointStats merge(EndpointStats other) {
+            LatencyHistogram merged = new LatencyHistogram();
+            merged.merge(latency);
+            merged.merge(other.latency);
+            return new EndpointStats(ok + other.ok, failed + other.failed, merged);
+        }
+    }
+
+    public long requests() {
+        return endpoints.values().stream().mapToLong(s -> s.ok() + s.failed()).sum();
+    }
+
+    /**
+     * Сводный отчёт: эндпоинты складываются, длительность — самая долгая из воркеров.
+     */
+    public static WorkerReport combine(String name, Iterable<WorkerReport> reports) {
+        Map<String, EndpointStats> endpoints = new TreeMap<>();
+        long elapsed = 0;
+        for (WorkerReport report : reports) {
+            elapsed = Math.max(elapsed, report.elapsedNanos());
+            report.endpoints().forEach((endpoint, stats) -> endpoints.merge(endpoint, stats, EndpointStats::merge));
+        }
+        return new WorkerReport(name, elapsed, endpoints);
+    }
+
+    public String formatTable() {
+        double seconds = elapsedNanos / 1e9;
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("%-32s %7s %7s %9s %9s %9s %9s %9s%n",
+                "endpoint", "ok", "failed", "req/s", "p50ms", "p95ms", "p99ms", "maxms"));
+        endpoints.forEach((endpoint, s) -> sb.append(String.format("%-32s %7d %7d %9.1f %9.1f %9.1f %9.1f %9.1f%n",
+                endpoint, s.ok(), s.failed(), seconds == 0 ? 0 : (s.ok() + s.failed()) / seconds,
+                s.latency().percentileMillis(50), s.latency().percentileMillis(95),
+                s.latency().percentileMillis(99), s.latency().maxNanos() / 1e6)));
+        sb.append(String.format("%s: %d запросов за %.1f с (%.1f req/s)%n", worker, requests(), seconds,
+                seconds == 0 ? 0 : requests() / seconds));
+        return sb.toString();
+    }
+}
@@ -0,0 +1,527 @@
+package com.pet.petstore_tests.fuzz;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.pet.petstore_tests.cleanup.CreatedResource;
+import com.pet.petstore_tests.model.Order;
+import com.pet.petstore_tests.model.Pet;
+import com.pet.petstore_tests.model.User;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Генератор некорректных запросов по классам модели (Pet, Order, User): поля и их типы берутся рефлексией,
+ * для каждого случая строится корректное тело и в нём искажаются 1–3 случайных поля — неверный тип,
+ * граничное число, пропуск, null, длинная или «опасная» строка, неизвестное значение enum.
+ * Часть случаев портит документ целиком (пустое тело, обрыв, невалидный UTF-8, глубокая вложенность),
+ * параметры пути получают нечисловые, переполненные и экранированные значения.
+ * Случай полностью определяется парой (seed, index), поэтому его можно воспроизвести по номеру.
+ * <p>
+ * Сервис общий, а POST/PUT работают как upsert, поэтому запись не должна задевать чужие сущности:
+ * числа в корректных телах берутся из диапазона [{@link #OWNED_ID_MIN}, {@link #OWNED_ID_MAX}), строки начинаются
+ * с {@link #OWNED_PREFIX}. Искажения id и username в теле записи и параметр пути PUT остаются в этих границах
+ * или не приводятся к id вовсе; принадлежность созданного проверяет {@link #isOwned}.
+ */
+public final class CaseGenerator {
+
+    public record Operation(String method, String path, Class<?> body, String pathParam) {
+
+        public String name() {
+            return method + " " + path;
+        }
+    }
+
+    public record FuzzCase(long index, Operation operation, String pathValue, byte[] body, String description) {
+    }
+
+    private enum Kind { INTEGER, STRING, ENUM, BOOLEAN, LIST, OBJECT }
+
+    //steps — имена полей и индексы массивов от корня тела.
+    private record Slot(String path, List<Object> steps, Kind kind, Class<?> type, Type element) {
+    }
+
+    //value == null — поле удаляется.
+    private record Mutant(String label, JsonNode value) {
+    }
+
+    public static final long OWNED_ID_MIN = 2_000_000_000L;
+    public static final long OWNED_ID_MAX = 2_100_000_000L;
+    public static final String OWNED_PREFIX = "fuzz-";
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final JsonNodeFactory NODES = JsonNodeFactory.instance;
+    private static final int MAX_DEPTH = 2;
+    private static final int DOCUMENT_PERCENT = 15;
+    //Не now(): иначе тело зависит от времени и случай не воспроизводится по номеру.
+    private static final OffsetDateTime BASE_DATE = OffsetDateTime.of(2024, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+
+    private static final List<Mutant> INTEGER_MUTANTS = List.of(
+            new Mutant("text", NODES.textNode("abc")),
+            new Mutant("numeric-text", NODES.textNode("1")),
+            new Mutant("boolean", NODES.booleanNode(true)),
+            new Mutant("fraction", NODES.numberNode(1.5)),
+            new Mutant("negative", NODES.numberNode(-1)),
+            new Mutant("zero", NODES.numberNode(0)),
+            new Mutant("int-overflow", NODES.numberNode(2_147_483_648L)),
+            new Mutant("long-max", NODES.numberNode(Long.MAX_VALUE)),
+            new Mutant("long-overflow", NODES.numberNode(new BigInteger("9223372036854775808"))),
+            new Mutant("huge-exponent", NODES.numberNode(new BigDecimal("1E+400"))),
+            new Mutant("array", NODES.arrayNode()),
+            new Mutant("object", NODES.objectNode()));
+
+    private static final List<Mutant> STRING_MUTANTS = List.of(
+            new Mutant("number", NODES.numberNode(123)),
+            new Mutant("boolean", NODES.booleanNode(true)),
+            new Mutant("empty", NODES.textNode("")),
+            new Mutant("blank", NODES.textNode("   ")),
+            new Mutant("nul-char", NODES.textNode("a\u0000b")),
+            new Mutant("rtl-override", NODES.textNode("\u202Egnp.exe")),
+            new Mutant("emoji", NODES.textNode("😀".repeat(16))),
+            new Mutant("sql", NODES.textNode("' OR '1'='1")),
+            new Mutant("html", NODES.textNode("<script>alert(1)</script>")),
+            new Mutant("format", NODES.textNode("%s%s%n%x")),
+            new Mutant("path-traversal", NODES.textNode("../../etc/passwd")),
+            new Mutant("array", NODES.arrayNode()),
+            new Mutant("object", NODES.objectNode()));
+
+    private static final List<Mutant> ENUM_MUTANTS = List.of(
+            new Mutant("unknown", NODES.textNode("unknown")),
+            new Mutant("empty", NODES.textNode("")),
+            new Mutant("number", NODES.numberNode(0)),
+            new Mutant("boolean", NODES.booleanNode(true)),
+            new Mutant("array", NODES.arrayNode()));
+
+    private static final List<Mutant> BOOLEAN_MUTANTS = List.of(
+            new Mutant("text", NODES.textNode("true")),
+            new Mutant("yes", NODES.textNode("yes")),
+            new Mutant("one", NODES.numberNode(1)),
+            new Mutant("two", NODES.numberNode(2)),
+            new Mutant("empty", NODES.textNode("")),
+            new Mutant("object", NODES.objectNode()));
+
+    //Искажения username в теле записи: строки — с префиксом, числа и boolean исключены (сервер приводит их к строке).
+    private static final List<Mutant> OWNED_STRING_MUTANTS = STRING_MUTANTS.stream()
+            .filter(mutant -> mutant.value().isTextual() || mutant.value().isContainerNode())
+            .map(mutant -> mutant.value().isTextual()
+                    ? new Mutant(mutant.label(), NODES.textNode(OWNED_PREFIX + mutant.value().textValue()))
+                    : mutant)
+            .toList();
+
+    private static final List<String> PATH_MUTANTS = List.of(
+            "abc", " ", "-1", "0", "1.5", "1e3", "2147483648", "9223372036854775808", "null", "true",
+            "%00", "../pet", "𝕏", "' OR '1'='1", "<script>", "9".repeat(300));
+
+    private final List<Operation> operations;
+    private final long seed;
+    private final int maxStringLength;
+    private final Map<Class<?>, List<Slot>> slots = new HashMap<>();
+
+    public CaseGenerator(List<Operation> operations, long seed, int maxStringLength) {
+        this.operations = List.copyOf(operations);
+        this.seed = seed;
+        this.maxStringLength = maxStringLength;
+        for (Operation operation : operations) {
+            if (operation.body() != null) {
+                List<Slot> list = new ArrayList<>();
+                collectSlots(operation.body(), "", List.of(), 0, list);
+                slots.put(operation.body(), list);
+            }
+        }
+    }
+
+    /**
+     * Операции Petstore, которые принимают тело модели или параметр пути и не удаляют данные.
+     */
+    public static List<Operation> petstoreOperations() {
+        return List.of(
+                new Operation("POST", "/pet", Pet.class, null),
+                new Operation("PUT", "/pet", Pet.class, null),
+                new Operation("GET", "/pet/{petId}", null, "petId"),
+                new Operation("POST", "/store/order", Order.class, null),
+                new Operation("GET", "/store/order/{orderId}", null, "orderId"),
+                new Operation("POST", "/user", User.class, null),
+                new Operation("PUT", "/user/{username}", User.class, "username"),
+                new Operation("GET", "/user/{username}", null, "username"));
+    }
+
+    public long seed() {
+        return seed;
+    }
+
+    /**
+     * Сущность создана фаззингом: id питомца или заказа из зарезервированного диапазона, имя пользователя с префиксом.
+     */
+    public static boolean isOwned(CreatedResource resource) {
+        if (resource.kind() == CreatedResource.Kind.USER) {
+            return resource.id().startsWith(OWNED_PREFIX);
+        }
+        try {
+            long id = Long.parseLong(resource.id());
+            return id >= OWNED_ID_MIN && id < OWNED_ID_MAX;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    public FuzzCase generate(long index) {
+        SplittableRandom random = new SplittableRandom(seed * 0x9E3779B97F4A7C15L + index);
+        Operation operation = operations.get(random.nextInt(operations.size()));
+        List<String> labels = new ArrayList<>();
+
+        String pathValue = null;
+        //Без тела искажать можно только путь; с телом путь искажается в половине случаев.
+        if (operation.pathParam() != null && (operation.body() == null || random.nextBoolean())) {
+            pathValue = writes(operation) ? OWNED_PREFIX + pathMutant(random) : pathMutant(random);
+            labels.add("{" + operation.pathParam() + "}=" + describe(pathValue));
+        }
+
+        byte[] body = null;
+        if (operation.body() != null) {
+            ObjectNode root = (ObjectNode) valid(operation.body(), random, 0);
+            if (pathValue == null && operation.pathParam() != null) {
+                pathValue = root.path(operation.pathParam()).asText("fuzz");
+            }
+            body = random.nextInt(100) < DOCUMENT_PERCENT
+                    ? documentMutant(root, random, labels)
+                    : fieldMutants(operation, root, random, labels);
+        }
+        return new FuzzCase(index, operation, pathValue, body, String.join("; ", labels));
+    }
+
+    private byte[] fieldMutants(Operation operation, ObjectNode root, SplittableRandom random, List<String> labels) {
+        List<Slot> candidates = slots.get(operation.body());
+        int count = random.nextInt(100) < 70 ? 1 : 2 + random.nextInt(2);
+        for (int i = 0; i < count; i++) {
+            Slot slot = candidates.get(random.nextInt(candidates.size()));
+            Mutant mutant = writes(operation) && isIdentity(slot) ? identityMutant(slot, random) : mutant(slot, random);
+            //Предыдущая мутация могла заменить родителя поля — тогда эта пропускается.
+            if (apply(root, slot.steps(), mutant.value())) {
+                labels.add(slot.path() + "=" + mutant.label());
+            }
+        }
+        return toBytes(root);
+    }
+
+    private byte[] documentMutant(ObjectNode root, SplittableRandom random, List<String> labels) {
+        String first = root.fieldNames().next();
+        switch (random.nextInt(8)) {
+            case 0 -> {
+                labels.add("body=empty");
+                return new byte[0];
+            }
+            case 1 -> {
+                labels.add("body=null");
+                return "null".getBytes(StandardCharsets.US_ASCII);
+            }
+            case 2 -> {
+                labels.add("body=wrapped-in-array");
+                return ("[" + new String(toBytes(root), StandardCharsets.UTF_8) + "]").getBytes(StandardCharsets.UTF_8);
+            }
+            case 3 -> {
+                byte[] json = toBytes(root);
+                int length = 1 + random.nextInt(json.length - 1);
+                labels.add("body=truncated@" + length);
+                return Arrays.copyOf(json, length);
+            }
+            case 4 -> {
+                labels.add("body=invalid-utf8");
+                root.put(first, "x");
+                String json = new String(toBytes(root), StandardCharsets.UTF_8);
+                int quote = json.indexOf("\"x\"") + 1;
+                byte[] head = json.substring(0, quote).getBytes(StandardCharsets.UTF_8);
+                byte[] tail = json.substring(quote).getBytes(StandardCharsets.UTF_8);
+                byte[] out = new byte[head.length + 2 + tail.length];
+                System.arraycopy(head, 0, out, 0, head.length);
+                out[head.length] = (byte) 0xC3;
+                out[head.length + 1] = (byte) 0x28;
+                System.arraycopy(tail, 0, out, head.length + 2, tail.length);
+                return out;
+            }
+            case 5 -> {
+                labels.add("body=duplicate-key");
+                String json = new String(toBytes(root), StandardCharsets.UTF_8);
+                return (json.substring(0, json.length() - 1) + ",\"" + first + "\":\"duplicate\"}")
+                        .getBytes(StandardCharsets.UTF_8);
+            }
+            case 6 -> {
+                int depth = 64 << random.nextInt(5);
+                labels.add("body=nested-" + depth);
+                String json = new String(toBytes(root), StandardCharsets.UTF_8);
+                return (json.substring(0, json.length() - 1) + ",\"nested\":" + "[".repeat(depth) + "]".repeat(depth) + "}")
+                        .getBytes(StandardCharsets.UTF_8);
+            }
+            default -> {
+                labels.add("body=unknown-field");
+                root.put("fuzzUnknown", "x");
+                return toBytes(root);
+            }
+        }
+    }
+
+    private static boolean writes(Operation operation) {
+        return !"GET".equals(operation.method());
+    }
+
+    private static boolean isIdentity(Slot slot) {
+        return slot.steps().size() == 1 && (slot.path().equals("id") || slot.path().equals("username"));
+    }
+
+    /**
+     * Искажение ключа сущности в теле записи, которое не адресует чужую сущность: нечисловое значение,
+     * переполнение или число из зарезервированного диапазона; для username — строка с префиксом.
+     * Пропуск и null не используются: сервер сгенерировал бы id вне диапазона, и сущность осталась бы неубранной.
+     */
+    private Mutant identityMutant(Slot slot, SplittableRandom random) {
+        if (slot.kind() == Kind.STRING) {
+            return switch (random.nextInt(OWNED_STRING_MUTANTS.size() + 2)) {
+                case 0 -> new Mutant("long-string",
+                        NODES.textNode(OWNED_PREFIX + "a".repeat(1 + random.nextInt(maxStringLength))));
+                case 1 -> new Mutant("random-unicode", NODES.textNode(OWNED_PREFIX + randomUnicode(random)));
+                default -> pick(OWNED_STRING_MUTANTS, random);
+            };
+        }
+        long owned = random.nextLong(OWNED_ID_MIN, OWNED_ID_MAX);
+        return switch (random.nextInt(8)) {
+            case 0 -> new Mutant("text", NODES.textNode("abc"));
+            case 1 -> new Mutant("numeric-text", NODES.textNode(Long.toString(owned)));
+            case 2 -> new Mutant("fraction", NODES.numberNode(new BigDecimal(owned + ".5")));
+            case 3 -> new Mutant("range-min", NODES.numberNode(OWNED_ID_MIN));
+            case 4 -> new Mutant("range-max", NODES.numberNode(OWNED_ID_MAX - 1));
+            case 5 -> new Mutant("long-overflow", NODES.numberNode(new BigInteger("9223372036854775808")));
+            case 6 -> new Mutant("huge-exponent", NODES.numberNode(new BigDecimal("1E+400")));
+            default -> random.nextBoolean()
+                    ? new Mutant("array", NODES.arrayNode())
+                    : new Mutant("object", NODES.objectNode());
+        };
+    }
+
+    private Mutant mutant(Slot slot, SplittableRandom random) {
+        if (random.nextInt(10) == 0) {
+            return random.nextBoolean() ? new Mutant("missing", null) : new Mutant("null", NODES.nullNode());
+        }
+        return switch (slot.kind()) {
+            case INTEGER -> random.nextInt(INTEGER_MUTANTS.size() + 1) == 0
+                    ? new Mutant("random-long", NODES.numberNode(random.nextLong()))
+                    : pick(INTEGER_MUTANTS, random);
+            case STRING -> switch (random.nextInt(STRING_MUTANTS.size() + 3)) {
+                case 0 -> new Mutant("long-string", NODES.textNode("a".repeat(1 + random.nextInt(maxStringLength))));
+                case 1 -> new Mutant("random-unicode", NODES.textNode(randomUnicode(random)));
+                case 2 -> slot.path().endsWith("Date")
+                        ? new Mutant("bad-date", NODES.textNode("2024-13-45T99:99:99Z"))
+                        : pick(STRING_MUTANTS, random);
+                default -> pick(STRING_MUTANTS, random);
+            };
+            case ENUM -> switch (random.nextInt(ENUM_MUTANTS.size() + 2)) {
+                case 0 -> new Mutant("upper-case", NODES.textNode(enumConstant(slot.type(), random).toUpperCase()));
+                case 1 -> new Mutant("trailing-space", NODES.textNode(enumConstant(slot.type(), random) + " "));
+                default -> pick(ENUM_MUTANTS, random);
+            };
+            case BOOLEAN -> pick(BOOLEAN_MUTANTS, random);
+            case LIST -> switch (random.nextInt(7)) {
+                case 0 -> new Mutant("object", NODES.objectNode());
+                case 1 -> new Mutant("scalar", NODES.textNode("x"));
+                case 2 -> new Mutant("null-element", NODES.arrayNode().addNull());
+                case 3 -> new Mutant("nested-array", NODES.arrayNode().add(NODES.arrayNode()));
+                case 4 -> new Mutant("empty", NODES.arrayNode());
+                case 5 -> {
+                    ArrayNode huge = NODES.arrayNode();
+                    int size = 1000 + random.nextInt(9000);
+                    for (int i = 0; i < size; i++) {
+                        huge.add(valid(slot.element(), random, MAX_DEPTH));
+                    }
+                    yield new Mutant("huge-array", huge);
+                }
+                default -> new Mutant("wrong-element",
+                        slot.element() == String.class ? NODES.arrayNode().add(1) : NODES.arrayNode().add("x"));
+            };
+            case OBJECT -> switch (random.nextInt(5)) {
+                case 0 -> new Mutant("scalar", NODES.textNode("x"));
+                case 1 -> new Mutant("number", NODES.numberNode(1));
+                case 2 -> new Mutant("array", NODES.arrayNode());
+                case 3 -> new Mutant("empty", NODES.objectNode());
+                default -> {
+                    ObjectNode extra = (ObjectNode) valid(slot.type(), random, MAX_DEPTH);
+                    extra.put("fuzzUnknown", "x");
+                    yield new Mutant("unknown-field", extra);
+                }
+            };
+        };
+    }
+
+    private static String pathMutant(SplittableRandom random) {
+        return switch (random.nextInt(PATH_MUTANTS.size() + 2)) {
+            case 0 -> Long.toString(random.nextLong());
+            case 1 -> randomUnicode(random);
+            default -> PATH_MUTANTS.get(random.nextInt(PATH_MUTANTS.size()));
+        };
+    }
+
+    private static String randomUnicode(SplittableRandom random) {
+        StringBuilder sb = new StringBuilder();
+        int length = 1 + random.nextInt(32);
+        for (int i = 0; i < length; i++) {
+            //Только скалярные значения: суррогаты по одному не кодируются в UTF-8.
+            int codePoint = random.nextInt(0x20, 0x2FFFF);
+            if (codePoint >= 0xD800 && codePoint <= 0xDFFF) {
+                codePoint = 0xFFFD;
+            }
+            sb.appendCodePoint(codePoint);
+        }
+        return sb.toString();
+    }
+
+    private static String describe(String value) {
+        return value.length() > 24 ? "len" + value.length() : "'" + value + "'";
+    }
+
+    private static Mutant pick(List<Mutant> mutants, SplittableRandom random) {
+        return mutants.get(random.nextInt(mutants.size()));
+    }
+
+    private static String enumConstant(Class<?> type, SplittableRandom random) {
+        Object[] constants = type.getEnumConstants();
+        return constants[random.nextInt(constants.length)].toString().toLowerCase();
+    }
+
+    private static boolean apply(ObjectNode root, List<Object> steps, JsonNode value) {
+        JsonNode parent = root;
+        for (int i = 0; i < steps.size() - 1; i++) {
+            Object step = steps.get(i);
+            parent = step instanceof Integer index ? parent.path(index) : parent.path((String) step);
+        }
+        Object last = steps.get(steps.size() - 1);
+        if (last instanceof Integer index && parent instanceof ArrayNode array && array.size() > index) {
+            if (value == null) {
+                array.remove(index);
+            } else {
+                array.set(index, value);
+            }
+            return true;
+        }
+        if (last instanceof String field && parent instanceof ObjectNode object && object.has(field)) {
+            if (value == null) {
+                object.remove(field);
+            } else {
+                object.set(field, value);
+            }
+            return true;
+        }
+        return false;
+    }
+
+    private static byte[] toBytes(JsonNode node) {
+        try {
+            return MAPPER.writeValueAsBytes(node);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Тело не сериализуется", e);
+        }
+    }
+
+    private static void collectSlots(Class<?> type, String prefix, List<Object> steps, int depth, List<Slot> out) {
+        for (Field field : fields(type)) {
+            List<Object> path = append(steps, field.getName());
+            String name = prefix + field.getName();
+            Kind kind = kindOf(field.getType());
+            Type element = kind == Kind.LIST ? elementType(field.getGenericType()) : null;
+            out.add(new Slot(name, path, kind, field.getType(), element));
+            if (depth >= MAX_DEPTH) {
+                continue;
+            }
+            if (kind == Kind.OBJECT) {
+                collectSlots(field.getType(), name + ".", path, depth + 1, out);
+            } else if (kind == Kind.LIST && element instanceof Class<?> elementClass) {
+                Kind elementKind = kindOf(elementClass);
+                List<Object> first = append(path, 0);
+                out.add(new Slot(name + "[0]", first, elementKind, elementClass, null));
+                if (elementKind == Kind.OBJECT) {
+                    collectSlots(elementClass, name + "[0].", first, depth + 1, out);
+                }
+            }
+        }
+    }
+
+    private static JsonNode valid(Type type, SplittableRandom random, int depth) {
+        Class<?> raw = type instanceof ParameterizedType p ? (Class<?>) p.getRawType() : (Class<?>) type;
+        return switch (kindOf(raw)) {
+            case INTEGER -> NODES.numberNode(random.nextLong(OWNED_ID_MIN, OWNED_ID_MAX));
+            case STRING -> NODES.textNode(OWNED_PREFIX + random.nextInt(1_000_000));
+            case ENUM -> NODES.textNode(enumConstant(raw, random));
+            case BOOLEAN -> NODES.booleanNode(random.nextBoolean());
+            case LIST -> {
+                ArrayNode array = NODES.arrayNode();
+                array.add(valid(elementType(type), random, depth + 1));
+                yield array;
+            }
+            case OBJECT -> {
+                ObjectNode object = NODES.objectNode();
+                if (depth <= MAX_DEPTH) {
+                    for (Field field : fields(raw)) {
+                        object.set(field.getName(), field.getName().endsWith("Date")
+                                ? NODES.textNode(BASE_DATE.plusMinutes(random.nextInt(1_000_000)).toString())
+                                : valid(field.getGenericType(), random, depth + 1));
+                    }
+                }
+                yield object;
+            }
+        };
+    }
+
+    private static List<Field> fields(Class<?> type) {
+        List<Field> result = new ArrayList<>();
+        for (Field field : type.getDeclaredFields()) {
+            if (!Modifier.isStatic(field.getModifiers()) && !field.isSynthetic()) {
+                result.add(field);
+            }
+        }
+        return result;
+    }
+
+    private static Kind kindOf(Class<?> type) {
+        if (type == Integer.class || type == int.class || type == Long.class || type == long.class
+                || type == Short.class || type == short.class || Number.class.isAssignableFrom(type)) {
+            return Kind.INTEGER;
+        }
+        if (type == String.class) {
+            return Kind.STRING;
+        }
+        if (type.isEnum()) {
+            return Kind.ENUM;
+        }
+        if (type == Boolean.class || type == boolean.class) {
+            return Kind.BOOLEAN;
+        }
+        if (Collection.class.isAssignableFrom(type) || type.isArray()) {
+            return Kind.LIST;
+        }
+        return Kind.OBJECT;
+    }
+
+    private static Type elementType(Type listType) {
+        return listType instanceof ParameterizedType p ? p.getActualTypeArguments()[0] : String.class;
+    }
+
+    private static List<Object> append(List<Object> steps, Object step) {
+        List<Object> result = new ArrayList<>(steps);
+        result.add(step);
+        return List.copyOf(result);
+    }
+}
@@ -0,0 +1,132 @@
+package com.pet.petstore_tests.fuzz;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.pet.petstore_tests.cleanup.CreatedResource;
+import com.pet.petstore_tests.model.Pet;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CaseGeneratorTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    @Test
+    @DisplayName("Случай воспроизводится по seed и номеру")
+    void generate_isDeterministic() {
+        CaseGenerator first = new CaseGenerator(CaseGenerator.petstoreOperations(), 42, 4096);
+        CaseGenerator second = new CaseGenerator(CaseGenerator.petstoreOperations(), 42, 4096);
+
+        for (long i = 0; i < 200; i++) {
+            CaseGenerator.FuzzCase a = first.generate(i);
+            CaseGenerator.FuzzCase b = second.generate(i);
+            assertEquals(a.operation(), b.operation());
+            assertEquals(a.pathValue(), b.pathValue());
+            assertEquals(a.description(), b.description());
+            assertArrayEquals(a.body(), b.body());
+        }
+    }
+
+    @Test
+    @DisplayName("Покрываются все операции, поля моделей и порча документа")
+    void generate_coversOperationsFieldsAndDocuments() {
+        CaseGenerator generator = new CaseGenerator(CaseGenerator.petstoreOperations(), 7, 4096);
+        Set<String> operations = new HashSet<>();
+        Set<String> targets = new HashSet<>();
+
+        for (long i = 0; i < 5000; i++) {
+            CaseGenerator.FuzzCase fuzzCase = generator.generate(i);
+            operations.add(fuzzCase.operation().name());
+            assertFalse(fuzzCase.description().isEmpty(), "случай без искажений: " + i);
+            if (fuzzCase.operation().pathParam() != null) {
+                assertNotNull(fuzzCase.pathValue());
+            }
+            if (fuzzCase.operation().body() == null) {
+                assertNull(fuzzCase.body());
+            }
+            for (String label : fuzzCase.description().split("; ")) {
+                targets.add(label.substring(0, label.indexOf('=')));
+            }
+        }
+
+        assertEquals(CaseGenerator.petstoreOperations().size(), operations.size());
+        assertTrue(targets.containsAll(List.of("id", "category.name", "tags[0].id", "photoUrls", "status",
+                "quantity", "shipDate", "complete", "username", "userStatus", "body", "{petId}", "{username}")),
+                targets.toString());
+    }
+
+    @Test
+    @DisplayName("Искажение поля меняет только его, остальное тело остаётся валидным JSON модели")
+    void fieldMutation_keepsRestOfBody() throws Exception {
+        List<CaseGenerator.Operation> operations =
+                List.of(new CaseGenerator.Operation("POST", "/pet", Pet.class, null));
+        CaseGenerator generator = new CaseGenerator(operations, 1, 4096);
+
+        int checked = 0;
+        for (long i = 0; i < 500; i++) {
+            CaseGenerator.FuzzCase fuzzCase = generator.generate(i);
+            if (fuzzCase.description().startsWith("body=") || fuzzCase.description().contains(";")) {
+                continue;
+            }
+            String field = fuzzCase.description().substring(0, fuzzCase.description().indexOf('='));
+            if (field.contains(".") || field.contains("[")) {
+                continue;
+            }
+            JsonNode body = MAPPER.readTree(fuzzCase.body());
+            for (String other : List.of("id", "category", "name", "photoUrls", "tags", "status")) {
+                if (!other.equals(field)) {
+                    assertTrue(body.has(other), other + " пропало в " + fuzzCase.description());
+                }
+            }
+            checked++;
+        }
+        assertTrue(checked > 100, "проверено " + checked);
+    }
+
+    @Test
+    @DisplayName("Запись на общий сервис адресует только зарезервированные id и имена с префиксом")
+    void writes_stayInOwnedKeys() throws Exception {
+        CaseGenerator generator = new CaseGenerator(CaseGenerator.petstoreOperations(), 11, 256);
+
+        for (long i = 0; i < 5000; i++) {
+            CaseGenerator.FuzzCase fuzzCase = generator.generate(i);
+            if ("GET".equals(fuzzCase.operation().method())) {
+                continue;
+            }
+            if (fuzzCase.pathValue() != null) {
+                assertTrue(fuzzCase.pathValue().startsWith(CaseGenerator.OWNED_PREFIX), fuzzCase.description());
+            }
+            JsonNode body;
+            try {
+                body = MAPPER.readTree(fuzzCase.body());
+            } catch (Exception e) {
+                continue;
+            }
+            if (body == null || !body.isObject() || fuzzCase.description().startsWith("body=")) {
+                continue;
+            }
+            assertTrue(body.has("id"), "без id: " + fuzzCase.description());
+            JsonNode id = body.get("id");
+            if (id.isIntegralNumber() && id.canConvertToLong()) {
+                assertTrue(id.asLong() >= CaseGenerator.OWNED_ID_MIN && id.asLong() < CaseGenerator.OWNED_ID_MAX,
+                        fuzzCase.description());
+            }
+            if (body.has("username") && body.get("username").isTextual()) {
+                assertTrue(body.get("username").asText().startsWith(CaseGenerator.OWNED_PREFIX),
+                        fuzzCase.description());
+            }
+        }
+
+        String base = "http://127.0.0.1:1/v2";
+        assertTrue(CaseGenerator.isOwned(new CreatedResource(CreatedResource.Kind.PET, base, "2000000001")));
+        assertFalse(CaseGenerator.isOwned(new CreatedResource(CreatedResource.Kind.ORDER, base, "1")));
+        assertTrue(CaseGenerator.isOwned(new CreatedResource(CreatedResource.Kind.USER, base, "fuzz-a")));
+        assertFalse(CaseGenerator.isOwned(new CreatedResource(CreatedResource.Kind.USER, base, "admin")));
+    }
+}
@@ -0,0 +1,169 @@
+package com.pet.petstore_tests.fuzz;
+
+import com.pet.petstore_tests.load.LatencyHistogram;
+import com.pet.petstore_tests.pipeline.TokenBucket;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Параллельный прогон случаев {@link CaseGenerator}: потоки сами берут следующий номер случая,
+ * генерируют его и отправляют. Ответы группируются по подписи «операция + статус + форма тела»
+ * ({@link ResponseShape}); для каждого поведения хранится число случаев и первый пример,
+ * так что десятки тысяч запросов сводятся к короткому списку.
+ */
+public final class FuzzRunner {
+
+    public interface Sender {
+        Reply send(CaseGenerator.FuzzCase fuzzCase) throws Exception;
+    }
+
+    public record Reply(int status, String contentType, byte[] body) {
+    }
+
+    public record Settings(long cases, int threads, double ratePerSecond) {
+    }
+
+    public record Signature(String operation, int status, long shape) {
+    }
+
+    public static final class Behaviour {
+        private final Signature signature;
+        private final LongAdder count = new LongAdder();
+        private final long exampleIndex;
+        private final String exampleCase;
+        private final String exampleBody;
+
+        Behaviour(Signature signature, CaseGenerator.FuzzCase example, String exampleBody) {
+            this.signature = signature;
+            this.exampleIndex = example.index();
+            this.exampleCase = example.description();
+            this.exampleBody = exampleBody;
+        }
+
+        public Signature signature() {
+            return signature;
+        }
+
+        public long count() {
+            return count.sum();
+        }
+
+        public long exampleIndex() {
+            return exampleIndex;
+        }
+
+        public String exampleCase() {
+            return exampleCase;
+        }
+
+        public String exampleBody() {
+            return exampleBody;
+        }
+    }
+
+    public record Result(long seed, long cases, double wallSeconds, LatencyHistogram latency, List<Behaviour> behaviours) {
+
+        public double throughput() {
+            return wallSeconds == 0 ? 0 : cases / wallSeconds;
+        }
+
+        public long count(int status) {
+            return behaviours.stream().filter(b -> b.signature().status() == status).mapToLong(Behaviour::count).sum();
+        }
+    }
+
+    //Статус для исключений клиента: сброс соединения, таймаут и т.п.
+    public static final int CLIENT_ERROR = -1;
+
+    private final CaseGenerator generator;
+    private final Settings settings;
+
+    public FuzzRunner(CaseGenerator generator, Settings settings) {
+        this.generator = generator;
+        this.settings = settings;
+    }
+
+    public Result run(Sender sender) throws Exception {
+        ConcurrentHashMap<Signature, Behaviour> behaviours = new ConcurrentHashMap<>();
+        LatencyHistogram latency = new LatencyHistogram();
+        AtomicLong next = new AtomicLong();
+        TokenBucket bucket = settings.ratePerSecond() > 0
+                ? new TokenBucket(settings.ratePerSecond(), settings.threads())
+                : null;
+
+        ExecutorService pool = Executors.newFixedThreadPool(settings.threads());
+        long start = System.nanoTime();
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < settings.threads(); t++) {
+                futures.add(pool.submit(() -> {
+                    for (long index = next.getAndIncrement(); index < settings.cases(); index = next.getAndIncrement()) {
+                        CaseGenerator.FuzzCase fuzzCase = generator.generate(index);
+                        if (bucket != null) {
+                            bucket.acquire();
+                        }
+                        long requestStart = System.nanoTime();
+                        Signature signature;
+                        byte[] body;
+                        try {
+                            Reply reply = sender.send(fuzzCase);
+                            body = reply.body();
+                            signature = new Signature(fuzzCase.operation().name(), reply.status(),
+                                    ResponseShape.hash(reply.contentType(), body));
+                        } catch (Exception e) {
+                            body = String.valueOf(e).getBytes(StandardCharsets.UTF_8);
+                            signature = new Signature(fuzzCase.operation().name(), CLIENT_ERROR,
+                                    e.getClass().getName().hashCode());
+                        }
+                        latency.recordNanos(System.nanoTime() - requestStart);
+                        byte[] example = body;
+                        behaviours.computeIfAbsent(signature,
+                                s -> new Behaviour(s, fuzzCase, ResponseShape.excerpt(example, 80))).count.increment();
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        List<Behaviour> sorted = new ArrayList<>(behaviours.values());
+        sorted.sort(Comparator.comparing((Behaviour b) -> b.signature().operation())
+                .thenComparing(b -> b.signature().status())
+                .thenComparing(Comparator.comparingLong(Behaviour::count).reversed()));
+        return new Result(generator.seed(), settings.cases(), (System.nanoTime() - start) / 1e9, latency, sorted);
+    }
+
+    public static String formatTable(Result result) {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("fuzz: seed=%d cases=%d behaviours=%d %.1f req/s p50=%.1fms p99=%.1fms%n",
+                result.seed(), result.cases(), result.behaviours().size(), result.throughput(),
+                result.latency().percentileMillis(50), result.latency().percentileMillis(99)));
+        sb.append(String.format("%-26s %6s %16s %7s %8s  %-40s %s%n",
+                "operation", "status", "shape", "cases", "example", "mutation", "response"));
+        for (Behaviour b : result.behaviours()) {
+            sb.append(String.format("%-26s %6s %016x %7d %8d  %-40s %s%n",
+                    b.signature().operation(),
+                    b.signature().status() == CLIENT_ERROR ? "client" : String.valueOf(b.signature().status()),
+                    b.signature().shape(), b.count(), b.exampleIndex(),
+                    abbreviate(b.exampleCase(), 40), b.exampleBody()));
+        }
+        return sb.toString();
+    }
+
+    private static String abbreviate(String value, int max) {
+        return value.length() > max ? value.substring(0, max - 1) + "…" : value;
+    }
+}
@@ -0,0 +1,102 @@
+package com.pet.petstore_tests.fuzz;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FuzzRunnerTest {
+
+    @Test
+    @DisplayName("Форма ответа не зависит от значений, типов скаляров и длины массивов")
+    void shape_ignoresValuesAndArrayLength() {
+        long a = shape("{\"code\":404,\"type\":\"error\",\"message\":\"Pet not found\"}");
+        long b = shape("{\"code\":500,\"type\":\"unknown\",\"message\":\"something bad happened\"}");
+        long c = shape("[{\"id\":1,\"tags\":[]},{\"id\":2,\"tags\":[]},{\"id\":3,\"tags\":[]}]");
+        long d = shape("[{\"id\":7,\"tags\":[]}]");
+
+        assertEquals(a, b);
+        assertEquals(c, d);
+        assertNotEquals(a, shape("{\"code\":404,\"type\":\"error\"}"));
+        assertEquals(a, shape("{\"code\":\"404\",\"type\":true,\"message\":1.5}"));
+        assertNotEquals(a, shape("{\"code\":404,\"type\":null,\"message\":\"x\"}"));
+        assertNotEquals(a, shape("{\"code\":404,\"type\":[],\"message\":\"x\"}"));
+        assertNotEquals(c, shape("[]"));
+        //Глубже двух уровней различается только вид значения.
+        assertEquals(shape("{\"a\":{\"b\":{\"c\":{\"x\":1}}}}"), shape("{\"a\":{\"b\":{\"c\":{\"y\":[1]}}}}"));
+        assertNotEquals(shape("{\"a\":{\"b\":{\"c\":1}}}"), shape("{\"a\":{\"b\":[1]}}"));
+    }
+
+    @Test
+    @DisplayName("Не-JSON тело сводится к типу содержимого и порядку длины")
+    void shape_nonJson() {
+        byte[] page = "<html><body>Bad Request</body></html>".getBytes(StandardCharsets.UTF_8);
+        byte[] samePage = "<html><body>Not Found!!</body></html>".getBytes(StandardCharsets.UTF_8);
+
+        assertEquals(ResponseShape.hash("text/html; charset=utf-8", page), ResponseShape.hash("text/html", samePage));
+        assertNotEquals(ResponseShape.hash("text/html", page), ResponseShape.hash("text/plain", page));
+        assertNotEquals(ResponseShape.hash("application/json", "{\"a\":1".getBytes(StandardCharsets.UTF_8)),
+                ResponseShape.hash("application/json", "{\"a\":1}".getBytes(StandardCharsets.UTF_8)));
+        assertEquals(ResponseShape.hash(null, null), ResponseShape.hash("text/plain", new byte[0]));
+    }
+
+    @Test
+    @DisplayName("Тысячи случаев сводятся к нескольким поведениям с примером каждого")
+    void run_deduplicatesBehaviours() throws Exception {
+        CaseGenerator generator = new CaseGenerator(CaseGenerator.petstoreOperations(), 3, 1024);
+        AtomicInteger sent = new AtomicInteger();
+        FuzzRunner runner = new FuzzRunner(generator, new FuzzRunner.Settings(5000, 8, 0));
+
+        FuzzRunner.Result result = runner.run(fuzzCase -> {
+            sent.incrementAndGet();
+            if (fuzzCase.description().contains("body=truncated")) {
+                throw new IOException("Connection reset");
+            }
+            //Сервер-заглушка: битое тело — 400, искажённый путь — 404 с разным текстом, остальное — эхо id.
+            if (fuzzCase.description().startsWith("body=")) {
+                return reply(400, "{\"code\":400,\"type\":\"unknown\",\"message\":\"bad input\"}");
+            }
+            if (fuzzCase.description().startsWith("{")) {
+                return reply(404, "{\"code\":1,\"type\":\"error\",\"message\":\"not found " + fuzzCase.pathValue() + "\"}");
+            }
+            return reply(200, "{\"id\":" + fuzzCase.index() + "}");
+        });
+
+        assertEquals(5000, sent.get());
+        assertEquals(5000, result.behaviours().stream().mapToLong(FuzzRunner.Behaviour::count).sum());
+        //8 операций × не более 4 поведений.
+        assertTrue(result.behaviours().size() <= 32, FuzzRunner.formatTable(result));
+        assertTrue(result.count(FuzzRunner.CLIENT_ERROR) > 0);
+        assertEquals(5000, result.latency().count());
+
+        FuzzRunner.Behaviour reset = result.behaviours().stream()
+                .filter(b -> b.signature().status() == FuzzRunner.CLIENT_ERROR).findFirst().orElseThrow();
+        CaseGenerator.FuzzCase example = generator.generate(reset.exampleIndex());
+        assertEquals(reset.exampleCase(), example.description());
+        assertTrue(example.description().contains("body=truncated"));
+    }
+
+    @Test
+    @DisplayName("Ограничение частоты соблюдается")
+    void run_respectsRate() throws Exception {
+        FuzzRunner runner = new FuzzRunner(new CaseGenerator(CaseGenerator.petstoreOperations(), 5, 64),
+                new FuzzRunner.Settings(60, 4, 200));
+
+        FuzzRunner.Result result = runner.run(fuzzCase -> reply(200, "{}"));
+
+        //60 запросов при 200/с с запасом в 4 токена — не быстрее ~0.28 с.
+        assertTrue(result.wallSeconds() >= 0.25, "прогон занял " + result.wallSeconds() + " с");
+    }
+
+    private static long shape(String json) {
+        return ResponseShape.hash("application/json", json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static FuzzRunner.Reply reply(int status, String body) {
+        return new FuzzRunner.Reply(status, "application/json", body.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,111 @@
+package com.pet.petstore_tests.fuzz;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.TreeSet;
+
+/**
+ * Дешёвая подпись формы ответа: 64-битный хеш структуры JSON — имена полей и вид значений
+ * (объект, массив, скаляр, null) без самих значений. Глубже {@link #DEPTH} уровней учитывается только вид.
+ * Массивы сворачиваются до множества различных форм элементов, поэтому длина списка на подпись не влияет.
+ * Тело, которое не разбирается как JSON, сводится к типу содержимого и порядку длины.
+ * <p>
+ * Тип скаляра не различается намеренно: сервер, который без проверки возвращает присланное тело,
+ * иначе давал бы отдельное «поведение» на каждое искажение типа поля.
+ */
+public final class ResponseShape {
+
+    private static final JsonFactory FACTORY = new JsonFactory();
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+    static final int DEPTH = 2;
+
+    private ResponseShape() {
+    }
+
+    public static long hash(String contentType, byte[] body) {
+        if (body == null || body.length == 0) {
+            return mix(FNV_OFFSET, "empty");
+        }
+        try (JsonParser parser = FACTORY.createParser(body)) {
+            JsonToken token = parser.nextToken();
+            if (token == null) {
+                return mix(FNV_OFFSET, "empty");
+            }
+            long hash = value(parser, token, 0);
+            if (parser.nextToken() == null) {
+                return hash;
+            }
+        } catch (IOException e) {
+            //Не JSON — ниже.
+        }
+        String type = contentType == null ? "" : contentType.split(";")[0].trim().toLowerCase();
+        return mix(mix(FNV_OFFSET, "text:" + type), 64 - Long.numberOfLeadingZeros(body.length));
+    }
+
+    /**
+     * Короткое описание формы для отчёта: первые символы тела без переводов строк.
+     */
+    public static String excerpt(byte[] body, int max) {
+        if (body == null || body.length == 0) {
+            return "<пусто>";
+        }
+        String text = new String(body, 0, Math.min(body.length, max * 4), StandardCharsets.UTF_8)
+                .replaceAll("\\s+", " ");
+        return text.length() > max ? text.substring(0, max) + "…" : text;
+    }
+
+    private static long value(JsonParser parser, JsonToken token, int depth) throws IOException {
+        if (depth > DEPTH && (token == JsonToken.START_OBJECT || token == JsonToken.START_ARRAY)) {
+            parser.skipChildren();
+            return mix(FNV_OFFSET, token == JsonToken.START_OBJECT ? '{' : '[');
+        }
+        switch (token) {
+            case START_OBJECT -> {
+                long hash = mix(FNV_OFFSET, '{');
+                for (JsonToken next = parser.nextToken(); next == JsonToken.FIELD_NAME; next = parser.nextToken()) {
+                    hash = mix(hash, parser.currentName());
+                    hash = mix(hash, value(parser, parser.nextToken(), depth + 1));
+                }
+                return hash;
+            }
+            case START_ARRAY -> {
+                TreeSet<Long> elements = new TreeSet<>();
+                for (JsonToken next = parser.nextToken(); next != JsonToken.END_ARRAY; next = parser.nextToken()) {
+                    elements.add(value(parser, next, depth + 1));
+                }
+                long hash = mix(FNV_OFFSET, '[');
+                for (long element : elements) {
+                    hash = mix(hash, element);
+                }
+                return hash;
+            }
+            case VALUE_STRING, VALUE_NUMBER_INT, VALUE_NUMBER_FLOAT, VALUE_TRUE, VALUE_FALSE -> {
+                return mix(FNV_OFFSET, 's');
+            }
+            case VALUE_NULL -> {
+                return mix(FNV_OFFSET, '0');
+            }
+            default -> throw new IOException("Неожиданный токен " + token);
+        }
+    }
+
+    private static long mix(long hash, String value) {
+        for (int i = 0; i < value.length(); i++) {
+            hash = (hash ^ value.charAt(i)) * FNV_PRIME;
+        }
+        return (hash ^ 0xff) * FNV_PRIME;
+    }
+
+    private static long mix(long hash, long value) {
+        for (int i = 0; i < 8; i++) {
+            hash = (hash ^ (value & 0xff)) * FNV_PRIME;
+            value >>>= 8;
+        }
+        return hash;
+    }
+}
@@ -0,0 +1,29 @@
+package com.pet.petstore_tests.graph;
+
+import org.junit.jupiter.api.TestMethodOrder;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Класс, тесты которого образуют граф зависимостей ({@link DependsOn}) вместо сквозной нумерации @Order.
+ * Методы запускаются в топологическом порядке; при включённом параллельном выполнении
+ * независимые ветви идут одновременно, а зависимый тест ждёт своих предшественников.
+ * Значения между тестами передаются явно через параметр {@link TestGraph}.
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@Inherited
+@ExtendWith(DependencyGraphExtension.class)
+@TestMethodOrder(DependencyOrderer.class)
+@Execution(ExecutionMode.CONCURRENT)
+public @interface DependencyGraph {
+}
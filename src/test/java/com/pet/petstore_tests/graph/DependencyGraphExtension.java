@@ -0,0 +1,195 @@
+package com.pet.petstore_tests.graph;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.BeforeAllCallback;
+import org.junit.jupiter.api.extension.ConditionEvaluationResult;
+import org.junit.jupiter.api.extension.ExecutionCondition;
+import org.junit.jupiter.api.extension.ExtensionConfigurationException;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.api.extension.ParameterContext;
+import org.junit.jupiter.api.extension.ParameterResolver;
+import org.junit.jupiter.api.extension.TestWatcher;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+import org.junit.platform.commons.support.AnnotationSupport;
+import org.junit.platform.commons.support.HierarchyTraversalMode;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Исполнитель графа {@link DependsOn}: перед тестом дожидается завершения его предшественников
+ * и пропускает тест, если кто-то из них не завершился успешно; результат теста сообщает зависимым.
+ * Граф проверяется один раз на класс: неизвестное имя или цикл — ошибка конфигурации.
+ * Ожидание при параллельном выполнении ограничено petstore.graph.timeoutSec (600).
+ */
+public class DependencyGraphExtension implements BeforeAllCallback, ExecutionCondition, TestWatcher, ParameterResolver {
+
+    private static final ExtensionContext.Namespace NAMESPACE = ExtensionContext.Namespace.create(DependencyGraphExtension.class);
+    private static final long TIMEOUT_SEC = Long.parseLong(System.getProperty("petstore.graph.timeoutSec", "600"));
+
+    private enum Outcome { SUCCESSFUL, FAILED, ABORTED, SKIPPED, NOT_RUN }
+
+    private static final class Node {
+        final String name;
+        final String[] dependencies;
+        final CompletableFuture<Outcome> outcome = new CompletableFuture<>();
+
+        Node(String name, String[] dependencies) {
+            this.name = name;
+            this.dependencies = dependencies;
+        }
+    }
+
+    private static final class Graph {
+        final Map<String, Node> nodes = new HashMap<>();
+        final TestGraph values = new TestGraph();
+    }
+
+    @Override
+    public void beforeAll(ExtensionContext context) {
+        Class<?> testClass = context.getRequiredTestClass();
+        context.getStore(NAMESPACE).getOrComputeIfAbsent(Graph.class, key -> build(testClass), Graph.class);
+    }
+
+    private static Graph build(Class<?> testClass) {
+        Graph graph = new Graph();
+        for (Method method : AnnotationSupport.findAnnotatedMethods(testClass, Test.class,
+                HierarchyTraversalMode.TOP_DOWN)) {
+            String[] dependencies = AnnotationSupport.findAnnotation(method, DependsOn.class)
+                    .map(DependsOn::value).orElse(new String[0]);
+            graph.nodes.put(method.getName(), new Node(method.getName(), dependencies));
+        }
+        for (Node node : graph.nodes.values()) {
+            for (String dependency : node.dependencies) {
+                if (!graph.nodes.containsKey(dependency)) {
+                    throw new ExtensionConfigurationException(testClass.getSimpleName() + "#" + node.name
+                            + " зависит от неизвестного теста " + dependency);
+                }
+            }
+        }
+        Set<String> done = new HashSet<>();
+        for (String name : graph.nodes.keySet()) {
+            checkCycles(testClass, graph, name, new ArrayList<>(), done);
+        }
+        return graph;
+    }
+
+    private static void checkCycles(Class<?> testClass, Graph graph, String name, List<String> path, Set<String> done) {
+        if (done.contains(name)) {
+            return;
+        }
+        if (path.contains(name)) {
+            List<String> cycle = new ArrayList<>(path.subList(path.indexOf(name), path.size()));
+            cycle.add(name);
+            throw new ExtensionConfigurationException("Цикл зависимостей в " + testClass.getSimpleName() + ": "
+                    + String.join(" → ", cycle));
+        }
+        path.add(name);
+        for (String dependency : graph.nodes.get(name).dependencies) {
+            checkCycles(testClass, graph, dependency, path, done);
+        }
+        path.remove(path.size() - 1);
+        done.add(name);
+    }
+
+    @Override
+    public ConditionEvaluationResult evaluateExecutionCondition(ExtensionContext context) {
+        if (context.getTestMethod().isEmpty()) {
+            return ConditionEvaluationResult.enabled("класс");
+        }
+        Graph graph = graph(context);
+        Node node = graph.nodes.get(context.getRequiredTestMethod().getName());
+        if (node == null) {
+            return ConditionEvaluationResult.enabled("вне графа");
+        }
+        boolean concurrent = context.getExecutionMode() == ExecutionMode.CONCURRENT
+                && context.getConfigurationParameter("junit.jupiter.execution.parallel.enabled")
+                .map(Boolean::parseBoolean).orElse(false);
+        for (String dependency : node.dependencies) {
+            Outcome outcome = await(graph.nodes.get(dependency), concurrent);
+            if (outcome != Outcome.SUCCESSFUL) {
+                return ConditionEvaluationResult.disabled(dependency + ": " + outcome);
+            }
+        }
+        return ConditionEvaluationResult.enabled("предшественники выполнены");
+    }
+
+    private static Outcome await(Node prerequisite, boolean concurrent) {
+        CompletableFuture<Outcome> outcome = prerequisite.outcome;
+        if (outcome.isDone()) {
+            return outcome.join();
+        }
+        //При последовательном запуске топологический порядок гарантирует, что предшественник уже отработал;
+        //если нет — он не выбран в этом прогоне (например, -Dtest=Class#method). При параллельном
+        //невыбранного предшественника отличить от ещё не стартовавшего нельзя — ожидание ограничено таймаутом.
+        if (!concurrent) {
+            return Outcome.NOT_RUN;
+        }
+        try {
+            //CompletableFuture.get в потоке ForkJoinPool блокируется через ManagedBlocker:
+            //пул JUnit добавляет поток, пока этот ждёт предшественника.
+            return outcome.get(TIMEOUT_SEC, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return Outcome.NOT_RUN;
+        } catch (ExecutionException | TimeoutException e) {
+            return Outcome.NOT_RUN;
+        }
+    }
+
+    @Override
+    public void testSuccessful(ExtensionContext context) {
+        complete(context, Outcome.SUCCESSFUL);
+    }
+
+    @Override
+    public void testFailed(ExtensionContext context, Throwable cause) {
+        complete(context, Outcome.FAILED);
+    }
+
+    @Override
+    public void testAborted(ExtensionContext context, Throwable cause) {
+        complete(context, Outcome.ABORTED);
+    }
+
+    @Override
+    public void testDisabled(ExtensionContext context, Optional<String> reason) {
+        complete(context, Outcome.SKIPPED);
+    }
+
+    private static void complete(ExtensionContext context, Outcome outcome) {
+        Graph graph = graph(context);
+        Node node = graph == null ? null : graph.nodes.get(context.getRequiredTestMethod().getName());
+        if (node != null) {
+            node.outcome.complete(outcome);
+        }
+    }
+
+    @Override
+    public boolean supportsParameter(ParameterContext parameterContext, ExtensionContext extensionContext) {
+        return parameterContext.getParameter().getType() == TestGraph.class;
+    }
+
+    @Override
+    public Object resolveParameter(ParameterContext parameterContext, ExtensionContext extensionContext) {
+        return graph(extensionContext).values;
+    }
+
+    /**
+     * Граф хранится в контексте класса: хранилище метода к вызову {@link TestWatcher} уже закрыто.
+     */
+    private static Graph graph(ExtensionContext context) {
+        ExtensionContext classContext = context.getTestMethod().isPresent() ? context.getParent().orElseThrow() : context;
+        return classContext.getStore(NAMESPACE).get(Graph.class, Graph.class);
+    }
+}
@@ -0,0 +1,192 @@
+package com.pet.petstore_tests.graph;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtensionConfigurationException;
+import org.junit.platform.launcher.Launcher;
+import org.junit.platform.launcher.LauncherDiscoveryRequest;
+import org.junit.platform.launcher.core.LauncherDiscoveryRequestBuilder;
+import org.junit.platform.launcher.core.LauncherFactory;
+import org.junit.platform.launcher.listeners.SummaryGeneratingListener;
+import org.junit.platform.launcher.listeners.TestExecutionSummary;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.platform.engine.discovery.DiscoverySelectors.selectClass;
+
+public class DependencyGraphTest {
+
+    //Классы-фикстуры запускаются только через Launcher: surefire вложенные классы не подхватывает.
+    static final List<String> events = new CopyOnWriteArrayList<>();
+
+    @DependencyGraph
+    static class Chain {
+
+        @Test
+        @DependsOn("second")
+        void third() {
+            events.add("third");
+        }
+
+        @Test
+        @DependsOn("first")
+        void second(TestGraph graph) {
+            events.add("second:" + graph.get("id", Integer.class));
+        }
+
+        @Test
+        void first(TestGraph graph) {
+            graph.put("id", 42);
+            events.add("first");
+        }
+
+        @Test
+        void independent() {
+            events.add("independent");
+        }
+    }
+
+    @DependencyGraph
+    static class BrokenChain {
+
+        @Test
+        void create() {
+            fail("создание не удалось");
+        }
+
+        @Test
+        @DependsOn("create")
+        void read() {
+            events.add("read");
+        }
+
+        @Test
+        @DependsOn("read")
+        void delete() {
+            events.add("delete");
+        }
+
+        @Test
+        void unrelated() {
+            events.add("unrelated");
+        }
+    }
+
+    @DependencyGraph
+    static class Cycle {
+
+        @Test
+        @DependsOn("b")
+        void a() {
+        }
+
+        @Test
+        @DependsOn("a")
+        void b() {
+        }
+    }
+
+    @DependencyGraph
+    static class UnknownDependency {
+
+        @Test
+        @DependsOn("missing")
+        void a() {
+        }
+    }
+
+    @DependencyGraph
+    static class SlowPrerequisite {
+
+        @Test
+        void slow() throws InterruptedException {
+            Thread.sleep(300);
+            events.add("slow done");
+        }
+
+        @Test
+        @DependsOn("slow")
+        void dependent() {
+            events.add("dependent");
+        }
+
+        @Test
+        void fast() {
+            events.add("fast");
+        }
+    }
+
+    @Test
+    @DisplayName("Тесты идут в топологическом порядке, значения передаются зависимым")
+    void chain_runsInTopologicalOrder() {
+        TestExecutionSummary summary = run(Chain.class, Map.of());
+
+        assertEquals(4, summary.getTestsSucceededCount());
+        assertTrue(events.indexOf("first") < events.indexOf("second:42"), events.toString());
+        assertTrue(events.indexOf("second:42") < events.indexOf("third"), events.toString());
+    }
+
+    @Test
+    @DisplayName("Падение предшественника пропускает всех зависимых, но не соседние ветви")
+    void failure_skipsDependents() {
+        TestExecutionSummary summary = run(BrokenChain.class, Map.of());
+
+        assertEquals(1, summary.getTestsFailedCount());
+        assertEquals(2, summary.getTestsSkippedCount());
+        assertEquals(List.of("unrelated"), events);
+    }
+
+    @Test
+    @DisplayName("Цикл в графе — ошибка конфигурации класса")
+    void cycle_isReported() {
+        TestExecutionSummary summary = run(Cycle.class, Map.of());
+
+        Throwable failure = singleFailure(summary);
+        assertInstanceOf(ExtensionConfigurationException.class, failure);
+        assertTrue(failure.getMessage().contains("Цикл"), failure.getMessage());
+        assertEquals(0, summary.getTestsSucceededCount());
+    }
+
+    @Test
+    @DisplayName("Неизвестное имя в @DependsOn — ошибка конфигурации класса")
+    void unknownDependency_isReported() {
+        TestExecutionSummary summary = run(UnknownDependency.class, Map.of());
+
+        Throwable failure = singleFailure(summary);
+        assertInstanceOf(ExtensionConfigurationException.class, failure);
+        assertTrue(failure.getMessage().contains("missing"), failure.getMessage());
+    }
+
+    @Test
+    @DisplayName("При параллельном запуске зависимый ждёт предшественника, независимые не ждут")
+    void parallel_dependentWaitsForPrerequisite() {
+        TestExecutionSummary summary = run(SlowPrerequisite.class, Map.of(
+                "junit.jupiter.execution.parallel.enabled", "true",
+                "junit.jupiter.execution.parallel.config.strategy", "fixed",
+                "junit.jupiter.execution.parallel.config.fixed.parallelism", "3"));
+
+        assertEquals(3, summary.getTestsSucceededCount());
+        assertTrue(events.indexOf("slow done") < events.indexOf("dependent"), events.toString());
+        assertTrue(events.indexOf("fast") < events.indexOf("slow done"), events.toString());
+    }
+
+    private static TestExecutionSummary run(Class<?> fixture, Map<String, String> parameters) {
+        events.clear();
+        LauncherDiscoveryRequest request = LauncherDiscoveryRequestBuilder.request()
+                .selectors(selectClass(fixture))
+                .configurationParameters(parameters)
+                .build();
+        Launcher launcher = LauncherFactory.create();
+        SummaryGeneratingListener listener = new SummaryGeneratingListener();
+        launcher.execute(request, listener);
+        return listener.getSummary();
+    }
+
+    private static Throwable singleFailure(TestExecutionSummary summary) {
+        assertEquals(1, summary.getFailures().size(), summary.getFailures().toString());
+        return summary.getFailures().get(0).getException();
+    }
+}
@@ -0,0 +1,78 @@
+package com.pet.petstore_tests.graph;
+
+import com.pet.petstore_tests.ordering.TestDurations;
+import org.junit.jupiter.api.MethodDescriptor;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.MethodOrdererContext;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.PriorityQueue;
+
+/**
+ * Топологический порядок по {@link DependsOn}: предшественники всегда раньше зависимых.
+ * Среди готовых к запуску первыми идут долгие по истории ({@link TestDurations}).
+ * Циклы и неизвестные имена здесь не проверяются — их сообщает {@link DependencyGraphExtension}.
+ */
+public class DependencyOrderer implements MethodOrderer {
+
+    @Override
+    public void orderMethods(MethodOrdererContext context) {
+        List<? extends MethodDescriptor> methods = context.getMethodDescriptors();
+        TestDurations durations = TestDurations.current();
+
+        Map<String, MethodDescriptor> byName = new HashMap<>();
+        for (MethodDescriptor method : methods) {
+            byName.put(method.getMethod().getName(), method);
+        }
+        Map<MethodDescriptor, Integer> pending = new HashMap<>();
+        Map<MethodDescriptor, List<MethodDescriptor>> dependents = new HashMap<>();
+        for (MethodDescriptor method : methods) {
+            int count = 0;
+            for (String dependency : dependencies(method)) {
+                MethodDescriptor prerequisite = byName.get(dependency);
+                if (prerequisite != null) {
+                    dependents.computeIfAbsent(prerequisite, k -> new ArrayList<>()).add(method);
+                    count++;
+                }
+            }
+            pending.put(method, count);
+        }
+
+        PriorityQueue<MethodDescriptor> ready = new PriorityQueue<>(Comparator
+                .comparingDouble((MethodDescriptor m) -> durations.methodMillis(context.getTestClass(), m.getMethod().getName()))
+                .reversed()
+                .thenComparing(m -> m.getMethod().getName()));
+        methods.stream().filter(m -> pending.get(m) == 0).forEach(ready::add);
+
+        Map<MethodDescriptor, Integer> rank = new HashMap<>();
+        while (!ready.isEmpty()) {
+            MethodDescriptor next = ready.poll();
+            rank.put(next, rank.size());
+            for (MethodDescriptor dependent : dependents.getOrDefault(next, List.of())) {
+                if (pending.merge(dependent, -1, Integer::sum) == 0) {
+                    ready.add(dependent);
+                }
+            }
+        }
+        //Участники цикла остаются в конце: запуститься им не даст расширение.
+        methods.sort(Comparator.comparingInt((MethodDescriptor m) -> rank.getOrDefault(m, Integer.MAX_VALUE)));
+    }
+
+    static String[] dependencies(MethodDescriptor method) {
+        return method.findAnnotation(DependsOn.class).map(DependsOn::value).orElse(new String[0]);
+    }
+
+    /**
+     * Порядок нужен для старта предшественников раньше зависимых, последовательность он не требует.
+     */
+    @Override
+    public Optional<ExecutionMode> getDefaultExecutionMode() {
+        return Optional.empty();
+    }
+}
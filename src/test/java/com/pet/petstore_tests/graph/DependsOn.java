@@ -0,0 +1,19 @@
+package com.pet.petstore_tests.graph;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Тест выполняется только после успешного завершения перечисленных тестов того же класса
+ * (имена методов). Если хотя бы один из них упал, пропущен или не запускался, тест пропускается.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface DependsOn {
+
+    String[] value();
+}
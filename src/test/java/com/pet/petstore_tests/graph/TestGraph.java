@@ -0,0 +1,27 @@
+package com.pet.petstore_tests.graph;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Значения, которые тесты графа передают зависимым (например, petId созданного питомца).
+ * Один экземпляр на класс; зависимый тест видит всё, что положили его предшественники.
+ */
+public final class TestGraph {
+
+    private final ConcurrentHashMap<String, Object> values = new ConcurrentHashMap<>();
+
+    public void put(String name, Object value) {
+        values.put(name, value);
+    }
+
+    /**
+     * @throws IllegalStateException если значение не положил ни один тест — зависимость не объявлена
+     */
+    public <T> T get(String name, Class<T> type) {
+        Object value = values.get(name);
+        if (value == null) {
+            throw new IllegalStateException("Значение " + name + " не передано: проверьте @DependsOn");
+        }
+        return type.cast(value);
+    }
+}
@@ -0,0 +1,104 @@
+package com.pet.petstore_tests.load;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Накопление задержек по эндпоинтам для двух стендов (A — текущий, B — кандидат) и их сравнение:
+ * разница медиан с бутстреп-интервалом и U-критерий Манна — Уитни с поправкой Холма.
+ */
+public final class AbComparison {
+
+    public enum Side { A, B }
+
+    public enum Verdict { REGRESSION, IMPROVEMENT, NO_SIGNIFICANT_DIFFERENCE }
+
+    public record EndpointResult(String endpoint,
+                                 int samplesA,
+                                 int samplesB,
+                                 double medianA,
+                                 double medianB,
+                                 Statistics.Interval differenceCi,
+                                 double pValue,
+                                 double adjustedP,
+                                 Verdict verdict) {
+
+        public double differencePercent() {
+            return medianA == 0 ? 0 : 100.0 * (medianB - medianA) / medianA;
+        }
+    }
+
+    private final Map<String, List<Long>> samplesA = new LinkedHashMap<>();
+    private final Map<String, List<Long>> samplesB = new LinkedHashMap<>();
+
+    public synchronized void record(Side side, String endpoint, long nanos) {
+        (side == Side.A ? samplesA : samplesB).computeIfAbsent(endpoint, e -> new ArrayList<>()).add(nanos);
+    }
+
+    /**
+     * @param alpha          уровень значимости после поправки Холма
+     * @param minEffectPct   минимальная относительная разница медиан, которую считаем значимой на практике
+     */
+    public synchronized List<EndpointResult> compare(double alpha, double minEffectPct, int resamples, long seed) {
+        List<String> endpoints = new ArrayList<>();
+        for (String endpoint : samplesA.keySet()) {
+            if (samplesB.containsKey(endpoint)) {
+                endpoints.add(endpoint);
+            }
+        }
+
+        double[] pValues = new double[endpoints.size()];
+        List<long[]> as = new ArrayList<>();
+        List<long[]> bs = new ArrayList<>();
+        for (int i = 0; i < endpoints.size(); i++) {
+            long[] a = toArray(samplesA.get(endpoints.get(i)));
+            long[] b = toArray(samplesB.get(endpoints.get(i)));
+            as.add(a);
+            bs.add(b);
+            pValues[i] = Statistics.mannWhitneyP(a, b);
+        }
+        double[] adjusted = Statistics.holm(pValues);
+
+        List<EndpointResult> results = new ArrayList<>();
+        for (int i = 0; i < endpoints.size(); i++) {
+            long[] a = as.get(i);
+            long[] b = bs.get(i);
+            double medianA = Statistics.median(a);
+            double medianB = Statistics.median(b);
+            Statistics.Interval ci = Statistics.bootstrapMedianDifference(a, b, 1 - alpha, resamples, seed + i);
+            double effectPct = medianA == 0 ? 0 : 100.0 * Math.abs(medianB - medianA) / medianA;
+
+            Verdict verdict = Verdict.NO_SIGNIFICANT_DIFFERENCE;
+            if (adjusted[i] < alpha && !ci.contains(0) && effectPct >= minEffectPct) {
+                verdict = medianB > medianA ? Verdict.REGRESSION : Verdict.IMPROVEMENT;
+            }
+            results.add(new EndpointResult(endpoints.get(i), a.length, b.length, medianA, medianB, ci,
+                    pValues[i], adjusted[i], verdict));
+        }
+        return results;
+    }
+
+    public static String formatTable(List<EndpointResult> results) {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("%-32s %5s %5s %10s %10s %8s %24s %9s %9s %s%n",
+                "endpoint", "nA", "nB", "medA,ms", "medB,ms", "diff%", "CI diff,ms", "p", "p(holm)", "verdict"));
+        for (EndpointResult r : results) {
+            sb.append(String.format("%-32s %5d %5d %10.2f %10.2f %+8.1f %24s %9.4f %9.4f %s%n",
+                    r.endpoint(), r.samplesA(), r.samplesB(), r.medianA() / 1e6, r.medianB() / 1e6,
+                    r.differencePercent(),
+                    String.format("[%+.2f; %+.2f]", r.differenceCi().low() / 1e6, r.differenceCi().high() / 1e6),
+                    r.pValue(), r.adjustedP(), r.verdict()));
+        }
+        return sb.toString();
+    }
+
+    private static long[] toArray(List<Long> values) {
+        long[] array = new long[values.size()];
+        for (int i = 0; i < array.length; i++) {
+            array[i] = values.get(i);
+        }
+        return array;
+    }
+}
@@ -0,0 +1,140 @@
+package com.pet.petstore_tests.load;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Ищет аномалии по журналу записей.
+ * <ul>
+ *     <li>stale read — чтение вернуло значение W, хотя существует подтверждённая запись X,
+ *     начатая после подтверждения W и подтверждённая до начала чтения;</li>
+ *     <li>lost update — итоговое значение ключа записано W, но есть подтверждённые записи,
+ *     начатые уже после подтверждения W (они потеряны);</li>
+ *     <li>unknown read — прочитано значение, которое никто не записывал.</li>
+ * </ul>
+ */
+public final class ConsistencyChecker {
+
+    public record Result(long reads, long staleReads, long unknownReads, long lostUpdates) {
+    }
+
+    private ConsistencyChecker() {
+    }
+
+    public static Result check(List<WriteRecord> records, Map<Integer, String> finalValues) {
+        Map<Integer, KeyHistory> histories = new HashMap<>();
+        Map<String, WriteRecord> byValue = new HashMap<>();
+        for (WriteRecord record : records) {
+            byValue.put(record.value(), record);
+            if (record.acknowledged()) {
+                histories.computeIfAbsent(record.key(), k -> new KeyHistory()).add(record);
+            }
+        }
+        histories.values().forEach(KeyHistory::seal);
+
+        long reads = 0;
+        long stale = 0;
+        long unknown = 0;
+        for (WriteRecord record : records) {
+            if (record.readValue() == null) {
+                continue;
+            }
+            reads++;
+            WriteRecord observed = byValue.get(record.readValue());
+            if (observed == null || observed.key() != record.key()) {
+                unknown++;
+                continue;
+            }
+            KeyHistory history = histories.get(record.key());
+            if (history != null && history.latestStartAckedBefore(record.readStart()) > observed.writeEnd()) {
+                stale++;
+            }
+        }
+
+        long lost = 0;
+        for (Map.Entry<Integer, String> entry : finalValues.entrySet()) {
+            KeyHistory history = histories.get(entry.getKey());
+            if (history == null) {
+                continue;
+            }
+            WriteRecord survivor = byValue.get(entry.getValue());
+            if (survivor == null || survivor.key() != entry.getKey()) {
+                unknown++;
+                continue;
+            }
+            lost += history.startedAfter(survivor.writeEnd());
+        }
+        return new Result(reads, stale, unknown, lost);
+    }
+
+    private static final class KeyHistory {
+        private final List<WriteRecord> writes = new ArrayList<>();
+        private long[] acks;
+        private long[] maxStartUpTo;
+        private long[] sortedStarts;
+
+        void add(WriteRecord record) {
+            writes.add(record);
+        }
+
+        void seal() {
+            writes.sort(Comparator.comparingLong(WriteRecord::writeEnd));
+            int n = writes.size();
+            acks = new long[n];
+            maxStartUpTo = new long[n];
+            sortedStarts = new long[n];
+            long max = Long.MIN_VALUE;
+            for (int i = 0; i < n; i++) {
+                WriteRecord w = writes.get(i);
+                acks[i] = w.writeEnd();
+                max = Math.max(max, w.writeStart());
+                maxStartUpTo[i] = max;
+                sortedStarts[i] = w.writeStart();
+            }
+            Arrays.sort(sortedStarts);
+        }
+
+        // Наибольшее время начала среди записей, подтверждённых строго до момента time.
+        long latestStartAckedBefore(long time) {
+            int count = lowerBound(acks, time);
+            return count == 0 ? Long.MIN_VALUE : maxStartUpTo[count - 1];
+        }
+
+        // Количество записей, начатых строго после момента time.
+        long startedAfter(long time) {
+            return sortedStarts.length - upperBound(sortedStarts, time);
+        }
+
+        private static int lowerBound(long[] a, long key) {
+            int lo = 0;
+            int hi = a.length;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (a[mid] < key) {
+                    lo = mid + 1;
+                } else {
+                    hi = mid;
+                }
+            }
+            return lo;
+        }
+
+        private static int upperBound(long[] a, long key) {
+            int lo = 0;
+            int hi = a.length;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (a[mid] <= key) {
+                    lo = mid + 1;
+                } else {
+                    hi = mid;
+                }
+            }
+            return lo;
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.pet.petstore_tests.load;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class ConsistencyCheckerTest {
+
+    @Test
+    @DisplayName("Последовательная история без аномалий")
+    void sequentialHistory_isClean() {
+        List<WriteRecord> log = List.of(
+                new WriteRecord(0, "a", true, 0, 10, 11, 20, "a"),
+                new WriteRecord(0, "b", true, 21, 30, 31, 40, "b"));
+
+        ConsistencyChecker.Result result = ConsistencyChecker.check(log, Map.of(0, "b"));
+
+        assertEquals(2, result.reads());
+        assertEquals(0, result.staleReads());
+        assertEquals(0, result.lostUpdates());
+        assertEquals(0, result.unknownReads());
+    }
+
+    @Test
+    @DisplayName("Чтение старого значения после подтверждённой новой записи — stale read")
+    void readOfOverwrittenValue_isStale() {
+        List<WriteRecord> log = List.of(
+                new WriteRecord(0, "a", true, 0, 10, 11, 20, "a"),
+                new WriteRecord(0, "b", true, 21, 30, 31, 40, "a"));
+
+        assertEquals(1, ConsistencyChecker.check(log, Map.of(0, "b")).staleReads());
+    }
+
+    @Test
+    @DisplayName("Конкурентные записи не считаются аномалией")
+    void overlappingWrites_areNotStale() {
+        List<WriteRecord> log = List.of(
+                new WriteRecord(0, "a", true, 0, 30, 31, 40, "b"),
+                new WriteRecord(0, "b", true, 5, 25, 26, 35, "a"));
+
+        ConsistencyChecker.Result result = ConsistencyChecker.check(log, Map.of(0, "a"));
+
+        assertEquals(0, result.staleReads());
+        assertEquals(0, result.lostUpdates());
+    }
+
+    @Test
+    @DisplayName("Итоговое значение старше подтверждённой записи — lost update")
+    void olderFinalValue_isLostUpdate() {
+        List<WriteRecord> log = List.of(
+                new WriteRecord(0, "a", true, 0, 10, 11, 20, "a"),
+                new WriteRecord(0, "b", true, 21, 30, 31, 40, "b"),
+                new WriteRecord(0, "c", false, 41, 50, 0, 0, null));
+
+        ConsistencyChecker.Result result = ConsistencyChecker.check(log, Map.of(0, "a"));
+
+        assertEquals(1, result.lostUpdates());
+    }
+
+    @Test
+    @DisplayName("Значение, которое никто не записывал — unknown read")
+    void unwrittenValue_isUnknown() {
+        List<WriteRecord> log = List.of(new WriteRecord(0, "a", true, 0, 10, 11, 20, "zzz"));
+
+        assertEquals(1, ConsistencyChecker.check(log, Map.of()).unknownReads());
+    }
+}
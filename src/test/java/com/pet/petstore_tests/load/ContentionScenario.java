@@ -0,0 +1,145 @@
+package com.pet.petstore_tests.load;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * N конкурентных писателей над горячим набором из hotSetSize ключей.
+ * Каждый писатель записывает уникальное значение и сразу читает его обратно.
+ */
+public final class ContentionScenario {
+
+    public record Result(String target,
+                         int writers,
+                         int hotSetSize,
+                         long writes,
+                         long errors,
+                         double wallSeconds,
+                         LatencyHistogram writeLatency,
+                         LatencyHistogram readLatency,
+                         ConsistencyChecker.Result consistency) {
+
+        public double contention() {
+            return (double) writers / hotSetSize;
+        }
+
+        public double throughput() {
+            return wallSeconds == 0 ? 0 : writes / wallSeconds;
+        }
+    }
+
+    private final MutationTarget target;
+    private final int writers;
+    private final int hotSetSize;
+    private final int writesPerWriter;
+
+    public ContentionScenario(MutationTarget target, int writers, int hotSetSize, int writesPerWriter) {
+        this.target = target;
+        this.writers = writers;
+        this.hotSetSize = hotSetSize;
+        this.writesPerWriter = writesPerWriter;
+    }
+
+    public Result run() throws Exception {
+        for (int key = 0; key < hotSetSize; key++) {
+            target.prepare(key);
+        }
+
+        ConcurrentLinkedQueue<WriteRecord> records = new ConcurrentLinkedQueue<>();
+        LatencyHistogram writeLatency = new LatencyHistogram();
+        LatencyHistogram readLatency = new LatencyHistogram();
+        LongAdder errors = new LongAdder();
+        CountDownLatch start = new CountDownLatch(1);
+
+        ExecutorService pool = Executors.newFixedThreadPool(writers);
+        long wallStart;
+        long wallEnd;
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int w = 0; w < writers; w++) {
+                int writer = w;
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < writesPerWriter; i++) {
+                        int key = ThreadLocalRandom.current().nextInt(hotSetSize);
+                        String value = "c" + writer + "-" + i + "-" + System.nanoTime();
+
+                        long writeStart = System.nanoTime();
+                        boolean ok;
+                        try {
+                            ok = target.write(key, value);
+                        } catch (RuntimeException e) {
+                            ok = false;
+                        }
+                        long writeEnd = System.nanoTime();
+                        writeLatency.recordNanos(writeEnd - writeStart);
+                        if (!ok) {
+                            errors.increment();
+                            records.add(new WriteRecord(key, value, false, writeStart, writeEnd, 0, 0, null));
+                            continue;
+                        }
+
+                        long readStart = System.nanoTime();
+                        String read;
+                        try {
+                            read = target.read(key);
+                        } catch (RuntimeException e) {
+                            read = null;
+                            errors.increment();
+                        }
+                        long readEnd = System.nanoTime();
+                        readLatency.recordNanos(readEnd - readStart);
+                        records.add(new WriteRecord(key, value, true, writeStart, writeEnd, readStart, readEnd, read));
+                    }
+                    return null;
+                }));
+            }
+            wallStart = System.nanoTime();
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            wallEnd = System.nanoTime();
+        } finally {
+            pool.shutdownNow();
+        }
+
+        Map<Integer, String> finalValues = new HashMap<>();
+        for (int key = 0; key < hotSetSize; key++) {
+            finalValues.put(key, target.read(key));
+        }
+        for (int key = 0; key < hotSetSize; key++) {
+            target.cleanup(key);
+        }
+
+        List<WriteRecord> log = new ArrayList<>(records);
+        long acknowledged = log.stream().filter(WriteRecord::acknowledged).count();
+        return new Result(target.name(), writers, hotSetSize, acknowledged, errors.sum(),
+                (wallEnd - wallStart) / 1e9, writeLatency, readLatency,
+                ConsistencyChecker.check(log, finalValues));
+    }
+
+    public static String formatTable(List<Result> results) {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("%-6s %7s %7s %10s %7s %8s %10s %10s %10s %10s %7s %7s %7s%n",
+                "target", "writers", "hotSet", "contention", "writes", "errors", "ops/s",
+                "w.p50ms", "w.p99ms", "r.p99ms", "stale", "lost", "unknown"));
+        for (Result r : results) {
+            sb.append(String.format("%-6s %7d %7d %10.1f %7d %8d %10.1f %10.1f %10.1f %10.1f %7d %7d %7d%n",
+                    r.target(), r.writers(), r.hotSetSize(), r.contention(), r.writes(), r.errors(),
+                    r.throughput(), r.writeLatency().percentileMillis(50), r.writeLatency().percentileMillis(99),
+                    r.readLatency().percentileMillis(99), r.consistency().staleReads(),
+                    r.consistency().lostUpdates(), r.consistency().unknownReads()));
+        }
+        return sb.toString();
+    }
+}
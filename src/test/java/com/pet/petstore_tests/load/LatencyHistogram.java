@@ -0,0 +1,143 @@
+package com.pet.petstore_tests.load;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Потокобезопасная гистограмма задержек с логарифмическими корзинами (точность ~3%).
+ * Гистограммы можно складывать через {@link #merge(LatencyHistogram)}.
+ */
+public final class LatencyHistogram {
+
+    private static final int SUB_BUCKETS = 64;
+    private static final int HALF = SUB_BUCKETS / 2;
+    private static final int MAX_SHIFT = 40;
+    static final int BUCKETS = SUB_BUCKETS + MAX_SHIFT * HALF;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final LongAdder total = new LongAdder();
+    private final LongAdder sumNanos = new LongAdder();
+    private final AtomicLong maxNanos = new AtomicLong();
+
+    public void recordNanos(long nanos) {
+        long value = Math.max(0, nanos);
+        counts.incrementAndGet(indexOf(value));
+        total.increment();
+        sumNanos.add(value);
+        maxNanos.accumulateAndGet(value, Math::max);
+    }
+
+    public void record(Duration duration) {
+        recordNanos(duration.toNanos());
+    }
+
+    public long count() {
+        return total.sum();
+    }
+
+    public double meanNanos() {
+        long n = count();
+        return n == 0 ? 0 : (double) sumNanos.sum() / n;
+    }
+
+    public long maxNanos() {
+        return maxNanos.get();
+    }
+
+    public long percentileNanos(double percentile) {
+        long n = count();
+        if (n == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * n));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts.get(i);
+            if (seen >= rank) {
+                return Math.min(valueOf(i), maxNanos());
+            }
+        }
+        return maxNanos();
+    }
+
+    public double percentileMillis(double percentile) {
+        return percentileNanos(percentile) / 1_000_000.0;
+    }
+
+    public void merge(LatencyHistogram other) {
+        for (int i = 0; i < BUCKETS; i++) {
+            long c = other.counts.get(i);
+            if (c != 0) {
+                counts.addAndGet(i, c);
+            }
+        }
+        total.add(other.total.sum());
+        sumNanos.add(other.sumNanos.sum());
+        maxNanos.accumulateAndGet(other.maxNanos(), Math::max);
+    }
+
+    /**
+     * Компактный снимок: ненулевые корзины в виде пар (индекс, количество), затем сумма и максимум.
+     */
+    public long[] toCompactArray() {
+        int nonZero = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            if (counts.get(i) != 0) {
+                nonZero++;
+            }
+        }
+        long[] out = new long[2 + nonZero * 2];
+        out[0] = sumNanos.sum();
+        out[1] = maxNanos();
+        int pos = 2;
+        for (int i = 0; i < BUCKETS; i++) {
+            long c = counts.get(i);
+            if (c != 0) {
+                out[pos++] = i;
+                out[pos++] = c;
+            }
+        }
+        return out;
+    }
+
+    public static LatencyHistogram fromCompactArray(long[] data) {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.sumNanos.add(data[0]);
+        histogram.maxNanos.set(data[1]);
+        for (int pos = 2; pos + 1 < data.length; pos += 2) {
+            histogram.counts.addAndGet((int) data[pos], data[pos + 1]);
+            histogram.total.add(data[pos + 1]);
+        }
+        return histogram;
+    }
+
+    public String summary() {
+        return String.format("n=%d p50=%.1fms p95=%.1fms p99=%.1fms max=%.1fms",
+                count(), percentileMillis(50), percentileMillis(95), percentileMillis(99),
+                maxNanos() / 1_000_000.0);
+    }
+
+    static int indexOf(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int msb = 63 - Long.numberOfLeadingZeros(value);
+        int shift = msb - 5;
+        if (shift > MAX_SHIFT) {
+            return BUCKETS - 1;
+        }
+        int sub = (int) (value >>> shift);
+        return SUB_BUCKETS + (shift - 1) * HALF + (sub - HALF);
+    }
+
+    static long valueOf(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int shift = (index - SUB_BUCKETS) / HALF + 1;
+        long sub = (index - SUB_BUCKETS) % HALF + HALF;
+        return (sub << shift) + (1L << shift) / 2;
+    }
+}
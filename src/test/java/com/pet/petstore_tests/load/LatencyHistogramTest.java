@@ -0,0 +1,54 @@
+package com.pet.petstore_tests.load;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LatencyHistogramTest {
+
+    @Test
+    @DisplayName("Перцентили укладываются в точность корзин")
+    void percentiles_withinBucketPrecision() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i <= 1000; i++) {
+            histogram.recordNanos(i * 1_000_000L);
+        }
+
+        assertEquals(1000, histogram.count());
+        assertEquals(500_000_000L, histogram.percentileNanos(50), 500_000_000L * 0.04);
+        assertEquals(990_000_000L, histogram.percentileNanos(99), 990_000_000L * 0.04);
+        assertEquals(1_000_000_000L, histogram.maxNanos());
+    }
+
+    @Test
+    @DisplayName("Слияние и компактная сериализация сохраняют распределение")
+    void merge_andCompactRoundTrip() {
+        LatencyHistogram a = new LatencyHistogram();
+        LatencyHistogram b = new LatencyHistogram();
+        for (int i = 0; i < 100; i++) {
+            a.recordNanos(10_000);
+            b.recordNanos(5_000_000);
+        }
+
+        LatencyHistogram merged = LatencyHistogram.fromCompactArray(a.toCompactArray());
+        merged.merge(LatencyHistogram.fromCompactArray(b.toCompactArray()));
+
+        assertEquals(200, merged.count());
+        assertEquals(10_000, merged.percentileNanos(50), 10_000 * 0.04);
+        assertEquals(5_000_000, merged.percentileNanos(99), 5_000_000 * 0.04);
+        assertEquals((10_000 + 5_000_000) / 2.0, merged.meanNanos(), 1);
+    }
+
+    @Test
+    @DisplayName("Индекс корзины монотонен по значению")
+    void bucketIndex_isMonotonic() {
+        int previous = -1;
+        for (long v = 0; v < (1L << 42); v = v * 3 / 2 + 1) {
+            int index = LatencyHistogram.indexOf(v);
+            assertTrue(index >= previous);
+            assertTrue(index < LatencyHistogram.BUCKETS);
+            previous = index;
+        }
+    }
+}
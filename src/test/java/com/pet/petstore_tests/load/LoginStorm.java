@@ -0,0 +1,251 @@
+package com.pet.petstore_tests.load;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Шторм логинов: виртуальные пользователи стартуют по форме всплеска и выполняют циклы
+ * «логин (если нет живой сессии) → запросы с токеном → логаут каждые logoutEvery циклов».
+ * Токен из ApiResponse.message кешируется на пользователя и переиспользуется до истечения sessionTtlMillis.
+ * Задержки логина, авторизованных запросов и логаута считаются раздельно. Исключения клиента (нет ответа сервера)
+ * в задержки не попадают и считаются отдельно в {@link Result#clientErrors()}.
+ */
+public final class LoginStorm {
+
+    /**
+     * Клиент сессий: реализуется тестом поверх RestAssured, в юнит-тестах — заглушкой.
+     */
+    public interface SessionClient {
+
+        /**
+         * @return текст ApiResponse.message или null, если логин не удался
+         */
+        String login(String username, String password);
+
+        boolean authenticated(String username, String token);
+
+        boolean logout(String token);
+    }
+
+    public record Credentials(String username, String password) {
+    }
+
+    public record Settings(int cycles, int callsPerSession, int logoutEvery, long sessionTtlMillis, int threads) {
+    }
+
+    /**
+     * Форма всплеска: смещение старта пользователя user из users от начала шторма.
+     * spike — все сразу, waves:N:MS — N волн с паузой MS, ramp:MS — равномерно за MS.
+     */
+    public record BurstShape(String name, int waves, long spanMillis) {
+
+        public static BurstShape parse(String spec) {
+            String[] parts = spec.trim().split(":");
+            return switch (parts[0]) {
+                case "spike" -> new BurstShape(spec.trim(), 1, 0);
+                case "waves" -> {
+                    if (parts.length != 3) {
+                        throw new IllegalArgumentException("Ожидается waves:<волн>:<пауза мс>, получено " + spec);
+                    }
+                    yield new BurstShape(spec.trim(), Integer.parseInt(parts[1]), Long.parseLong(parts[2]));
+                }
+                case "ramp" -> {
+                    if (parts.length != 2) {
+                        throw new IllegalArgumentException("Ожидается ramp:<длительность мс>, получено " + spec);
+                    }
+                    yield new BurstShape(spec.trim(), 0, Long.parseLong(parts[1]));
+                }
+                default -> throw new IllegalArgumentException("Неизвестная форма всплеска " + spec);
+            };
+        }
+
+        long offsetMillis(int user, int users) {
+            if (waves > 0) {
+                return (long) (user % waves) * spanMillis;
+            }
+            return users <= 1 ? 0 : spanMillis * user / (users - 1);
+        }
+    }
+
+    public record Result(String shape,
+                         int users,
+                         double wallSeconds,
+                         long loginErrors,
+                         long callErrors,
+                         long logoutErrors,
+                         long clientErrors,
+                         long sessionReuses,
+                         LatencyHistogram login,
+                         LatencyHistogram calls,
+                         LatencyHistogram logout) {
+
+        public double loginThroughput() {
+            return wallSeconds == 0 ? 0 : login.count() / wallSeconds;
+        }
+
+        public double callThroughput() {
+            return wallSeconds == 0 ? 0 : calls.count() / wallSeconds;
+        }
+    }
+
+    private record Session(String token, long obtainedNanos) {
+    }
+
+    private static final Pattern SESSION = Pattern.compile("logged in user session:\\s*(\\S+)");
+
+    private final SessionClient client;
+    private final List<Credentials> users;
+    private final Settings settings;
+    private final ConcurrentHashMap<String, Session> sessions = new ConcurrentHashMap<>();
+    //Момент старта шторма: пишется до countDown, поэтому потоки видят его после await.
+    private long stormStart;
+
+    public LoginStorm(SessionClient client, List<Credentials> users, Settings settings) {
+        this.client = client;
+        this.users = users;
+        this.settings = settings;
+    }
+
+    /**
+     * Токен сессии из сообщения Petstore «logged in user session:1700000000000».
+     */
+    public static String tokenFrom(String message) {
+        if (message == null) {
+            return null;
+        }
+        Matcher matcher = SESSION.matcher(message);
+        return matcher.find() ? matcher.group(1) : null;
+    }
+
+    public Result run(BurstShape shape) throws Exception {
+        //Каждая форма начинается с холодного кеша: иначе повторные прогоны не дают шторма логинов.
+        sessions.clear();
+        LatencyHistogram login = new LatencyHistogram();
+        LatencyHistogram calls = new LatencyHistogram();
+        LatencyHistogram logout = new LatencyHistogram();
+        LongAdder loginErrors = new LongAdder();
+        LongAdder callErrors = new LongAdder();
+        LongAdder logoutErrors = new LongAdder();
+        LongAdder clientErrors = new LongAdder();
+        LongAdder reuses = new LongAdder();
+        CountDownLatch start = new CountDownLatch(1);
+
+        ExecutorService pool = Executors.newFixedThreadPool(settings.threads());
+        long wallStart;
+        long wallEnd;
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int u = 0; u < users.size(); u++) {
+                Credentials user = users.get(u);
+                long offsetNanos = TimeUnit.MILLISECONDS.toNanos(shape.offsetMillis(u, users.size()));
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    long delay = offsetNanos - (System.nanoTime() - stormStart);
+                    if (delay > 0) {
+                        TimeUnit.NANOSECONDS.sleep(delay);
+                    }
+                    for (int cycle = 1; cycle <= settings.cycles(); cycle++) {
+                        String token = session(user, login, loginErrors, clientErrors, reuses);
+                        if (token == null) {
+                            continue;
+                        }
+                        for (int i = 0; i < settings.callsPerSession(); i++) {
+                            long callStart = System.nanoTime();
+                            boolean ok;
+                            try {
+                                ok = client.authenticated(user.username(), token);
+                            } catch (RuntimeException e) {
+                                clientErrors.increment();
+                                continue;
+                            }
+                            calls.recordNanos(System.nanoTime() - callStart);
+                            if (!ok) {
+                                callErrors.increment();
+                            }
+                        }
+                        if (settings.logoutEvery() > 0 && cycle % settings.logoutEvery() == 0) {
+                            sessions.remove(user.username());
+                            long logoutStart = System.nanoTime();
+                            boolean ok;
+                            try {
+                                ok = client.logout(token);
+                            } catch (RuntimeException e) {
+                                clientErrors.increment();
+                                continue;
+                            }
+                            logout.recordNanos(System.nanoTime() - logoutStart);
+                            if (!ok) {
+                                logoutErrors.increment();
+                            }
+                        }
+                    }
+                    return null;
+                }));
+            }
+            wallStart = System.nanoTime();
+            stormStart = wallStart;
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            wallEnd = System.nanoTime();
+        } finally {
+            pool.shutdownNow();
+        }
+        return new Result(shape.name(), users.size(), (wallEnd - wallStart) / 1e9, loginErrors.sum(),
+                callErrors.sum(), logoutErrors.sum(), clientErrors.sum(), reuses.sum(), login, calls, logout);
+    }
+
+    private String session(Credentials user, LatencyHistogram login, LongAdder loginErrors, LongAdder clientErrors,
+                           LongAdder reuses) {
+        Session cached = sessions.get(user.username());
+        if (cached != null
+                && System.nanoTime() - cached.obtainedNanos() < TimeUnit.MILLISECONDS.toNanos(settings.sessionTtlMillis())) {
+            reuses.increment();
+            return cached.token();
+        }
+        long loginStart = System.nanoTime();
+        String token;
+        try {
+            token = tokenFrom(client.login(user.username(), user.password()));
+        } catch (RuntimeException e) {
+            //Ответа не было — время исключения не задержка логина.
+            clientErrors.increment();
+            sessions.remove(user.username());
+            return null;
+        }
+        long loginEnd = System.nanoTime();
+        login.recordNanos(loginEnd - loginStart);
+        if (token == null) {
+            loginErrors.increment();
+            sessions.remove(user.username());
+            return null;
+        }
+        sessions.put(user.username(), new Session(token, loginEnd));
+        return token;
+    }
+
+    public static String formatTable(List<Result> results) {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("%-16s %6s %7s %7s %9s %9s %9s %7s %8s %9s %9s %9s %7s %9s %7s%n",
+                "shape", "users", "logins", "reused", "login/s", "l.p50ms", "l.p99ms", "l.err",
+                "calls", "calls/s", "c.p50ms", "c.p99ms", "c.err", "out.p99ms", "cl.err"));
+        for (Result r : results) {
+            sb.append(String.format("%-16s %6d %7d %7d %9.1f %9.1f %9.1f %7d %8d %9.1f %9.1f %9.1f %7d %9.1f %7d%n",
+                    r.shape(), r.users(), r.login().count(), r.sessionReuses(), r.loginThroughput(),
+                    r.login().percentileMillis(50), r.login().percentileMillis(99), r.loginErrors(),
+                    r.calls().count(), r.callThroughput(), r.calls().percentileMillis(50),
+                    r.calls().percentileMillis(99), r.callErrors(), r.logout().percentileMillis(99), r.clientErrors()));
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,147 @@
+package com.pet.petstore_tests.load;
+
+import com.pet.petstore_tests.pipeline.CircuitOpenException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LoginStormTest {
+
+    @Test
+    @DisplayName("Токен извлекается из сообщения логина Petstore")
+    void tokenFrom_parsesSessionMessage() {
+        assertEquals("1700000000000", LoginStorm.tokenFrom("logged in user session:1700000000000"));
+        assertNull(LoginStorm.tokenFrom("User not found"));
+        assertNull(LoginStorm.tokenFrom(null));
+    }
+
+    @Test
+    @DisplayName("Формы всплеска: spike, волны и линейный разгон")
+    void burstShape_offsets() {
+        assertEquals(0, LoginStorm.BurstShape.parse("spike").offsetMillis(99, 100));
+
+        LoginStorm.BurstShape waves = LoginStorm.BurstShape.parse("waves:4:250");
+        assertEquals(0, waves.offsetMillis(0, 100));
+        assertEquals(750, waves.offsetMillis(3, 100));
+        assertEquals(0, waves.offsetMillis(4, 100));
+
+        LoginStorm.BurstShape ramp = LoginStorm.BurstShape.parse("ramp:1000");
+        assertEquals(0, ramp.offsetMillis(0, 11));
+        assertEquals(500, ramp.offsetMillis(5, 11));
+        assertEquals(1000, ramp.offsetMillis(10, 11));
+
+        assertThrows(IllegalArgumentException.class, () -> LoginStorm.BurstShape.parse("waves:4"));
+        assertThrows(IllegalArgumentException.class, () -> LoginStorm.BurstShape.parse("storm"));
+    }
+
+    @Test
+    @DisplayName("Сессия переиспользуется до логаута, логин и авторизованные запросы считаются раздельно")
+    void run_reusesSessionsUntilLogout() throws Exception {
+        FakeClient client = new FakeClient();
+        List<LoginStorm.Credentials> users = users(20);
+        //3 цикла по 2 запроса, логаут после каждого второго цикла: логин в 1-м и 3-м цикле, во 2-м — кеш.
+        LoginStorm storm = new LoginStorm(client, users, new LoginStorm.Settings(3, 2, 2, 60_000, 8));
+
+        LoginStorm.Result result = storm.run(LoginStorm.BurstShape.parse("spike"));
+
+        assertEquals(40, result.login().count());
+        assertEquals(20, result.sessionReuses());
+        assertEquals(120, result.calls().count());
+        assertEquals(20, result.logout().count());
+        assertEquals(0, result.loginErrors() + result.callErrors() + result.logoutErrors());
+        assertEquals(40, client.logins.get());
+        assertTrue(client.unknownTokenCalls.isEmpty(), "запросы с чужим или отозванным токеном: " + client.unknownTokenCalls);
+    }
+
+    @Test
+    @DisplayName("Истёкшая по TTL сессия приводит к повторному логину")
+    void run_expiredSessionLogsInAgain() throws Exception {
+        FakeClient client = new FakeClient();
+        LoginStorm storm = new LoginStorm(client, users(5), new LoginStorm.Settings(3, 1, 0, 0, 5));
+
+        LoginStorm.Result result = storm.run(LoginStorm.BurstShape.parse("ramp:50"));
+
+        assertEquals(15, result.login().count());
+        assertEquals(0, result.sessionReuses());
+        assertEquals(0, result.logout().count());
+    }
+
+    @Test
+    @DisplayName("Неудачный логин не приводит к авторизованным запросам")
+    void run_failedLoginSkipsCalls() throws Exception {
+        FakeClient client = new FakeClient();
+        client.rejected.add("user-0");
+        LoginStorm storm = new LoginStorm(client, users(2), new LoginStorm.Settings(2, 3, 0, 60_000, 2));
+
+        LoginStorm.Result result = storm.run(LoginStorm.BurstShape.parse("spike"));
+
+        assertEquals(2, result.loginErrors());
+        assertEquals(6, result.calls().count());
+        assertEquals(1, result.sessionReuses());
+    }
+
+    @Test
+    @DisplayName("Исключение клиента не считается задержкой логина")
+    void run_clientExceptionsAreNotLatency() throws Exception {
+        FakeClient client = new FakeClient();
+        client.unreachable.add("user-0");
+        LoginStorm storm = new LoginStorm(client, users(2), new LoginStorm.Settings(2, 1, 0, 60_000, 2));
+
+        LoginStorm.Result result = storm.run(LoginStorm.BurstShape.parse("spike"));
+
+        assertEquals(1, result.login().count());
+        assertEquals(2, result.clientErrors());
+        assertEquals(0, result.loginErrors());
+        assertEquals(2, result.calls().count());
+    }
+
+    private static List<LoginStorm.Credentials> users(int count) {
+        List<LoginStorm.Credentials> users = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            users.add(new LoginStorm.Credentials("user-" + i, "pass"));
+        }
+        return users;
+    }
+
+    private static final class FakeClient implements LoginStorm.SessionClient {
+        final AtomicInteger logins = new AtomicInteger();
+        final Set<String> rejected = ConcurrentHashMap.newKeySet();
+        final Set<String> unreachable = ConcurrentHashMap.newKeySet();
+        final ConcurrentHashMap<String, String> active = new ConcurrentHashMap<>();
+        final Set<String> unknownTokenCalls = ConcurrentHashMap.newKeySet();
+
+        @Override
+        public String login(String username, String password) {
+            if (unreachable.contains(username)) {
+                throw new CircuitOpenException("нет ответа");
+            }
+            if (rejected.contains(username)) {
+                return "Invalid username/password supplied";
+            }
+            String token = String.valueOf(logins.incrementAndGet());
+            active.put(token, username);
+            return "logged in user session:" + token;
+        }
+
+        @Override
+        public boolean authenticated(String username, String token) {
+            if (!username.equals(active.get(token))) {
+                unknownTokenCalls.add(username + "/" + token);
+                return false;
+            }
+            return true;
+        }
+
+        @Override
+        public boolean logout(String token) {
+            return active.remove(token) != null;
+        }
+    }
+}
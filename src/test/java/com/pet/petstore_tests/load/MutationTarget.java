@@ -0,0 +1,20 @@
+package com.pet.petstore_tests.load;
+
+/**
+ * Изменяемая сущность под конкурентной записью: питомец, пользователь и т.п.
+ */
+public interface MutationTarget {
+
+    String name();
+
+    void prepare(int key);
+
+    /**
+     * @return true, если сервис подтвердил запись
+     */
+    boolean write(int key, String value);
+
+    String read(int key);
+
+    void cleanup(int key);
+}
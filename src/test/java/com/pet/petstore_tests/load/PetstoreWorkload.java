@@ -0,0 +1,143 @@
+package com.pet.petstore_tests.load;
+
+import com.pet.petstore_tests.body.BodyTemplate;
+import com.pet.petstore_tests.model.Category;
+import com.pet.petstore_tests.model.Pet;
+import com.pet.petstore_tests.model.PetStatus;
+import com.pet.petstore_tests.model.Tag;
+import com.pet.petstore_tests.model.User;
+import io.restassured.response.Response;
+import io.restassured.specification.RequestSpecification;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.function.Function;
+
+/**
+ * Детерминированные последовательности запросов по сценариям PetApiTest, StoreApiTest и UserApiTest.
+ * Одинаковые seed и номер итерации дают одинаковые запросы — их можно проигрывать против разных стендов.
+ */
+public final class PetstoreWorkload {
+
+    public record Operation(String endpoint, Function<RequestSpecification, Response> call) {
+    }
+
+    //Тела сериализуются один раз, на итерацию подставляются только слоты.
+    private static final BodyTemplate PET = BodyTemplate.fromObject(pet(0), "id", "name");
+    private static final int PET_ID = PET.slot("id");
+    private static final int PET_NAME = PET.slot("name");
+
+    private static final BodyTemplate ORDER = BodyTemplate.fromJson("""
+            {
+              "id": 0,
+              "petId": 0,
+              "quantity": 2,
+              "shipDate": "2024-01-01T00:00:00.000Z",
+              "status": "placed",
+              "complete": true
+            }
+            """, "id", "petId");
+    private static final int ORDER_ID = ORDER.slot("id");
+    private static final int ORDER_PET_ID = ORDER.slot("petId");
+
+    private static final BodyTemplate USER = BodyTemplate.fromObject(User.builder()
+            .id(0)
+            .username("")
+            .firstName("User")
+            .lastName("AB")
+            .email("")
+            .password("pass")
+            .phone("+000000000")
+            .userStatus(1)
+            .build(), "id", "username", "email");
+    private static final int USER_ID = USER.slot("id");
+    private static final int USER_USERNAME = USER.slot("username");
+    private static final int USER_EMAIL = USER.slot("email");
+
+    private final long seed;
+
+    public PetstoreWorkload(long seed) {
+        this.seed = seed;
+    }
+
+    public List<Operation> iteration(int index) {
+        SplittableRandom random = new SplittableRandom(seed * 31 + index);
+        int petId = random.nextInt(1_000_000, 9_999_999);
+        int orderId = random.nextInt(1_000_000, 9_999_999);
+        String username = "ab-" + Long.toHexString(seed) + "-" + index;
+
+        List<Operation> operations = new ArrayList<>();
+        operations.addAll(petLifecycle(petId));
+        operations.addAll(storeLifecycle(orderId, petId));
+        operations.addAll(userLifecycle(username, index));
+        return operations;
+    }
+
+    public static Pet pet(int petId) {
+        Pet pet = new Pet();
+        pet.setId(petId);
+        Category category = new Category();
+        category.setId(1);
+        category.setName("dogs");
+        pet.setCategory(category);
+        pet.setName("doggie-" + petId);
+        pet.setPhotoUrls(List.of("https://example.com/photo1.jpg"));
+        Tag tag = new Tag();
+        tag.setId(1);
+        tag.setName("cute");
+        pet.setTags(List.of(tag));
+        pet.setStatus(PetStatus.AVAILABLE);
+        return pet;
+    }
+
+    private static List<Operation> petLifecycle(int petId) {
+        byte[] pet = PET.newBody()
+                .set(PET_ID, petId)
+                .set(PET_NAME, "doggie-" + petId)
+                .toBytes();
+        return List.of(
+                new Operation("POST /pet", spec -> spec.body(pet).post("/pet")),
+                new Operation("GET /pet/{petId}", spec -> spec.pathParam("petId", petId).get("/pet/{petId}")),
+                new Operation("GET /pet/findByStatus", spec -> spec.queryParam("status", "available", "sold")
+                        .get("/pet/findByStatus")),
+                new Operation("POST /pet/{petId}", spec -> spec.contentType("application/x-www-form-urlencoded")
+                        .pathParam("petId", petId)
+                        .formParam("name", "doggieUpdated-" + petId)
+                        .formParam("status", "sold")
+                        .post("/pet/{petId}")),
+                new Operation("DELETE /pet/{petId}", spec -> spec.pathParam("petId", petId).delete("/pet/{petId}")));
+    }
+
+    private static List<Operation> storeLifecycle(int orderId, int petId) {
+        byte[] orderBody = ORDER.newBody()
+                .set(ORDER_ID, orderId)
+                .set(ORDER_PET_ID, petId)
+                .toBytes();
+        return List.of(
+                new Operation("POST /store/order", spec -> spec.body(orderBody).post("/store/order")),
+                new Operation("GET /store/order/{orderId}", spec -> spec.pathParam("orderId", orderId)
+                        .get("/store/order/{orderId}")),
+                new Operation("GET /store/inventory", spec -> spec.get("/store/inventory")),
+                new Operation("DELETE /store/order/{orderId}", spec -> spec.pathParam("orderId", orderId)
+                        .delete("/store/order/{orderId}")));
+    }
+
+    private static List<Operation> userLifecycle(String username, int index) {
+        byte[] user = USER.newBody()
+                .set(USER_ID, 100_000 + index)
+                .set(USER_USERNAME, username)
+                .set(USER_EMAIL, username + "@example.com")
+                .toBytes();
+        return List.of(
+                new Operation("POST /user", spec -> spec.body(user).post("/user")),
+                new Operation("GET /user/{username}", spec -> spec.pathParam("username", username)
+                        .get("/user/{username}")),
+                new Operation("GET /user/login", spec -> spec.queryParam("username", username)
+                        .queryParam("password", "pass")
+                        .get("/user/login")),
+                new Operation("GET /user/logout", spec -> spec.get("/user/logout")),
+                new Operation("DELETE /user/{username}", spec -> spec.pathParam("username", username)
+                        .delete("/user/{username}")));
+    }
+}
@@ -0,0 +1,126 @@
+package com.pet.petstore_tests.load;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Результаты развёртки по размеру тела: для каждой точки (измерение, размер) — медианы метрик.
+ * Линейность оценивается эластичностью между соседними точками: log(Δметрики) / log(Δразмера).
+ * Около 1 — рост пропорционален размеру, заметно больше 1 — сверхлинейный рост, около 0 — доминируют
+ * постоянные издержки.
+ */
+public final class ScalingSweep {
+
+    public enum Metric {
+        SERIALIZE("ser,us", 1e-3),
+        SERIALIZE_ALLOC("serAlloc,KB", 1.0 / 1024),
+        REQUEST_BYTES("req,KB", 1.0 / 1024),
+        POST("POST,ms", 1e-6),
+        GET("GET,ms", 1e-6),
+        RESPONSE_BYTES("resp,KB", 1.0 / 1024),
+        CLIENT_ALLOC("alloc,KB", 1.0 / 1024);
+
+        private final String column;
+        private final double scale;
+
+        Metric(String column, double scale) {
+            this.column = column;
+            this.scale = scale;
+        }
+    }
+
+    public record Point(String dimension, int size, int status, Map<Metric, Double> values) {
+
+        public double value(Metric metric) {
+            return values.getOrDefault(metric, Double.NaN);
+        }
+    }
+
+    private final List<Point> points = new ArrayList<>();
+
+    public static int[] geometric(int from, int to, int factor) {
+        List<Integer> sizes = new ArrayList<>();
+        for (long size = from; size <= to; size *= factor) {
+            sizes.add((int) size);
+        }
+        return sizes.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    /**
+     * @param values сырые значения метрик (наносекунды, байты); в таблице переводятся в us/ms/KB
+     */
+    public void add(String dimension, int size, int status, Map<Metric, Double> values) {
+        points.add(new Point(dimension, size, status, new EnumMap<>(values)));
+    }
+
+    public List<Point> points() {
+        return List.copyOf(points);
+    }
+
+    static double elasticity(int previousSize, double previous, int size, double value) {
+        if (previous <= 0 || value <= 0 || previousSize <= 0 || size <= previousSize) {
+            return Double.NaN;
+        }
+        return Math.log(value / previous) / Math.log((double) size / previousSize);
+    }
+
+    /**
+     * Первый размер каждого измерения, на котором эластичность метрики превысила threshold.
+     */
+    public Map<String, Integer> firstNonlinear(Metric metric, double threshold) {
+        Map<String, Integer> result = new LinkedHashMap<>();
+        for (List<Point> series : byDimension().values()) {
+            for (int i = 1; i < series.size(); i++) {
+                Point previous = series.get(i - 1);
+                Point point = series.get(i);
+                if (elasticity(previous.size(), previous.value(metric), point.size(), point.value(metric)) > threshold) {
+                    result.put(point.dimension(), point.size());
+                    break;
+                }
+            }
+        }
+        return result;
+    }
+
+    private Map<String, List<Point>> byDimension() {
+        Map<String, List<Point>> series = new LinkedHashMap<>();
+        points.forEach(p -> series.computeIfAbsent(p.dimension(), d -> new ArrayList<>()).add(p));
+        return series;
+    }
+
+    /**
+     * Таблица значений и эластичностей; строки, где какая-либо метрика растёт быстрее threshold,
+     * помечаются списком таких метрик.
+     */
+    public String formatTable(double threshold) {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("%-10s %7s %4s", "dimension", "size", "http"));
+        for (Metric metric : Metric.values()) {
+            sb.append(String.format(" %11s %5s", metric.column, "e"));
+        }
+        sb.append("  nonlinear").append(System.lineSeparator());
+
+        for (List<Point> series : byDimension().values()) {
+            for (int i = 0; i < series.size(); i++) {
+                Point point = series.get(i);
+                Point previous = i > 0 ? series.get(i - 1) : null;
+                sb.append(String.format("%-10s %7d %4d", point.dimension(), point.size(), point.status()));
+                List<String> nonlinear = new ArrayList<>();
+                for (Metric metric : Metric.values()) {
+                    double e = previous == null ? Double.NaN
+                            : elasticity(previous.size(), previous.value(metric), point.size(), point.value(metric));
+                    sb.append(String.format(" %11.2f %5s", point.value(metric) * metric.scale,
+                            Double.isNaN(e) ? "-" : String.format("%.2f", e)));
+                    if (e > threshold) {
+                        nonlinear.add(metric.column.substring(0, metric.column.indexOf(',')));
+                    }
+                }
+                sb.append("  ").append(String.join(",", nonlinear)).append(System.lineSeparator());
+            }
+        }
+        return sb.toString();
+    }
+}
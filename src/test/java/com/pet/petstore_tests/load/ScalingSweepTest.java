@@ -0,0 +1,47 @@
+package com.pet.petstore_tests.load;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ScalingSweepTest {
+
+    @Test
+    @DisplayName("Геометрическая сетка размеров")
+    void geometric_sizes() {
+        assertArrayEquals(new int[]{1, 4, 16, 64, 256}, ScalingSweep.geometric(1, 256, 4));
+        assertArrayEquals(new int[]{16, 128, 1024}, ScalingSweep.geometric(16, 2000, 8));
+    }
+
+    @Test
+    @DisplayName("Эластичность: линейный рост — 1, квадратичный — 2, постоянный — 0")
+    void elasticity_ofPowerLaws() {
+        assertEquals(1.0, ScalingSweep.elasticity(10, 50, 40, 200), 1e-9);
+        assertEquals(2.0, ScalingSweep.elasticity(10, 100, 40, 1600), 1e-9);
+        assertEquals(0.0, ScalingSweep.elasticity(10, 7, 40, 7), 1e-9);
+        assertTrue(Double.isNaN(ScalingSweep.elasticity(10, 0, 40, 7)));
+    }
+
+    @Test
+    @DisplayName("Первая точка сверхлинейного роста находится по каждому измерению и отмечается в таблице")
+    void firstNonlinear_findsKnee() {
+        ScalingSweep sweep = new ScalingSweep();
+        //tags: линейно до 64, затем квадратично; name: линейно везде.
+        int[] sizes = {1, 4, 16, 64, 256};
+        double[] tags = {1_000, 4_000, 16_000, 64_000, 1_024_000};
+        for (int i = 0; i < sizes.length; i++) {
+            sweep.add("tags", sizes[i], 200, Map.of(ScalingSweep.Metric.POST, tags[i]));
+            sweep.add("name", sizes[i], 200, Map.of(ScalingSweep.Metric.POST, 1_000.0 * sizes[i]));
+        }
+
+        assertEquals(Map.of("tags", 256), sweep.firstNonlinear(ScalingSweep.Metric.POST, 1.25));
+
+        String table = sweep.formatTable(1.25);
+        String kneeRow = table.lines().filter(l -> l.startsWith("tags") && l.contains(" 256 ")).findFirst().orElseThrow();
+        assertTrue(kneeRow.endsWith("POST"), kneeRow);
+        assertTrue(table.lines().filter(l -> l.startsWith("name")).allMatch(l -> l.endsWith("  ")), table);
+    }
+}
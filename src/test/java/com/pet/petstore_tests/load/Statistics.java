@@ -0,0 +1,138 @@
+package com.pet.petstore_tests.load;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Непараметрическая статистика для сравнения распределений задержек.
+ */
+public final class Statistics {
+
+    public record Interval(double low, double high) {
+
+        public boolean contains(double value) {
+            return low <= value && value <= high;
+        }
+    }
+
+    private Statistics() {
+    }
+
+    public static double median(long[] values) {
+        long[] sorted = values.clone();
+        Arrays.sort(sorted);
+        return sortedMedian(sorted);
+    }
+
+    /**
+     * Двусторонний p-value U-критерия Манна — Уитни (нормальное приближение с поправкой на связки
+     * и на непрерывность).
+     */
+    public static double mannWhitneyP(long[] a, long[] b) {
+        int n1 = a.length;
+        int n2 = b.length;
+        int n = n1 + n2;
+        if (n1 == 0 || n2 == 0) {
+            return 1.0;
+        }
+        long[][] all = new long[n][];
+        for (int i = 0; i < n1; i++) {
+            all[i] = new long[]{a[i], 0};
+        }
+        for (int i = 0; i < n2; i++) {
+            all[n1 + i] = new long[]{b[i], 1};
+        }
+        Arrays.sort(all, (x, y) -> Long.compare(x[0], y[0]));
+
+        double rankSumA = 0;
+        double tieTerm = 0;
+        for (int i = 0; i < n; ) {
+            int j = i;
+            while (j < n && all[j][0] == all[i][0]) {
+                j++;
+            }
+            double averageRank = (i + 1 + j) / 2.0;
+            for (int k = i; k < j; k++) {
+                if (all[k][1] == 0) {
+                    rankSumA += averageRank;
+                }
+            }
+            long t = j - i;
+            tieTerm += (double) t * t * t - t;
+            i = j;
+        }
+
+        double u = rankSumA - n1 * (n1 + 1) / 2.0;
+        double mean = n1 * (double) n2 / 2.0;
+        double variance = n1 * (double) n2 / 12.0 * ((n + 1) - tieTerm / ((double) n * (n - 1)));
+        if (variance <= 0) {
+            return 1.0;
+        }
+        double z = (Math.abs(u - mean) - 0.5) / Math.sqrt(variance);
+        return Math.min(1.0, erfc(Math.max(0, z) / Math.sqrt(2)));
+    }
+
+    /**
+     * Перцентильный бутстреп-интервал для разницы медиан (b - a).
+     */
+    public static Interval bootstrapMedianDifference(long[] a, long[] b, double confidence, int resamples, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        double[] differences = new double[resamples];
+        long[] sampleA = new long[a.length];
+        long[] sampleB = new long[b.length];
+        for (int r = 0; r < resamples; r++) {
+            for (int i = 0; i < a.length; i++) {
+                sampleA[i] = a[random.nextInt(a.length)];
+            }
+            for (int i = 0; i < b.length; i++) {
+                sampleB[i] = b[random.nextInt(b.length)];
+            }
+            Arrays.sort(sampleA);
+            Arrays.sort(sampleB);
+            differences[r] = sortedMedian(sampleB) - sortedMedian(sampleA);
+        }
+        Arrays.sort(differences);
+        double tail = (1 - confidence) / 2;
+        int low = (int) Math.floor(tail * (resamples - 1));
+        int high = (int) Math.ceil((1 - tail) * (resamples - 1));
+        return new Interval(differences[low], differences[high]);
+    }
+
+    /**
+     * Поправка Холма — Бонферрони для набора p-values. Возвращает скорректированные значения.
+     */
+    public static double[] holm(double[] pValues) {
+        int m = pValues.length;
+        Integer[] order = new Integer[m];
+        for (int i = 0; i < m; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (x, y) -> Double.compare(pValues[x], pValues[y]));
+        double[] adjusted = new double[m];
+        double running = 0;
+        for (int rank = 0; rank < m; rank++) {
+            int i = order[rank];
+            running = Math.max(running, Math.min(1.0, pValues[i] * (m - rank)));
+            adjusted[i] = running;
+        }
+        return adjusted;
+    }
+
+    // Дополнительная функция ошибок, относительная точность ~1.2e-7 (Numerical Recipes, erfcc).
+    static double erfc(double x) {
+        double z = Math.abs(x);
+        double t = 1.0 / (1.0 + 0.5 * z);
+        double ans = t * Math.exp(-z * z - 1.26551223 + t * (1.00002368 + t * (0.37409196 + t * (0.09678418
+                + t * (-0.18628806 + t * (0.27886807 + t * (-1.13520398 + t * (1.48851587
+                + t * (-0.82215223 + t * 0.17087277)))))))));
+        return x >= 0 ? ans : 2.0 - ans;
+    }
+
+    private static double sortedMedian(long[] sorted) {
+        int n = sorted.length;
+        if (n == 0) {
+            return 0;
+        }
+        return n % 2 == 1 ? sorted[n / 2] : (sorted[n / 2 - 1] + sorted[n / 2]) / 2.0;
+    }
+}
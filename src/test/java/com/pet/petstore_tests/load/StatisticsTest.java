@@ -0,0 +1,70 @@
+package com.pet.petstore_tests.load;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class StatisticsTest {
+
+    private static long[] sample(SplittableRandom random, int n, long median, long spread) {
+        long[] values = new long[n];
+        for (int i = 0; i < n; i++) {
+            values[i] = median + (long) (random.nextGaussian() * spread);
+        }
+        return values;
+    }
+
+    @Test
+    @DisplayName("U-критерий: известный пример без связок")
+    void mannWhitney_knownExample() {
+        long[] a = {1, 2, 3, 4, 5};
+        long[] b = {6, 7, 8, 9, 10};
+
+        //U = 0, n1 = n2 = 5: z = (12.5 - 0.5) / sqrt(22.9167) = 2.5067, p = 0.0122
+        assertEquals(0.0122, Statistics.mannWhitneyP(a, b), 0.0005);
+    }
+
+    @Test
+    @DisplayName("Одинаковые распределения не дают значимой разницы")
+    void sameDistribution_isNotSignificant() {
+        SplittableRandom random = new SplittableRandom(1);
+        long[] a = sample(random, 200, 100_000_000, 10_000_000);
+        long[] b = sample(random, 200, 100_000_000, 10_000_000);
+
+        assertTrue(Statistics.mannWhitneyP(a, b) > 0.05);
+        assertTrue(Statistics.bootstrapMedianDifference(a, b, 0.95, 1000, 7).contains(0));
+    }
+
+    @Test
+    @DisplayName("Сдвиг медианы обнаруживается, интервал содержит истинный сдвиг")
+    void shiftedDistribution_isSignificant() {
+        SplittableRandom random = new SplittableRandom(2);
+        long[] a = sample(random, 200, 100_000_000, 10_000_000);
+        long[] b = sample(random, 200, 110_000_000, 10_000_000);
+
+        Statistics.Interval ci = Statistics.bootstrapMedianDifference(a, b, 0.95, 1000, 7);
+
+        assertTrue(Statistics.mannWhitneyP(a, b) < 0.001);
+        assertTrue(ci.contains(10_000_000), ci.toString());
+        assertFalse(ci.contains(0), ci.toString());
+    }
+
+    @Test
+    @DisplayName("Поправка Холма монотонна и не превышает 1")
+    void holm_adjustsPValues() {
+        double[] adjusted = Statistics.holm(new double[]{0.01, 0.04, 0.03, 0.5});
+
+        assertArrayEquals(new double[]{0.04, 0.09, 0.09, 0.5}, adjusted, 1e-9);
+    }
+
+    @Test
+    @DisplayName("erfc совпадает с табличными значениями")
+    void erfc_matchesReferenceValues() {
+        assertEquals(1.0, Statistics.erfc(0), 1e-7);
+        assertEquals(0.157299207, Statistics.erfc(1), 1e-7);
+        assertEquals(0.004677735, Statistics.erfc(2), 1e-7);
+    }
+}
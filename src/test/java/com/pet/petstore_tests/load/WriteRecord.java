@@ -0,0 +1,14 @@
+package com.pet.petstore_tests.load;
+
+/**
+ * Одна запись значения и последующее чтение тем же клиентом. Времена — System.nanoTime().
+ */
+public record WriteRecord(int key,
+                          String value,
+                          boolean acknowledged,
+                          long writeStart,
+                          long writeEnd,
+                          long readStart,
+                          long readEnd,
+                          String readValue) {
+}
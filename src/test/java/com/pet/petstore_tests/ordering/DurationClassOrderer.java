@@ -0,0 +1,40 @@
+package com.pet.petstore_tests.ordering;
+
+import org.junit.jupiter.api.ClassDescriptor;
+import org.junit.jupiter.api.ClassOrderer;
+import org.junit.jupiter.api.ClassOrdererContext;
+import org.junit.jupiter.api.Order;
+
+import java.util.Comparator;
+import java.util.function.Supplier;
+
+/**
+ * Запускает классы от самых долгих по истории ({@link TestDurations}) к самым быстрым: при параллельном
+ * прогоне долгий класс не оказывается последним, пока остальные потоки простаивают.
+ * Классы с {@link Order} упорядочиваются по нему, как в {@link ClassOrderer.OrderAnnotation}, —
+ * длительность решает только внутри одного значения @Order.
+ */
+public class DurationClassOrderer implements ClassOrderer {
+
+    private final Supplier<TestDurations> durations;
+
+    public DurationClassOrderer() {
+        this(TestDurations::current);
+    }
+
+    DurationClassOrderer(TestDurations durations) {
+        this(() -> durations);
+    }
+
+    private DurationClassOrderer(Supplier<TestDurations> durations) {
+        this.durations = durations;
+    }
+
+    @Override
+    public void orderClasses(ClassOrdererContext context) {
+        TestDurations durations = this.durations.get();
+        context.getClassDescriptors().sort(Comparator
+                .comparingInt((ClassDescriptor d) -> d.findAnnotation(Order.class).map(Order::value).orElse(Order.DEFAULT))
+                .thenComparing(d -> durations.classMillis(d.getTestClass()), Comparator.reverseOrder()));
+    }
+}
@@ -0,0 +1,53 @@
+package com.pet.petstore_tests.ordering;
+
+import org.junit.jupiter.api.MethodDescriptor;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.MethodOrdererContext;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+
+import java.util.Comparator;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * Порядок методов от самых долгих по истории к самым быстрым. Цепочка {@link Order} соблюдается:
+ * методы сортируются сначала по @Order (без аннотации — {@link Order#DEFAULT}), длительность решает
+ * только среди методов с одинаковым значением. Классам, где тесты зависят от состояния, созданного
+ * другими (как в PetApiTest), нужен {@link com.pet.petstore_tests.graph.DependencyGraph @DependencyGraph}:
+ * его {@code DependencyOrderer} соблюдает {@code @DependsOn} и упорядочивает по длительности только готовые тесты.
+ */
+public class DurationMethodOrderer implements MethodOrderer {
+
+    private final Supplier<TestDurations> durations;
+
+    public DurationMethodOrderer() {
+        this(TestDurations::current);
+    }
+
+    DurationMethodOrderer(TestDurations durations) {
+        this(() -> durations);
+    }
+
+    private DurationMethodOrderer(Supplier<TestDurations> durations) {
+        this.durations = durations;
+    }
+
+    @Override
+    public void orderMethods(MethodOrdererContext context) {
+        TestDurations durations = this.durations.get();
+        context.getMethodDescriptors().sort(Comparator
+                .comparingInt((MethodDescriptor d) -> d.findAnnotation(Order.class).map(Order::value).orElse(Order.DEFAULT))
+                .thenComparing(d -> durations.methodMillis(context.getTestClass(), d.getMethod().getName()),
+                        Comparator.reverseOrder()));
+    }
+
+    /**
+     * Порядок нужен для раннего старта долгих методов, а не для последовательности:
+     * режим выполнения остаётся за настройками параллельности.
+     */
+    @Override
+    public Optional<ExecutionMode> getDefaultExecutionMode() {
+        return Optional.empty();
+    }
+}
@@ -0,0 +1,197 @@
+package com.pet.petstore_tests.ordering;
+
+import com.pet.petstore_tests.baseline.RunSummary;
+import org.junit.jupiter.api.ClassDescriptor;
+import org.junit.jupiter.api.ClassOrdererContext;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.MethodDescriptor;
+import org.junit.jupiter.api.MethodOrdererContext;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.AnnotatedElement;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class DurationOrdererTest {
+
+    static class Fast {
+    }
+
+    static class Slow {
+    }
+
+    static class Fresh {
+    }
+
+    @Order(1)
+    static class Pinned {
+    }
+
+    static class Chain {
+        @Order(1)
+        void create() {
+        }
+
+        @Order(2)
+        void delete() {
+        }
+
+        void quick() {
+        }
+
+        void slow() {
+        }
+
+        void unknown() {
+        }
+    }
+
+    private static final TestDurations DURATIONS = TestDurations.fromHistory(List.of(
+            run(entry(Fast.class, "a", 10), entry(Slow.class, "a", 300), entry(Slow.class, "b", 200),
+                    entry(Pinned.class, "a", 1), entry(Chain.class, "create", 5), entry(Chain.class, "delete", 500),
+                    entry(Chain.class, "quick", 10), entry(Chain.class, "slow", 100)),
+            run(entry(Fast.class, "a", 30), entry(Slow.class, "a", 100), entry(Chain.class, "slow", 300)),
+            run(entry(Fast.class, "a", 20), entry(Slow.class, "a", 200), entry("endpoint:GET /pet/{petId}", 9999))));
+
+    @Test
+    @DisplayName("Длительность — медиана по прогонам, класса — сумма методов")
+    void durationsFromHistory() {
+        assertEquals(20, DURATIONS.methodMillis(Fast.class, "a"));
+        assertEquals(200, DURATIONS.methodMillis(Chain.class, "slow"));
+        assertEquals(400, DURATIONS.classMillis(Slow.class));
+        assertEquals(TestDurations.UNKNOWN, DURATIONS.classMillis(Fresh.class));
+    }
+
+    @Test
+    @DisplayName("Классы: @Order первым, затем без истории, затем от долгих к быстрым")
+    void classesLongestFirst() {
+        List<ClassDescriptor> classes = new ArrayList<>(List.of(
+                new FakeClass(Fast.class), new FakeClass(Slow.class), new FakeClass(Fresh.class), new FakeClass(Pinned.class)));
+
+        new DurationClassOrderer(DURATIONS).orderClasses(new ClassOrdererContext() {
+            @Override
+            public List<? extends ClassDescriptor> getClassDescriptors() {
+                return classes;
+            }
+
+            @Override
+            public Optional<String> getConfigurationParameter(String key) {
+                return Optional.empty();
+            }
+        });
+
+        assertEquals(List.of(Pinned.class, Fresh.class, Slow.class, Fast.class),
+                classes.stream().map(ClassDescriptor::getTestClass).toList());
+    }
+
+    @Test
+    @DisplayName("Методы: цепочка @Order сохраняется, остальные — от долгих к быстрым")
+    void methodsRespectOrderChain() {
+        List<MethodDescriptor> methods = new ArrayList<>(Arrays.stream(Chain.class.getDeclaredMethods())
+                .map(FakeMethod::new)
+                .toList());
+
+        new DurationMethodOrderer(DURATIONS).orderMethods(new MethodOrdererContext() {
+            @Override
+            public Class<?> getTestClass() {
+                return Chain.class;
+            }
+
+            @Override
+            public List<? extends MethodDescriptor> getMethodDescriptors() {
+                return methods;
+            }
+
+            @Override
+            public Optional<String> getConfigurationParameter(String key) {
+                return Optional.empty();
+            }
+        });
+
+        //delete (500ms) не обгоняет create: их порядок задан @Order.
+        assertEquals(List.of("create", "delete", "unknown", "slow", "quick"),
+                methods.stream().map(m -> m.getMethod().getName()).toList());
+    }
+
+    private static RunSummary run(RunSummary.Entry... entries) {
+        return new RunSummary("run", 0, "target", List.of(entries));
+    }
+
+    private static RunSummary.Entry entry(Class<?> testClass, String method, double millis) {
+        return entry("test:" + testClass.getName() + "#" + method, millis);
+    }
+
+    private static RunSummary.Entry entry(String key, double millis) {
+        return new RunSummary.Entry(key, 1, millis, millis, millis, 0);
+    }
+
+    private abstract static class FakeAnnotated {
+
+        abstract AnnotatedElement element();
+
+        public boolean isAnnotated(Class<? extends Annotation> type) {
+            return element().isAnnotationPresent(type);
+        }
+
+        public <A extends Annotation> Optional<A> findAnnotation(Class<A> type) {
+            return Optional.ofNullable(element().getAnnotation(type));
+        }
+
+        public <A extends Annotation> List<A> findRepeatableAnnotations(Class<A> type) {
+            return List.of(element().getAnnotationsByType(type));
+        }
+    }
+
+    private static final class FakeClass extends FakeAnnotated implements ClassDescriptor {
+        private final Class<?> testClass;
+
+        FakeClass(Class<?> testClass) {
+            this.testClass = testClass;
+        }
+
+        @Override
+        AnnotatedElement element() {
+            return testClass;
+        }
+
+        @Override
+        public Class<?> getTestClass() {
+            return testClass;
+        }
+
+        @Override
+        public String getDisplayName() {
+            return testClass.getSimpleName();
+        }
+    }
+
+    private static final class FakeMethod extends FakeAnnotated implements MethodDescriptor {
+        private final Method method;
+
+        FakeMethod(Method method) {
+            this.method = method;
+        }
+
+        @Override
+        AnnotatedElement element() {
+            return method;
+        }
+
+        @Override
+        public Method getMethod() {
+            return method;
+        }
+
+        @Override
+        public String getDisplayName() {
+            return method.getName();
+        }
+    }
+}
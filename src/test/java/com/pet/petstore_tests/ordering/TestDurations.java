@@ -0,0 +1,82 @@
+package com.pet.petstore_tests.ordering;
+
+import com.pet.petstore_tests.baseline.BaselineStore;
+import com.pet.petstore_tests.baseline.RunSummary;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Исторические длительности тестов из журнала {@link BaselineStore}: медиана по последним прогонам
+ * того же стенда. Длительность класса — сумма известных длительностей его методов.
+ * Тест без истории считается самым долгим: новые тесты запускаются первыми, пока их время не выучено.
+ */
+public final class TestDurations {
+
+    public static final double UNKNOWN = Double.POSITIVE_INFINITY;
+
+    private static volatile TestDurations current;
+
+    private final Map<String, Double> methods;
+    private final Map<String, Double> classes = new HashMap<>();
+
+    TestDurations(Map<String, Double> methods) {
+        this.methods = methods;
+        methods.forEach((test, millis) -> classes.merge(test.substring(0, test.indexOf('#')), millis, Double::sum));
+    }
+
+    /**
+     * Журнал читается один раз на JVM — оба упорядочивателя используют один снимок.
+     */
+    public static TestDurations current() {
+        TestDurations durations = current;
+        if (durations == null) {
+            synchronized (TestDurations.class) {
+                durations = current;
+                if (durations == null) {
+                    BaselineStore store = new BaselineStore(Path.of(System.getProperty("petstore.baseline.file",
+                            ".perf-baseline/runs.jsonl")));
+                    durations = fromHistory(store.recent(
+                            System.getProperty("petstore.baseUri", "https://petstore.swagger.io/v2"),
+                            Integer.parseInt(System.getProperty("petstore.baseline.window", "10"))));
+                    current = durations;
+                }
+            }
+        }
+        return durations;
+    }
+
+    static TestDurations fromHistory(List<RunSummary> runs) {
+        Map<String, List<Double>> samples = new HashMap<>();
+        for (RunSummary run : runs) {
+            for (RunSummary.Entry entry : run.entries()) {
+                if (entry.key().startsWith("test:") && entry.key().indexOf('#') > 0) {
+                    samples.computeIfAbsent(entry.key().substring("test:".length()), k -> new ArrayList<>())
+                            .add(entry.p50Ms());
+                }
+            }
+        }
+        Map<String, Double> medians = new HashMap<>();
+        samples.forEach((test, values) -> medians.put(test, median(values)));
+        return new TestDurations(medians);
+    }
+
+    public double classMillis(Class<?> testClass) {
+        return classes.getOrDefault(testClass.getName(), UNKNOWN);
+    }
+
+    public double methodMillis(Class<?> testClass, String method) {
+        return methods.getOrDefault(testClass.getName() + "#" + method, UNKNOWN);
+    }
+
+    private static double median(List<Double> values) {
+        double[] sorted = values.stream().mapToDouble(Double::doubleValue).toArray();
+        Arrays.sort(sorted);
+        int mid = sorted.length / 2;
+        return sorted.length % 2 == 1 ? sorted[mid] : (sorted[mid - 1] + sorted[mid]) / 2;
+    }
+}
@@ -0,0 +1,196 @@
+package com.pet.petstore_tests.pipeline;
+
+import io.restassured.filter.FilterContext;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * Клиентский ограничитель частоты: свой {@link TokenBucket} на группу эндпоинтов (/pet, /store, /user),
+ * скорость которого подстраивается по AIMD. Ответы 429/503 и рост задержки относительно базовой
+ * уменьшают скорость в decrease раз (не чаще раза за окно), успешные ответы прибавляют increase запросов/с за секунду.
+ */
+public final class AdaptiveRateLimiter implements PipelineStage {
+
+    public record Policy(double initialRate,
+                         double minRate,
+                         double maxRate,
+                         double increase,
+                         double decrease,
+                         int burst,
+                         double latencyFactor,
+                         long decreaseWindowMillis) {
+
+        static Policy fromSystemProperties() {
+            return new Policy(
+                    PipelineProperties.doubleValue("petstore.ratelimit.initialRate", 50),
+                    PipelineProperties.doubleValue("petstore.ratelimit.minRate", 1),
+                    PipelineProperties.doubleValue("petstore.ratelimit.maxRate", 1000),
+                    PipelineProperties.doubleValue("petstore.ratelimit.increase", 5),
+                    PipelineProperties.doubleValue("petstore.ratelimit.decrease", 0.5),
+                    PipelineProperties.intValue("petstore.ratelimit.burst", 10),
+                    PipelineProperties.doubleValue("petstore.ratelimit.latencyFactor", 2.0),
+                    PipelineProperties.longValue("petstore.ratelimit.decreaseWindowMs", 500));
+        }
+    }
+
+    private final Policy policy;
+    private final ConcurrentHashMap<String, Group> groups = new ConcurrentHashMap<>();
+
+    public AdaptiveRateLimiter(Policy policy) {
+        this.policy = policy;
+    }
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec,
+                           FilterableResponseSpecification responseSpec,
+                           FilterContext ctx) {
+        Group group = group(groupOf(requestSpec.getUserDefinedPath()));
+
+        //Запрос, который не дождётся своего слота до дедлайна, слот не занимает: иначе его ждали бы соседи.
+        long remaining = Deadlines.remainingMillis();
+        long maxWait = remaining == Deadlines.UNLIMITED ? Long.MAX_VALUE : TimeUnit.MILLISECONDS.toNanos(remaining);
+        long wait = group.bucket.reserveNanos(maxWait);
+        if (wait > 0) {
+            if (wait > maxWait) {
+                throw new DeadlineExceededException("Ожидание ограничителя частоты (" + wait / 1_000_000
+                        + "ms) превышает " + Deadlines.describe() + " для "
+                        + requestSpec.getMethod() + " " + requestSpec.getUserDefinedPath());
+            }
+            group.waitedNanos.add(wait);
+            sleepNanos(wait);
+        }
+
+        long start = System.nanoTime();
+        Response response = ctx.next(requestSpec, responseSpec);
+        group.onResponse(response.statusCode(), System.nanoTime() - start);
+        return response;
+    }
+
+    Group group(String name) {
+        return groups.computeIfAbsent(name, n -> new Group());
+    }
+
+    public double rate(String group) {
+        Group g = groups.get(group);
+        return g == null ? policy.initialRate() : g.bucket.rate();
+    }
+
+    static String groupOf(String path) {
+        if (path == null || path.isEmpty()) {
+            return "/";
+        }
+        int start = path.startsWith("/") ? 1 : 0;
+        int end = path.indexOf('/', start);
+        String segment = end < 0 ? path.substring(start) : path.substring(start, end);
+        int query = segment.indexOf('?');
+        return "/" + (query < 0 ? segment : segment.substring(0, query));
+    }
+
+    private static void sleepNanos(long nanos) {
+        try {
+            TimeUnit.NANOSECONDS.sleep(nanos);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    final class Group {
+        final TokenBucket bucket = new TokenBucket(policy.initialRate(), policy.burst());
+        private final AtomicLong rateBits = new AtomicLong(Double.doubleToLongBits(policy.initialRate()));
+        private final AtomicLong lastDecrease = new AtomicLong(System.nanoTime() - TimeUnit.DAYS.toNanos(1));
+        // Задержки храним как double-биты: быстрая EWMA и медленно растущий минимум (базовая задержка).
+        private final AtomicLong fastLatencyBits = new AtomicLong(Double.doubleToLongBits(-1));
+        private final AtomicLong baseLatencyBits = new AtomicLong(Double.doubleToLongBits(-1));
+        final LongAdder throttled = new LongAdder();
+        final LongAdder decreases = new LongAdder();
+        final LongAdder waitedNanos = new LongAdder();
+
+        void onResponse(int status, long latencyNanos) {
+            if (status == 429 || status == 503) {
+                throttled.increment();
+                decrease();
+                return;
+            }
+            double fast = updateLatency(latencyNanos);
+            double base = Double.longBitsToDouble(baseLatencyBits.get());
+            if (base > 0 && fast > base * policy.latencyFactor()) {
+                decrease();
+            } else {
+                increase();
+            }
+        }
+
+        private double updateLatency(long latencyNanos) {
+            double fast;
+            while (true) {
+                long bits = fastLatencyBits.get();
+                double previous = Double.longBitsToDouble(bits);
+                fast = previous < 0 ? latencyNanos : previous * 0.8 + latencyNanos * 0.2;
+                if (fastLatencyBits.compareAndSet(bits, Double.doubleToLongBits(fast))) {
+                    break;
+                }
+            }
+            while (true) {
+                long bits = baseLatencyBits.get();
+                double base = Double.longBitsToDouble(bits);
+                // Минимум медленно «отпускается» вверх, чтобы база следила за долгосрочными изменениями.
+                double next = base < 0 ? fast : Math.min(fast, base * 1.001);
+                if (next == base || baseLatencyBits.compareAndSet(bits, Double.doubleToLongBits(next))) {
+                    return fast;
+                }
+            }
+        }
+
+        private void increase() {
+            while (true) {
+                long bits = rateBits.get();
+                double rate = Double.longBitsToDouble(bits);
+                double next = Math.min(policy.maxRate(), rate + policy.increase() / Math.max(1, rate));
+                if (rateBits.compareAndSet(bits, Double.doubleToLongBits(next))) {
+                    bucket.setRate(next);
+                    return;
+                }
+            }
+        }
+
+        private void decrease() {
+            long last = lastDecrease.get();
+            long now = System.nanoTime();
+            if (now - last < TimeUnit.MILLISECONDS.toNanos(policy.decreaseWindowMillis())
+                    || !lastDecrease.compareAndSet(last, now)) {
+                return;
+            }
+            while (true) {
+                long bits = rateBits.get();
+                double next = Math.max(policy.minRate(), Double.longBitsToDouble(bits) * policy.decrease());
+                if (rateBits.compareAndSet(bits, Double.doubleToLongBits(next))) {
+                    bucket.setRate(next);
+                    decreases.increment();
+                    return;
+                }
+            }
+        }
+    }
+
+    @Override
+    public String report() {
+        if (groups.isEmpty()) {
+            return "";
+        }
+        Map<String, Group> sorted = new TreeMap<>(groups);
+        return "rate limiter: " + sorted.entrySet().stream()
+                .map(e -> String.format("%s rate=%.1f/s throttled=%d decreases=%d waited=%.1fms",
+                        e.getKey(), e.getValue().bucket.rate(), e.getValue().throttled.sum(),
+                        e.getValue().decreases.sum(), e.getValue().waitedNanos.sum() / 1e6))
+                .collect(Collectors.joining("; "));
+    }
+}
@@ -0,0 +1,71 @@
+package com.pet.petstore_tests.pipeline;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AdaptiveRateLimiterTest {
+
+    private static AdaptiveRateLimiter.Policy policy(long decreaseWindowMillis) {
+        return new AdaptiveRateLimiter.Policy(100, 1, 200, 10, 0.5, 10, 2.0, decreaseWindowMillis);
+    }
+
+    @Test
+    @DisplayName("429 уменьшает скорость группы вдвое, но не чаще раза за окно")
+    void throttling_decreasesRateOncePerWindow() {
+        AdaptiveRateLimiter limiter = new AdaptiveRateLimiter(policy(60_000));
+        AdaptiveRateLimiter.Group group = limiter.group("/pet");
+
+        group.onResponse(429, 1_000_000);
+        group.onResponse(429, 1_000_000);
+        group.onResponse(503, 1_000_000);
+
+        assertEquals(50, limiter.rate("/pet"), 0.001);
+        assertEquals(100, limiter.rate("/user"), 0.001);
+    }
+
+    @Test
+    @DisplayName("Успешные ответы аддитивно увеличивают скорость до максимума")
+    void successes_increaseRateAdditively() {
+        AdaptiveRateLimiter limiter = new AdaptiveRateLimiter(policy(0));
+        AdaptiveRateLimiter.Group group = limiter.group("/store");
+
+        for (int i = 0; i < 100; i++) {
+            group.onResponse(200, 1_000_000);
+        }
+        double afterOneSecondOfSuccesses = limiter.rate("/store");
+        assertTrue(afterOneSecondOfSuccesses > 109 && afterOneSecondOfSuccesses < 111, "rate=" + afterOneSecondOfSuccesses);
+
+        for (int i = 0; i < 10_000; i++) {
+            group.onResponse(200, 1_000_000);
+        }
+        assertEquals(200, limiter.rate("/store"), 0.001);
+    }
+
+    @Test
+    @DisplayName("Рост задержки выше базовой воспринимается как перегрузка")
+    void risingLatency_decreasesRate() {
+        AdaptiveRateLimiter limiter = new AdaptiveRateLimiter(policy(0));
+        AdaptiveRateLimiter.Group group = limiter.group("/user");
+        for (int i = 0; i < 20; i++) {
+            group.onResponse(200, 10_000_000);
+        }
+        double before = limiter.rate("/user");
+
+        for (int i = 0; i < 10; i++) {
+            group.onResponse(200, 100_000_000);
+        }
+
+        assertTrue(limiter.rate("/user") < before / 2, "rate=" + limiter.rate("/user"));
+    }
+
+    @Test
+    @DisplayName("Группа эндпоинта — первый сегмент пути")
+    void groupOf_usesFirstPathSegment() {
+        assertEquals("/pet", AdaptiveRateLimiter.groupOf("/pet/{petId}/uploadImage"));
+        assertEquals("/store", AdaptiveRateLimiter.groupOf("/store/order/{orderId}"));
+        assertEquals("/user", AdaptiveRateLimiter.groupOf("/user"));
+        assertEquals("/user", AdaptiveRateLimiter.groupOf("user/login?username=a"));
+    }
+}
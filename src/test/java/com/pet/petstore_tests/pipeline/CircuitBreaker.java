@@ -0,0 +1,129 @@
+package com.pet.petstore_tests.pipeline;
+
+import io.restassured.filter.FilterContext;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+
+import java.io.InterruptedIOException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Размыкается после threshold подряд идущих таймаутов или ответов 5xx.
+ * В разомкнутом состоянии запросы и оставшиеся тесты сразу падают с {@link CircuitOpenException}.
+ * При cooldownMillis > 0 (по умолчанию 10 с) по истечении паузы пропускается один пробный запрос:
+ * успешный замыкает цепь, неудачный начинает паузу заново. При 0 цепь остаётся разомкнутой до конца прогона.
+ */
+public final class CircuitBreaker implements PipelineStage {
+
+    private final int threshold;
+    private final long cooldownMillis;
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+    private final AtomicLong openedAt = new AtomicLong();
+    private final AtomicReference<String> reason = new AtomicReference<>();
+    private final LongAdder shortCircuited = new LongAdder();
+
+    public CircuitBreaker(int threshold, long cooldownMillis) {
+        this.threshold = threshold;
+        this.cooldownMillis = cooldownMillis;
+    }
+
+    static CircuitBreaker fromSystemProperties() {
+        return new CircuitBreaker(
+                PipelineProperties.intValue("petstore.breaker.threshold", 5),
+                PipelineProperties.longValue("petstore.breaker.cooldownMs", 10_000));
+    }
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec,
+                           FilterableResponseSpecification responseSpec,
+                           FilterContext ctx) {
+        acquire();
+        String request = requestSpec.getMethod() + " " + requestSpec.getUserDefinedPath();
+        Response response;
+        try {
+            response = ctx.next(requestSpec, responseSpec);
+        } catch (Exception e) {
+            //RestAssured пробрасывает SocketTimeoutException как непроверяемое исключение.
+            if (isTimeout(e)) {
+                onFailure("таймаут " + request);
+            }
+            throw e;
+        }
+        if (response.statusCode() >= 500) {
+            onFailure(response.statusCode() + " на " + request);
+        } else {
+            consecutiveFailures.set(0);
+            openedAt.set(0);
+        }
+        return response;
+    }
+
+    /**
+     * Бросает {@link CircuitOpenException}, если цепь разомкнута и пауза не истекла.
+     * Пробный запрос при этом не расходуется — проверка для старта теста.
+     */
+    public void checkClosed() {
+        long opened = openedAt.get();
+        if (opened != 0 && !cooldownElapsed(opened)) {
+            throw shortCircuit();
+        }
+    }
+
+    private void acquire() {
+        long opened = openedAt.get();
+        if (opened == 0) {
+            return;
+        }
+        boolean trial = cooldownElapsed(opened) && openedAt.compareAndSet(opened, System.nanoTime());
+        if (!trial) {
+            throw shortCircuit();
+        }
+    }
+
+    private boolean cooldownElapsed(long opened) {
+        return cooldownMillis > 0 && System.nanoTime() - opened >= TimeUnit.MILLISECONDS.toNanos(cooldownMillis);
+    }
+
+    private CircuitOpenException shortCircuit() {
+        shortCircuited.increment();
+        return new CircuitOpenException("Цепь разомкнута после " + threshold
+                + " подряд таймаутов/5xx, последний: " + reason.get()
+                + (cooldownMillis > 0
+                ? ". Сервис деградировал, запросы падают сразу до пробного через " + cooldownMillis + "ms после размыкания."
+                : ". Сервис деградировал, оставшиеся тесты падают сразу."));
+    }
+
+    public boolean isOpen() {
+        return openedAt.get() != 0;
+    }
+
+    private void onFailure(String description) {
+        reason.set(description);
+        if (consecutiveFailures.incrementAndGet() >= threshold) {
+            openedAt.compareAndSet(0, System.nanoTime());
+        }
+    }
+
+    private static boolean isTimeout(Throwable error) {
+        for (Throwable t = error; t != null; t = t.getCause()) {
+            if (t instanceof InterruptedIOException || t instanceof DeadlineExceededException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public String report() {
+        if (!isOpen() && shortCircuited.sum() == 0) {
+            return "";
+        }
+        return String.format("circuit breaker: open=%s short-circuited=%d last failure: %s",
+                isOpen(), shortCircuited.sum(), reason.get());
+    }
+}
@@ -0,0 +1,84 @@
+package com.pet.petstore_tests.pipeline;
+
+import com.sun.net.httpserver.HttpServer;
+import io.restassured.RestAssured;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.net.InetSocketAddress;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CircuitBreakerTest {
+
+    private HttpServer server;
+    private String baseUri;
+    private final AtomicInteger calls = new AtomicInteger();
+
+    @BeforeEach
+    void startServer() throws Exception {
+        //Глобальная спецификация API-тестов несёт общие фильтры конвейера — здесь они не нужны.
+        RestAssured.reset();
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/", exchange -> {
+            calls.incrementAndGet();
+            int status = exchange.getRequestURI().getPath().startsWith("/ok") ? 200 : 503;
+            exchange.sendResponseHeaders(status, -1);
+            exchange.close();
+        });
+        server.start();
+        baseUri = "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    @AfterEach
+    void stopServer() {
+        server.stop(0);
+    }
+
+    @Test
+    @DisplayName("Цепь размыкается после порога подряд идущих 5xx и дальше не пускает запросы")
+    void opensAfterConsecutiveServerErrors() {
+        CircuitBreaker breaker = new CircuitBreaker(3, 0);
+
+        for (int i = 0; i < 3; i++) {
+            RestAssured.given().baseUri(baseUri).filter(breaker).get("/store/inventory").then().statusCode(503);
+        }
+
+        assertTrue(breaker.isOpen());
+        CircuitOpenException error = assertThrows(CircuitOpenException.class,
+                () -> RestAssured.given().baseUri(baseUri).filter(breaker).get("/ok"));
+        assertTrue(error.getMessage().contains("503 на GET /store/inventory"), error.getMessage());
+        assertThrows(CircuitOpenException.class, breaker::checkClosed);
+        assertEquals(3, calls.get());
+    }
+
+    @Test
+    @DisplayName("Успешный ответ сбрасывает счётчик подряд идущих ошибок")
+    void successResetsFailureStreak() {
+        CircuitBreaker breaker = new CircuitBreaker(2, 0);
+
+        RestAssured.given().baseUri(baseUri).filter(breaker).get("/fail");
+        RestAssured.given().baseUri(baseUri).filter(breaker).get("/ok");
+        RestAssured.given().baseUri(baseUri).filter(breaker).get("/fail");
+
+        assertFalse(breaker.isOpen());
+    }
+
+    @Test
+    @DisplayName("После паузы пропускается пробный запрос, успех замыкает цепь")
+    void trialRequestAfterCooldownClosesCircuit() throws Exception {
+        CircuitBreaker breaker = new CircuitBreaker(1, 50);
+
+        RestAssured.given().baseUri(baseUri).filter(breaker).get("/fail");
+        assertTrue(breaker.isOpen());
+
+        Thread.sleep(100);
+        breaker.checkClosed();
+        RestAssured.given().baseUri(baseUri).filter(breaker).get("/ok").then().statusCode(200);
+
+        assertFalse(breaker.isOpen());
+    }
+}
@@ -0,0 +1,10 @@
+package com.pet.petstore_tests.pipeline;
+
+public class CircuitOpenException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public CircuitOpenException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,60 @@
+package com.pet.petstore_tests.pipeline;
+
+import io.restassured.config.HttpClientConfig;
+import io.restassured.config.RestAssuredConfig;
+import io.restassured.filter.FilterContext;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Передаёт остаток бюджета времени в connect/read таймауты запроса.
+ * Если бюджет уже исчерпан, запрос не отправляется.
+ */
+public final class DeadlineFilter implements PipelineStage {
+
+    private final long maxRequestMillis;
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    public DeadlineFilter(long maxRequestMillis) {
+        this.maxRequestMillis = maxRequestMillis;
+    }
+
+    static DeadlineFilter fromSystemProperties() {
+        return new DeadlineFilter(PipelineProperties.longValue("petstore.deadline.requestMs", 30_000));
+    }
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec,
+                           FilterableResponseSpecification responseSpec,
+                           FilterContext ctx) {
+        requests.increment();
+        long remaining = Deadlines.remainingMillis();
+        if (remaining <= 0) {
+            rejected.increment();
+            throw new DeadlineExceededException("Исчерпан " + Deadlines.describe() + " до запроса "
+                    + requestSpec.getMethod() + " " + requestSpec.getUserDefinedPath());
+        }
+
+        int timeout = (int) Math.min(Integer.MAX_VALUE,
+                maxRequestMillis > 0 ? Math.min(remaining, maxRequestMillis) : remaining);
+        RestAssuredConfig config = requestSpec.getConfig() == null
+                ? RestAssuredConfig.config() : requestSpec.getConfig();
+        HttpClientConfig httpClient = config.getHttpClientConfig()
+                .setParam("http.connection.timeout", timeout)
+                .setParam("http.socket.timeout", timeout);
+        requestSpec.config(config.httpClient(httpClient));
+
+        return ctx.next(requestSpec, responseSpec);
+    }
+
+    @Override
+    public String report() {
+        long rejectedCount = rejected.sum();
+        return rejectedCount == 0 ? "" : String.format("deadline: requests=%d rejected by budget=%d",
+                requests.sum(), rejectedCount);
+    }
+}
@@ -0,0 +1,76 @@
+package com.pet.petstore_tests.pipeline;
+
+import com.sun.net.httpserver.HttpServer;
+import io.restassured.RestAssured;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.net.InetSocketAddress;
+import java.net.SocketTimeoutException;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DeadlineFilterTest {
+
+    private HttpServer server;
+    private String baseUri;
+
+    @BeforeEach
+    void startServer() throws Exception {
+        //Глобальная спецификация API-тестов несёт общие фильтры конвейера — здесь они не нужны.
+        RestAssured.reset();
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.createContext("/", exchange -> {
+            try {
+                Thread.sleep(3000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            exchange.sendResponseHeaders(200, -1);
+            exchange.close();
+        });
+        server.start();
+        baseUri = "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    @AfterEach
+    void stopServer() {
+        server.stop(0);
+        Deadlines.endTest();
+    }
+
+    @Test
+    @DisplayName("Остаток бюджета теста становится read-таймаутом запроса")
+    void remainingBudget_becomesReadTimeout() {
+        Deadlines.startTest("remainingBudget", 300);
+        DeadlineFilter filter = new DeadlineFilter(30_000);
+
+        long start = System.nanoTime();
+        Exception error = assertThrows(Exception.class,
+                () -> RestAssured.given().baseUri(baseUri).filter(filter).get("/pet/1"));
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        assertInstanceOf(SocketTimeoutException.class, error);
+        assertTrue(elapsedMillis < 2000, "запрос ждал дольше бюджета: " + elapsedMillis + "ms");
+    }
+
+    @Test
+    @DisplayName("Запрос с исчерпанным бюджетом не отправляется, цепь считает это таймаутом")
+    void exhaustedBudget_failsFast() throws Exception {
+        Deadlines.startTest("exhaustedBudget", 1);
+        Thread.sleep(5);
+        CircuitBreaker breaker = new CircuitBreaker(1, 0);
+        DeadlineFilter filter = new DeadlineFilter(30_000);
+
+        DeadlineExceededException error = assertThrows(DeadlineExceededException.class,
+                () -> RestAssured.given().baseUri(baseUri).filter(breaker).filter(filter).get("/pet/1"));
+
+        assertTrue(error.getMessage().contains("GET /pet/1"), error.getMessage());
+        assertTrue(error.getMessage().contains("exhaustedBudget (1ms)"), error.getMessage());
+        assertTrue(breaker.isOpen());
+    }
+}
@@ -0,0 +1,60 @@
+package com.pet.petstore_tests.pipeline;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Бюджеты времени на тест и на весь прогон. Бюджет прогона отсчитывается от загрузки класса,
+ * бюджет теста — от {@link #startTest(String)}. Значение 0 означает «без ограничения».
+ */
+public final class Deadlines {
+
+    public static final long UNLIMITED = Long.MAX_VALUE;
+
+    private static final long TEST_BUDGET_MILLIS = PipelineProperties.longValue("petstore.deadline.testMs", 60_000);
+    private static final long SUITE_BUDGET_MILLIS = PipelineProperties.longValue("petstore.deadline.suiteMs", 0);
+    private static final long SUITE_DEADLINE = deadlineAfter(SUITE_BUDGET_MILLIS);
+
+    private static final ThreadLocal<TestDeadline> CURRENT = new ThreadLocal<>();
+
+    private record TestDeadline(String name, long budgetMillis, long deadlineNanos) {
+    }
+
+    private Deadlines() {
+    }
+
+    public static void startTest(String name) {
+        startTest(name, TEST_BUDGET_MILLIS);
+    }
+
+    public static void startTest(String name, long budgetMillis) {
+        CURRENT.set(new TestDeadline(name, budgetMillis, deadlineAfter(budgetMillis)));
+    }
+
+    public static void endTest() {
+        CURRENT.remove();
+    }
+
+    /**
+     * @return оставшееся время в миллисекундах или {@link #UNLIMITED}
+     */
+    public static long remainingMillis() {
+        TestDeadline test = CURRENT.get();
+        long deadline = Math.min(SUITE_DEADLINE, test == null ? UNLIMITED : test.deadlineNanos());
+        if (deadline == UNLIMITED) {
+            return UNLIMITED;
+        }
+        return TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+    }
+
+    static String describe() {
+        TestDeadline test = CURRENT.get();
+        if (test != null && test.deadlineNanos() <= SUITE_DEADLINE) {
+            return "бюджет теста " + test.name() + " (" + test.budgetMillis() + "ms)";
+        }
+        return "бюджет прогона (" + SUITE_BUDGET_MILLIS + "ms)";
+    }
+
+    private static long deadlineAfter(long budgetMillis) {
+        return budgetMillis <= 0 ? UNLIMITED : System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(budgetMillis);
+    }
+}
@@ -0,0 +1,218 @@
+package com.pet.petstore_tests.pipeline;
+
+import com.pet.petstore_tests.alloc.AllocationProfiler;
+import com.pet.petstore_tests.load.LatencyHistogram;
+import io.restassured.RestAssured;
+import io.restassured.filter.FilterContext;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Хеджирование идемпотентных GET: если ответ не пришёл за время, равное заданному перцентилю
+ * наблюдаемой задержки эндпоинта, отправляется копия запроса и берётся первый из ответов.
+ * Доля хеджированных запросов ограничена бюджетом. GET с побочным эффектом ({@link #SESSION_PATHS}:
+ * логин и логаут создают и закрывают сессию) не хеджируются.
+ */
+public final class HedgingFilter implements PipelineStage {
+
+    public record Policy(double percentile, double budget, int minSamples, long initialDelayMillis) {
+
+        static Policy fromSystemProperties() {
+            return new Policy(
+                    PipelineProperties.doubleValue("petstore.hedge.percentile", 95),
+                    PipelineProperties.doubleValue("petstore.hedge.budget", 0.05),
+                    PipelineProperties.intValue("petstore.hedge.minSamples", 20),
+                    PipelineProperties.longValue("petstore.hedge.initialDelayMs", 1000));
+        }
+    }
+
+    //Шаблоны GET, которые меняют состояние на сервере: копия запроса дала бы лишний логин или логаут.
+    static final Set<String> SESSION_PATHS = Set.of("/user/login", "/user/logout");
+
+    private final Policy policy;
+    private final ConcurrentHashMap<String, LatencyHistogram> latencies = new ConcurrentHashMap<>();
+    private final ExecutorService executor = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "hedge");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final LongAdder requests = new LongAdder();
+    private final AtomicLong hedged = new AtomicLong();
+    private final LongAdder hedgeWins = new LongAdder();
+    private final LongAdder savedNanos = new LongAdder();
+
+    public HedgingFilter(Policy policy) {
+        this.policy = policy;
+    }
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec,
+                           FilterableResponseSpecification responseSpec,
+                           FilterContext ctx) {
+        if (!"GET".equalsIgnoreCase(requestSpec.getMethod()) || !isIdempotent(requestSpec.getUserDefinedPath())) {
+            return ctx.next(requestSpec, responseSpec);
+        }
+        requests.increment();
+        LatencyHistogram histogram = latencies.computeIfAbsent(requestSpec.getUserDefinedPath(),
+                path -> new LatencyHistogram());
+
+        long start = System.nanoTime();
+        if (!budgetAvailable()) {
+            //Хедж всё равно не будет отправлен — запрос идёт в потоке теста, без пересадки в пул.
+            Response response = ctx.next(requestSpec, responseSpec);
+            histogram.recordNanos(System.nanoTime() - start);
+            return response;
+        }
+        //Основной запрос уходит в пул, чтобы поток теста мог вернуть ответ хеджа, не дожидаясь его.
+        //Аллокации пула передаются AllocationProfiler, иначе фаза SEND таких GET была бы почти нулевой.
+        AtomicLong primaryBytes = new AtomicLong();
+        CompletableFuture<Response> primary = CompletableFuture.supplyAsync(() -> {
+            long before = AllocationProfiler.currentThreadAllocatedBytes();
+            try {
+                return ctx.next(requestSpec, responseSpec);
+            } finally {
+                primaryBytes.set(AllocationProfiler.currentThreadAllocatedBytes() - before);
+            }
+        }, executor);
+        try {
+            Response response = primary.get(hedgeDelayNanos(histogram), TimeUnit.NANOSECONDS);
+            histogram.recordNanos(System.nanoTime() - start);
+            AllocationProfiler.addOffloaded(primaryBytes.get());
+            return response;
+        } catch (TimeoutException e) {
+            if (!tryAcquireBudget()) {
+                Response response = await(primary);
+                histogram.recordNanos(System.nanoTime() - start);
+                AllocationProfiler.addOffloaded(primaryBytes.get());
+                return response;
+            }
+            Response response = race(requestSpec, primary, histogram, start);
+            if (primary.isDone() && !primary.isCompletedExceptionally() && primary.join() == response) {
+                AllocationProfiler.addOffloaded(primaryBytes.get());
+            }
+            return response;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        } catch (ExecutionException e) {
+            throw unwrap(e);
+        }
+    }
+
+    private Response race(FilterableRequestSpecification requestSpec,
+                          CompletableFuture<Response> primary,
+                          LatencyHistogram histogram,
+                          long start) {
+        String uri = requestSpec.getURI();
+        CompletableFuture<Response> hedge = CompletableFuture.supplyAsync(() -> RestAssured.given()
+                .noFilters()
+                .config(requestSpec.getConfig())
+                .urlEncodingEnabled(false)
+                .headers(requestSpec.getHeaders())
+                .cookies(requestSpec.getCookies())
+                .get(uri), executor);
+
+        CompletableFuture<Object> first = CompletableFuture.anyOf(primary, hedge);
+        Response winner;
+        try {
+            winner = (Response) await(first);
+        } catch (RuntimeException e) {
+            winner = primary.isCompletedExceptionally() ? await(hedge) : await(primary);
+        }
+        long winnerDone = System.nanoTime();
+
+        if (hedge.isDone() && !hedge.isCompletedExceptionally() && hedge.join() == winner) {
+            hedgeWins.increment();
+            primary.whenComplete((response, error) -> {
+                if (error == null) {
+                    long primaryDone = System.nanoTime();
+                    histogram.recordNanos(primaryDone - start);
+                    savedNanos.add(primaryDone - winnerDone);
+                }
+            });
+        } else {
+            histogram.recordNanos(winnerDone - start);
+        }
+        return winner;
+    }
+
+    static boolean isIdempotent(String path) {
+        if (path == null) {
+            return true;
+        }
+        int query = path.indexOf('?');
+        String template = query < 0 ? path : path.substring(0, query);
+        return !SESSION_PATHS.contains(template.startsWith("/") ? template : "/" + template);
+    }
+
+    private long hedgeDelayNanos(LatencyHistogram histogram) {
+        if (histogram.count() < policy.minSamples()) {
+            return TimeUnit.MILLISECONDS.toNanos(policy.initialDelayMillis());
+        }
+        return Math.max(1, histogram.percentileNanos(policy.percentile()));
+    }
+
+    private boolean budgetAvailable() {
+        return hedged.get() + 1 <= policy.budget() * requests.sum() + 1;
+    }
+
+    private boolean tryAcquireBudget() {
+        while (true) {
+            long current = hedged.get();
+            if (current + 1 > policy.budget() * requests.sum() + 1) {
+                return false;
+            }
+            if (hedged.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    private static <T> T await(CompletableFuture<T> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        } catch (ExecutionException e) {
+            throw unwrap(e);
+        }
+    }
+
+    private static RuntimeException unwrap(ExecutionException e) {
+        return e.getCause() instanceof RuntimeException runtime ? runtime : new IllegalStateException(e.getCause());
+    }
+
+    public long hedgedRequests() {
+        return hedged.get();
+    }
+
+    public long hedgeWins() {
+        return hedgeWins.sum();
+    }
+
+    @Override
+    public String report() {
+        long total = requests.sum();
+        if (total == 0) {
+            return "";
+        }
+        long wins = hedgeWins.sum();
+        return String.format("hedging: GET=%d hedged=%d (%.1f%%) hedge wins=%d saved=%.1fms (avg %.1fms per win)",
+                total, hedged.get(), 100.0 * hedged.get() / total, wins,
+                savedNanos.sum() / 1e6, wins == 0 ? 0 : savedNanos.sum() / 1e6 / wins);
+    }
+}
@@ -0,0 +1,120 @@
+package com.pet.petstore_tests.pipeline;
+
+import com.sun.net.httpserver.HttpServer;
+import io.restassured.RestAssured;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class HedgingFilterTest {
+
+    private HttpServer server;
+    private final AtomicInteger calls = new AtomicInteger();
+    private final AtomicInteger sessionCalls = new AtomicInteger();
+
+    @BeforeEach
+    void startServer() throws Exception {
+        //Глобальная спецификация API-тестов несёт общие фильтры конвейера — здесь они не нужны.
+        RestAssured.reset();
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.createContext("/pet", exchange -> {
+            //Первый запрос к /pet/slow «зависает», все последующие отвечают сразу.
+            if (exchange.getRequestURI().getPath().endsWith("/slow") && calls.incrementAndGet() == 1) {
+                sleep(3000);
+            }
+            byte[] body = "{\"id\":1}".getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        server.createContext("/user", exchange -> {
+            sessionCalls.incrementAndGet();
+            sleep(50);
+            exchange.sendResponseHeaders(200, -1);
+            exchange.close();
+        });
+        server.start();
+    }
+
+    @AfterEach
+    void stopServer() {
+        server.stop(0);
+    }
+
+    @Test
+    @DisplayName("Медленный GET хеджируется, выигрывает копия запроса")
+    void slowGet_isHedged() {
+        HedgingFilter filter = new HedgingFilter(new HedgingFilter.Policy(95, 1.0, 100, 300));
+        String baseUri = "http://127.0.0.1:" + server.getAddress().getPort();
+
+        //Прогрев RestAssured, чтобы первый запрос не тратил задержку хеджа на инициализацию.
+        RestAssured.given().baseUri(baseUri).get("/pet/1").then().statusCode(200);
+
+        long start = System.nanoTime();
+        RestAssured.given()
+                .baseUri(baseUri)
+                .filter(filter)
+                .pathParam("petId", "slow")
+                .when()
+                .get("/pet/{petId}")
+                .then()
+                .statusCode(200)
+                .body("id", equalTo(1));
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        assertEquals(1, filter.hedgedRequests());
+        assertEquals(1, filter.hedgeWins());
+        assertTrue(elapsedMillis < 2500, "ответ ждал медленный запрос: " + elapsedMillis + "ms");
+    }
+
+    @Test
+    @DisplayName("При исчерпанном бюджете хедж не отправляется")
+    void budget_limitsHedges() {
+        HedgingFilter filter = new HedgingFilter(new HedgingFilter.Policy(95, 0.0, 100, 1));
+        String baseUri = "http://127.0.0.1:" + server.getAddress().getPort();
+
+        for (int i = 0; i < 4; i++) {
+            RestAssured.given().baseUri(baseUri).filter(filter).get("/pet/slow").then().statusCode(200);
+        }
+
+        //Бюджет 0% всё равно допускает один хедж, дальнейшие запрещены.
+        assertEquals(1, filter.hedgedRequests());
+    }
+
+    @Test
+    @DisplayName("Логин и логаут не хеджируются, даже если медленные")
+    void sessionGets_areNotHedged() {
+        HedgingFilter filter = new HedgingFilter(new HedgingFilter.Policy(95, 1.0, 100, 1));
+        String baseUri = "http://127.0.0.1:" + server.getAddress().getPort();
+
+        RestAssured.given().baseUri(baseUri).filter(filter)
+                .queryParam("username", "u").get("/user/login").then().statusCode(200);
+        RestAssured.given().baseUri(baseUri).filter(filter).get("user/logout").then().statusCode(200);
+
+        assertEquals(2, sessionCalls.get());
+        assertEquals(0, filter.hedgedRequests());
+        assertFalse(HedgingFilter.isIdempotent("/user/login?username=a&password=b"));
+        assertTrue(HedgingFilter.isIdempotent("/user/{username}"));
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.pet.petstore_tests.pipeline;
+
+import com.pet.petstore_tests.alloc.AllocationProfiler;
+import com.pet.petstore_tests.cleanup.ResourceRegistry;
+import org.junit.jupiter.api.extension.AfterEachCallback;
+import org.junit.jupiter.api.extension.BeforeAllCallback;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+/**
+ * Запускает бюджет времени каждого теста и не даёт стартовать тестам при разомкнутой цепи.
+ * По окончании прогона удаляет сущности, созданные тестами ({@link ResourceRegistry}).
+ */
+public class PipelineExtension implements BeforeAllCallback, BeforeEachCallback, AfterEachCallback {
+
+    private static final ExtensionContext.Namespace NAMESPACE = ExtensionContext.Namespace.create(PipelineExtension.class);
+
+    @Override
+    public void beforeAll(ExtensionContext context) {
+        RequestPipeline.get().stage(ResourceRegistry.class).ifPresent(registry ->
+                //Ресурс в корневом хранилище закрывается один раз — после окончания всех тестов прогона.
+                context.getRoot().getStore(NAMESPACE).getOrComputeIfAbsent(RunCleanup.class,
+                        key -> new RunCleanup(registry), RunCleanup.class));
+    }
+
+    @Override
+    public void beforeEach(ExtensionContext context) {
+        RequestPipeline.get().stage(CircuitBreaker.class).ifPresent(CircuitBreaker::checkClosed);
+        Deadlines.startTest(context.getDisplayName());
+    }
+
+    @Override
+    public void afterEach(ExtensionContext context) {
+        Deadlines.endTest();
+        RequestPipeline.get().stage(AllocationProfiler.class).ifPresent(AllocationProfiler::endTest);
+        RequestPipeline.get().stage(ResourceRegistry.class).ifPresent(ResourceRegistry::flush);
+    }
+
+    private record RunCleanup(ResourceRegistry registry) implements ExtensionContext.Store.CloseableResource {
+
+        @Override
+        public void close() {
+            //Уборка вызывается и без незакрытых сущностей: она сжимает и отпускает журнал этой JVM.
+            boolean anything = !registry.pending().isEmpty();
+            ResourceRegistry.CleanupReport report = registry.cleanup();
+            if (anything) {
+                System.out.println(report);
+            }
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.pet.petstore_tests.pipeline;
+
+final class PipelineProperties {
+
+    private PipelineProperties() {
+    }
+
+    static boolean flag(String name) {
+        return Boolean.getBoolean(name);
+    }
+
+    static boolean flag(String name, boolean defaultValue) {
+        return Boolean.parseBoolean(System.getProperty(name, String.valueOf(defaultValue)));
+    }
+
+    static int intValue(String name, int defaultValue) {
+        return Integer.parseInt(System.getProperty(name, String.valueOf(defaultValue)));
+    }
+
+    static long longValue(String name, long defaultValue) {
+        return Long.parseLong(System.getProperty(name, String.valueOf(defaultValue)));
+    }
+
+    static double doubleValue(String name, double defaultValue) {
+        return Double.parseDouble(System.getProperty(name, String.valueOf(defaultValue)));
+    }
+}
@@ -0,0 +1,14 @@
+package com.pet.petstore_tests.pipeline;
+
+import io.restassured.filter.Filter;
+
+/**
+ * Фильтр конвейера запросов, который накапливает статистику для итогового отчёта.
+ */
+public interface PipelineStage extends Filter {
+
+    /**
+     * @return строка отчёта или пустая строка, если стадия ничего не делала
+     */
+    String report();
+}
@@ -0,0 +1,75 @@
+package com.pet.petstore_tests.pipeline;
+
+import com.pet.petstore_tests.alloc.AllocationProfiler;
+import com.pet.petstore_tests.baseline.BaselineExtension;
+import com.pet.petstore_tests.baseline.RunTimings;
+import com.pet.petstore_tests.cleanup.ResourceRegistry;
+import io.restassured.filter.Filter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * Набор фильтров, которые BaseApiTest добавляет в спецификацию запросов.
+ * Стадии включаются и выключаются system properties: уборка, circuit breaker и бюджеты времени
+ * по умолчанию включены, остальные выключены.
+ */
+public final class RequestPipeline {
+
+    private static final RequestPipeline INSTANCE = fromSystemProperties();
+
+    private final List<PipelineStage> stages;
+
+    RequestPipeline(List<PipelineStage> stages) {
+        this.stages = List.copyOf(stages);
+    }
+
+    public static RequestPipeline get() {
+        return INSTANCE;
+    }
+
+    static RequestPipeline fromSystemProperties() {
+        List<PipelineStage> stages = new ArrayList<>();
+        //Самой внешней стадией: в фазу SEND входят аллокации всех остальных стадий.
+        if (PipelineProperties.flag("petstore.alloc.enabled") && AllocationProfiler.isSupported()) {
+            stages.add(new AllocationProfiler());
+        }
+        //Внешней стадией, чтобы видеть итоговый ответ и не попадать во время запроса.
+        if (PipelineProperties.flag("petstore.cleanup.enabled", true)) {
+            stages.add(new ResourceRegistry(ResourceRegistry.Settings.fromSystemProperties()));
+        }
+        if (BaselineExtension.isEnabled()) {
+            stages.add(RunTimings.get());
+        }
+        if (PipelineProperties.flag("petstore.breaker.enabled", true)) {
+            stages.add(CircuitBreaker.fromSystemProperties());
+        }
+        if (PipelineProperties.flag("petstore.deadline.enabled", true)) {
+            stages.add(DeadlineFilter.fromSystemProperties());
+        }
+        if (PipelineProperties.flag("petstore.ratelimit.enabled")) {
+            stages.add(new AdaptiveRateLimiter(AdaptiveRateLimiter.Policy.fromSystemProperties()));
+        }
+        if (PipelineProperties.flag("petstore.hedge.enabled")) {
+            stages.add(new HedgingFilter(HedgingFilter.Policy.fromSystemProperties()));
+        }
+        return new RequestPipeline(stages);
+    }
+
+    public <T extends PipelineStage> Optional<T> stage(Class<T> type) {
+        return stages.stream().filter(type::isInstance).map(type::cast).findFirst();
+    }
+
+    public List<Filter> filters() {
+        return new ArrayList<>(stages);
+    }
+
+    public String report() {
+        return stages.stream()
+                .map(PipelineStage::report)
+                .filter(line -> !line.isEmpty())
+                .collect(Collectors.joining(System.lineSeparator()));
+    }
+}
@@ -0,0 +1,65 @@
+package com.pet.petstore_tests.pipeline;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Неблокирующий token bucket в форме GCRA: состояние — одно время «следующего свободного слота»,
+ * которое двигается через CAS. Ёмкость burst задаёт, сколько запросов можно отправить разом после простоя.
+ */
+public final class TokenBucket {
+
+    private final AtomicLong nextFreeNanos = new AtomicLong(System.nanoTime());
+    private final AtomicLong intervalNanos = new AtomicLong();
+    private final int burst;
+
+    public TokenBucket(double ratePerSecond, int burst) {
+        this.burst = Math.max(1, burst);
+        setRate(ratePerSecond);
+    }
+
+    public void setRate(double ratePerSecond) {
+        intervalNanos.set(Math.max(1, (long) (TimeUnit.SECONDS.toNanos(1) / ratePerSecond)));
+    }
+
+    public double rate() {
+        return (double) TimeUnit.SECONDS.toNanos(1) / intervalNanos.get();
+    }
+
+    /**
+     * Резервирует токен и возвращает, сколько нужно подождать до его использования (0 — сразу).
+     */
+    public long reserveNanos() {
+        return reserveNanos(Long.MAX_VALUE);
+    }
+
+    /**
+     * Как {@link #reserveNanos()}, но если ждать пришлось бы дольше maxWaitNanos, токен не резервируется:
+     * возвращается нужное ожидание, а слот остаётся следующим запросам.
+     */
+    public long reserveNanos(long maxWaitNanos) {
+        while (true) {
+            long interval = intervalNanos.get();
+            long current = nextFreeNanos.get();
+            long now = System.nanoTime();
+            long slot = Math.max(current, now - (burst - 1) * interval);
+            long wait = Math.max(0, slot - now);
+            if (wait > maxWaitNanos || nextFreeNanos.compareAndSet(current, slot + interval)) {
+                return wait;
+            }
+        }
+    }
+
+    /**
+     * Резервирует токен и ждёт его. Возвращает время ожидания.
+     */
+    public long acquire() {
+        long wait = reserveNanos();
+        long deadline = System.nanoTime() + wait;
+        for (long left = wait; left > 0; left = deadline - System.nanoTime()) {
+            LockSupport.parkNanos(left);
+        }
+        return wait;
+    }
+}
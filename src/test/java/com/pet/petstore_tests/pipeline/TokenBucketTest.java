@@ -0,0 +1,73 @@
+package com.pet.petstore_tests.pipeline;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TokenBucketTest {
+
+    @Test
+    @DisplayName("После простоя доступно burst токенов без ожидания")
+    void burst_isAvailableImmediately() throws Exception {
+        TokenBucket bucket = new TokenBucket(10, 5);
+        Thread.sleep(600);
+
+        for (int i = 0; i < 5; i++) {
+            assertEquals(0, bucket.reserveNanos());
+        }
+        assertTrue(bucket.reserveNanos() > 0);
+    }
+
+    @Test
+    @DisplayName("Резервирования из многих потоков выдерживают заданную скорость")
+    void concurrentReservations_respectRate() throws Exception {
+        TokenBucket bucket = new TokenBucket(1000, 1);
+        int threads = 8;
+        int perThread = 50;
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch done = new CountDownLatch(threads);
+
+        long start = System.nanoTime();
+        for (int t = 0; t < threads; t++) {
+            pool.submit(() -> {
+                for (int i = 0; i < perThread; i++) {
+                    bucket.acquire();
+                }
+                done.countDown();
+            });
+        }
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        pool.shutdown();
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        //400 токенов при 1000/с — не быстрее ~400ms.
+        assertTrue(elapsedMillis >= 390, "токены выданы слишком быстро: " + elapsedMillis + "ms");
+    }
+
+    @Test
+    @DisplayName("Слишком долгое ожидание не занимает слот")
+    void reserveWithLimit_doesNotConsumeSlotWhenWaitTooLong() {
+        TokenBucket bucket = new TokenBucket(1, 1);
+        bucket.reserveNanos();
+
+        long wait = bucket.reserveNanos(TimeUnit.MILLISECONDS.toNanos(100));
+        assertTrue(wait > TimeUnit.MILLISECONDS.toNanos(100));
+        //Отказ не сдвинул очередь: следующему ждать столько же, а не вдвое дольше.
+        assertTrue(bucket.reserveNanos() <= wait);
+    }
+
+    @Test
+    @DisplayName("Смена скорости меняет интервал между токенами")
+    void setRate_changesInterval() {
+        TokenBucket bucket = new TokenBucket(100, 1);
+        bucket.setRate(20);
+
+        assertEquals(20, bucket.rate(), 0.001);
+    }
+}
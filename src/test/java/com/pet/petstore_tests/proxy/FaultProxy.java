@@ -0,0 +1,414 @@
+package com.pet.petstore_tests.proxy;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Встраиваемый неблокирующий TCP-прокси с программируемыми искажениями ({@link Toxic}).
+ * Весь трафик обслуживает один поток с {@link Selector}; искажения можно менять на лету из теста.
+ *
+ * <pre>
+ * try (FaultProxy proxy = FaultProxy.start("petstore.local", 8080)) {
+ *     proxy.addToxic(FaultProxy.Direction.DOWNSTREAM, new Toxic.Latency(200, 50));
+ *     given().baseUri("http://127.0.0.1:" + proxy.port()) ...
+ * }
+ * </pre>
+ */
+public final class FaultProxy implements AutoCloseable {
+
+    /**
+     * UPSTREAM — от клиента к сервису, DOWNSTREAM — от сервиса к клиенту.
+     */
+    public enum Direction { UPSTREAM, DOWNSTREAM }
+
+    private static final int READ_BUFFER = 16 * 1024;
+    private static final long MAX_QUEUED_BYTES = 256 * 1024;
+
+    private final InetSocketAddress target;
+    private final Selector selector;
+    private final ServerSocketChannel server;
+    private final Thread loop;
+    private final Map<Direction, List<Toxic>> toxics = new EnumMap<>(Direction.class);
+    private final Set<Connection> connections = new HashSet<>();
+    private final ByteBuffer readBuffer = ByteBuffer.allocateDirect(READ_BUFFER);
+    private volatile boolean running = true;
+
+    private final AtomicLong accepted = new AtomicLong();
+    private final AtomicLong bytesUpstream = new AtomicLong();
+    private final AtomicLong bytesDownstream = new AtomicLong();
+    private final AtomicLong resets = new AtomicLong();
+    private final AtomicLong truncations = new AtomicLong();
+
+    private FaultProxy(InetSocketAddress target, int listenPort) throws IOException {
+        this.target = target;
+        for (Direction direction : Direction.values()) {
+            toxics.put(direction, new CopyOnWriteArrayList<>());
+        }
+        selector = Selector.open();
+        server = ServerSocketChannel.open();
+        server.bind(new InetSocketAddress("127.0.0.1", listenPort));
+        server.configureBlocking(false);
+        server.register(selector, SelectionKey.OP_ACCEPT);
+        loop = new Thread(this::run, "fault-proxy-" + port());
+        loop.setDaemon(true);
+    }
+
+    public static FaultProxy start(String targetHost, int targetPort) throws IOException {
+        return start(targetHost, targetPort, 0);
+    }
+
+    public static FaultProxy start(String targetHost, int targetPort, int listenPort) throws IOException {
+        FaultProxy proxy = new FaultProxy(new InetSocketAddress(targetHost, targetPort), listenPort);
+        proxy.loop.start();
+        return proxy;
+    }
+
+    public int port() {
+        return server.socket().getLocalPort();
+    }
+
+    public FaultProxy addToxic(Direction direction, Toxic toxic) {
+        toxics.get(direction).add(toxic);
+        return this;
+    }
+
+    public FaultProxy clearToxics() {
+        toxics.values().forEach(List::clear);
+        return this;
+    }
+
+    public Stats stats() {
+        return new Stats(accepted.get(), bytesUpstream.get(), bytesDownstream.get(), resets.get(), truncations.get());
+    }
+
+    public record Stats(long connections, long bytesUpstream, long bytesDownstream, long resets, long truncations) {
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        selector.wakeup();
+        try {
+            loop.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void run() {
+        try {
+            while (running) {
+                long now = System.nanoTime();
+                long nextWake = Long.MAX_VALUE;
+                for (Connection connection : new ArrayList<>(connections)) {
+                    nextWake = Math.min(nextWake, connection.pump(now));
+                }
+                long timeoutMillis = nextWake == Long.MAX_VALUE ? 0
+                        : Math.max(1, TimeUnit.NANOSECONDS.toMillis(nextWake - System.nanoTime()) + 1);
+                selector.select(timeoutMillis);
+
+                for (SelectionKey key : selector.selectedKeys()) {
+                    if (!key.isValid()) {
+                        continue;
+                    }
+                    if (key.isAcceptable()) {
+                        accept();
+                    } else {
+                        ((Connection) key.attachment()).onReady(key);
+                    }
+                }
+                selector.selectedKeys().clear();
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Цикл прокси остановлен", e);
+        } finally {
+            new ArrayList<>(connections).forEach(Connection::close);
+            closeQuietly(server);
+            closeQuietly(selector);
+        }
+    }
+
+    private void accept() throws IOException {
+        SocketChannel client = server.accept();
+        if (client == null) {
+            return;
+        }
+        accepted.incrementAndGet();
+        client.configureBlocking(false);
+        client.setOption(StandardSocketOptions.TCP_NODELAY, true);
+        SocketChannel upstream = SocketChannel.open();
+        upstream.configureBlocking(false);
+        upstream.setOption(StandardSocketOptions.TCP_NODELAY, true);
+
+        Connection connection = new Connection(client, upstream);
+        connections.add(connection);
+        try {
+            boolean connected = upstream.connect(target);
+            connection.clientKey = client.register(selector, SelectionKey.OP_READ, connection);
+            connection.upstreamKey = upstream.register(selector,
+                    connected ? SelectionKey.OP_READ : SelectionKey.OP_CONNECT, connection);
+            connection.connected = connected;
+        } catch (IOException e) {
+            connection.close();
+        }
+    }
+
+    private static void closeQuietly(AutoCloseable closeable) {
+        try {
+            closeable.close();
+        } catch (Exception ignored) {
+        }
+    }
+
+    private record Chunk(ByteBuffer data, long releaseAt) {
+    }
+
+    /**
+     * Одно направление внутри соединения: очередь задержанных блоков и состояние искажений.
+     */
+    private final class Pipe {
+        final Direction direction;
+        final SocketChannel source;
+        final SocketChannel destination;
+        final ArrayDeque<Chunk> queue = new ArrayDeque<>();
+        long queuedBytes;
+        long readBytes;
+        long lastReleaseAt;
+        long nextWriteAt;
+        boolean sourceEof;
+        boolean truncated;
+        boolean outputShutdown;
+        boolean writeBlocked;
+
+        Pipe(Direction direction, SocketChannel source, SocketChannel destination) {
+            this.direction = direction;
+            this.source = source;
+            this.destination = destination;
+        }
+
+        boolean wantsRead() {
+            return !sourceEof && !truncated && queuedBytes < MAX_QUEUED_BYTES;
+        }
+
+        /**
+         * @return false, если соединение нужно сбросить
+         */
+        boolean read() throws IOException {
+            readBuffer.clear();
+            int n = source.read(readBuffer);
+            if (n < 0) {
+                sourceEof = true;
+                return true;
+            }
+            if (n == 0) {
+                return true;
+            }
+            readBuffer.flip();
+
+            long latency = 0;
+            long limit = Long.MAX_VALUE;
+            long resetAfter = Long.MAX_VALUE;
+            boolean blackhole = false;
+            for (Toxic toxic : toxics.get(direction)) {
+                if (toxic instanceof Toxic.Latency l) {
+                    long jitter = l.jitterMillis() == 0 ? 0
+                            : ThreadLocalRandom.current().nextLong(-l.jitterMillis(), l.jitterMillis() + 1);
+                    latency += TimeUnit.MILLISECONDS.toNanos(Math.max(0, l.millis() + jitter));
+                } else if (toxic instanceof Toxic.LimitData d) {
+                    limit = Math.min(limit, d.bytes());
+                } else if (toxic instanceof Toxic.ResetPeer r) {
+                    resetAfter = Math.min(resetAfter, r.afterBytes());
+                } else if (toxic instanceof Toxic.Blackhole) {
+                    blackhole = true;
+                }
+            }
+
+            int accepted = n;
+            if (readBytes + n >= resetAfter) {
+                return false;
+            }
+            if (readBytes + n > limit) {
+                accepted = (int) Math.max(0, limit - readBytes);
+                truncated = true;
+                truncations.incrementAndGet();
+            }
+            readBytes += n;
+            if (blackhole || accepted == 0) {
+                return true;
+            }
+
+            ByteBuffer copy = ByteBuffer.allocate(accepted);
+            readBuffer.limit(accepted);
+            copy.put(readBuffer).flip();
+            long releaseAt = Math.max(lastReleaseAt, System.nanoTime() + latency);
+            lastReleaseAt = releaseAt;
+            queue.add(new Chunk(copy, releaseAt));
+            queuedBytes += accepted;
+            return true;
+        }
+
+        /**
+         * Пишет всё, что уже можно отдать. Возвращает момент следующей попытки или Long.MAX_VALUE.
+         */
+        long write(long now, boolean connected) throws IOException {
+            writeBlocked = false;
+            if (!connected) {
+                return Long.MAX_VALUE;
+            }
+            long bandwidth = Long.MAX_VALUE;
+            for (Toxic toxic : toxics.get(direction)) {
+                if (toxic instanceof Toxic.Bandwidth b) {
+                    bandwidth = Math.min(bandwidth, b.bytesPerSecond());
+                }
+            }
+
+            while (!queue.isEmpty()) {
+                Chunk head = queue.peek();
+                if (head.releaseAt() > now) {
+                    return head.releaseAt();
+                }
+                if (bandwidth != Long.MAX_VALUE && nextWriteAt > now) {
+                    return nextWriteAt;
+                }
+                ByteBuffer data = head.data();
+                int oldLimit = data.limit();
+                if (bandwidth != Long.MAX_VALUE) {
+                    // Отдаём порцию примерно на 10ms и откладываем следующую запись.
+                    long slice = Math.max(1, bandwidth / 100);
+                    data.limit((int) Math.min(oldLimit, data.position() + slice));
+                }
+                int written = destination.write(data);
+                data.limit(oldLimit);
+                queuedBytes -= written;
+                (direction == Direction.UPSTREAM ? bytesUpstream : bytesDownstream).addAndGet(written);
+                if (bandwidth != Long.MAX_VALUE && written > 0) {
+                    nextWriteAt = now + TimeUnit.SECONDS.toNanos(written) / bandwidth;
+                }
+                if (data.hasRemaining()) {
+                    if (written == 0) {
+                        writeBlocked = true;
+                        return Long.MAX_VALUE;
+                    }
+                    continue;
+                }
+                queue.poll();
+            }
+
+            if ((sourceEof || truncated) && !outputShutdown) {
+                outputShutdown = true;
+                destination.shutdownOutput();
+            }
+            return Long.MAX_VALUE;
+        }
+    }
+
+    private final class Connection {
+        final SocketChannel client;
+        final SocketChannel upstream;
+        final Pipe up;
+        final Pipe down;
+        SelectionKey clientKey;
+        SelectionKey upstreamKey;
+        boolean connected;
+        boolean closed;
+
+        Connection(SocketChannel client, SocketChannel upstream) {
+            this.client = client;
+            this.upstream = upstream;
+            this.up = new Pipe(Direction.UPSTREAM, client, upstream);
+            this.down = new Pipe(Direction.DOWNSTREAM, upstream, client);
+        }
+
+        void onReady(SelectionKey key) {
+            try {
+                if (key.isConnectable()) {
+                    upstream.finishConnect();
+                    connected = true;
+                }
+                if (key.isReadable()) {
+                    Pipe pipe = key.channel() == client ? up : down;
+                    if (!pipe.read()) {
+                        reset();
+                        return;
+                    }
+                }
+            } catch (IOException e) {
+                close();
+                return;
+            }
+            updateInterest();
+        }
+
+        long pump(long now) {
+            if (closed) {
+                return Long.MAX_VALUE;
+            }
+            long next;
+            try {
+                next = Math.min(up.write(now, connected), down.write(now, connected));
+            } catch (IOException e) {
+                close();
+                return Long.MAX_VALUE;
+            }
+            if (down.truncated && down.queue.isEmpty() || up.truncated && up.queue.isEmpty()) {
+                close();
+                return Long.MAX_VALUE;
+            }
+            if (up.outputShutdown && down.outputShutdown) {
+                close();
+                return Long.MAX_VALUE;
+            }
+            updateInterest();
+            return next;
+        }
+
+        void updateInterest() {
+            if (closed || clientKey == null || upstreamKey == null) {
+                return;
+            }
+            int clientOps = (up.wantsRead() ? SelectionKey.OP_READ : 0) | (down.writeBlocked ? SelectionKey.OP_WRITE : 0);
+            int upstreamOps = connected
+                    ? (down.wantsRead() ? SelectionKey.OP_READ : 0) | (up.writeBlocked ? SelectionKey.OP_WRITE : 0)
+                    : SelectionKey.OP_CONNECT;
+            clientKey.interestOps(clientOps);
+            upstreamKey.interestOps(upstreamOps);
+        }
+
+        void reset() {
+            resets.incrementAndGet();
+            try {
+                client.setOption(StandardSocketOptions.SO_LINGER, 0);
+                upstream.setOption(StandardSocketOptions.SO_LINGER, 0);
+            } catch (IOException ignored) {
+            }
+            close();
+        }
+
+        void close() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            connections.remove(this);
+            closeQuietly(client);
+            closeQuietly(upstream);
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package com.pet.petstore_tests.proxy;
+
+import com.sun.net.httpserver.HttpServer;
+import io.restassured.RestAssured;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.SocketException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.Executors;
+
+import static org.hamcrest.Matchers.equalTo;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FaultProxyTest {
+
+    private static final int BODY_SIZE = 20_000;
+
+    private HttpServer server;
+    private FaultProxy proxy;
+
+    @BeforeEach
+    void start() throws Exception {
+        RestAssured.reset();
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.createContext("/pet", exchange -> {
+            byte[] body = "{\"id\":1}".getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        server.createContext("/large", exchange -> {
+            byte[] body = new byte[BODY_SIZE];
+            Arrays.fill(body, (byte) 'x');
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        server.start();
+        proxy = FaultProxy.start("127.0.0.1", server.getAddress().getPort());
+    }
+
+    @AfterEach
+    void stop() {
+        proxy.close();
+        server.stop(0);
+    }
+
+    @Test
+    @DisplayName("Без искажений прокси прозрачно передаёт запрос и ответ")
+    void passThrough() {
+        RestAssured.given()
+                .baseUri("http://127.0.0.1:" + proxy.port())
+                .when()
+                .get("/pet/1")
+                .then()
+                .statusCode(200)
+                .body("id", equalTo(1));
+
+        assertEquals(1, proxy.stats().connections());
+        assertTrue(proxy.stats().bytesDownstream() > 0);
+    }
+
+    @Test
+    @DisplayName("Latency задерживает ответ")
+    void latency_delaysResponse() {
+        proxy.addToxic(FaultProxy.Direction.DOWNSTREAM, new Toxic.Latency(300, 0));
+
+        long start = System.nanoTime();
+        RestAssured.given().baseUri("http://127.0.0.1:" + proxy.port()).get("/pet/1").then().statusCode(200);
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        assertTrue(elapsedMillis >= 300, "ответ пришёл за " + elapsedMillis + "ms");
+    }
+
+    @Test
+    @DisplayName("Bandwidth ограничивает скорость передачи тела")
+    void bandwidth_slowsLargeBody() throws Exception {
+        proxy.addToxic(FaultProxy.Direction.DOWNSTREAM, new Toxic.Bandwidth(40_000));
+
+        long start = System.nanoTime();
+        byte[] response = rawGet("/large");
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        assertTrue(response.length > BODY_SIZE);
+        assertTrue(elapsedMillis >= 400, "20KB при 40KB/s пришли за " + elapsedMillis + "ms");
+    }
+
+    @Test
+    @DisplayName("LimitData обрезает ответ и закрывает соединение")
+    void limitData_truncatesBody() throws Exception {
+        proxy.addToxic(FaultProxy.Direction.DOWNSTREAM, new Toxic.LimitData(100));
+
+        byte[] response = rawGet("/large");
+
+        assertEquals(100, response.length);
+        assertEquals(1, proxy.stats().truncations());
+    }
+
+    @Test
+    @DisplayName("ResetPeer сбрасывает соединение")
+    void resetPeer_resetsConnection() {
+        proxy.addToxic(FaultProxy.Direction.DOWNSTREAM, new Toxic.ResetPeer(10));
+
+        assertThrows(SocketException.class, () -> rawGet("/large"));
+        assertEquals(1, proxy.stats().resets());
+    }
+
+    @Test
+    @DisplayName("Искажения снимаются на лету")
+    void clearToxics_restoresTraffic() {
+        proxy.addToxic(FaultProxy.Direction.UPSTREAM, new Toxic.Blackhole());
+        proxy.clearToxics();
+
+        RestAssured.given().baseUri("http://127.0.0.1:" + proxy.port()).get("/pet/1").then().statusCode(200);
+    }
+
+    private byte[] rawGet(String path) throws IOException {
+        try (Socket socket = new Socket("127.0.0.1", proxy.port())) {
+            socket.setSoTimeout(5000);
+            socket.getOutputStream().write(("GET " + path + " HTTP/1.1\r\nHost: localhost\r\nConnection: close\r\n\r\n")
+                    .getBytes(StandardCharsets.US_ASCII));
+            InputStream in = socket.getInputStream();
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buffer = new byte[4096];
+            for (int n; (n = in.read(buffer)) > 0; ) {
+                out.write(buffer, 0, n);
+            }
+            return out.toByteArray();
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.pet.petstore_tests.proxy;
+
+/**
+ * Искажение, которое {@link FaultProxy} применяет к одному направлению трафика.
+ */
+public sealed interface Toxic {
+
+    /**
+     * Задержка каждого прочитанного блока на millis ± jitterMillis. Порядок байтов сохраняется.
+     */
+    record Latency(long millis, long jitterMillis) implements Toxic {
+    }
+
+    /**
+     * Ограничение пропускной способности направления.
+     */
+    record Bandwidth(long bytesPerSecond) implements Toxic {
+    }
+
+    /**
+     * Сброс соединения (RST) после того, как через направление прошло afterBytes байт.
+     */
+    record ResetPeer(long afterBytes) implements Toxic {
+    }
+
+    /**
+     * Пропускает только первые bytes байт, затем корректно закрывает соединение — обрезанное тело.
+     */
+    record LimitData(long bytes) implements Toxic {
+    }
+
+    /**
+     * Данные молча отбрасываются, соединение висит открытым.
+     */
+    record Blackhole() implements Toxic {
+    }
+}
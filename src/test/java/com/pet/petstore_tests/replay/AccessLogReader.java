@@ -0,0 +1,179 @@
+package com.pet.petstore_tests.replay;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Потоковое чтение access-лога (common/combined) через отображение файла в память окнами по
+ * {@code window} байт: в памяти одновременно только одно окно, поэтому размер лога не ограничен кучей.
+ * <pre>
+ * 127.0.0.1 - frank [10/Oct/2000:13:55:36 -0700] "GET /v2/pet/1 HTTP/1.1" 200 2326 "-" "curl/8.0"
+ * </pre>
+ * Строки, которые не разбираются, пропускаются и считаются в {@link #skipped()}. Не потокобезопасен.
+ */
+public final class AccessLogReader implements AutoCloseable {
+
+    static final int DEFAULT_WINDOW = 64 * 1024 * 1024;
+    private static final DateTimeFormatter TIMESTAMP =
+            DateTimeFormatter.ofPattern("dd/MMM/yyyy:HH:mm:ss Z", Locale.ENGLISH);
+
+    private final FileChannel channel;
+    private final long size;
+    private final int window;
+
+    private MappedByteBuffer buffer;
+    private long bufferStart;
+    private long position;
+    private byte[] line = new byte[1024];
+    private long skipped;
+
+    //Соседние строки почти всегда из одной секунды — разобранное время переиспользуется.
+    private final byte[] lastTimestamp = new byte[32];
+    private int lastTimestampLength = -1;
+    private long lastMillis;
+
+    private AccessLogReader(FileChannel channel, int window) throws IOException {
+        this.channel = channel;
+        this.size = channel.size();
+        this.window = window;
+    }
+
+    public static AccessLogReader open(Path file) throws IOException {
+        return open(file, DEFAULT_WINDOW);
+    }
+
+    static AccessLogReader open(Path file, int window) throws IOException {
+        return new AccessLogReader(FileChannel.open(file, StandardOpenOption.READ), window);
+    }
+
+    /**
+     * @return следующая разобранная строка или null в конце файла
+     */
+    public LogEntry next() throws IOException {
+        while (position < size) {
+            if (buffer == null || position >= bufferStart + buffer.limit()) {
+                map(position);
+            }
+            int from = (int) (position - bufferStart);
+            int limit = buffer.limit();
+            int eol = from;
+            while (eol < limit && buffer.get(eol) != '\n') {
+                eol++;
+            }
+            if (eol == limit && bufferStart + limit < size) {
+                if (from == 0) {
+                    throw new IOException("Строка длиннее окна отображения (" + window + " байт) на позиции " + position);
+                }
+                //Строка продолжается за границей окна: окно сдвигается на её начало.
+                map(position);
+                continue;
+            }
+            position = bufferStart + eol + 1;
+
+            int length = eol - from;
+            if (length > 0 && buffer.get(eol - 1) == '\r') {
+                length--;
+            }
+            if (line.length < length) {
+                line = new byte[Math.max(length, line.length * 2)];
+            }
+            buffer.get(from, line, 0, length);
+            LogEntry entry = parse(line, length);
+            if (entry != null) {
+                return entry;
+            }
+            if (length > 0) {
+                skipped++;
+            }
+        }
+        return null;
+    }
+
+    public long skipped() {
+        return skipped;
+    }
+
+    private void map(long offset) throws IOException {
+        bufferStart = offset;
+        buffer = channel.map(FileChannel.MapMode.READ_ONLY, offset, Math.min(window, size - offset));
+    }
+
+    LogEntry parse(byte[] bytes, int length) {
+        int open = indexOf(bytes, 0, length, (byte) '[');
+        int close = open < 0 ? -1 : indexOf(bytes, open + 1, length, (byte) ']');
+        int requestStart = close < 0 ? -1 : indexOf(bytes, close + 1, length, (byte) '"');
+        int requestEnd = requestStart < 0 ? -1 : indexOf(bytes, requestStart + 1, length, (byte) '"');
+        if (requestEnd < 0) {
+            return null;
+        }
+
+        long millis = timestamp(bytes, open + 1, close);
+        if (millis < 0) {
+            return null;
+        }
+
+        int methodEnd = indexOf(bytes, requestStart + 1, requestEnd, (byte) ' ');
+        if (methodEnd < 0) {
+            return null;
+        }
+        int targetEnd = indexOf(bytes, methodEnd + 1, requestEnd, (byte) ' ');
+        if (targetEnd < 0) {
+            targetEnd = requestEnd;
+        }
+        String method = new String(bytes, requestStart + 1, methodEnd - requestStart - 1, StandardCharsets.US_ASCII);
+        String target = new String(bytes, methodEnd + 1, targetEnd - methodEnd - 1, StandardCharsets.ISO_8859_1);
+
+        int status = 0;
+        int p = requestEnd + 1;
+        while (p < length && bytes[p] == ' ') {
+            p++;
+        }
+        while (p < length && bytes[p] >= '0' && bytes[p] <= '9') {
+            status = status * 10 + bytes[p++] - '0';
+        }
+        return new LogEntry(millis, method, target, status);
+    }
+
+    private long timestamp(byte[] bytes, int from, int to) {
+        int length = to - from;
+        if (length == lastTimestampLength && Arrays.equals(bytes, from, to, lastTimestamp, 0, length)) {
+            return lastMillis;
+        }
+        try {
+            long millis = OffsetDateTime.parse(new String(bytes, from, length, StandardCharsets.US_ASCII), TIMESTAMP)
+                    .toInstant().toEpochMilli();
+            if (length <= lastTimestamp.length) {
+                System.arraycopy(bytes, from, lastTimestamp, 0, length);
+                lastTimestampLength = length;
+                lastMillis = millis;
+            }
+            return millis;
+        } catch (DateTimeParseException e) {
+            return -1;
+        }
+    }
+
+    private static int indexOf(byte[] bytes, int from, int to, byte value) {
+        for (int i = from; i < to; i++) {
+            if (bytes[i] == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public void close() throws IOException {
+        buffer = null;
+        channel.close();
+    }
+}
@@ -0,0 +1,85 @@
+package com.pet.petstore_tests.replay;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AccessLogReaderTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    @DisplayName("Разбираются форматы common и combined, мусорные строки пропускаются")
+    void parsesCommonAndCombined() throws Exception {
+        Path log = write("""
+                127.0.0.1 - frank [10/Oct/2000:13:55:36 -0700] "GET /v2/pet/1 HTTP/1.1" 200 2326
+                10.0.0.2 - - [10/Oct/2000:13:55:37 -0700] "POST /v2/store/order HTTP/1.1" 500 12 "-" "curl/8.0"\r
+                not a log line
+
+                10.0.0.3 - - [10/Oct/2000:13:55:37 -0700] "GET /v2/pet/findByStatus?status=sold HTTP/1.1" 200 99""");
+
+        List<LogEntry> entries = readAll(log, AccessLogReader.DEFAULT_WINDOW);
+
+        long t0 = OffsetDateTime.parse("2000-10-10T13:55:36-07:00").toInstant().toEpochMilli();
+        assertEquals(List.of(
+                new LogEntry(t0, "GET", "/v2/pet/1", 200),
+                new LogEntry(t0 + 1000, "POST", "/v2/store/order", 500),
+                new LogEntry(t0 + 1000, "GET", "/v2/pet/findByStatus?status=sold", 200)), entries);
+    }
+
+    @Test
+    @DisplayName("Строки на границе окна отображения не теряются и не рвутся")
+    void linesAcrossWindowBoundaries() throws Exception {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 500; i++) {
+            sb.append("10.0.0.1 - - [10/Oct/2000:13:55:").append(String.format("%02d", i % 60))
+                    .append(" +0000] \"GET /v2/pet/").append(i).append(" HTTP/1.1\" 200 1\n");
+        }
+        Path log = write(sb.toString());
+
+        //Окно в 256 байт вмещает 3 строки: файл перечитывается сотнями окон.
+        List<LogEntry> entries = readAll(log, 256);
+
+        assertEquals(500, entries.size());
+        for (int i = 0; i < entries.size(); i++) {
+            assertEquals("/v2/pet/" + i, entries.get(i).target());
+        }
+    }
+
+    @Test
+    @DisplayName("Строка длиннее окна — явная ошибка")
+    void lineLongerThanWindow_rejected() throws Exception {
+        Path log = write("10.0.0.1 - - [10/Oct/2000:13:55:36 +0000] \"GET /v2/pet/" + "1".repeat(300)
+                + " HTTP/1.1\" 200 1\nnext\n");
+
+        assertThrows(IOException.class, () -> readAll(log, 128));
+    }
+
+    private Path write(String content) throws IOException {
+        return Files.writeString(dir.resolve("access.log"), content, StandardCharsets.UTF_8);
+    }
+
+    private static List<LogEntry> readAll(Path log, int window) throws IOException {
+        List<LogEntry> entries = new ArrayList<>();
+        try (AccessLogReader reader = AccessLogReader.open(log, window)) {
+            for (LogEntry e; (e = reader.next()) != null; ) {
+                entries.add(e);
+            }
+            if (window == AccessLogReader.DEFAULT_WINDOW) {
+                assertEquals(1, reader.skipped());
+            }
+        }
+        return entries;
+    }
+}
@@ -0,0 +1,7 @@
+package com.pet.petstore_tests.replay;
+
+/**
+ * Строка access-лога в формате common/combined: время, метод, путь с query и исходный статус.
+ */
+public record LogEntry(long epochMillis, String method, String target, int status) {
+}
@@ -0,0 +1,144 @@
+package com.pet.petstore_tests.replay;
+
+import com.pet.petstore_tests.load.LatencyHistogram;
+import com.pet.petstore_tests.load.PetstoreWorkload;
+import io.restassured.http.ContentType;
+import io.restassured.response.Response;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import static io.restassured.RestAssured.given;
+
+/**
+ * Проигрывает access-лог против стенда, сохраняя интервалы между запросами (открытая модель:
+ * запрос уходит по расписанию, не дожидаясь предыдущих). {@code speed} сжимает время: 2.0 — вдвое быстрее.
+ * В логе время с точностью до секунды, поэтому строки одной секунды равномерно распределяются внутри неё.
+ * Задержка считается от запланированного момента отправки: если клиент не успевает, это видно в задержке,
+ * а не теряется (coordinated omission); отставание от расписания выводится отдельно.
+ */
+public final class LogReplayer {
+
+    public record Settings(String baseUri, double speed, int threads, long limit) {
+    }
+
+    public record EndpointStats(long ok, long failed, LatencyHistogram latency) {
+    }
+
+    public record Report(Map<String, EndpointStats> endpoints,
+                         long replayed,
+                         long unmapped,
+                         long skipped,
+                         double seconds,
+                         LatencyHistogram lag) {
+
+        public String formatTable() {
+            StringBuilder sb = new StringBuilder();
+            sb.append(String.format("%-32s %7s %7s %9s %9s %9s %9s%n",
+                    "endpoint", "ok", "failed", "req/s", "p50ms", "p99ms", "maxms"));
+            endpoints.forEach((endpoint, s) -> sb.append(String.format("%-32s %7d %7d %9.1f %9.1f %9.1f %9.1f%n",
+                    endpoint, s.ok(), s.failed(), seconds == 0 ? 0 : (s.ok() + s.failed()) / seconds,
+                    s.latency().percentileMillis(50), s.latency().percentileMillis(99), s.latency().maxNanos() / 1e6)));
+            sb.append(String.format("проиграно %d за %.1f с, не сопоставлено %d, не разобрано %d; отставание от расписания %s%n",
+                    replayed, seconds, unmapped, skipped, lag.summary()));
+            return sb.toString();
+        }
+    }
+
+    private final Settings settings;
+    private final Map<String, Counters> endpoints = new ConcurrentHashMap<>();
+    private final LatencyHistogram lag = new LatencyHistogram();
+    private long replayed;
+    private long unmapped;
+
+    public LogReplayer(Settings settings) {
+        this.settings = settings;
+    }
+
+    public Report replay(Path log) throws IOException, InterruptedException {
+        ExecutorService pool = Executors.newFixedThreadPool(settings.threads());
+        long startNanos = System.nanoTime();
+        long skipped;
+        try (AccessLogReader reader = AccessLogReader.open(log)) {
+            long firstMillis = Long.MIN_VALUE;
+            List<LogEntry> second = new ArrayList<>();
+            long read = 0;
+            LogEntry entry;
+            while ((entry = reader.next()) != null && read < settings.limit()) {
+                read++;
+                if (firstMillis == Long.MIN_VALUE) {
+                    firstMillis = entry.epochMillis();
+                }
+                if (!second.isEmpty() && second.get(0).epochMillis() != entry.epochMillis()) {
+                    dispatch(pool, second, firstMillis, startNanos);
+                    second.clear();
+                }
+                second.add(entry);
+            }
+            dispatch(pool, second, firstMillis, startNanos);
+            skipped = reader.skipped();
+        } finally {
+            pool.shutdown();
+        }
+        pool.awaitTermination(1, TimeUnit.HOURS);
+
+        Map<String, EndpointStats> stats = new TreeMap<>();
+        endpoints.forEach((endpoint, c) -> stats.put(endpoint, new EndpointStats(c.ok.sum(), c.failed.sum(), c.latency)));
+        return new Report(stats, replayed, unmapped, skipped, (System.nanoTime() - startNanos) / 1e9, lag);
+    }
+
+    private void dispatch(ExecutorService pool, List<LogEntry> sameSecond, long firstMillis, long startNanos) {
+        int n = sameSecond.size();
+        for (int i = 0; i < n; i++) {
+            LogEntry entry = sameSecond.get(i);
+            Optional<PetstoreWorkload.Operation> operation = ReplayMapper.map(entry);
+            if (operation.isEmpty()) {
+                unmapped++;
+                continue;
+            }
+            double offsetMillis = entry.epochMillis() - firstMillis + 1000.0 * i / n;
+            long due = startNanos + (long) (offsetMillis * 1_000_000 / settings.speed());
+            for (long wait; (wait = due - System.nanoTime()) > 0; ) {
+                LockSupport.parkNanos(wait);
+            }
+            replayed++;
+            Counters counters = endpoints.computeIfAbsent(operation.get().endpoint(), e -> new Counters());
+            pool.execute(() -> call(operation.get(), counters, due));
+        }
+    }
+
+    private void call(PetstoreWorkload.Operation operation, Counters counters, long due) {
+        lag.recordNanos(System.nanoTime() - due);
+        try {
+            //Фильтры конвейера (ограничитель частоты, хеджирование) исказили бы исходный поток запросов.
+            Response response = operation.call()
+                    .apply(given().noFilters().baseUri(settings.baseUri()).contentType(ContentType.JSON));
+            response.asByteArray();
+            if (response.statusCode() < 400) {
+                counters.ok.increment();
+            } else {
+                counters.failed.increment();
+            }
+        } catch (Exception e) {
+            counters.failed.increment();
+        }
+        counters.latency.recordNanos(System.nanoTime() - due);
+    }
+
+    private static final class Counters {
+        final LongAdder ok = new LongAdder();
+        final LongAdder failed = new LongAdder();
+        final LatencyHistogram latency = new LatencyHistogram();
+    }
+}
@@ -0,0 +1,112 @@
+package com.pet.petstore_tests.replay;
+
+import com.sun.net.httpserver.HttpServer;
+import io.restassured.RestAssured;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LogReplayerTest {
+
+    @TempDir
+    Path dir;
+
+    private HttpServer server;
+    private final List<String> received = new CopyOnWriteArrayList<>();
+    private final List<Long> arrivals = new CopyOnWriteArrayList<>();
+
+    @BeforeEach
+    void start() throws Exception {
+        RestAssured.reset();
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.createContext("/", exchange -> {
+            arrivals.add(System.nanoTime());
+            String body = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+            received.add(exchange.getRequestMethod() + " " + exchange.getRequestURI() + (body.isEmpty() ? "" : " " + body));
+            byte[] response = "{}".getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, response.length);
+            exchange.getResponseBody().write(response);
+            exchange.close();
+        });
+        server.start();
+    }
+
+    @AfterEach
+    void stop() {
+        server.stop(0);
+    }
+
+    @Test
+    @DisplayName("Строки лога сопоставляются с операциями Petstore")
+    void mapsKnownOperations() {
+        assertEndpoint("GET /pet/{petId}", "GET", "/v2/pet/42");
+        assertEndpoint("GET /pet/findByStatus", "GET", "/v2/pet/findByStatus?status=available,sold");
+        assertEndpoint("PUT /pet", "PUT", "/pet");
+        assertEndpoint("POST /pet/{petId}", "POST", "/v2/pet/42");
+        assertEndpoint("DELETE /store/order/{orderId}", "DELETE", "/api/v2/store/order/7");
+        assertEndpoint("GET /store/inventory", "GET", "/v2/store/inventory");
+        assertEndpoint("GET /user/login", "GET", "/v2/user/login?username=a&password=b");
+        assertEndpoint("POST /user/createWithArray", "POST", "/v2/user/createWithArray");
+        assertEndpoint("PUT /user/{username}", "PUT", "/v2/user/john%20doe");
+
+        assertEquals(List.of("user", "a+b c"), ReplayMapper.segments("/v2/user/a+b%20c"));
+
+        assertTrue(ReplayMapper.map(entry("POST", "/v2/pet/1/uploadImage")).isEmpty());
+        assertTrue(ReplayMapper.map(entry("GET", "/favicon.ico")).isEmpty());
+        assertEquals(List.of("available", "sold", "pending"),
+                ReplayMapper.params("status=available,sold&status=pending&x=1", "status"));
+    }
+
+    @Test
+    @DisplayName("Интервалы между запросами сохраняются с учётом ускорения")
+    void preservesInterArrivalTimes() throws Exception {
+        Path log = Files.writeString(dir.resolve("access.log"), """
+                1.1.1.1 - - [10/Oct/2000:13:55:36 +0000] "GET /v2/pet/1 HTTP/1.1" 200 1
+                1.1.1.1 - - [10/Oct/2000:13:55:38 +0000] "GET /v2/store/inventory HTTP/1.1" 200 1
+                1.1.1.1 - - [10/Oct/2000:13:55:38 +0000] "GET /static/app.js HTTP/1.1" 200 1
+                1.1.1.1 - - [10/Oct/2000:13:55:40 +0000] "GET /v2/user/login?username=u&password=p HTTP/1.1" 200 1
+                """);
+        String baseUri = "http://127.0.0.1:" + server.getAddress().getPort() + "/v2";
+        //Прогрев клиента, чтобы первая отправка не опоздала из-за загрузки классов.
+        Path warmUp = Files.writeString(dir.resolve("warm-up.log"),
+                "1.1.1.1 - - [10/Oct/2000:13:55:36 +0000] \"GET /v2/pet/1 HTTP/1.1\" 200 1\n");
+        new LogReplayer(new LogReplayer.Settings(baseUri, 1.0, 4, Long.MAX_VALUE)).replay(warmUp);
+        received.clear();
+        arrivals.clear();
+
+        LogReplayer.Report report = new LogReplayer(new LogReplayer.Settings(baseUri, 4.0, 4, Long.MAX_VALUE))
+                .replay(log);
+
+        assertEquals(3, report.replayed());
+        assertEquals(1, report.unmapped());
+        assertEquals(List.of("GET /v2/pet/1", "GET /v2/store/inventory", "GET /v2/user/login?username=u&password=p"),
+                received);
+        //В логе 2 с между запросами, при speed=4 — 500ms.
+        for (int i = 1; i < arrivals.size(); i++) {
+            double gapMillis = (arrivals.get(i) - arrivals.get(i - 1)) / 1e6;
+            assertEquals(500, gapMillis, 150, "интервал " + i);
+        }
+        assertEquals(1, report.endpoints().get("GET /user/login").ok());
+    }
+
+    private static void assertEndpoint(String expected, String method, String target) {
+        assertEquals(expected, ReplayMapper.map(entry(method, target)).orElseThrow().endpoint());
+    }
+
+    private static LogEntry entry(String method, String target) {
+        return new LogEntry(0, method, target, 200);
+    }
+}
@@ -0,0 +1,209 @@
+package com.pet.petstore_tests.replay;
+
+import com.pet.petstore_tests.body.BodyTemplate;
+import com.pet.petstore_tests.load.PetstoreWorkload;
+import com.pet.petstore_tests.model.User;
+import io.restassured.response.Response;
+import io.restassured.specification.RequestSpecification;
+
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+
+/**
+ * Сопоставляет строку лога с операцией Petstore, которую знает набор тестов. Префикс перед
+ * /pet, /store, /user (например /v2) отбрасывается, идентификаторы из пути и query сохраняются.
+ * Тел в access-логе нет, поэтому для POST/PUT они собираются по {@link BodyTemplate}
+ * с идентификаторами из пути или случайными.
+ */
+public final class ReplayMapper {
+
+    private static final BodyTemplate PET = BodyTemplate.fromObject(PetstoreWorkload.pet(0), "id", "name");
+    private static final BodyTemplate ORDER = BodyTemplate.fromJson("""
+            {
+              "id": 0,
+              "petId": 0,
+              "quantity": 1,
+              "shipDate": "2024-01-01T00:00:00.000Z",
+              "status": "placed",
+              "complete": true
+            }
+            """, "id", "petId");
+    private static final BodyTemplate USER = BodyTemplate.fromObject(User.builder()
+            .id(0)
+            .username("")
+            .firstName("Replay")
+            .lastName("User")
+            .email("replay@example.com")
+            .password("pass")
+            .phone("+000000000")
+            .userStatus(1)
+            .build(), "id", "username");
+
+    private ReplayMapper() {
+    }
+
+    public static Optional<PetstoreWorkload.Operation> map(LogEntry entry) {
+        String target = entry.target();
+        int query = target.indexOf('?');
+        String path = query < 0 ? target : target.substring(0, query);
+        String queryString = query < 0 ? "" : target.substring(query + 1);
+
+        List<String> segments = segments(path);
+        if (segments.isEmpty()) {
+            return Optional.empty();
+        }
+        String method = entry.method();
+        return switch (segments.get(0)) {
+            case "pet" -> pet(method, segments, queryString);
+            case "store" -> store(method, segments);
+            case "user" -> user(method, segments, queryString);
+            default -> Optional.empty();
+        };
+    }
+
+    private static Optional<PetstoreWorkload.Operation> pet(String method, List<String> s, String query) {
+        if (s.size() == 1 && (method.equals("POST") || method.equals("PUT"))) {
+            byte[] body = petBody(randomId());
+            return op(method + " /pet", spec -> spec.body(body).request(method, "/pet"));
+        }
+        if (s.size() == 2 && s.get(1).equals("findByStatus") && method.equals("GET")) {
+            List<String> statuses = params(query, "status");
+            return op("GET /pet/findByStatus", spec -> spec.queryParam("status", statuses.toArray())
+                    .get("/pet/findByStatus"));
+        }
+        if (s.size() != 2) {
+            //uploadImage требует файл, которого в логе нет.
+            return Optional.empty();
+        }
+        String petId = s.get(1);
+        return switch (method) {
+            case "GET" -> op("GET /pet/{petId}", spec -> spec.pathParam("petId", petId).get("/pet/{petId}"));
+            case "DELETE" -> op("DELETE /pet/{petId}", spec -> spec.pathParam("petId", petId).delete("/pet/{petId}"));
+            case "POST" -> op("POST /pet/{petId}", spec -> spec.contentType("application/x-www-form-urlencoded")
+                    .pathParam("petId", petId)
+                    .formParam("name", "replay-" + petId)
+                    .formParam("status", "available")
+                    .post("/pet/{petId}"));
+            default -> Optional.empty();
+        };
+    }
+
+    private static Optional<PetstoreWorkload.Operation> store(String method, List<String> s) {
+        if (s.size() == 2 && s.get(1).equals("inventory") && method.equals("GET")) {
+            return op("GET /store/inventory", spec -> spec.get("/store/inventory"));
+        }
+        if (s.size() == 2 && s.get(1).equals("order") && method.equals("POST")) {
+            byte[] body = ORDER.newBody().set("id", randomId()).set("petId", randomId()).toBytes();
+            return op("POST /store/order", spec -> spec.body(body).post("/store/order"));
+        }
+        if (s.size() == 3 && s.get(1).equals("order")) {
+            String orderId = s.get(2);
+            return switch (method) {
+                case "GET" -> op("GET /store/order/{orderId}", spec -> spec.pathParam("orderId", orderId)
+                        .get("/store/order/{orderId}"));
+                case "DELETE" -> op("DELETE /store/order/{orderId}", spec -> spec.pathParam("orderId", orderId)
+                        .delete("/store/order/{orderId}"));
+                default -> Optional.empty();
+            };
+        }
+        return Optional.empty();
+    }
+
+    private static Optional<PetstoreWorkload.Operation> user(String method, List<String> s, String query) {
+        if (s.size() == 1 && method.equals("POST")) {
+            byte[] body = userBody("replay-" + randomId());
+            return op("POST /user", spec -> spec.body(body).post("/user"));
+        }
+        if (s.size() != 2) {
+            return Optional.empty();
+        }
+        String name = s.get(1);
+        if (method.equals("POST") && (name.equals("createWithArray") || name.equals("createWithList"))) {
+            byte[] user = userBody("replay-" + randomId());
+            byte[] body = new byte[user.length + 2];
+            body[0] = '[';
+            System.arraycopy(user, 0, body, 1, user.length);
+            body[body.length - 1] = ']';
+            String path = "/user/" + name;
+            return op("POST " + path, spec -> spec.body(body).post(path));
+        }
+        if (method.equals("GET") && name.equals("login")) {
+            String username = first(params(query, "username"), "replay");
+            String password = first(params(query, "password"), "pass");
+            return op("GET /user/login", spec -> spec.queryParam("username", username)
+                    .queryParam("password", password)
+                    .get("/user/login"));
+        }
+        if (method.equals("GET") && name.equals("logout")) {
+            return op("GET /user/logout", spec -> spec.get("/user/logout"));
+        }
+        return switch (method) {
+            case "GET" -> op("GET /user/{username}", spec -> spec.pathParam("username", name).get("/user/{username}"));
+            case "PUT" -> {
+                byte[] body = userBody(name);
+                yield op("PUT /user/{username}", spec -> spec.pathParam("username", name).body(body)
+                        .put("/user/{username}"));
+            }
+            case "DELETE" -> op("DELETE /user/{username}", spec -> spec.pathParam("username", name)
+                    .delete("/user/{username}"));
+            default -> Optional.empty();
+        };
+    }
+
+    private static Optional<PetstoreWorkload.Operation> op(String endpoint,
+                                                           Function<RequestSpecification, Response> call) {
+        return Optional.of(new PetstoreWorkload.Operation(endpoint, call));
+    }
+
+    private static byte[] petBody(int id) {
+        return PET.newBody().set("id", id).set("name", "replay-" + id).toBytes();
+    }
+
+    private static byte[] userBody(String username) {
+        return USER.newBody().set("id", randomId()).set("username", username).toBytes();
+    }
+
+    private static int randomId() {
+        return ThreadLocalRandom.current().nextInt(1_000_000, 9_999_999);
+    }
+
+    static List<String> segments(String path) {
+        List<String> all = new ArrayList<>();
+        for (String part : path.split("/")) {
+            if (!part.isEmpty()) {
+                //В пути «+» — обычный символ, а не пробел, как в form-кодировке: декодируются только %XX.
+                all.add(URLDecoder.decode(part.replace("+", "%2B"), StandardCharsets.UTF_8));
+            }
+        }
+        for (int i = 0; i < all.size(); i++) {
+            String segment = all.get(i);
+            if (segment.equals("pet") || segment.equals("store") || segment.equals("user")) {
+                return all.subList(i, all.size());
+            }
+        }
+        return List.of();
+    }
+
+    static List<String> params(String query, String name) {
+        List<String> values = new ArrayList<>();
+        for (String pair : query.split("&")) {
+            int eq = pair.indexOf('=');
+            String key = eq < 0 ? pair : pair.substring(0, eq);
+            if (URLDecoder.decode(key, StandardCharsets.UTF_8).equals(name)) {
+                String value = eq < 0 ? "" : URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8);
+                //findByStatus допускает и status=a&status=b, и status=a,b.
+                values.addAll(List.of(value.split(",")));
+            }
+        }
+        return values;
+    }
+
+    private static String first(List<String> values, String fallback) {
+        return values.isEmpty() ? fallback : values.get(0);
+    }
+}
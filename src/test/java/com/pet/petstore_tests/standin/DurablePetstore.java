@@ -0,0 +1,251 @@
+package com.pet.petstore_tests.standin;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Долговечное хранилище питомцев, заказов и пользователей для локальной заглушки Petstore.
+ * Каждое изменение сначала дописывается в {@link WriteAheadLog}, затем применяется в памяти;
+ * раз в snapshotEvery изменений фоновый поток пишет {@link SnapshotFile} и удаляет покрытые им сегменты.
+ * Восстановление — последний целый снимок плюс проигрывание журнала после него.
+ */
+public final class DurablePetstore implements AutoCloseable {
+
+    public record Settings(int segmentBytes, boolean fsync, long groupCommitMicros, long snapshotEvery) {
+
+        public static Settings fromSystemProperties() {
+            return new Settings(
+                    Integer.getInteger("petstore.standin.segmentMb", 64) << 20,
+                    Boolean.parseBoolean(System.getProperty("petstore.standin.fsync", "true")),
+                    Long.getLong("petstore.standin.groupCommitUs", 200),
+                    Long.getLong("petstore.standin.snapshotEvery", 1_000_000));
+        }
+    }
+
+    public record Recovery(long snapshotRecords, long logRecords, long entities, long millis) {
+
+        @Override
+        public String toString() {
+            return String.format("восстановлено %d сущностей за %dms (снимок: %d записей, журнал: %d записей)",
+                    entities, millis, snapshotRecords, logRecords);
+        }
+    }
+
+    //Изменения одного ключа идут под одной блокировкой: порядок в журнале совпадает с порядком в памяти.
+    private static final int STRIPES = 64;
+
+    private final Path dir;
+    private final Settings settings;
+    private final PetstoreState state;
+    private final WriteAheadLog log;
+    private final Recovery recovery;
+    private final ReentrantLock[] stripes = new ReentrantLock[STRIPES];
+    private final AtomicLong sinceSnapshot = new AtomicLong();
+    private final AtomicBoolean snapshotRunning = new AtomicBoolean();
+    private final ExecutorService snapshotter = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "snapshot");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private DurablePetstore(Path dir, Settings settings, PetstoreState state, WriteAheadLog log, Recovery recovery) {
+        this.dir = dir;
+        this.settings = settings;
+        this.state = state;
+        this.log = log;
+        this.recovery = recovery;
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+    }
+
+    public static DurablePetstore open(Path dir, Settings settings) {
+        long start = System.nanoTime();
+        PetstoreState state = new PetstoreState();
+        long fromSegment = 0;
+        long snapshotRecords = 0;
+        List<Long> snapshots = SnapshotFile.list(dir);
+        for (int i = snapshots.size() - 1; i >= 0; i--) {
+            PetstoreState candidate = new PetstoreState();
+            Optional<Long> loaded = SnapshotFile.read(SnapshotFile.path(dir, snapshots.get(i)), candidate);
+            if (loaded.isPresent()) {
+                state = candidate;
+                fromSegment = snapshots.get(i);
+                snapshotRecords = loaded.get();
+                break;
+            }
+        }
+        WriteAheadLog log = WriteAheadLog.open(dir,
+                new WriteAheadLog.Settings(settings.segmentBytes(), settings.fsync(), settings.groupCommitMicros()),
+                fromSegment, state::apply);
+        Recovery recovery = new Recovery(snapshotRecords, log.replayed(), state.size(),
+                (System.nanoTime() - start) / 1_000_000);
+        return new DurablePetstore(dir, settings, state, log, recovery);
+    }
+
+    public Recovery recovery() {
+        return recovery;
+    }
+
+    public long size() {
+        return state.size();
+    }
+
+    public void putPet(long id, String status, byte[] json) {
+        write(Long.hashCode(id), PetstoreState.PUT_PET, PetstoreState.putPet(id, status, json));
+    }
+
+    public boolean deletePet(long id) {
+        return delete(Long.hashCode(id), () -> state.pets.containsKey(id), PetstoreState.DELETE_PET, PetstoreState.id(id));
+    }
+
+    public Optional<byte[]> pet(long id) {
+        return Optional.ofNullable(state.pets.get(id)).map(PetstoreState.StoredPet::json);
+    }
+
+    public List<byte[]> petsByStatus(Collection<String> statuses) {
+        List<byte[]> result = new ArrayList<>();
+        state.pets.values().forEach(pet -> {
+            if (statuses.contains(pet.status())) {
+                result.add(pet.json());
+            }
+        });
+        return result;
+    }
+
+    public Map<String, Long> inventory() {
+        Map<String, Long> counts = new TreeMap<>();
+        state.pets.values().forEach(pet -> counts.merge(pet.status(), 1L, Long::sum));
+        return counts;
+    }
+
+    public void putOrder(long id, byte[] json) {
+        write(Long.hashCode(id), PetstoreState.PUT_ORDER, PetstoreState.putOrder(id, json));
+    }
+
+    public boolean deleteOrder(long id) {
+        return delete(Long.hashCode(id), () -> state.orders.containsKey(id), PetstoreState.DELETE_ORDER, PetstoreState.id(id));
+    }
+
+    public Optional<byte[]> order(long id) {
+        return Optional.ofNullable(state.orders.get(id));
+    }
+
+    public void putUser(String username, byte[] json) {
+        write(username.hashCode(), PetstoreState.PUT_USER, PetstoreState.putUser(username, json));
+    }
+
+    public boolean deleteUser(String username) {
+        return delete(username.hashCode(), () -> state.users.containsKey(username), PetstoreState.DELETE_USER,
+                PetstoreState.username(username));
+    }
+
+    public Optional<byte[]> user(String username) {
+        return Optional.ofNullable(state.users.get(username));
+    }
+
+    private void write(int hash, byte type, byte[] payload) {
+        ReentrantLock lock = stripes[Math.floorMod(hash, STRIPES)];
+        long lsn;
+        lock.lock();
+        try {
+            lsn = log.append(type, payload);
+            state.apply(type, ByteBuffer.wrap(payload));
+        } finally {
+            lock.unlock();
+        }
+        //Ожидание диска — вне блокировки ключа: писатели других ключей попадают в ту же групповую фиксацию.
+        log.await(lsn);
+        afterWrite();
+    }
+
+    private boolean delete(int hash, BooleanSupplier exists, byte type, byte[] payload) {
+        ReentrantLock lock = stripes[Math.floorMod(hash, STRIPES)];
+        long lsn;
+        lock.lock();
+        try {
+            if (!exists.getAsBoolean()) {
+                return false;
+            }
+            lsn = log.append(type, payload);
+            state.apply(type, ByteBuffer.wrap(payload));
+        } finally {
+            lock.unlock();
+        }
+        log.await(lsn);
+        afterWrite();
+        return true;
+    }
+
+    private void afterWrite() {
+        if (sinceSnapshot.incrementAndGet() >= settings.snapshotEvery() && snapshotRunning.compareAndSet(false, true)) {
+            snapshotter.execute(() -> {
+                try {
+                    snapshot();
+                } finally {
+                    snapshotRunning.set(false);
+                }
+            });
+        }
+    }
+
+    /**
+     * Пишет снимок и удаляет покрытые им сегменты журнала и старые снимки.
+     * Снимок нечёткий: изменения, сделанные во время записи, могут в него попасть, но они есть и в новом
+     * сегменте, а проигрывание полных PUT/DELETE поверх снимка даёт то же итоговое состояние.
+     */
+    public synchronized void snapshot() {
+        long segment;
+        //Все полосы берутся на время смены сегмента: ни одно изменение не окажется записанным
+        //в старый сегмент, но ещё не применённым в памяти.
+        for (ReentrantLock lock : stripes) {
+            lock.lock();
+        }
+        try {
+            segment = log.rotate();
+            sinceSnapshot.set(0);
+        } finally {
+            for (ReentrantLock lock : stripes) {
+                lock.unlock();
+            }
+        }
+        SnapshotFile.write(dir, segment, state);
+        log.deleteSegmentsBefore(segment);
+        for (long old : SnapshotFile.list(dir)) {
+            if (old < segment) {
+                try {
+                    Files.deleteIfExists(SnapshotFile.path(dir, old));
+                } catch (IOException e) {
+                    throw new UncheckedIOException("Не удалось удалить старый снимок " + old, e);
+                }
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        snapshotter.shutdown();
+        try {
+            snapshotter.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        log.close();
+    }
+}
@@ -0,0 +1,103 @@
+package com.pet.petstore_tests.standin;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DurablePetstoreTest {
+
+    private static final DurablePetstore.Settings SETTINGS = new DurablePetstore.Settings(1 << 20, true, 100, 1_000_000);
+
+    @TempDir
+    Path dir;
+
+    private static byte[] json(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String text(byte[] value) {
+        return new String(value, StandardCharsets.UTF_8);
+    }
+
+    @Test
+    @DisplayName("Состояние восстанавливается из журнала после перезапуска")
+    void restart_replaysLog() {
+        try (DurablePetstore store = DurablePetstore.open(dir, SETTINGS)) {
+            store.putPet(1, "available", json("{\"id\":1}"));
+            store.putPet(2, "sold", json("{\"id\":2}"));
+            store.putPet(1, "sold", json("{\"id\":1,\"v\":2}"));
+            store.putOrder(10, json("{\"id\":10}"));
+            store.putUser("UserOne", json("{\"username\":\"UserOne\"}"));
+            assertTrue(store.deletePet(2));
+            assertFalse(store.deletePet(3));
+        }
+
+        try (DurablePetstore store = DurablePetstore.open(dir, SETTINGS)) {
+            assertEquals("{\"id\":1,\"v\":2}", text(store.pet(1).orElseThrow()));
+            assertTrue(store.pet(2).isEmpty());
+            assertEquals("{\"id\":10}", text(store.order(10).orElseThrow()));
+            assertTrue(store.user("UserOne").isPresent());
+            assertEquals(Map.of("sold", 1L), store.inventory());
+            assertEquals(3, store.recovery().entities());
+            assertEquals(6, store.recovery().logRecords());
+        }
+    }
+
+    @Test
+    @DisplayName("После снимка восстанавливаются снимок и хвост журнала, старые сегменты удалены")
+    void restart_loadsSnapshotAndTail() {
+        try (DurablePetstore store = DurablePetstore.open(dir, SETTINGS)) {
+            for (int i = 0; i < 1000; i++) {
+                store.putPet(i, i % 2 == 0 ? "available" : "sold", json("{\"id\":" + i + "}"));
+            }
+            store.snapshot();
+            store.deletePet(0);
+            store.putOrder(5, json("{\"id\":5}"));
+        }
+
+        try (DurablePetstore store = DurablePetstore.open(dir, SETTINGS)) {
+            assertEquals(1000, store.recovery().snapshotRecords());
+            assertEquals(2, store.recovery().logRecords());
+            assertEquals(1000, store.size());
+            assertTrue(store.pet(0).isEmpty());
+            assertEquals(499, store.petsByStatus(List.of("available")).size());
+            assertEquals(List.of(1L), SnapshotFile.list(dir));
+            assertTrue(WriteAheadLog.segments(dir).stream().allMatch(segment -> segment >= 1));
+        }
+    }
+
+    @Test
+    @DisplayName("Фоновый снимок по числу изменений не теряет параллельные записи")
+    void backgroundSnapshot_keepsConcurrentWrites() throws Exception {
+        DurablePetstore.Settings settings = new DurablePetstore.Settings(1 << 16, false, 0, 5_000);
+        int threads = 4;
+        int perThread = 20_000;
+        try (DurablePetstore store = DurablePetstore.open(dir, settings)) {
+            Thread[] writers = new Thread[threads];
+            for (int t = 0; t < threads; t++) {
+                int offset = t * perThread;
+                writers[t] = new Thread(() -> {
+                    for (int i = 0; i < perThread; i++) {
+                        store.putPet(offset + i, "available", json("{\"id\":" + (offset + i) + "}"));
+                    }
+                });
+                writers[t].start();
+            }
+            for (Thread writer : writers) {
+                writer.join();
+            }
+        }
+
+        try (DurablePetstore store = DurablePetstore.open(dir, settings)) {
+            assertEquals(threads * perThread, store.size(), store.recovery().toString());
+            assertTrue(store.recovery().snapshotRecords() > 0, "фоновый снимок не записан");
+        }
+    }
+}
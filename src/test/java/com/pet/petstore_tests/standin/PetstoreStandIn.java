@@ -0,0 +1,402 @@
+package com.pet.petstore_tests.standin;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Локальная заглушка Petstore поверх {@link DurablePetstore}: CRUD для /pet, /store, /user
+ * с ответами в формате petstore.swagger.io, включая зафиксированные в тестах особенности
+ * (строковый id — 404, PUT /user — upsert). Загруженное изображение только подтверждается, не хранится.
+ * Запуск: {@code java -cp <classpath тестов> com.pet.petstore_tests.standin.PetstoreStandIn [каталог] [порт]};
+ * хранилище без питомцев сначала засевается {@link #seed(DurablePetstore)}.
+ */
+public final class PetstoreStandIn implements AutoCloseable {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final String BASE_PATH = "/v2";
+    private static final List<String> SEED_STATUSES = List.of("available", "pending", "sold");
+    private static final Pattern DISPOSITION_PARAM = Pattern.compile("(name|filename)=\"([^\"]*)\"");
+
+    private final DurablePetstore store;
+    private final HttpServer server;
+    private final ExecutorService executor;
+
+    private PetstoreStandIn(DurablePetstore store, HttpServer server, ExecutorService executor) {
+        this.store = store;
+        this.server = server;
+        this.executor = executor;
+    }
+
+    public static PetstoreStandIn start(DurablePetstore store, int port) {
+        try {
+            HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", port), 0);
+            ExecutorService executor = Executors.newFixedThreadPool(Math.max(4, Runtime.getRuntime().availableProcessors() * 2));
+            PetstoreStandIn standIn = new PetstoreStandIn(store, server, executor);
+            server.setExecutor(executor);
+            server.createContext(BASE_PATH, standIn::handle);
+            server.start();
+            return standIn;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Не удалось запустить заглушку на порту " + port, e);
+        }
+    }
+
+    public static void main(String[] args) {
+        Path dir = Path.of(args.length > 0 ? args[0] : ".petstore-standin");
+        int port = args.length > 1 ? Integer.parseInt(args[1]) : 8080;
+        DurablePetstore store = DurablePetstore.open(dir, DurablePetstore.Settings.fromSystemProperties());
+        System.out.println(store.recovery());
+        if (store.inventory().isEmpty()) {
+            seed(store);
+        }
+        PetstoreStandIn standIn = start(store, port);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            standIn.close();
+            store.close();
+        }));
+        System.out.println("petstore.baseUri=" + standIn.baseUri());
+    }
+
+    /**
+     * Питомцы с id 1…3, по одному в каждом статусе: на публичном стенде они есть всегда, и на них опираются
+     * проверки инвентаря и поиска по статусу. Тесты эти id не создают и не удаляют.
+     */
+    static void seed(DurablePetstore store) {
+        for (int i = 0; i < SEED_STATUSES.size(); i++) {
+            ObjectNode pet = MAPPER.createObjectNode();
+            pet.put("id", i + 1);
+            pet.putObject("category").put("id", 1).put("name", "dogs");
+            pet.put("name", "doggie");
+            pet.putArray("photoUrls");
+            pet.putArray("tags");
+            pet.put("status", SEED_STATUSES.get(i));
+            try {
+                store.putPet(i + 1, SEED_STATUSES.get(i), MAPPER.writeValueAsBytes(pet));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    public int port() {
+        return server.getAddress().getPort();
+    }
+
+    public String baseUri() {
+        return "http://127.0.0.1:" + port() + BASE_PATH;
+    }
+
+    private record Reply(int status, byte[] body) {
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        Reply reply;
+        try {
+            String path = exchange.getRequestURI().getRawPath().substring(BASE_PATH.length());
+            List<String> segments = new ArrayList<>();
+            for (String segment : path.split("/")) {
+                if (!segment.isEmpty()) {
+                    //Только %XX: «+» в пути — обычный символ, а не пробел, как в form-кодировке.
+                    segments.add(URLDecoder.decode(segment.replace("+", "%2B"), StandardCharsets.UTF_8));
+                }
+            }
+            byte[] body = exchange.getRequestBody().readAllBytes();
+            reply = route(exchange.getRequestMethod(), segments, body, exchange);
+        } catch (IOException | RuntimeException e) {
+            reply = message(500, "something bad happened");
+        }
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(reply.status(), reply.body().length == 0 ? -1 : reply.body().length);
+        if (reply.body().length > 0) {
+            exchange.getResponseBody().write(reply.body());
+        }
+        exchange.close();
+    }
+
+    private Reply route(String method, List<String> segments, byte[] body, HttpExchange exchange) throws IOException {
+        if (segments.isEmpty()) {
+            return message(404, "not found");
+        }
+        String resource = segments.get(0);
+        int size = segments.size();
+        if (resource.equals("pet")) {
+            if (size == 1 && (method.equals("POST") || method.equals("PUT"))) {
+                return putPet(body);
+            }
+            if (size == 3 && segments.get(2).equals("uploadImage") && method.equals("POST")) {
+                String contentType = exchange.getRequestHeaders().getFirst("Content-Type");
+                return parseId(segments.get(1)).map(petId -> uploadImage(petId, body, contentType))
+                        .orElseGet(() -> message(404, "Pet not found"));
+            }
+            if (size == 2 && segments.get(1).equals("findByStatus") && method.equals("GET")) {
+                return findByStatus(query(exchange).getOrDefault("status", List.of()));
+            }
+            if (size == 2) {
+                Optional<Long> id = parseId(segments.get(1));
+                return switch (method) {
+                    case "GET" -> id.flatMap(store::pet).map(json -> new Reply(200, json))
+                            .orElseGet(() -> message(404, "Pet not found"));
+                    case "POST" -> id.map(petId -> updatePet(petId, form(body))).orElseGet(() -> message(404, "Pet not found"));
+                    case "DELETE" -> id.filter(store::deletePet).map(petId -> message(200, String.valueOf(petId)))
+                            .orElseGet(() -> message(404, "Pet not found"));
+                    default -> message(405, "Method not allowed");
+                };
+            }
+        } else if (resource.equals("store")) {
+            if (size == 2 && segments.get(1).equals("inventory") && method.equals("GET")) {
+                return new Reply(200, MAPPER.writeValueAsBytes(store.inventory()));
+            }
+            if (size == 2 && segments.get(1).equals("order") && method.equals("POST")) {
+                return putOrder(body);
+            }
+            if (size == 3 && segments.get(1).equals("order")) {
+                Optional<Long> id = parseId(segments.get(2));
+                return switch (method) {
+                    case "GET" -> id.flatMap(store::order).map(json -> new Reply(200, json))
+                            .orElseGet(() -> message(404, "Order not found"));
+                    case "DELETE" -> id.filter(store::deleteOrder).map(orderId -> message(200, String.valueOf(orderId)))
+                            .orElseGet(() -> message(404, "Order Not Found"));
+                    default -> message(405, "Method not allowed");
+                };
+            }
+        } else if (resource.equals("user")) {
+            if (size == 1 && method.equals("POST")) {
+                return message(200, String.valueOf(putUser(MAPPER.readTree(body), null)));
+            }
+            if (size == 2 && method.equals("POST")
+                    && (segments.get(1).equals("createWithArray") || segments.get(1).equals("createWithList"))) {
+                //Сначала проверяется весь массив: ошибка в одном элементе не должна оставить записанными предыдущие.
+                JsonNode users = MAPPER.readTree(body);
+                if (users == null || !users.isArray()) {
+                    return message(500, "something bad happened");
+                }
+                for (JsonNode user : users) {
+                    if (!user.isObject()) {
+                        return message(500, "something bad happened");
+                    }
+                }
+                for (JsonNode user : users) {
+                    putUser(user, null);
+                }
+                return message(200, "ok");
+            }
+            if (size == 2 && segments.get(1).equals("login") && method.equals("GET")) {
+                return message(200, "logged in user session:" + System.currentTimeMillis());
+            }
+            if (size == 2 && segments.get(1).equals("logout") && method.equals("GET")) {
+                return message(200, "ok");
+            }
+            if (size == 2) {
+                String username = segments.get(1);
+                return switch (method) {
+                    case "GET" -> store.user(username).map(json -> new Reply(200, json))
+                            .orElseGet(() -> message(404, "User not found"));
+                    case "PUT" -> message(200, String.valueOf(putUser(MAPPER.readTree(body), username)));
+                    case "DELETE" -> store.deleteUser(username) ? message(200, username) : new Reply(404, new byte[0]);
+                    default -> message(405, "Method not allowed");
+                };
+            }
+        }
+        return message(404, "not found");
+    }
+
+    private Reply putPet(byte[] body) throws IOException {
+        JsonNode node = MAPPER.readTree(body);
+        if (!(node instanceof ObjectNode pet)) {
+            return message(400, "bad input");
+        }
+        long id = ensureId(pet);
+        byte[] json = MAPPER.writeValueAsBytes(pet);
+        store.putPet(id, pet.path("status").asText(""), json);
+        return new Reply(200, json);
+    }
+
+    private Reply updatePet(long id, Map<String, String> form) {
+        Optional<byte[]> current = store.pet(id);
+        if (current.isEmpty()) {
+            return message(404, "Pet not found");
+        }
+        try {
+            ObjectNode pet = (ObjectNode) MAPPER.readTree(current.get());
+            if (form.containsKey("name")) {
+                pet.put("name", form.get("name"));
+            }
+            if (form.containsKey("status")) {
+                pet.put("status", form.get("status"));
+            }
+            store.putPet(id, pet.path("status").asText(""), MAPPER.writeValueAsBytes(pet));
+            return message(200, String.valueOf(id));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private Reply uploadImage(long id, byte[] body, String contentType) {
+        if (store.pet(id).isEmpty()) {
+            return message(404, "Pet not found");
+        }
+        int at = contentType == null ? -1 : contentType.indexOf("boundary=");
+        if (at < 0) {
+            return message(415, "Unsupported Media Type");
+        }
+        String boundary = "--" + contentType.substring(at + "boundary=".length()).replace("\"", "").split(";")[0].trim();
+        //ISO-8859-1 переводит байты в символы один к одному: длина файла считается в байтах.
+        String metadata = "null";
+        String file = null;
+        int fileBytes = 0;
+        for (String part : new String(body, StandardCharsets.ISO_8859_1).split(Pattern.quote(boundary))) {
+            int headersEnd = part.indexOf("\r\n\r\n");
+            if (headersEnd < 0) {
+                continue;
+            }
+            String content = part.substring(headersEnd + 4);
+            if (content.endsWith("\r\n")) {
+                content = content.substring(0, content.length() - 2);
+            }
+            Map<String, String> disposition = new HashMap<>();
+            Matcher param = DISPOSITION_PARAM.matcher(part.substring(0, headersEnd));
+            while (param.find()) {
+                disposition.put(param.group(1), param.group(2));
+            }
+            if ("additionalMetadata".equals(disposition.get("name"))) {
+                metadata = new String(content.getBytes(StandardCharsets.ISO_8859_1), StandardCharsets.UTF_8);
+            } else if ("file".equals(disposition.get("name"))) {
+                file = disposition.getOrDefault("filename", "file");
+                fileBytes = content.length();
+            }
+        }
+        if (file == null) {
+            return message(400, "No file uploaded");
+        }
+        return message(200, "additionalMetadata: " + metadata + "\nFile uploaded to ./" + file + ", " + fileBytes + " bytes");
+    }
+
+    private Reply findByStatus(List<String> statuses) throws IOException {
+        List<String> expanded = new ArrayList<>();
+        statuses.forEach(s -> expanded.addAll(List.of(s.split(","))));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.write('[');
+        boolean first = true;
+        for (byte[] pet : store.petsByStatus(expanded)) {
+            if (!first) {
+                out.write(',');
+            }
+            out.write(pet);
+            first = false;
+        }
+        out.write(']');
+        return new Reply(200, out.toByteArray());
+    }
+
+    private Reply putOrder(byte[] body) throws IOException {
+        JsonNode node = MAPPER.readTree(body);
+        if (!(node instanceof ObjectNode order)) {
+            return message(400, "Invalid Order");
+        }
+        //Как и настоящий сервис, нечисловое quantity роняет обработку.
+        if (order.has("quantity") && !order.get("quantity").isIntegralNumber()) {
+            return message(500, "something bad happened");
+        }
+        long id = ensureId(order);
+        byte[] json = MAPPER.writeValueAsBytes(order);
+        store.putOrder(id, json);
+        return new Reply(200, json);
+    }
+
+    private long putUser(JsonNode node, String pathUsername) throws IOException {
+        if (!(node instanceof ObjectNode user)) {
+            throw new IllegalArgumentException("ожидался объект пользователя");
+        }
+        long id = ensureId(user);
+        String username = user.path("username").asText(pathUsername);
+        store.putUser(username, MAPPER.writeValueAsBytes(user));
+        return id;
+    }
+
+    private static long ensureId(ObjectNode node) {
+        JsonNode id = node.get("id");
+        if (id != null && id.canConvertToLong() && id.asLong() != 0) {
+            return id.asLong();
+        }
+        long generated = ThreadLocalRandom.current().nextLong(1L << 40, 1L << 62);
+        node.put("id", generated);
+        return generated;
+    }
+
+    private static Optional<Long> parseId(String value) {
+        try {
+            return Optional.of(Long.parseLong(value));
+        } catch (NumberFormatException e) {
+            return Optional.empty();
+        }
+    }
+
+    private static Map<String, List<String>> query(HttpExchange exchange) {
+        Map<String, List<String>> params = new HashMap<>();
+        String query = exchange.getRequestURI().getRawQuery();
+        if (query != null) {
+            parsePairs(query).forEach((k, v) -> params.computeIfAbsent(k, key -> new ArrayList<>()).addAll(v));
+        }
+        return params;
+    }
+
+    private static Map<String, String> form(byte[] body) {
+        Map<String, String> form = new LinkedHashMap<>();
+        parsePairs(new String(body, StandardCharsets.UTF_8)).forEach((k, v) -> form.put(k, v.get(v.size() - 1)));
+        return form;
+    }
+
+    private static Map<String, List<String>> parsePairs(String encoded) {
+        Map<String, List<String>> pairs = new LinkedHashMap<>();
+        for (String pair : encoded.split("&")) {
+            if (pair.isEmpty()) {
+                continue;
+            }
+            int eq = pair.indexOf('=');
+            String key = URLDecoder.decode(eq < 0 ? pair : pair.substring(0, eq), StandardCharsets.UTF_8);
+            String value = eq < 0 ? "" : URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8);
+            pairs.computeIfAbsent(key, k -> new ArrayList<>()).add(value);
+        }
+        return pairs;
+    }
+
+    private static Reply message(int code, String message) {
+        ObjectNode response = MAPPER.createObjectNode();
+        response.put("code", code);
+        response.put("type", code == 200 ? "unknown" : "error");
+        response.put("message", message);
+        try {
+            return new Reply(code, MAPPER.writeValueAsBytes(response));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+}
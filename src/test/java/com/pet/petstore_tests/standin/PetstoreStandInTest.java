@@ -0,0 +1,114 @@
+package com.pet.petstore_tests.standin;
+
+import io.restassured.RestAssured;
+import io.restassured.specification.RequestSpecification;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+
+import static org.hamcrest.Matchers.*;
+
+public class PetstoreStandInTest {
+
+    private static final DurablePetstore.Settings SETTINGS = new DurablePetstore.Settings(1 << 20, true, 100, 1_000_000);
+
+    @TempDir
+    Path dir;
+
+    @BeforeEach
+    void reset() {
+        RestAssured.reset();
+    }
+
+    private static RequestSpecification given(PetstoreStandIn standIn) {
+        return RestAssured.given().baseUri(standIn.baseUri()).contentType("application/json");
+    }
+
+    @Test
+    @DisplayName("Питомцы, заказы и пользователи переживают перезапуск заглушки")
+    void state_survivesRestart() {
+        try (DurablePetstore store = DurablePetstore.open(dir, SETTINGS);
+             PetstoreStandIn standIn = PetstoreStandIn.start(store, 0)) {
+            given(standIn).body("{\"id\":7,\"name\":\"doggie\",\"status\":\"available\"}").post("/pet")
+                    .then().statusCode(200).body("id", equalTo(7));
+            given(standIn).contentType("application/x-www-form-urlencoded").formParam("status", "sold")
+                    .post("/pet/{id}", 7).then().statusCode(200);
+            given(standIn).body("{\"id\":3,\"petId\":7,\"quantity\":1,\"status\":\"placed\"}").post("/store/order")
+                    .then().statusCode(200);
+            given(standIn).body("[{\"id\":1,\"username\":\"UserOne\"},{\"id\":2,\"username\":\"UserTwo\"}]")
+                    .post("/user/createWithArray").then().statusCode(200);
+            given(standIn).delete("/user/{name}", "UserTwo").then().statusCode(200);
+        }
+
+        try (DurablePetstore store = DurablePetstore.open(dir, SETTINGS);
+             PetstoreStandIn standIn = PetstoreStandIn.start(store, 0)) {
+            given(standIn).get("/pet/{id}", 7).then().statusCode(200)
+                    .body("name", equalTo("doggie")).body("status", equalTo("sold"));
+            given(standIn).queryParam("status", "available", "sold").get("/pet/findByStatus")
+                    .then().statusCode(200).body("id", contains(7));
+            given(standIn).get("/store/inventory").then().statusCode(200).body("sold", equalTo(1));
+            given(standIn).get("/store/order/{id}", 3).then().statusCode(200).body("petId", equalTo(7));
+            given(standIn).get("/user/{name}", "UserOne").then().statusCode(200).body("id", equalTo(1));
+            given(standIn).get("/user/{name}", "UserTwo").then().statusCode(404);
+        }
+    }
+
+    @Test
+    @DisplayName("Заглушка повторяет особенности сервиса, зафиксированные в API-тестах")
+    void mimicsPetstoreQuirks() {
+        try (DurablePetstore store = DurablePetstore.open(dir, SETTINGS);
+             PetstoreStandIn standIn = PetstoreStandIn.start(store, 0)) {
+            given(standIn).get("/pet/{id}", "abc").then().statusCode(404);
+            given(standIn).delete("/store/order/{id}", 88888888).then().statusCode(404);
+            given(standIn).body("{\"id\":1,\"petId\":1,\"quantity\":\"some string\"}").post("/store/order")
+                    .then().statusCode(500);
+            given(standIn).body("{\"username\":\"not_found\",\"firstName\":\"new\"}").put("/user/{name}", "not_found")
+                    .then().statusCode(200);
+            given(standIn).get("/user/{name}", "not_found").then().statusCode(200).body("firstName", equalTo("new"));
+            given(standIn).body("{\"id\":5,\"username\":\"a+b\"}").post("/user").then().statusCode(200);
+            given(standIn).urlEncodingEnabled(false).get("/user/a+b").then().statusCode(200).body("id", equalTo(5));
+            given(standIn).queryParam("username", "u").queryParam("password", "p").get("/user/login")
+                    .then().statusCode(200).body("message", containsString("logged in user session"));
+        }
+    }
+
+    @Test
+    @DisplayName("Массив пользователей с ошибкой в одном элементе не записывается целиком")
+    void createWithArray_isAllOrNothing() {
+        try (DurablePetstore store = DurablePetstore.open(dir, SETTINGS);
+             PetstoreStandIn standIn = PetstoreStandIn.start(store, 0)) {
+            given(standIn).body("[{\"id\":1,\"username\":\"first\"},42]").post("/user/createWithArray")
+                    .then().statusCode(500);
+            given(standIn).body("[{\"id\":1,\"username\":\"first\"},\"second\"]").post("/user/createWithList")
+                    .then().statusCode(500);
+            given(standIn).get("/user/{name}", "first").then().statusCode(404);
+        }
+    }
+
+    @Test
+    @DisplayName("Засеянная заглушка отдаёт инвентарь и поиск по статусам, принимает изображение")
+    void seededStore_supportsInventoryAndUpload() {
+        try (DurablePetstore store = DurablePetstore.open(dir, SETTINGS);
+             PetstoreStandIn standIn = PetstoreStandIn.start(store, 0)) {
+            PetstoreStandIn.seed(store);
+
+            given(standIn).get("/store/inventory").then().statusCode(200)
+                    .body("available", equalTo(1)).body("pending", equalTo(1)).body("sold", equalTo(1));
+            given(standIn).queryParam("status", "available", "sold").get("/pet/findByStatus")
+                    .then().statusCode(200).body("status", containsInAnyOrder("available", "sold"));
+            RestAssured.given().baseUri(standIn.baseUri())
+                    .multiPart("additionalMetadata", "photo")
+                    .multiPart("file", "dog.jpg", new byte[]{1, 2, 3, 13, 10})
+                    .post("/pet/{id}/uploadImage", 1)
+                    .then().statusCode(200)
+                    .body("message", equalTo("additionalMetadata: photo\nFile uploaded to ./dog.jpg, 5 bytes"));
+            RestAssured.given().baseUri(standIn.baseUri())
+                    .multiPart("file", "dog.jpg", new byte[]{1})
+                    .post("/pet/{id}/uploadImage", 404)
+                    .then().statusCode(404);
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.pet.petstore_tests.standin;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+
+/**
+ * Состояние заглушки в памяти: питомцы, заказы и пользователи хранятся готовым JSON,
+ * у питомца отдельно статус — для findByStatus и инвентаря без разбора тела.
+ * Одни и те же записи (тип + данные) описывают изменения в журнале и содержимое снимка.
+ */
+final class PetstoreState {
+
+    static final byte PUT_PET = 1;
+    static final byte DELETE_PET = 2;
+    static final byte PUT_ORDER = 3;
+    static final byte DELETE_ORDER = 4;
+    static final byte PUT_USER = 5;
+    static final byte DELETE_USER = 6;
+
+    record StoredPet(String status, byte[] json) {
+    }
+
+    final Map<Long, StoredPet> pets = new ConcurrentHashMap<>();
+    final Map<Long, byte[]> orders = new ConcurrentHashMap<>();
+    final Map<String, byte[]> users = new ConcurrentHashMap<>();
+
+    long size() {
+        return pets.size() + orders.size() + (long) users.size();
+    }
+
+    void apply(byte type, ByteBuffer payload) {
+        switch (type) {
+            case PUT_PET -> {
+                long id = payload.getLong();
+                String status = readString(payload);
+                pets.put(id, new StoredPet(status, rest(payload)));
+            }
+            case DELETE_PET -> pets.remove(payload.getLong());
+            case PUT_ORDER -> {
+                long id = payload.getLong();
+                orders.put(id, rest(payload));
+            }
+            case DELETE_ORDER -> orders.remove(payload.getLong());
+            case PUT_USER -> {
+                String username = readString(payload);
+                users.put(username, rest(payload));
+            }
+            case DELETE_USER -> users.remove(readString(payload));
+            default -> throw new IllegalStateException("Неизвестный тип записи " + type);
+        }
+    }
+
+    /**
+     * Перебирает всё состояние записями PUT — содержимое снимка.
+     */
+    void forEachRecord(BiConsumer<Byte, byte[]> consumer) {
+        pets.forEach((id, pet) -> consumer.accept(PUT_PET, putPet(id, pet.status(), pet.json())));
+        orders.forEach((id, json) -> consumer.accept(PUT_ORDER, putOrder(id, json)));
+        users.forEach((username, json) -> consumer.accept(PUT_USER, putUser(username, json)));
+    }
+
+    static byte[] putPet(long id, String status, byte[] json) {
+        byte[] statusBytes = status.getBytes(StandardCharsets.UTF_8);
+        return ByteBuffer.allocate(8 + 2 + statusBytes.length + json.length)
+                .putLong(id).putShort((short) statusBytes.length).put(statusBytes).put(json).array();
+    }
+
+    static byte[] putOrder(long id, byte[] json) {
+        return ByteBuffer.allocate(8 + json.length).putLong(id).put(json).array();
+    }
+
+    static byte[] putUser(String username, byte[] json) {
+        byte[] name = username.getBytes(StandardCharsets.UTF_8);
+        return ByteBuffer.allocate(2 + name.length + json.length).putShort((short) name.length).put(name).put(json).array();
+    }
+
+    static byte[] id(long id) {
+        return ByteBuffer.allocate(8).putLong(id).array();
+    }
+
+    static byte[] username(String username) {
+        byte[] name = username.getBytes(StandardCharsets.UTF_8);
+        return ByteBuffer.allocate(2 + name.length).putShort((short) name.length).put(name).array();
+    }
+
+    private static String readString(ByteBuffer payload) {
+        byte[] bytes = new byte[Short.toUnsignedInt(payload.getShort())];
+        payload.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static byte[] rest(ByteBuffer payload) {
+        byte[] bytes = new byte[payload.remaining()];
+        payload.get(bytes);
+        return bytes;
+    }
+}
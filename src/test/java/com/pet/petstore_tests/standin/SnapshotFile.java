@@ -0,0 +1,131 @@
+package com.pet.petstore_tests.standin;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Компактный снимок состояния: записи PUT подряд ({@code [byte тип][int длина][данные]}),
+ * затем маркер 0, число записей и crc32 всего содержимого. Имя snapshot-N.bin означает, что для
+ * восстановления после снимка нужно проиграть сегменты журнала с номера N. Файл пишется во временный
+ * и атомарно переименовывается, поэтому недописанный снимок никогда не выбирается.
+ */
+final class SnapshotFile {
+
+    private static final Pattern NAME = Pattern.compile("snapshot-(\\d{12})\\.bin");
+
+    private SnapshotFile() {
+    }
+
+    static Path path(Path dir, long segment) {
+        return dir.resolve(String.format("snapshot-%012d.bin", segment));
+    }
+
+    static void write(Path dir, long segment, PetstoreState state) {
+        Path target = path(dir, segment);
+        Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+        try {
+            CRC32 crc = new CRC32();
+            long[] count = {0};
+            try (OutputStream file = new BufferedOutputStream(Files.newOutputStream(temp), 1 << 20)) {
+                DataOutputStream out = new DataOutputStream(new CheckedOutputStream(file, crc));
+                state.forEachRecord((type, payload) -> {
+                    try {
+                        out.writeByte(type);
+                        out.writeInt(payload.length);
+                        out.write(payload);
+                        count[0]++;
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                out.writeByte(0);
+                out.writeLong(count[0]);
+                out.flush();
+                //Сумма покрывает всё, что записано до неё, включая маркер и счётчик.
+                new DataOutputStream(file).writeLong(crc.getValue());
+            }
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                channel.force(true);
+            }
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Не удалось записать снимок " + target, e);
+        } catch (UncheckedIOException e) {
+            throw new UncheckedIOException("Не удалось записать снимок " + target, e.getCause());
+        }
+    }
+
+    /**
+     * Номера сегментов существующих снимков по возрастанию.
+     */
+    static List<Long> list(Path dir) {
+        List<Long> result = new ArrayList<>();
+        if (!Files.isDirectory(dir)) {
+            return result;
+        }
+        try (Stream<Path> files = Files.list(dir)) {
+            files.forEach(file -> {
+                Matcher matcher = NAME.matcher(file.getFileName().toString());
+                if (matcher.matches()) {
+                    result.add(Long.parseLong(matcher.group(1)));
+                }
+            });
+        } catch (IOException e) {
+            throw new UncheckedIOException("Не удалось прочитать " + dir, e);
+        }
+        result.sort(null);
+        return result;
+    }
+
+    /**
+     * Загружает снимок в state.
+     *
+     * @return число записей или пусто, если файл повреждён (тогда state мог заполниться частично)
+     */
+    static Optional<Long> read(Path file, PetstoreState state) {
+        CRC32 crc = new CRC32();
+        try (DataInputStream in = new DataInputStream(new CheckedInputStream(
+                new BufferedInputStream(Files.newInputStream(file), 1 << 20), crc))) {
+            long count = 0;
+            while (true) {
+                byte type = in.readByte();
+                if (type == 0) {
+                    break;
+                }
+                byte[] payload = new byte[in.readInt()];
+                in.readFully(payload);
+                state.apply(type, ByteBuffer.wrap(payload));
+                count++;
+            }
+            long expectedCount = in.readLong();
+            long expectedCrc = crc.getValue();
+            long storedCrc = new DataInputStream(in).readLong();
+            return count == expectedCount && storedCrc == expectedCrc ? Optional.of(count) : Optional.empty();
+        } catch (EOFException | IllegalStateException | NegativeArraySizeException e) {
+            return Optional.empty();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Не удалось прочитать снимок " + file, e);
+        }
+    }
+}
@@ -0,0 +1,319 @@
+package com.pet.petstore_tests.standin;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Журнал упреждающей записи из сегментов фиксированного размера, отображённых в память.
+ * Запись: {@code [int длина типа и данных][int crc32][byte тип][данные]}; файл сегмента заранее заполнен нулями,
+ * поэтому нулевая длина или несовпавшая сумма означают конец журнала (в том числе оборванную запись).
+ * Групповая фиксация: писатели, которым нужна durability, ждут в {@link #await(long)}, а один поток
+ * сбрасывает на диск сразу всё накопленное за окно groupCommitMicros.
+ */
+public final class WriteAheadLog implements AutoCloseable {
+
+    public record Settings(int segmentBytes, boolean fsync, long groupCommitMicros) {
+    }
+
+    public interface RecordHandler {
+        void accept(byte type, ByteBuffer payload);
+    }
+
+    static final int HEADER = 9;
+    private static final Pattern SEGMENT = Pattern.compile("wal-(\\d{12})\\.log");
+
+    private final Path dir;
+    private final Settings settings;
+
+    //Поля сегмента меняются под монитором this.
+    private long segment;
+    private FileChannel channel;
+    private MappedByteBuffer buffer;
+    private int position;
+    private int forcedPosition;
+    private volatile long written;
+    private long replayed;
+
+    //Писатели будят только поток фиксации, а он — писателей: общий монитор с notifyAll
+    //приводил к тому, что писатели будили друг друга и не пускали поток фиксации.
+    private final ReentrantLock commitLock = new ReentrantLock();
+    private final Condition needCommit = commitLock.newCondition();
+    private final Condition committed = commitLock.newCondition();
+    private long durable;
+    private volatile boolean running = true;
+    private final Thread committer;
+
+    private WriteAheadLog(Path dir, Settings settings, long segment) {
+        this.dir = dir;
+        this.settings = settings;
+        openSegment(segment);
+        if (settings.fsync()) {
+            committer = new Thread(this::commitLoop, "wal-commit");
+            committer.setDaemon(true);
+            committer.start();
+        } else {
+            committer = null;
+        }
+    }
+
+    /**
+     * Проигрывает сегменты с номером не меньше fromSegment и открывает новый сегмент для записи.
+     *
+     * @return журнал, готовый к дозаписи; число проигранных записей — в {@link #replayed()}
+     */
+    public static WriteAheadLog open(Path dir, Settings settings, long fromSegment, RecordHandler handler) {
+        try {
+            Files.createDirectories(dir);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Не удалось создать " + dir, e);
+        }
+        long last = fromSegment - 1;
+        long replayed = 0;
+        for (long seq : segments(dir)) {
+            if (seq >= fromSegment) {
+                replayed += replay(segmentPath(dir, seq), handler);
+                last = seq;
+            }
+        }
+        //Дописывать в частично заполненный сегмент не нужно: хвост после сбоя может быть испорчен.
+        WriteAheadLog log = new WriteAheadLog(dir, settings, Math.max(last + 1, fromSegment));
+        log.replayed = replayed;
+        return log;
+    }
+
+    public long replayed() {
+        return replayed;
+    }
+
+    static List<Long> segments(Path dir) {
+        List<Long> result = new ArrayList<>();
+        try (Stream<Path> files = Files.list(dir)) {
+            files.forEach(file -> {
+                Matcher matcher = SEGMENT.matcher(file.getFileName().toString());
+                if (matcher.matches()) {
+                    result.add(Long.parseLong(matcher.group(1)));
+                }
+            });
+        } catch (IOException e) {
+            throw new UncheckedIOException("Не удалось прочитать " + dir, e);
+        }
+        result.sort(null);
+        return result;
+    }
+
+    static Path segmentPath(Path dir, long seq) {
+        return dir.resolve(String.format("wal-%012d.log", seq));
+    }
+
+    private static long replay(Path file, RecordHandler handler) {
+        try (FileChannel in = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer map = in.map(FileChannel.MapMode.READ_ONLY, 0, in.size());
+            long count = 0;
+            int pos = 0;
+            CRC32 crc = new CRC32();
+            while (pos + HEADER <= map.limit()) {
+                int length = map.getInt(pos);
+                if (length <= 0 || pos + 8 + length > map.limit()) {
+                    break;
+                }
+                ByteBuffer body = map.slice(pos + 8, length);
+                crc.reset();
+                crc.update(body.duplicate());
+                if ((int) crc.getValue() != map.getInt(pos + 4)) {
+                    break;
+                }
+                handler.accept(body.get(0), body.slice(1, length - 1));
+                pos += 8 + length;
+                count++;
+            }
+            return count;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Не удалось прочитать " + file, e);
+        }
+    }
+
+    /**
+     * Дописывает запись в отображённый сегмент (без ожидания диска).
+     *
+     * @return позиция конца записи в журнале; передаётся в {@link #await(long)}
+     */
+    public synchronized long append(byte type, byte[] payload) {
+        int size = HEADER + payload.length;
+        if (size > settings.segmentBytes()) {
+            throw new IllegalArgumentException("Запись " + size + " байт больше сегмента " + settings.segmentBytes());
+        }
+        if (position + size > settings.segmentBytes()) {
+            rollSegment();
+        }
+        CRC32 crc = new CRC32();
+        crc.update(type);
+        crc.update(payload);
+        //Абсолютные put: позицию буфера параллельно читает поток фиксации.
+        buffer.putInt(position + 4, (int) crc.getValue());
+        buffer.put(position + 8, type);
+        buffer.put(position + HEADER, payload);
+        //Длина пишется последней: без неё запись при восстановлении не видна.
+        buffer.putInt(position, payload.length + 1);
+        position += size;
+        written += size;
+        return written;
+    }
+
+    /**
+     * Ждёт, пока запись до lsn окажется на диске. Без fsync возвращается сразу: данные уже в page cache
+     * и переживут падение процесса, но не ОС.
+     */
+    public void await(long lsn) {
+        if (committer == null) {
+            return;
+        }
+        commitLock.lock();
+        try {
+            if (durable < lsn) {
+                needCommit.signal();
+            }
+            while (durable < lsn) {
+                if (!running) {
+                    throw new IllegalStateException("Журнал закрыт");
+                }
+                committed.awaitUninterruptibly();
+            }
+        } finally {
+            commitLock.unlock();
+        }
+    }
+
+    private void commitLoop() {
+        while (running) {
+            commitLock.lock();
+            try {
+                while (running && durable >= written) {
+                    try {
+                        needCommit.await();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                }
+            } finally {
+                commitLock.unlock();
+            }
+            //Окно группировки: за это время подтянутся другие писатели, и один force покроет всех.
+            if (settings.groupCommitMicros() > 0) {
+                LockSupport.parkNanos(settings.groupCommitMicros() * 1000);
+            }
+            commit();
+        }
+    }
+
+    private void commit() {
+        long target;
+        MappedByteBuffer map;
+        int from;
+        int to;
+        synchronized (this) {
+            target = written;
+            map = buffer;
+            from = forcedPosition;
+            to = position;
+            forcedPosition = to;
+        }
+        if (to > from) {
+            map.force(from, to - from);
+        }
+        commitLock.lock();
+        try {
+            durable = Math.max(durable, target);
+            committed.signalAll();
+        } finally {
+            commitLock.unlock();
+        }
+    }
+
+    /**
+     * Закрывает текущий сегмент и начинает следующий.
+     *
+     * @return номер нового сегмента: всё, что записано после вызова, лежит в нём и дальше
+     */
+    public synchronized long rotate() {
+        rollSegment();
+        return segment;
+    }
+
+    /**
+     * Удаляет сегменты, целиком покрытые снимком.
+     */
+    public void deleteSegmentsBefore(long seq) {
+        for (long old : segments(dir)) {
+            if (old < seq) {
+                try {
+                    Files.deleteIfExists(segmentPath(dir, old));
+                } catch (IOException e) {
+                    throw new UncheckedIOException("Не удалось удалить сегмент " + old, e);
+                }
+            }
+        }
+    }
+
+    private void rollSegment() {
+        buffer.force();
+        closeChannel();
+        openSegment(segment + 1);
+    }
+
+    private void openSegment(long seq) {
+        try {
+            segment = seq;
+            channel = FileChannel.open(segmentPath(dir, seq), StandardOpenOption.CREATE_NEW,
+                    StandardOpenOption.READ, StandardOpenOption.WRITE);
+            //Отображение расширяет файл до размера сегмента; новые страницы заполнены нулями.
+            buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, settings.segmentBytes());
+            position = 0;
+            forcedPosition = 0;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Не удалось открыть сегмент " + seq, e);
+        }
+    }
+
+    private void closeChannel() {
+        try {
+            channel.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Не удалось закрыть сегмент " + segment, e);
+        }
+    }
+
+    @Override
+    public void close() {
+        synchronized (this) {
+            buffer.force();
+            closeChannel();
+        }
+        commitLock.lock();
+        try {
+            durable = written;
+            running = false;
+            needCommit.signal();
+            committed.signalAll();
+        } finally {
+            commitLock.unlock();
+        }
+        if (committer != null) {
+            committer.interrupt();
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.pet.petstore_tests.standin;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class WriteAheadLogTest {
+
+    @TempDir
+    Path dir;
+
+    private static List<String> replay(Path dir, long fromSegment, WriteAheadLog.Settings settings) {
+        List<String> records = new ArrayList<>();
+        WriteAheadLog log = WriteAheadLog.open(dir, settings, fromSegment, (type, payload) -> {
+            byte[] bytes = new byte[payload.remaining()];
+            payload.get(bytes);
+            records.add(type + ":" + new String(bytes, StandardCharsets.UTF_8));
+        });
+        log.close();
+        return records;
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    @DisplayName("Записи проигрываются после переоткрытия в порядке добавления, в том числе через границы сегментов")
+    void reopen_replaysAcrossSegments() {
+        WriteAheadLog.Settings settings = new WriteAheadLog.Settings(64, true, 0);
+        WriteAheadLog log = WriteAheadLog.open(dir, settings, 0, (type, payload) -> fail("журнал пуст"));
+        List<String> expected = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            log.await(log.append((byte) 1, bytes("record-" + i)));
+            expected.add("1:record-" + i);
+        }
+        log.close();
+
+        assertTrue(WriteAheadLog.segments(dir).size() > 2, "ожидалось несколько сегментов");
+        assertEquals(expected, replay(dir, 0, settings));
+    }
+
+    @Test
+    @DisplayName("Оборванная или испорченная запись завершает журнал, предыдущие сохраняются")
+    void corruptedTail_stopsReplay() throws Exception {
+        WriteAheadLog.Settings settings = new WriteAheadLog.Settings(4096, false, 0);
+        WriteAheadLog log = WriteAheadLog.open(dir, settings, 0, (type, payload) -> { });
+        log.append((byte) 1, bytes("first"));
+        log.append((byte) 1, bytes("second"));
+        log.close();
+
+        //Портим последний байт второй записи: сумма не сойдётся.
+        int offset = WriteAheadLog.HEADER + 5 + WriteAheadLog.HEADER + 5;
+        try (FileChannel channel = FileChannel.open(WriteAheadLog.segmentPath(dir, 0), StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[]{'X'}), offset);
+        }
+
+        assertEquals(List.of("1:first"), replay(dir, 0, settings));
+    }
+
+    @Test
+    @DisplayName("Сегменты до снимка не проигрываются и удаляются")
+    void rotate_startsNewSegment() {
+        WriteAheadLog.Settings settings = new WriteAheadLog.Settings(4096, false, 0);
+        WriteAheadLog log = WriteAheadLog.open(dir, settings, 0, (type, payload) -> { });
+        log.append((byte) 1, bytes("old"));
+        long segment = log.rotate();
+        log.append((byte) 2, bytes("new"));
+        log.deleteSegmentsBefore(segment);
+        log.close();
+
+        assertEquals(List.of("2:new"), replay(dir, segment, settings));
+        assertFalse(WriteAheadLog.segments(dir).contains(0L));
+    }
+
+    @Test
+    @DisplayName("Групповая фиксация: параллельные писатели дожидаются диска и ничего не теряется")
+    void groupCommit_concurrentWriters() throws Exception {
+        WriteAheadLog.Settings settings = new WriteAheadLog.Settings(1 << 20, true, 200);
+        WriteAheadLog log = WriteAheadLog.open(dir, settings, 0, (type, payload) -> { });
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                int thread = t;
+                futures.add(pool.submit(() -> {
+                    for (int i = 0; i < 200; i++) {
+                        log.await(log.append((byte) 1, bytes(thread + "-" + i)));
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        log.close();
+
+        List<String> records = replay(dir, 0, settings);
+        assertEquals(1600, records.size());
+        for (int t = 0; t < 8; t++) {
+            String prefix = "1:" + t + "-";
+            List<String> ofThread = records.stream().filter(r -> r.startsWith(prefix)).toList();
+            assertEquals(200, ofThread.size());
+            assertEquals(prefix + "199", ofThread.get(199), "порядок записей одного потока нарушен");
+        }
+    }
+}